@@ -0,0 +1,160 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.benchmark;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.mappers.PersonaMapper;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.mappers.UsuarioMapper;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.*;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Los mapeos que hacen PersonaService y UsuarioService por request, con los mappers de la aplicacion
+ * y con el ModelMapper reflexivo que reemplazaron (misma configuracion: setSkipNullEnabled).
+ * En una modificacion ModelMapper pasaba por una entidad intermedia; los mappers copian del dto a la entidad.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeoBenchmark {
+
+    private ModelMapper modelMapper;
+    private PersonaMapper personaMapper;
+    private UsuarioMapper usuarioMapper;
+
+    private PersonaDto personaDto;
+    private TrabajoDto trabajoDto;
+    private EducacionDto educacionDto;
+    private ProyectoDto proyectoDto;
+    private HabilidadDto habilidadDto;
+    private LoginRequestDto loginRequestDto;
+    private Persona persona;
+    private Persona personaDestino;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setSkipNullEnabled(true);
+        personaMapper = new PersonaMapper();
+        usuarioMapper = new UsuarioMapper();
+
+        personaDto = new PersonaDto("Jeremias", "Calvet", LocalDate.of(1990, 3, 14), Nacionalidades.ARGENTINA,
+                "jeremias@test.com", "Desarrollador backend", "https://imagenes.test/1", "Desarrollador",
+                null, null, null, null, null);
+        trabajoDto = new TrabajoDto("Empresa", "Cargo", "Rosario", LocalDate.of(2015, 1, 1), null);
+        educacionDto = new EducacionDto("Universidad", "Titulo", "Cordoba", ProgresoEducacion.values()[0]);
+        proyectoDto = new ProyectoDto("Proyecto", "Descripcion del proyecto");
+        habilidadDto = new HabilidadDto("Java", 80, "Descripcion de la habilidad");
+        loginRequestDto = new LoginRequestDto("benchmark@test.com", "password-segura");
+        persona = PersonaGrafos.persona(1L, 1);
+        personaDestino = PersonaGrafos.persona(2L, 0);
+    }
+
+    // ------------------- ModelMapper -----------------------------
+
+    @Benchmark
+    public Persona modelMapperPersonaNueva() {
+        return modelMapper.map(personaDto, Persona.class);
+    }
+
+    @Benchmark
+    public Persona modelMapperPersonaExistente() {
+        modelMapper.map(personaDto, personaDestino);
+        return personaDestino;
+    }
+
+    @Benchmark
+    public Trabajo modelMapperTrabajoNuevo() {
+        return modelMapper.map(trabajoDto, Trabajo.class);
+    }
+
+    @Benchmark
+    public Trabajo modelMapperTrabajoExistente() {
+        final Trabajo existente = persona.getExperienciasLaborales().get(0);
+        modelMapper.map(modelMapper.map(trabajoDto, Trabajo.class), existente);
+        return existente;
+    }
+
+    @Benchmark
+    public Educacion modelMapperEducacionExistente() {
+        final Educacion existente = persona.getEstudios().get(0);
+        modelMapper.map(modelMapper.map(educacionDto, Educacion.class), existente);
+        return existente;
+    }
+
+    @Benchmark
+    public Proyecto modelMapperProyectoExistente() {
+        final Proyecto existente = persona.getProyectos().get(0);
+        modelMapper.map(modelMapper.map(proyectoDto, Proyecto.class), existente);
+        return existente;
+    }
+
+    @Benchmark
+    public Habilidad modelMapperHabilidadExistente() {
+        final Habilidad existente = persona.getHabilidades().get(0);
+        modelMapper.map(modelMapper.map(habilidadDto, Habilidad.class), existente);
+        return existente;
+    }
+
+    @Benchmark
+    public Usuario modelMapperUsuarioNuevo() {
+        return modelMapper.map(loginRequestDto, Usuario.class);
+    }
+
+    // ------------------- Mappers de la aplicacion -----------------------------
+
+    @Benchmark
+    public Persona mapperPersonaNueva() {
+        return personaMapper.persona(personaDto);
+    }
+
+    @Benchmark
+    public Persona mapperPersonaExistente() {
+        personaMapper.actualizar(personaDto, personaDestino);
+        return personaDestino;
+    }
+
+    @Benchmark
+    public Trabajo mapperTrabajoNuevo() {
+        return personaMapper.trabajo(trabajoDto);
+    }
+
+    @Benchmark
+    public Trabajo mapperTrabajoExistente() {
+        final Trabajo existente = persona.getExperienciasLaborales().get(0);
+        personaMapper.actualizar(trabajoDto, existente);
+        return existente;
+    }
+
+    @Benchmark
+    public Educacion mapperEducacionExistente() {
+        final Educacion existente = persona.getEstudios().get(0);
+        personaMapper.actualizar(educacionDto, existente);
+        return existente;
+    }
+
+    @Benchmark
+    public Proyecto mapperProyectoExistente() {
+        final Proyecto existente = persona.getProyectos().get(0);
+        personaMapper.actualizar(proyectoDto, existente);
+        return existente;
+    }
+
+    @Benchmark
+    public Habilidad mapperHabilidadExistente() {
+        final Habilidad existente = persona.getHabilidades().get(0);
+        personaMapper.actualizar(habilidadDto, existente);
+        return existente;
+    }
+
+    @Benchmark
+    public Usuario mapperUsuarioNuevo() {
+        return usuarioMapper.usuario(loginRequestDto);
+    }
+}
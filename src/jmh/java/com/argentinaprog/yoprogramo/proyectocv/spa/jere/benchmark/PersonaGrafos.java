@@ -0,0 +1,48 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.benchmark;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Grafos de Persona armados en memoria, con la misma forma que devuelve la API, para los benchmarks.
+ */
+public final class PersonaGrafos {
+
+    private PersonaGrafos() {
+    }
+
+    public static Persona persona(long id, int hijosPorLista) {
+        final var persona = Persona.builder()
+                .id(id)
+                .nombres("Jeremias")
+                .apellidos("Calvet")
+                .fechaNacimiento(LocalDate.of(1990, 3, 14))
+                .nacionalidad(Nacionalidades.ARGENTINA)
+                .email("persona" + id + "@test.com")
+                .descripcion("Desarrollador backend con experiencia en Spring y MySQL")
+                .imagen("https://imagenes.test/persona/" + id)
+                .ocupacion("Desarrollador")
+                .build();
+        persona.setUsuario(Usuario.builder().id(id).username(persona.getEmail()).password("hash").enabled(true).persona(persona).build());
+        persona.setEstudios(IntStream.range(0, hijosPorLista)
+                .mapToObj(i -> Educacion.builder().id((long) i).institucion("Universidad " + i).titulo("Titulo " + i)
+                        .lugar("Cordoba").estado(ProgresoEducacion.values()[i % ProgresoEducacion.values().length]).persona(persona).build())
+                .collect(Collectors.toList()));
+        persona.setHabilidades(IntStream.range(0, hijosPorLista)
+                .mapToObj(i -> Habilidad.builder().id((long) i).nombre("Habilidad " + i).nivel(i % 100)
+                        .descripcion("Descripcion de la habilidad " + i).persona(persona).build())
+                .collect(Collectors.toList()));
+        persona.setExperienciasLaborales(IntStream.range(0, hijosPorLista)
+                .mapToObj(i -> Trabajo.builder().id((long) i).empresa("Empresa " + i).cargo("Cargo " + i).lugar("Rosario")
+                        .desde(LocalDate.of(2000 + i % 20, 1, 1)).hasta(LocalDate.of(2001 + i % 20, 6, 30)).persona(persona).build())
+                .collect(Collectors.toList()));
+        persona.setProyectos(IntStream.range(0, hijosPorLista)
+                .mapToObj(i -> Proyecto.builder().id((long) i).nombre("Proyecto " + i)
+                        .descripcion("Descripcion del proyecto " + i).persona(persona).build())
+                .collect(Collectors.toList()));
+        return persona;
+    }
+}
@@ -0,0 +1,73 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.benchmark;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration.JacksonConfig;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Serializacion de Persona como la hace el ObjectMapper de Spring Boot con la configuracion spring.jackson.*
+ * de los perfiles: una persona (find/{id}) y un listado (all), con distinta cantidad de hijos por lista.
+ * modo: solo introspeccion, con los serializadores de JacksonConfig, o ademas con el modulo Blackbird.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    private static final int PERSONAS_EN_LISTADO = 20;
+
+    @Param({"0", "5", "50"})
+    public int hijosPorLista;
+
+    @Param({"introspeccion", "serializadores", "blackbird"})
+    public String modo;
+
+    private ObjectWriter writer;
+    private Persona persona;
+    private List<Persona> personas;
+
+    @Setup
+    public void setUp() {
+        final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .simpleDateFormat("yyyy-MM-dd")
+                .timeZone(TimeZone.getTimeZone("America/Argentina/Buenos_Aires"))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        if (!"introspeccion".equals(modo)) {
+            mapper.registerModule(JacksonConfig.serializadoresModule());
+        }
+        if ("blackbird".equals(modo)) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        writer = mapper.writer();
+        persona = PersonaGrafos.persona(1L, hijosPorLista);
+        personas = LongStream.rangeClosed(1, PERSONAS_EN_LISTADO)
+                .mapToObj(id -> PersonaGrafos.persona(id, hijosPorLista))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] persona() throws JsonProcessingException {
+        return writer.writeValueAsBytes(persona);
+    }
+
+    @Benchmark
+    public byte[] listado() throws JsonProcessingException {
+        return writer.writeValueAsBytes(personas);
+    }
+}
@@ -0,0 +1,71 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.security;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Usuario;
+import com.auth0.jwt.JWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Verificacion del token en cada request autenticado (JwtAuthorizationFilter) y emision de tokens en el login
+ * (JwtAuthenticationFilter.successfulAuthentication, por eso vive en este paquete).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtAuthorizationFilter authorizationFilter;
+    private JwtAuthenticationFilter authenticationFilter;
+    private Authentication login;
+    private String autorizacion;
+
+    @Setup
+    public void setUp() {
+        final var jwtConfig = new JwtConfig();
+        jwtConfig.setSecretKey("secret-de-benchmark");
+        authorizationFilter = new JwtAuthorizationFilter(jwtConfig, new SimpleMeterRegistry());
+        authenticationFilter = new JwtAuthenticationFilter(null, jwtConfig);
+
+        final var usuario = Usuario.builder().id(1L).username("benchmark@test.com").password("hash").enabled(true).build();
+        login = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
+        autorizacion = "Bearer " + JWT.create()
+                .withSubject(usuario.getUsername())
+                .withExpiresAt(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .withIssuer("http://localhost/api/v1/auth/login")
+                .withClaim("roles", List.of("ROLE_USER"))
+                .sign(jwtConfig.algorithmWithSecret());
+    }
+
+    @Benchmark
+    public Authentication verificarToken() throws Exception {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/persona/current");
+        request.addHeader(AUTHORIZATION, autorizacion);
+        authorizationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        final Authentication autenticado = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return autenticado;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse emitirTokens() throws Exception {
+        final var request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        final var response = new MockHttpServletResponse();
+        authenticationFilter.successfulAuthentication(request, response, new MockFilterChain(), login);
+        return response;
+    }
+}
@@ -0,0 +1,222 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.events.PersonaModificadaEvent;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.SugerenciaDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.EducacionRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.HabilidadRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.TrabajoRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Sugerencias por prefijo para habilidades, empresas, instituciones y nombres, ordenadas por
+ * cantidad de personas que usan cada valor. Cada persona aporta un conjunto de valores por tipo,
+ * asi una modificacion solo resta lo que dejo de tener y suma lo nuevo.
+ */
+@Slf4j
+@Component
+public class Autocompletado implements Closeable {
+
+    private final PersonaRepository personaRepo;
+    private final HabilidadRepository habilidadRepo;
+    private final TrabajoRepository trabajoRepo;
+    private final EducacionRepository educacionRepo;
+    private final Shards shards;
+    private final TransactionTemplate lectura;
+
+    private final ColaIndice cola = new ColaIndice("indice-autocompletado");
+    // Las lecturas van fuera del lock; solo los cambios sobre los tries y los aportes lo toman.
+    private final Lock escritura = new ReentrantLock();
+    private final OrdenLecturas orden = new OrdenLecturas();
+    private volatile Map<TipoAutocompletado, Trie> tries = triesVacios();
+    private Map<Long, Map<TipoAutocompletado, Map<String, String>>> aportes = new HashMap<>();
+
+    public Autocompletado(PersonaRepository personaRepo, HabilidadRepository habilidadRepo, TrabajoRepository trabajoRepo,
+                          EducacionRepository educacionRepo, Shards shards, PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.personaRepo = personaRepo;
+        this.habilidadRepo = habilidadRepo;
+        this.trabajoRepo = trabajoRepo;
+        this.educacionRepo = educacionRepo;
+        this.shards = shards;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        for (TipoAutocompletado tipo : TipoAutocompletado.values()) {
+            final String nombre = tipo.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("autocompletado.memoria", this, autocompletado -> autocompletado.tries.get(tipo).bytesEstimados())
+                    .description("Memoria estimada del trie de sugerencias")
+                    .baseUnit("bytes")
+                    .tag("tipo", nombre)
+                    .register(meterRegistry);
+            Gauge.builder("autocompletado.entradas", this, autocompletado -> autocompletado.tries.get(tipo).entradas())
+                    .description("Valores distintos disponibles para sugerir")
+                    .tag("tipo", nombre)
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        final long numero = orden.iniciar();
+        // Cada shard arma los aportes de sus personas; los ids no se repiten entre shards
+        final Map<Long, Map<TipoAutocompletado, Map<String, String>>> nuevos = new HashMap<>();
+        shards.recolectar(() -> lectura.execute(status -> {
+            final Map<Long, Map<TipoAutocompletado, Map<String, String>>> delShard = new HashMap<>();
+            personaRepo.findAllNombres().forEach(persona -> agregar(delShard, persona.getId(), TipoAutocompletado.NOMBRE,
+                    nombreCompleto(persona.getNombres(), persona.getApellidos())));
+            habilidadRepo.findAllNiveles().forEach(habilidad -> agregar(delShard, habilidad.getPersonaId(), TipoAutocompletado.HABILIDAD, habilidad.getNombre()));
+            // Empresas e instituciones traen la clave ya calculada en su catalogo
+            trabajoRepo.findAllEmpresas().forEach(trabajo -> agregar(delShard, trabajo.getPersonaId(), TipoAutocompletado.EMPRESA,
+                    trabajo.getClave(), trabajo.getEmpresa()));
+            educacionRepo.findAllInstituciones().forEach(educacion -> agregar(delShard, educacion.getPersonaId(), TipoAutocompletado.INSTITUCION,
+                    educacion.getClave(), educacion.getInstitucion()));
+            return delShard;
+        })).forEach(nuevos::putAll);
+
+        final Map<TipoAutocompletado, Trie> nuevosTries = triesVacios();
+        nuevos.values().forEach(aporte -> aplicar(nuevosTries, aporte, 1));
+        escritura.lock();
+        try {
+            final Optional<Set<Long>> posteriores = orden.reconstruir(numero);
+            if (posteriores.isEmpty()) {
+                return;
+            }
+            // Lo actualizado mientras se cargaba es mas nuevo que lo leido
+            posteriores.get().forEach(personaId -> reemplazar(nuevosTries, nuevos, personaId, aportes.getOrDefault(personaId, Map.of())));
+            tries = nuevosTries;
+            aportes = nuevos;
+        } finally {
+            escritura.unlock();
+        }
+        log.info("Autocompletado cargado: {} personas", nuevos.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonaModificada(PersonaModificadaEvent event) {
+        if (event.getPersonaId() == null) {
+            cola.encolar(this::reconstruir);
+            return;
+        }
+        cola.encolar(() -> actualizar(event.getPersonaId()));
+    }
+
+    // Espera a que se apliquen los cambios encolados hasta este momento.
+    public void sincronizar() {
+        cola.sincronizar();
+    }
+
+    @Override
+    public void close() {
+        cola.close();
+    }
+
+    public List<SugerenciaDto> completar(TipoAutocompletado tipo, String prefijo, int cantidad) {
+        return tries.get(tipo).completar(prefijo, Math.min(cantidad, Trie.TOP_MAXIMO));
+    }
+
+    private void actualizar(Long personaId) {
+        final long numero = orden.iniciar();
+        final Map<TipoAutocompletado, Map<String, String>> nuevo = shards.enPersona(personaId, () -> lectura.execute(status -> personaRepo.findById(personaId)
+                .map(Autocompletado::aporte)
+                .orElse(Map.of())));
+        escritura.lock();
+        try {
+            if (orden.aplicar(personaId, numero)) {
+                reemplazar(tries, aportes, personaId, nuevo);
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    // Resta lo que la persona dejo de tener y suma lo nuevo
+    private static void reemplazar(Map<TipoAutocompletado, Trie> tries, Map<Long, Map<TipoAutocompletado, Map<String, String>>> aportes,
+                                   Long personaId, Map<TipoAutocompletado, Map<String, String>> nuevo) {
+        final Map<TipoAutocompletado, Map<String, String>> anterior = aportes.getOrDefault(personaId, Map.of());
+        for (TipoAutocompletado tipo : TipoAutocompletado.values()) {
+            final Map<String, String> antes = anterior.getOrDefault(tipo, Map.of());
+            final Map<String, String> despues = nuevo.getOrDefault(tipo, Map.of());
+            final Trie trie = tries.get(tipo);
+            antes.forEach((clave, valor) -> {
+                if (!despues.containsKey(clave)) {
+                    trie.sumar(clave, valor, -1);
+                }
+            });
+            despues.forEach((clave, valor) -> {
+                if (!antes.containsKey(clave)) {
+                    trie.sumar(clave, valor, 1);
+                }
+            });
+        }
+        if (nuevo.isEmpty()) {
+            aportes.remove(personaId);
+        } else {
+            aportes.put(personaId, nuevo);
+        }
+    }
+
+    private static Map<TipoAutocompletado, Map<String, String>> aporte(Persona persona) {
+        final Map<TipoAutocompletado, Map<String, String>> aporte = new EnumMap<>(TipoAutocompletado.class);
+        final BiConsumer<TipoAutocompletado, String> agregar = (tipo, valor) -> agregar(aporte, tipo, valor);
+        agregar.accept(TipoAutocompletado.NOMBRE, nombreCompleto(persona.getNombres(), persona.getApellidos()));
+        persona.getHabilidades().forEach(habilidad -> agregar.accept(TipoAutocompletado.HABILIDAD, habilidad.getNombre()));
+        persona.getExperienciasLaborales().forEach(trabajo -> agregar.accept(TipoAutocompletado.EMPRESA, trabajo.getEmpresa()));
+        persona.getEstudios().forEach(educacion -> agregar.accept(TipoAutocompletado.INSTITUCION, educacion.getInstitucion()));
+        return aporte;
+    }
+
+    private static void agregar(Map<Long, Map<TipoAutocompletado, Map<String, String>>> aportes, Long personaId, TipoAutocompletado tipo, String valor) {
+        agregar(aportes.computeIfAbsent(personaId, id -> new EnumMap<>(TipoAutocompletado.class)), tipo, valor);
+    }
+
+    private static void agregar(Map<Long, Map<TipoAutocompletado, Map<String, String>>> aportes, Long personaId, TipoAutocompletado tipo,
+                                String clave, String valor) {
+        agregar(aportes.computeIfAbsent(personaId, id -> new EnumMap<>(TipoAutocompletado.class)), tipo, clave, valor);
+    }
+
+    private static void agregar(Map<TipoAutocompletado, Map<String, String>> aporte, TipoAutocompletado tipo, String valor) {
+        if (valor != null) {
+            agregar(aporte, tipo, ExpresionHabilidades.normalizar(valor), valor);
+        }
+    }
+
+    // Los valores se agrupan por la clave del catalogo: "Java" y "java " cuentan como la misma persona una sola vez.
+    private static void agregar(Map<TipoAutocompletado, Map<String, String>> aporte, TipoAutocompletado tipo, String clave, String valor) {
+        if (clave.isEmpty()) {
+            return;
+        }
+        aporte.computeIfAbsent(tipo, t -> new HashMap<>()).putIfAbsent(clave, valor.strip());
+    }
+
+    private static void aplicar(Map<TipoAutocompletado, Trie> tries, Map<TipoAutocompletado, Map<String, String>> aporte, int delta) {
+        aporte.forEach((tipo, valores) -> valores.forEach((clave, valor) -> tries.get(tipo).sumar(clave, valor, delta)));
+    }
+
+    private static String nombreCompleto(String nombres, String apellidos) {
+        return String.join(" ", Objects.toString(nombres, ""), Objects.toString(apellidos, "")).trim();
+    }
+
+    private static Map<TipoAutocompletado, Trie> triesVacios() {
+        final Map<TipoAutocompletado, Trie> tries = new EnumMap<>(TipoAutocompletado.class);
+        for (TipoAutocompletado tipo : TipoAutocompletado.values()) {
+            tries.put(tipo, new Trie());
+        }
+        return tries;
+    }
+}
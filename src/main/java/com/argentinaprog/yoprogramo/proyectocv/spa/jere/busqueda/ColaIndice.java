@@ -0,0 +1,63 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un hilo propio por indice para aplicar los cambios confirmados, como el indexador de PersonaIndice. El evento llega
+ * en el afterCommit con la conexion del request todavia tomada: releer ahi la persona pediria una segunda conexion
+ * del pool en cada escritura. Encolado, el request termina y la relectura ocurre con su conexion ya devuelta.
+ */
+@Slf4j
+class ColaIndice implements Closeable {
+
+    private final String nombre;
+    private final ExecutorService hilo;
+
+    ColaIndice(String nombre) {
+        this.nombre = nombre;
+        this.hilo = Executors.newSingleThreadExecutor(r -> {
+            final var thread = new Thread(r, nombre);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void encolar(Runnable cambio) {
+        hilo.execute(() -> {
+            try {
+                cambio.run();
+            } catch (RuntimeException e) {
+                log.error("{}: no se pudo aplicar un cambio", nombre, e);
+            }
+        });
+    }
+
+    // Espera a que se apliquen los cambios encolados hasta este momento.
+    void sincronizar() {
+        try {
+            hilo.submit(() -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        hilo.shutdown();
+        try {
+            hilo.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.Catalogo;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.ConsultaHabilidadesInvalidaException;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Expresion booleana sobre habilidades, por ejemplo {@code java AND spring AND (mysql OR postgres>=70) NOT php}.
+ * OR tiene menor precedencia que AND; dos terminos seguidos sin operador se combinan con AND.
+ */
+class ExpresionHabilidades {
+
+    private static final int MAX_PROFUNDIDAD = 32;
+
+    interface Nodo {
+
+        RoaringBitmap evaluar(Evaluador evaluador);
+    }
+
+    interface Evaluador {
+
+        RoaringBitmap termino(String habilidad, Integer nivelMinimo);
+
+        RoaringBitmap universo();
+    }
+
+    private final String texto;
+    private final Integer nivelMinimo;
+    private int pos;
+    private int profundidad;
+
+    private ExpresionHabilidades(String texto, Integer nivelMinimo) {
+        this.texto = texto;
+        this.nivelMinimo = nivelMinimo;
+    }
+
+    // El nivel minimo global se aplica a los terminos que no indican uno propio.
+    static Nodo parsear(String texto, Integer nivelMinimo) {
+        final var parser = new ExpresionHabilidades(texto, nivelMinimo);
+        final Nodo raiz = parser.o();
+        parser.saltarEspacios();
+        if (parser.pos < texto.length()) {
+            throw new ConsultaHabilidadesInvalidaException(parser.pos, "se esperaba un operador");
+        }
+        return raiz;
+    }
+
+    // La misma clave que guardan los catalogos: los indices agrupan las variantes de un valor igual que la base.
+    static String normalizar(String nombre) {
+        return Catalogo.clave(nombre);
+    }
+
+    private Nodo o() {
+        Nodo izquierda = y();
+        while (palabraClave("OR")) {
+            final Nodo a = izquierda;
+            final Nodo b = y();
+            izquierda = evaluador -> RoaringBitmap.or(a.evaluar(evaluador), b.evaluar(evaluador));
+        }
+        return izquierda;
+    }
+
+    private Nodo y() {
+        Nodo izquierda = unario();
+        while (true) {
+            if (!palabraClave("AND") && !iniciaUnario()) {
+                return izquierda;
+            }
+            final Nodo a = izquierda;
+            final Nodo b = unario();
+            izquierda = evaluador -> RoaringBitmap.and(a.evaluar(evaluador), b.evaluar(evaluador));
+        }
+    }
+
+    private Nodo unario() {
+        if (++profundidad > MAX_PROFUNDIDAD) {
+            throw new ConsultaHabilidadesInvalidaException(pos, "la expresion esta demasiado anidada");
+        }
+        try {
+            if (palabraClave("NOT")) {
+                final Nodo negado = unario();
+                return evaluador -> RoaringBitmap.andNot(evaluador.universo(), negado.evaluar(evaluador));
+            }
+            saltarEspacios();
+            if (pos < texto.length() && texto.charAt(pos) == '(') {
+                pos++;
+                final Nodo interior = o();
+                saltarEspacios();
+                if (pos >= texto.length() || texto.charAt(pos) != ')') {
+                    throw new ConsultaHabilidadesInvalidaException(pos, "falta cerrar un parentesis");
+                }
+                pos++;
+                return interior;
+            }
+            return termino();
+        } finally {
+            profundidad--;
+        }
+    }
+
+    private Nodo termino() {
+        saltarEspacios();
+        final int inicio = pos;
+        final String nombre;
+        if (pos < texto.length() && texto.charAt(pos) == '"') {
+            final int cierre = texto.indexOf('"', pos + 1);
+            if (cierre < 0) {
+                throw new ConsultaHabilidadesInvalidaException(pos, "falta cerrar una comilla");
+            }
+            nombre = texto.substring(pos + 1, cierre);
+            pos = cierre + 1;
+        } else {
+            while (pos < texto.length() && esCaracterDePalabra(texto.charAt(pos))) {
+                pos++;
+            }
+            nombre = texto.substring(inicio, pos);
+        }
+        final String habilidad = normalizar(nombre);
+        if (habilidad.isEmpty()) {
+            throw new ConsultaHabilidadesInvalidaException(inicio, "se esperaba una habilidad");
+        }
+        final Integer nivel = nivel();
+        return evaluador -> evaluador.termino(habilidad, nivel);
+    }
+
+    private Integer nivel() {
+        if (!texto.startsWith(">=", pos)) {
+            return nivelMinimo;
+        }
+        pos += 2;
+        final int inicio = pos;
+        while (pos < texto.length() && Character.isDigit(texto.charAt(pos))) {
+            pos++;
+        }
+        if (inicio == pos || pos - inicio > 9) {
+            throw new ConsultaHabilidadesInvalidaException(inicio, "se esperaba un nivel numerico");
+        }
+        return Integer.valueOf(texto.substring(inicio, pos));
+    }
+
+    private boolean palabraClave(String palabra) {
+        saltarEspacios();
+        final int fin = pos + palabra.length();
+        if (texto.regionMatches(true, pos, palabra, 0, palabra.length())
+                && (fin == texto.length() || !esCaracterDePalabra(texto.charAt(fin)))) {
+            pos = fin;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean iniciaUnario() {
+        saltarEspacios();
+        if (pos >= texto.length()) {
+            return false;
+        }
+        final char c = texto.charAt(pos);
+        return (c == '(' || c == '"' || esCaracterDePalabra(c)) && !esPalabraClave("OR");
+    }
+
+    private boolean esPalabraClave(String palabra) {
+        final int inicio = pos;
+        final boolean es = palabraClave(palabra);
+        pos = inicio;
+        return es;
+    }
+
+    private void saltarEspacios() {
+        while (pos < texto.length() && Character.isWhitespace(texto.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private static boolean esCaracterDePalabra(char c) {
+        return !Character.isWhitespace(c) && c != '(' && c != ')' && c != '"' && c != '>';
+    }
+}
@@ -0,0 +1,313 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.Catalogo;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.events.PersonaModificadaEvent;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.FacetaDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.FacetasDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.EducacionRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.HabilidadRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.TrabajoRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Conteos por nacionalidad, estado de educacion, habilidad y empleador actual.
+ * Cada modificacion de una persona resta su aporte anterior y suma el nuevo; una reconciliacion periodica
+ * recalcula todo desde la base y corrige cualquier desvio (por ejemplo, trabajos que dejaron de ser actuales).
+ */
+@Slf4j
+@Component
+public class FacetasIndice implements Closeable {
+
+    private final PersonaRepository personaRepo;
+    private final EducacionRepository educacionRepo;
+    private final HabilidadRepository habilidadRepo;
+    private final TrabajoRepository trabajoRepo;
+    private final HabilidadesIndice habilidadesIndice;
+    private final Shards shards;
+    private final TransactionTemplate lectura;
+
+    private final ColaIndice cola = new ColaIndice("indice-facetas");
+    // Las lecturas van fuera del lock; solo el reemplazo de aportes y de los conteos lo toma.
+    private final Lock escritura = new ReentrantLock();
+    private final OrdenLecturas orden = new OrdenLecturas();
+    private volatile Conteos conteos = new Conteos();
+
+    // Los conteos ordenados se recalculan solo cuando cambio algo desde la ultima lectura.
+    private final AtomicLong version = new AtomicLong();
+    private volatile Instantanea instantanea = new Instantanea(-1, null);
+
+    public FacetasIndice(PersonaRepository personaRepo, EducacionRepository educacionRepo, HabilidadRepository habilidadRepo,
+                         TrabajoRepository trabajoRepo, HabilidadesIndice habilidadesIndice, Shards shards,
+                         PlatformTransactionManager transactionManager) {
+        this.personaRepo = personaRepo;
+        this.educacionRepo = educacionRepo;
+        this.habilidadRepo = habilidadRepo;
+        this.trabajoRepo = trabajoRepo;
+        this.habilidadesIndice = habilidadesIndice;
+        this.shards = shards;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${application.facetas.intervalo-reconciliacion-ms:300000}",
+            fixedDelayString = "${application.facetas.intervalo-reconciliacion-ms:300000}")
+    public void reconciliar() {
+        final long numero = orden.iniciar();
+        final Conteos nuevos = cargar();
+        final Conteos anteriores;
+        escritura.lock();
+        try {
+            final Optional<Set<Long>> posteriores = orden.reconstruir(numero);
+            if (posteriores.isEmpty()) {
+                return;
+            }
+            // Lo actualizado mientras se cargaba es mas nuevo que lo leido
+            anteriores = conteos;
+            posteriores.get().forEach(personaId -> nuevos.reemplazar(personaId, anteriores.aportes.get(personaId)));
+            conteos = nuevos;
+        } finally {
+            escritura.unlock();
+        }
+        version.incrementAndGet();
+        if (anteriores.total.sum() != nuevos.total.sum()) {
+            log.debug("Facetas reconciliadas: {} personas contadas, {} en la base", anteriores.total.sum(), nuevos.total.sum());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonaModificada(PersonaModificadaEvent event) {
+        if (event.getPersonaId() == null) {
+            cola.encolar(this::reconciliar);
+            return;
+        }
+        cola.encolar(() -> actualizar(event.getPersonaId()));
+    }
+
+    // Espera a que se apliquen los cambios encolados hasta este momento.
+    public void sincronizar() {
+        cola.sincronizar();
+    }
+
+    @Override
+    public void close() {
+        cola.close();
+    }
+
+    public FacetasDto facetas(int top) {
+        Instantanea actual = instantanea;
+        final long versionActual = version.get();
+        if (actual.version != versionActual) {
+            actual = new Instantanea(versionActual, conteos.ordenar());
+            instantanea = actual;
+        }
+        return actual.facetas.recortar(null, top);
+    }
+
+    // Con filtro se recorren solo los aportes de las personas que cumplen la expresion de habilidades.
+    public FacetasDto facetas(String consulta, Integer nivelMinimo, int top) {
+        final RoaringBitmap personas = habilidadesIndice.personas(consulta, nivelMinimo);
+        final Conteos actuales = conteos;
+        final Conteos filtrados = new Conteos();
+        personas.forEach((int id) -> filtrados.aplicar(actuales.aportes.get((long) id), 1));
+        return filtrados.ordenar().recortar(consulta, top);
+    }
+
+    private void actualizar(Long personaId) {
+        final long numero = orden.iniciar();
+        final Aporte nuevo = shards.enPersona(personaId, () -> lectura.execute(status -> personaRepo.findById(personaId)
+                .map(FacetasIndice::aporte)
+                .orElse(null)));
+        escritura.lock();
+        try {
+            if (orden.aplicar(personaId, numero)) {
+                conteos.reemplazar(personaId, nuevo);
+            }
+        } finally {
+            escritura.unlock();
+        }
+        version.incrementAndGet();
+    }
+
+    // Cada shard carga los aportes de sus personas en paralelo
+    private Conteos cargar() {
+        final Map<Long, Aporte.AporteBuilder> aportes = new HashMap<>();
+        shards.recolectar(() -> lectura.execute(status -> cargarAportes())).forEach(aportes::putAll);
+
+        final Conteos nuevos = new Conteos();
+        aportes.forEach((id, builder) -> {
+            final Aporte aporte = builder.build();
+            nuevos.aportes.put(id, aporte);
+            nuevos.aplicar(aporte, 1);
+        });
+        return nuevos;
+    }
+
+    private Map<Long, Aporte.AporteBuilder> cargarAportes() {
+        final Map<Long, Aporte.AporteBuilder> aportes = new HashMap<>();
+        personaRepo.findAllNacionalidades().forEach(persona -> aportes.computeIfAbsent(persona.getId(), id -> Aporte.builder())
+                .nacionalidad(persona.getNacionalidad() == null ? null : persona.getNacionalidad().name()));
+        educacionRepo.findAllEstados().forEach(educacion -> agregar(aportes, educacion.getPersonaId(), educacion.getEstado().name(), Aporte.AporteBuilder::estado));
+        habilidadRepo.findAllNiveles().stream()
+                .filter(habilidad -> habilidad.getNombre() != null)
+                .forEach(habilidad -> agregar(aportes, habilidad.getPersonaId(), ExpresionHabilidades.normalizar(habilidad.getNombre()), Aporte.AporteBuilder::habilidad));
+        trabajoRepo.findEmpleadoresActuales(LocalDate.now())
+                .forEach(trabajo -> agregar(aportes, trabajo.getPersonaId(), trabajo.getClave(),
+                        (builder, clave) -> builder.empleador(clave, trabajo.getEmpresa())));
+        return aportes;
+    }
+
+    private static void agregar(Map<Long, Aporte.AporteBuilder> aportes, Long personaId, String valor,
+                                BiConsumer<Aporte.AporteBuilder, String> agregarValor) {
+        final Aporte.AporteBuilder builder = aportes.get(personaId);
+        // Una persona creada despues de leer las nacionalidades la cuenta la proxima reconciliacion.
+        if (builder != null && !valor.isEmpty()) {
+            agregarValor.accept(builder, valor);
+        }
+    }
+
+    private static Aporte aporte(Persona persona) {
+        final LocalDate hoy = LocalDate.now();
+        final var builder = Aporte.builder()
+                .nacionalidad(persona.getNacionalidad() == null ? null : persona.getNacionalidad().name());
+        persona.getEstudios().stream()
+                .filter(educacion -> educacion.getEstado() != null)
+                .forEach(educacion -> builder.estado(educacion.getEstado().name()));
+        persona.getHabilidades().stream()
+                .filter(habilidad -> habilidad.getNombre() != null)
+                .map(habilidad -> ExpresionHabilidades.normalizar(habilidad.getNombre()))
+                .filter(nombre -> !nombre.isEmpty())
+                .forEach(builder::habilidad);
+        persona.getExperienciasLaborales().stream()
+                .filter(trabajo -> trabajo.getEmpresa() != null && (trabajo.getHasta() == null || !trabajo.getHasta().isBefore(hoy)))
+                .forEach(trabajo -> {
+                    final String clave = Catalogo.clave(trabajo.getEmpresa());
+                    if (!clave.isEmpty()) {
+                        builder.empleador(clave, trabajo.getEmpresa().strip());
+                    }
+                });
+        return builder.build();
+    }
+
+    @Value
+    @Builder
+    private static class Aporte {
+
+        String nacionalidad;
+        @Singular("estado")
+        Set<String> estados;
+        @Singular("habilidad")
+        Set<String> habilidades;
+        // Por clave del catalogo, con el nombre tal como lo escribio la persona
+        @Singular("empleador")
+        Map<String, String> empleadores;
+    }
+
+    // Contadores con LongAdder: las actualizaciones concurrentes no compiten por una misma celda.
+    private static class Conteos {
+
+        private final Map<Long, Aporte> aportes = new ConcurrentHashMap<>();
+        private final LongAdder total = new LongAdder();
+        private final Map<String, LongAdder> nacionalidades = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> estados = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> habilidades = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> empleadores = new ConcurrentHashMap<>();
+        // Un nombre por clave para mostrar: entre las variantes, la primera en orden, asi no depende del orden de carga
+        private final Map<String, String> nombresEmpleadores = new ConcurrentHashMap<>();
+
+        // Resta el aporte anterior de la persona y suma el nuevo; sin aporte nuevo la persona deja de contarse
+        void reemplazar(Long personaId, Aporte nuevo) {
+            aportes.compute(personaId, (id, anterior) -> {
+                aplicar(anterior, -1);
+                aplicar(nuevo, 1);
+                return nuevo;
+            });
+        }
+
+        void aplicar(Aporte aporte, int delta) {
+            if (aporte == null) {
+                return;
+            }
+            total.add(delta);
+            if (aporte.getNacionalidad() != null) {
+                sumar(nacionalidades, aporte.getNacionalidad(), delta);
+            }
+            aporte.getEstados().forEach(estado -> sumar(estados, estado, delta));
+            aporte.getHabilidades().forEach(habilidad -> sumar(habilidades, habilidad, delta));
+            aporte.getEmpleadores().forEach((clave, nombre) -> {
+                if (delta > 0) {
+                    nombresEmpleadores.merge(clave, nombre, (actual, otro) -> actual.compareTo(otro) <= 0 ? actual : otro);
+                }
+                sumar(empleadores, clave, delta);
+            });
+        }
+
+        Ordenadas ordenar() {
+            return new Ordenadas(total.sum(), ordenar(nacionalidades, Map.of()), ordenar(estados, Map.of()),
+                    ordenar(habilidades, Map.of()), ordenar(empleadores, nombresEmpleadores));
+        }
+
+        private static void sumar(Map<String, LongAdder> contadores, String valor, int delta) {
+            contadores.computeIfAbsent(valor, v -> new LongAdder()).add(delta);
+        }
+
+        private static List<FacetaDto> ordenar(Map<String, LongAdder> contadores, Map<String, String> nombres) {
+            return contadores.entrySet().stream()
+                    .map(entrada -> new FacetaDto(nombres.getOrDefault(entrada.getKey(), entrada.getKey()), entrada.getValue().sum()))
+                    .filter(faceta -> faceta.getCantidad() > 0)
+                    .sorted(Comparator.comparingLong(FacetaDto::getCantidad).reversed().thenComparing(FacetaDto::getValor))
+                    .collect(Collectors.toUnmodifiableList());
+        }
+    }
+
+    @Value
+    private static class Ordenadas {
+
+        long total;
+        List<FacetaDto> nacionalidades;
+        List<FacetaDto> estados;
+        List<FacetaDto> habilidades;
+        List<FacetaDto> empleadores;
+
+        FacetasDto recortar(String consulta, int top) {
+            return new FacetasDto(consulta, total, nacionalidades, estados,
+                    primeras(habilidades, top), primeras(empleadores, top));
+        }
+
+        private static List<FacetaDto> primeras(List<FacetaDto> facetas, int top) {
+            return facetas.size() <= top ? facetas : facetas.subList(0, top);
+        }
+    }
+
+    @Value
+    private static class Instantanea {
+
+        long version;
+        Ordenadas facetas;
+    }
+}
@@ -0,0 +1,241 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.events.PersonaModificadaEvent;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.ResultadoHabilidadesDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.HabilidadRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indice en memoria habilidad -> nivel -> personas, con un bitmap comprimido por cada par.
+ * Cada persona aporta su nivel maximo en cada habilidad, asi los cambios se aplican como diferencias.
+ */
+@Slf4j
+@Component
+public class HabilidadesIndice implements Closeable {
+
+    private final HabilidadRepository habilidadRepo;
+    private final PersonaRepository personaRepo;
+    private final Shards shards;
+    private final TransactionTemplate lectura;
+    private final ColaIndice cola;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OrdenLecturas orden = new OrdenLecturas();
+    private Map<String, TreeMap<Integer, RoaringBitmap>> porNivel = new HashMap<>();
+    private Map<String, RoaringBitmap> porHabilidad = new HashMap<>();
+    private Map<Integer, Map<String, Integer>> aportes = new HashMap<>();
+    private RoaringBitmap universo = new RoaringBitmap();
+
+    @Autowired
+    public HabilidadesIndice(HabilidadRepository habilidadRepo, PersonaRepository personaRepo, Shards shards,
+                             PlatformTransactionManager transactionManager) {
+        this(habilidadRepo, personaRepo, shards, new TransactionTemplate(transactionManager), new ColaIndice("indice-habilidades"));
+        this.lectura.setReadOnly(true);
+    }
+
+    private HabilidadesIndice(HabilidadRepository habilidadRepo, PersonaRepository personaRepo, Shards shards,
+                              TransactionTemplate lectura, ColaIndice cola) {
+        this.habilidadRepo = habilidadRepo;
+        this.personaRepo = personaRepo;
+        this.shards = shards;
+        this.lectura = lectura;
+        this.cola = cola;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        // La lectura va fuera del lock: los shards se consultan en paralelo y las busquedas siguen respondiendo
+        final long numero = orden.iniciar();
+        final var nuevo = nuevoIndice();
+        // Cada shard carga sus personas en un indice parcial; los ids no se repiten entre shards
+        shards.recolectar(() -> lectura.execute(status -> {
+            final var parcial = nuevoIndice();
+            personaRepo.findAllIds().forEach(id -> parcial.universo.add(Math.toIntExact(id)));
+            habilidadRepo.findAllNiveles().forEach(nivel -> parcial.aportar(
+                    parcial.aportes.computeIfAbsent(Math.toIntExact(nivel.getPersonaId()), id -> new HashMap<>()), nivel));
+            return parcial;
+        })).forEach(parcial -> {
+            nuevo.universo.or(parcial.universo);
+            nuevo.aportes.putAll(parcial.aportes);
+        });
+        nuevo.aportes.forEach((persona, habilidades) -> habilidades.forEach((habilidad, nivel) -> nuevo.agregar(persona, habilidad, nivel)));
+
+        lock.writeLock().lock();
+        try {
+            final Optional<Set<Long>> posteriores = orden.reconstruir(numero);
+            if (posteriores.isEmpty()) {
+                return;
+            }
+            // Lo actualizado mientras se cargaba es mas nuevo que lo leido
+            posteriores.get().stream().map(Math::toIntExact).forEach(persona ->
+                    nuevo.aplicar(persona, aportes.getOrDefault(persona, Map.of()), universo.contains(persona)));
+            porNivel = nuevo.porNivel;
+            porHabilidad = nuevo.porHabilidad;
+            aportes = nuevo.aportes;
+            universo = nuevo.universo;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indice de habilidades cargado: {} personas, {} habilidades", nuevo.universo.getCardinality(), nuevo.porHabilidad.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonaModificada(PersonaModificadaEvent event) {
+        if (event.getPersonaId() == null) {
+            cola.encolar(this::reconstruir);
+            return;
+        }
+        cola.encolar(() -> actualizar(event.getPersonaId()));
+    }
+
+    // Espera a que se apliquen los cambios encolados hasta este momento.
+    public void sincronizar() {
+        cola.sincronizar();
+    }
+
+    @Override
+    public void close() {
+        cola.close();
+    }
+
+    public ResultadoHabilidadesDto buscar(String consulta, Integer nivelMinimo, int pagina, int tamanio) {
+        final ExpresionHabilidades.Nodo expresion = ExpresionHabilidades.parsear(consulta, nivelMinimo);
+        lock.readLock().lock();
+        try {
+            final RoaringBitmap resultado = evaluar(expresion);
+            final int total = resultado.getCardinality();
+            final long desde = (long) pagina * tamanio;
+            final List<Long> ids = new ArrayList<>();
+            for (long i = desde; i < Math.min(desde + tamanio, total); i++) {
+                ids.add((long) resultado.select((int) i));
+            }
+            return new ResultadoHabilidadesDto(consulta, total, pagina, tamanio, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Copia propia: el resultado puede ser uno de los bitmaps del indice.
+    public RoaringBitmap personas(String consulta, Integer nivelMinimo) {
+        final ExpresionHabilidades.Nodo expresion = ExpresionHabilidades.parsear(consulta, nivelMinimo);
+        lock.readLock().lock();
+        try {
+            return evaluar(expresion).clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void actualizar(Long personaId) {
+        final long numero = orden.iniciar();
+        final Map<String, Integer> nuevos = new HashMap<>();
+        final boolean existe = Boolean.TRUE.equals(shards.enPersona(personaId, () -> lectura.execute(status -> {
+            habilidadRepo.findNivelesByPersonaId(personaId).forEach(nivel -> aportar(nuevos, nivel));
+            return personaRepo.existsById(personaId);
+        })));
+
+        lock.writeLock().lock();
+        try {
+            if (orden.aplicar(personaId, numero)) {
+                aplicar(Math.toIntExact(personaId), nuevos, existe);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void aplicar(int persona, Map<String, Integer> nuevos, boolean existe) {
+        final Map<String, Integer> anteriores = aportes.getOrDefault(persona, Map.of());
+        anteriores.forEach((habilidad, nivel) -> {
+            if (!nivel.equals(nuevos.get(habilidad))) {
+                quitar(persona, habilidad, nivel);
+            }
+        });
+        nuevos.forEach((habilidad, nivel) -> {
+            if (!nivel.equals(anteriores.get(habilidad))) {
+                agregar(persona, habilidad, nivel);
+            }
+        });
+        if (existe) {
+            universo.add(persona);
+            aportes.put(persona, nuevos);
+        } else {
+            universo.remove(persona);
+            aportes.remove(persona);
+        }
+    }
+
+    private HabilidadesIndice nuevoIndice() {
+        return new HabilidadesIndice(habilidadRepo, personaRepo, shards, lectura, cola);
+    }
+
+    private RoaringBitmap evaluar(ExpresionHabilidades.Nodo expresion) {
+        return expresion.evaluar(new ExpresionHabilidades.Evaluador() {
+            @Override
+            public RoaringBitmap termino(String habilidad, Integer nivel) {
+                return personasCon(habilidad, nivel);
+            }
+
+            @Override
+            public RoaringBitmap universo() {
+                return universo;
+            }
+        });
+    }
+
+    // Sin nivel alcanza con la union de la habilidad; con nivel se combinan los bitmaps de los niveles que cumplen.
+    private RoaringBitmap personasCon(String habilidad, Integer nivelMinimo) {
+        if (nivelMinimo == null) {
+            return porHabilidad.getOrDefault(habilidad, new RoaringBitmap());
+        }
+        final TreeMap<Integer, RoaringBitmap> niveles = porNivel.get(habilidad);
+        if (niveles == null) {
+            return new RoaringBitmap();
+        }
+        return FastAggregation.or(niveles.tailMap(nivelMinimo, true).values().iterator());
+    }
+
+    private void aportar(Map<String, Integer> habilidades, HabilidadRepository.NivelHabilidad nivel) {
+        if (nivel.getNombre() != null) {
+            habilidades.merge(ExpresionHabilidades.normalizar(nivel.getNombre()), nivel.getNivel(), Math::max);
+        }
+    }
+
+    private void agregar(int persona, String habilidad, int nivel) {
+        porNivel.computeIfAbsent(habilidad, h -> new TreeMap<>())
+                .computeIfAbsent(nivel, n -> new RoaringBitmap())
+                .add(persona);
+        porHabilidad.computeIfAbsent(habilidad, h -> new RoaringBitmap()).add(persona);
+    }
+
+    private void quitar(int persona, String habilidad, int nivel) {
+        final TreeMap<Integer, RoaringBitmap> niveles = porNivel.get(habilidad);
+        final RoaringBitmap personas = niveles.get(nivel);
+        personas.remove(persona);
+        if (personas.isEmpty()) {
+            niveles.remove(nivel);
+        }
+        final RoaringBitmap todas = porHabilidad.get(habilidad);
+        todas.remove(persona);
+        if (todas.isEmpty()) {
+            porHabilidad.remove(habilidad);
+            porNivel.remove(habilidad);
+        }
+    }
+}
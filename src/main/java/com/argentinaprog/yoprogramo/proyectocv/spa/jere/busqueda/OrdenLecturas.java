@@ -0,0 +1,43 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ordena las lecturas que un indice hace fuera de su lock. Cada lectura toma un numero antes de ir a la base y solo
+ * se aplica si no se aplico antes una lectura posterior de la misma persona o una reconstruccion completa posterior.
+ * Los eventos llegan despues del commit: una lectura que empezo despues ya ve el cambio que motivo a la anterior.
+ * Salvo {@link #iniciar()}, se llama con el lock de escritura del indice tomado.
+ */
+class OrdenLecturas {
+
+    private final AtomicLong secuencia = new AtomicLong();
+    private final Map<Long, Long> aplicadas = new HashMap<>();
+    private long reconstruccion;
+
+    long iniciar() {
+        return secuencia.incrementAndGet();
+    }
+
+    boolean aplicar(Long personaId, long lectura) {
+        if (lectura < reconstruccion || aplicadas.getOrDefault(personaId, 0L) > lectura) {
+            return false;
+        }
+        aplicadas.put(personaId, lectura);
+        return true;
+    }
+
+    // Vacio si ya se aplico una reconstruccion posterior; si no, las personas que el indice actual tiene mas nuevas
+    // que esta lectura y que hay que copiar a la reconstruccion antes de reemplazarlo.
+    Optional<Set<Long>> reconstruir(long lectura) {
+        if (lectura < reconstruccion) {
+            return Optional.empty();
+        }
+        reconstruccion = lectura;
+        aplicadas.values().removeIf(aplicada -> aplicada < lectura);
+        return Optional.of(Set.copyOf(aplicadas.keySet()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+
+import java.util.Map;
+
+final class PersonaDocumento {
+
+    static final String ID = "id";
+    static final String NOMBRE = "nombre";
+    static final String OCUPACION = "ocupacion";
+    static final String DESCRIPCION = "descripcion";
+    static final String HABILIDADES = "habilidades";
+    static final String TRABAJOS = "trabajos";
+    static final String ESTUDIOS = "estudios";
+    static final String PROYECTOS = "proyectos";
+
+    static final String NOMBRES_GUARDADO = "nombres_guardado";
+    static final String APELLIDOS_GUARDADO = "apellidos_guardado";
+    static final String OCUPACION_GUARDADA = "ocupacion_guardada";
+    static final String IMAGEN_GUARDADA = "imagen_guardada";
+
+    // Peso de cada campo en el ranking: el nombre y lo que la persona declara de si misma pesan mas que el detalle.
+    static final Map<String, Float> PESOS = Map.of(
+            NOMBRE, 4f,
+            OCUPACION, 3f,
+            HABILIDADES, 2.5f,
+            TRABAJOS, 2f,
+            ESTUDIOS, 1.5f,
+            PROYECTOS, 1f,
+            DESCRIPCION, 1f
+    );
+
+    private PersonaDocumento() {
+    }
+
+    static Document de(Persona persona) {
+        final var doc = new Document();
+        doc.add(new StringField(ID, persona.getId().toString(), Field.Store.YES));
+
+        texto(doc, NOMBRE, persona.getNombres());
+        texto(doc, NOMBRE, persona.getApellidos());
+        texto(doc, OCUPACION, persona.getOcupacion());
+        texto(doc, DESCRIPCION, persona.getDescripcion());
+        for (Habilidad habilidad : persona.getHabilidades()) {
+            texto(doc, HABILIDADES, habilidad.getNombre());
+            texto(doc, HABILIDADES, habilidad.getDescripcion());
+        }
+        for (Trabajo trabajo : persona.getExperienciasLaborales()) {
+            texto(doc, TRABAJOS, trabajo.getEmpresa());
+            texto(doc, TRABAJOS, trabajo.getCargo());
+        }
+        for (Educacion estudio : persona.getEstudios()) {
+            texto(doc, ESTUDIOS, estudio.getInstitucion());
+            texto(doc, ESTUDIOS, estudio.getTitulo());
+        }
+        for (Proyecto proyecto : persona.getProyectos()) {
+            texto(doc, PROYECTOS, proyecto.getNombre());
+            texto(doc, PROYECTOS, proyecto.getDescripcion());
+        }
+
+        guardado(doc, NOMBRES_GUARDADO, persona.getNombres());
+        guardado(doc, APELLIDOS_GUARDADO, persona.getApellidos());
+        guardado(doc, OCUPACION_GUARDADA, persona.getOcupacion());
+        final ImagenVariantes variantes = persona.getImagenVariantes();
+        guardado(doc, IMAGEN_GUARDADA, variantes != null && variantes.getMiniatura() != null
+                ? variantes.getMiniatura()
+                : persona.getImagen());
+        return doc;
+    }
+
+    private static void texto(Document doc, String campo, String valor) {
+        if (valor != null && !valor.isBlank()) {
+            doc.add(new TextField(campo, valor, Field.Store.NO));
+        }
+    }
+
+    private static void guardado(Document doc, String campo, String valor) {
+        if (valor != null) {
+            doc.add(new StoredField(campo, valor));
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.events.PersonaModificadaEvent;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.PaginaBusquedaFueraDeRangoException;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.PaginaBusquedaDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.ResultadoBusquedaDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class PersonaIndice implements Closeable {
+
+    private static final int LOTE_RECONSTRUCCION = 100;
+    // Cada pagina junta en memoria todos los resultados anteriores: mas alla de esta ventana se rechaza.
+    public static final int VENTANA_MAXIMA = 10_000;
+
+    private final PersonaRepository personaRepo;
+    private final Shards shards;
+    private final TransactionTemplate lectura;
+    private final int hilosReconstruccion;
+
+    private final MMapDirectory directorio;
+    private final Analyzer analyzer = new CvAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // Un solo hilo aplica los cambios: cada persona se reindexa en el orden en que se confirmo.
+    private final ExecutorService indexador = Executors.newSingleThreadExecutor(r -> {
+        final var hilo = new Thread(r, "indice-personas");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    public PersonaIndice(Path directorio, PersonaRepository personaRepo, Shards shards, PlatformTransactionManager transactionManager, int hilosReconstruccion) throws IOException {
+        this.personaRepo = personaRepo;
+        this.shards = shards;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.hilosReconstruccion = hilosReconstruccion;
+        this.directorio = new MMapDirectory(directorio);
+        this.writer = new IndexWriter(this.directorio, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificarAlIniciar() {
+        indexador.execute(() -> {
+            final long personas = shards.recolectar(personaRepo::count).stream().mapToLong(Long::longValue).sum();
+            final int documentos = writer.getDocStats().numDocs;
+            if (personas != documentos) {
+                log.info("Indice de busqueda desactualizado ({} documentos, {} personas): reconstruyendo", documentos, personas);
+                reconstruirAhora();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonaModificada(PersonaModificadaEvent event) {
+        if (event.getPersonaId() == null) {
+            indexador.execute(this::reconstruirAhora);
+            return;
+        }
+        indexador.execute(() -> actualizar(event.getPersonaId()));
+    }
+
+    public void reconstruir() {
+        esperar(indexador.submit(this::reconstruirAhora));
+    }
+
+    // Espera a que se apliquen los cambios encolados hasta este momento.
+    public void sincronizar() {
+        esperar(indexador.submit(() -> {
+        }));
+    }
+
+    public PaginaBusquedaDto buscar(String consulta, int pagina, int tamanio) {
+        if ((long) pagina * tamanio + tamanio > VENTANA_MAXIMA) {
+            throw new PaginaBusquedaFueraDeRangoException(VENTANA_MAXIMA, pagina, tamanio);
+        }
+        final Query query = parsear(consulta);
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            final var collector = TopScoreDocCollector.create((pagina + 1) * tamanio, Integer.MAX_VALUE);
+            searcher.search(query, collector);
+            final TopDocs top = collector.topDocs(pagina * tamanio, tamanio);
+
+            final List<ResultadoBusquedaDto> resultados = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                final Document doc = searcher.doc(scoreDoc.doc);
+                resultados.add(new ResultadoBusquedaDto(
+                        Long.valueOf(doc.get(PersonaDocumento.ID)),
+                        doc.get(PersonaDocumento.NOMBRES_GUARDADO),
+                        doc.get(PersonaDocumento.APELLIDOS_GUARDADO),
+                        doc.get(PersonaDocumento.OCUPACION_GUARDADA),
+                        doc.get(PersonaDocumento.IMAGEN_GUARDADA),
+                        scoreDoc.score));
+            }
+            return new PaginaBusquedaDto(consulta, collector.getTotalHits(), pagina, tamanio, resultados);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            liberar(searcher);
+        }
+    }
+
+    // Los documentos nuevos se ven al refrescar el searcher (near-real-time); el commit a disco es periodico.
+    @Scheduled(fixedDelayString = "${application.busqueda.intervalo-commit-ms}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        indexador.shutdown();
+        try {
+            indexador.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searcherManager.close();
+        writer.close();
+        directorio.close();
+    }
+
+    private void actualizar(Long personaId) {
+        try {
+            final Document doc = shards.enPersona(personaId, () -> lectura.execute(status -> personaRepo.findById(personaId)
+                    .map(PersonaDocumento::de)
+                    .orElse(null)));
+            final var term = new Term(PersonaDocumento.ID, personaId.toString());
+            if (doc == null) {
+                writer.deleteDocuments(term);
+            } else {
+                writer.updateDocument(term, doc);
+            }
+            searcherManager.maybeRefresh();
+        } catch (Exception e) {
+            log.error("No se pudo indexar la persona {}", personaId, e);
+        }
+    }
+
+    private Void reconstruirAhora() {
+        final long inicio = System.nanoTime();
+        final Map<String, List<Long>> idsPorShard = shards.porShard(personaRepo::findAllIds);
+        final int personas = idsPorShard.values().stream().mapToInt(List::size).sum();
+        final ExecutorService workers = Executors.newFixedThreadPool(hilosReconstruccion);
+        try {
+            writer.deleteAll();
+            final List<Future<?>> lotes = new ArrayList<>();
+            idsPorShard.forEach((shard, ids) -> {
+                for (int desde = 0; desde < ids.size(); desde += LOTE_RECONSTRUCCION) {
+                    final List<Long> lote = ids.subList(desde, Math.min(ids.size(), desde + LOTE_RECONSTRUCCION));
+                    lotes.add(workers.submit(() -> indexarLote(shard, lote)));
+                }
+            });
+            for (Future<?> lote : lotes) {
+                esperar(lote);
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            log.info("Indice de busqueda reconstruido: {} personas en {} ms", personas,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            workers.shutdown();
+        }
+        return null;
+    }
+
+    private Void indexarLote(String shard, List<Long> lote) throws IOException {
+        final List<Document> docs = shards.en(shard, () -> lectura.execute(status -> personaRepo.findAllById(lote)
+                .stream()
+                .map(PersonaDocumento::de)
+                .collect(Collectors.toList())));
+        writer.addDocuments(docs);
+        return null;
+    }
+
+    // Lo que no es sintaxis valida de Lucene se busca como texto literal.
+    private Query parsear(String consulta) {
+        final String[] campos = PersonaDocumento.PESOS.keySet().toArray(new String[0]);
+        final var parser = new MultiFieldQueryParser(campos, analyzer, PersonaDocumento.PESOS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(consulta);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(consulta));
+            } catch (ParseException literal) {
+                return new MatchNoDocsQuery();
+            }
+        }
+    }
+
+    private void liberar(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void esperar(Future<?> tarea) {
+        try {
+            tarea.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+public enum TipoAutocompletado {
+    HABILIDAD,
+    EMPRESA,
+    INSTITUCION,
+    NOMBRE
+}
@@ -0,0 +1,225 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.SugerenciaDto;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie de claves normalizadas donde cada nodo guarda sus mejores completados por frecuencia.
+ * Una consulta recorre el prefijo y devuelve la lista ya calculada; el costo se paga al escribir,
+ * recalculando solo los nodos del camino modificado.
+ */
+class Trie {
+
+    static final int TOP_MAXIMO = 10;
+
+    private static final char[] SIN_CLAVES = new char[0];
+    private static final Nodo[] SIN_HIJOS = new Nodo[0];
+    private static final Entrada[] SIN_ENTRADAS = new Entrada[0];
+
+    private static final Comparator<Entrada> POR_FRECUENCIA = Comparator.comparingInt((Entrada entrada) -> entrada.frecuencia).reversed()
+            .thenComparing(entrada -> entrada.clave);
+
+    // Tamanios aproximados con compressed oops: cabecera de objeto 12 bytes, de arreglo 16, referencias de 4.
+    private static final int BYTES_NODO = 32;
+    private static final int BYTES_ENTRADA = 24;
+    private static final int BYTES_STRING = 24;
+    private static final int BYTES_ARREGLO = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Nodo raiz = new Nodo();
+    private int entradas;
+
+    private static final class Nodo {
+
+        private char[] claves = SIN_CLAVES;
+        private Nodo[] hijos = SIN_HIJOS;
+        private Entrada entrada;
+        private Entrada[] top = SIN_ENTRADAS;
+
+        private Nodo hijo(char c) {
+            final int i = Arrays.binarySearch(claves, c);
+            return i >= 0 ? hijos[i] : null;
+        }
+
+        private Nodo crearHijo(char c) {
+            final int i = Arrays.binarySearch(claves, c);
+            if (i >= 0) {
+                return hijos[i];
+            }
+            final int posicion = -i - 1;
+            final var nuevo = new Nodo();
+            claves = insertar(claves, posicion, c);
+            hijos = insertar(hijos, posicion, nuevo);
+            return nuevo;
+        }
+
+        private void quitarHijo(char c) {
+            final int i = Arrays.binarySearch(claves, c);
+            final char[] nuevasClaves = new char[claves.length - 1];
+            final Nodo[] nuevosHijos = new Nodo[hijos.length - 1];
+            System.arraycopy(claves, 0, nuevasClaves, 0, i);
+            System.arraycopy(claves, i + 1, nuevasClaves, i, claves.length - i - 1);
+            System.arraycopy(hijos, 0, nuevosHijos, 0, i);
+            System.arraycopy(hijos, i + 1, nuevosHijos, i, hijos.length - i - 1);
+            claves = nuevasClaves.length == 0 ? SIN_CLAVES : nuevasClaves;
+            hijos = nuevosHijos.length == 0 ? SIN_HIJOS : nuevosHijos;
+        }
+
+        // Combina la entrada propia con los mejores de cada hijo, que ya estan calculados.
+        private void recalcularTop() {
+            final var candidatos = new PriorityQueue<>(POR_FRECUENCIA);
+            if (entrada != null) {
+                candidatos.add(entrada);
+            }
+            for (Nodo hijo : hijos) {
+                candidatos.addAll(Arrays.asList(hijo.top));
+            }
+            final int cantidad = Math.min(TOP_MAXIMO, candidatos.size());
+            final Entrada[] nuevo = new Entrada[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                nuevo[i] = candidatos.poll();
+            }
+            top = cantidad == 0 ? SIN_ENTRADAS : nuevo;
+        }
+    }
+
+    private static final class Entrada {
+
+        private final String clave;
+        private String valor;
+        private int frecuencia;
+
+        private Entrada(String clave, String valor) {
+            this.clave = clave;
+            this.valor = valor;
+        }
+    }
+
+    // La clave es la normalizada del catalogo (ExpresionHabilidades.normalizar); el valor es el texto que se muestra.
+    void sumar(String clave, String valor, int delta) {
+        if (clave.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            final Nodo[] camino = new Nodo[clave.length() + 1];
+            camino[0] = raiz;
+            for (int i = 0; i < clave.length(); i++) {
+                camino[i + 1] = delta > 0 ? camino[i].crearHijo(clave.charAt(i)) : camino[i].hijo(clave.charAt(i));
+                if (camino[i + 1] == null) {
+                    return;
+                }
+            }
+            final Nodo terminal = camino[clave.length()];
+            if (terminal.entrada == null) {
+                if (delta <= 0) {
+                    return;
+                }
+                terminal.entrada = new Entrada(clave, valor);
+                entradas++;
+            }
+            terminal.entrada.frecuencia += delta;
+            if (delta > 0) {
+                terminal.entrada.valor = valor;
+            }
+            if (terminal.entrada.frecuencia <= 0) {
+                terminal.entrada = null;
+                entradas--;
+            }
+            for (int i = clave.length(); i >= 0; i--) {
+                final Nodo nodo = camino[i];
+                if (i > 0 && nodo.entrada == null && nodo.hijos.length == 0) {
+                    camino[i - 1].quitarHijo(clave.charAt(i - 1));
+                } else {
+                    nodo.recalcularTop();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<SugerenciaDto> completar(String prefijo, int cantidad) {
+        final String clave = ExpresionHabilidades.normalizar(prefijo);
+        lock.readLock().lock();
+        try {
+            Nodo nodo = raiz;
+            for (int i = 0; i < clave.length() && nodo != null; i++) {
+                nodo = nodo.hijo(clave.charAt(i));
+            }
+            if (nodo == null) {
+                return List.of();
+            }
+            final int limite = Math.min(cantidad, nodo.top.length);
+            final List<SugerenciaDto> sugerencias = new ArrayList<>(limite);
+            for (int i = 0; i < limite; i++) {
+                sugerencias.add(new SugerenciaDto(nodo.top[i].valor, nodo.top[i].frecuencia));
+            }
+            return sugerencias;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int entradas() {
+        lock.readLock().lock();
+        try {
+            return entradas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Estimacion recorriendo el trie: se consulta desde actuator, no en cada escritura.
+    long bytesEstimados() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            final Deque<Nodo> pendientes = new ArrayDeque<>();
+            pendientes.push(raiz);
+            while (!pendientes.isEmpty()) {
+                final Nodo nodo = pendientes.pop();
+                bytes += BYTES_NODO
+                        + alinear(BYTES_ARREGLO + 2L * nodo.claves.length)
+                        + alinear(BYTES_ARREGLO + 4L * nodo.hijos.length)
+                        + alinear(BYTES_ARREGLO + 4L * nodo.top.length);
+                if (nodo.entrada != null) {
+                    bytes += BYTES_ENTRADA + bytesString(nodo.entrada.clave) + bytesString(nodo.entrada.valor);
+                }
+                for (Nodo hijo : nodo.hijos) {
+                    pendientes.push(hijo);
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long bytesString(String valor) {
+        return BYTES_STRING + alinear(BYTES_ARREGLO + valor.length() * 2L);
+    }
+
+    private static long alinear(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static char[] insertar(char[] arreglo, int posicion, char valor) {
+        final char[] nuevo = new char[arreglo.length + 1];
+        System.arraycopy(arreglo, 0, nuevo, 0, posicion);
+        nuevo[posicion] = valor;
+        System.arraycopy(arreglo, posicion, nuevo, posicion + 1, arreglo.length - posicion);
+        return nuevo;
+    }
+
+    private static Nodo[] insertar(Nodo[] arreglo, int posicion, Nodo valor) {
+        final Nodo[] nuevo = new Nodo[arreglo.length + 1];
+        System.arraycopy(arreglo, 0, nuevo, 0, posicion);
+        nuevo[posicion] = valor;
+        System.arraycopy(arreglo, posicion, nuevo, posicion + 1, arreglo.length - posicion);
+        return nuevo;
+    }
+}
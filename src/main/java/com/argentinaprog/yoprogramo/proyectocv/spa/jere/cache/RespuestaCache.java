@@ -0,0 +1,70 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.cache;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.events.PersonaModificadaEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class RespuestaCache {
+
+    public static final String TAG_TODAS = "personas";
+
+    private final Cache<String, RespuestaCacheada> respuestas;
+
+    // Cada purga invalida las respuestas que se estaban generando con datos previos a la modificacion.
+    private final AtomicLong generacion = new AtomicLong();
+
+    public RespuestaCache(long maxBytes) {
+        this.respuestas = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String clave, RespuestaCacheada respuesta) -> respuesta.peso())
+                .build();
+    }
+
+    public static String tagPersona(Long personaId) {
+        return "persona:" + personaId;
+    }
+
+    public RespuestaCacheada obtener(String clave) {
+        return respuestas.getIfPresent(clave);
+    }
+
+    public long generacion() {
+        return generacion.get();
+    }
+
+    public void guardar(String clave, long generacionLeida, RespuestaCacheada respuesta) {
+        if (generacion.get() != generacionLeida) {
+            return;
+        }
+        respuestas.put(clave, respuesta);
+        if (generacion.get() != generacionLeida) {
+            respuestas.invalidate(clave);
+        }
+    }
+
+    public void purgar(Set<String> tags) {
+        generacion.incrementAndGet();
+        respuestas.asMap().values().removeIf(respuesta -> respuesta.getTags().stream().anyMatch(tags::contains));
+        log.debug("Respuestas cacheadas purgadas para {}", tags);
+    }
+
+    public void purgarTodo() {
+        generacion.incrementAndGet();
+        respuestas.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonaModificada(PersonaModificadaEvent event) {
+        if (event.getPersonaId() == null) {
+            purgarTodo();
+            return;
+        }
+        purgar(Set.of(tagPersona(event.getPersonaId()), TAG_TODAS));
+    }
+}
@@ -0,0 +1,115 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.cache;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.springframework.http.HttpHeaders.*;
+
+public class RespuestaCacheFilter extends OncePerRequestFilter {
+
+    public static final String X_CACHE = "X-Cache";
+
+    // Atributo del request que marca una respuesta leida de una replica que puede estar atrasada: se sirve pero no se guarda
+    public static final String SIN_CACHE = RespuestaCacheFilter.class.getName() + ".SIN_CACHE";
+
+    private static final Pattern FIND_PERSONA = Pattern.compile("/api/v1/persona/find/(\\d+)");
+    private static final String ALL_PERSONAS = "/api/v1/persona/all";
+
+    private final RespuestaCache cache;
+
+    public RespuestaCacheFilter(RespuestaCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || tags(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        final String clave = clave(request);
+        final boolean aceptaGzip = aceptaGzip(request.getHeader(ACCEPT_ENCODING));
+
+        final RespuestaCacheada cacheada = cache.obtener(clave);
+        if (cacheada != null) {
+            escribir(response, cacheada, aceptaGzip, "HIT");
+            return;
+        }
+
+        final long generacion = cache.generacion();
+        final var wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() != HttpStatus.OK.value() || wrapper.getContentType() == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        final var respuesta = new RespuestaCacheada(wrapper.getContentType(), wrapper.getContentAsByteArray(), tags(request));
+        if (request.getAttribute(SIN_CACHE) == null) {
+            cache.guardar(clave, generacion, respuesta);
+        }
+        escribir(response, respuesta, aceptaGzip, "MISS");
+    }
+
+    private static void escribir(HttpServletResponse response, RespuestaCacheada respuesta, boolean aceptaGzip, String estado) throws IOException {
+        final byte[] cuerpo = respuesta.cuerpo(aceptaGzip);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(respuesta.getContentType());
+        response.setContentLength(cuerpo.length);
+        if (aceptaGzip) {
+            response.setHeader(CONTENT_ENCODING, "gzip");
+        }
+        response.addHeader(VARY, ACCEPT);
+        response.addHeader(VARY, ACCEPT_ENCODING);
+        response.setHeader(X_CACHE, estado);
+        response.getOutputStream().write(cuerpo);
+    }
+
+    private static Set<String> tags(HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (ALL_PERSONAS.equals(path)) {
+            return Set.of(RespuestaCache.TAG_TODAS);
+        }
+        final Matcher matcher = FIND_PERSONA.matcher(path);
+        if (matcher.matches()) {
+            return Set.of(RespuestaCache.tagPersona(Long.valueOf(matcher.group(1))));
+        }
+        return null;
+    }
+
+    // La codificacion no forma parte de la clave: cada entrada guarda todas sus variantes comprimidas.
+    private static String clave(HttpServletRequest request) {
+        return request.getRequestURI()
+                + "?" + Objects.toString(request.getQueryString(), "")
+                + "|" + Objects.toString(request.getHeader(ACCEPT), "*/*");
+    }
+
+    static boolean aceptaGzip(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        for (String codificacion : acceptEncoding.split(",")) {
+            final String[] partes = codificacion.trim().split(";");
+            final String nombre = partes[0].trim();
+            if (!"gzip".equalsIgnoreCase(nombre) && !"*".equals(nombre)) {
+                continue;
+            }
+            return partes.length < 2 || !partes[1].trim().matches("q\\s*=\\s*0(\\.0*)?");
+        }
+        return false;
+    }
+}
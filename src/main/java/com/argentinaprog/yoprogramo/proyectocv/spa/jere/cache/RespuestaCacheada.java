@@ -0,0 +1,43 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.cache;
+
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+@Getter
+public class RespuestaCacheada {
+
+    private final String contentType;
+    private final byte[] identidad;
+    private final byte[] gzip;
+    private final Set<String> tags;
+
+    public RespuestaCacheada(String contentType, byte[] identidad, Set<String> tags) {
+        this.contentType = contentType;
+        this.identidad = identidad;
+        this.gzip = comprimir(identidad);
+        this.tags = tags;
+    }
+
+    public byte[] cuerpo(boolean aceptaGzip) {
+        return aceptaGzip ? gzip : identidad;
+    }
+
+    int peso() {
+        return identidad.length + gzip.length;
+    }
+
+    private static byte[] comprimir(byte[] contenido) {
+        final var salida = new ByteArrayOutputStream(contenido.length / 4 + 64);
+        try (var gzipStream = new GZIPOutputStream(salida)) {
+            gzipStream.write(contenido);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+}
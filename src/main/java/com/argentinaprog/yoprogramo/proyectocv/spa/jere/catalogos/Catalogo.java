@@ -0,0 +1,59 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public enum Catalogo {
+    LUGAR("lugar", null),
+    EMPRESA("empresa", null),
+    INSTITUCION("institucion", null),
+    HABILIDAD("habilidad_canonica", "habilidad_alias");
+
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    // Misma expresion que la migracion V6: "Java 11" y "Python v3.10" son alias de "Java" y "Python".
+    private static final Pattern VERSION = Pattern.compile("\\s+[vV]?[0-9]+([.][0-9]+)*$");
+
+    private final String tabla;
+    private final String tablaAlias;
+
+    Catalogo(String tabla, String tablaAlias) {
+        this.tabla = tabla;
+        this.tablaAlias = tablaAlias;
+    }
+
+    public String getTabla() {
+        return tabla;
+    }
+
+    public String getTablaAlias() {
+        return tablaAlias;
+    }
+
+    public boolean tieneAlias() {
+        return tablaAlias != null;
+    }
+
+    // Nombre que se guarda en la tabla canonica para una variante nueva.
+    public String canonico(String nombre) {
+        final String limpio = ESPACIOS.matcher(nombre.trim()).replaceAll(" ");
+        return tieneAlias() ? VERSION.matcher(limpio).replaceAll("") : limpio;
+    }
+
+    // Clave de busqueda del alias; los acentos los iguala la collation de la base.
+    public String alias(String nombre) {
+        return canonico(nombre).toLowerCase(Locale.ROOT);
+    }
+
+    // Texto que se guarda: el de la habilidad canonica, o el escrito por el usuario sin los espacios de los extremos.
+    public String texto(String nombre) {
+        return tieneAlias() ? canonico(nombre) : nombre.strip();
+    }
+
+    // Clave normalizada de lugar, empresa e institucion: "Córdoba" y "cordoba " son variantes del mismo valor.
+    public static String clave(String nombre) {
+        final String sinAcentos = DIACRITICOS.matcher(Normalizer.normalize(nombre, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinAcentos.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,29 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos;
+
+import javax.persistence.AttributeConverter;
+
+/**
+ * Las entidades siguen exponiendo el texto; en la tabla queda el id del catalogo.
+ * Hibernate crea los converters a traves de Spring, por eso pueden recibir el resolver por constructor.
+ * Corren durante el flush y no escriben: los textos nuevos se registran antes de guardar.
+ */
+abstract class CatalogoConverter implements AttributeConverter<String, Long> {
+
+    private final CatalogoResolver resolver;
+    private final Catalogo catalogo;
+
+    CatalogoConverter(CatalogoResolver resolver, Catalogo catalogo) {
+        this.resolver = resolver;
+        this.catalogo = catalogo;
+    }
+
+    @Override
+    public Long convertToDatabaseColumn(String nombre) {
+        return resolver.id(catalogo, nombre);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long id) {
+        return resolver.nombre(catalogo, id);
+    }
+}
@@ -0,0 +1,242 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.ShardContexto;
+import org.hibernate.Hibernate;
+import org.hibernate.collection.internal.AbstractPersistentCollection;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Traduce textos de catalogo a ids y viceversa. Todas las entidades que comparten un valor reciben
+ * la misma instancia de String, y los catalogos crecen con las escrituras: quien guarda registra antes los textos
+ * nuevos ({@link #registrar(Persona)}) y el converter solo los lee.
+ * Lugar, empresa e institucion guardan el texto tal como se escribio (la columna compara en binario) junto a su
+ * clave normalizada; en los catalogos con alias cada variante escrita se resuelve primero contra la tabla de alias.
+ */
+@Component
+public class CatalogoResolver {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Con shards cada base numera sus catalogos por su cuenta: una cache por shard ("" sin shards)
+    private final Map<String, Caches> cachesPorShard = new ConcurrentHashMap<>();
+
+    public CatalogoResolver(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Se llama antes de guardar: inserta los textos nuevos del grafo para que el flush solo tenga que leer la cache.
+    public void registrar(Persona persona) {
+        aGuardar(persona.getExperienciasLaborales()).forEach(trabajo -> {
+            registrar(Catalogo.EMPRESA, trabajo.getEmpresa());
+            registrar(Catalogo.LUGAR, trabajo.getLugar());
+        });
+        aGuardar(persona.getEstudios()).forEach(estudio -> {
+            registrar(Catalogo.INSTITUCION, estudio.getInstitucion());
+            registrar(Catalogo.LUGAR, estudio.getLugar());
+        });
+        aGuardar(persona.getHabilidades()).forEach(habilidad -> registrar(Catalogo.HABILIDAD, habilidad.getNombre()));
+    }
+
+    public Long registrar(Catalogo catalogo, String nombre) {
+        final String clave = clave(catalogo, nombre);
+        if (clave == null) {
+            return null;
+        }
+        final Caches caches = caches();
+        final Long cacheado = caches.idsPorNombre.get(catalogo).get(clave);
+        if (cacheado != null) {
+            return cacheado;
+        }
+        final Long id = pendientes(catalogo).computeIfAbsent(clave, c -> catalogo.tieneAlias()
+                ? buscarOInsertarAlias(catalogo, nombre, c)
+                : buscarOInsertar(catalogo, c));
+        registrarAlConfirmar(caches.idsPorNombre.get(catalogo), clave, id);
+        return id;
+    }
+
+    // Lo usa el converter durante el flush: solo lee. Un texto que nadie registro antes de guardar es un error de quien guarda.
+    public Long id(Catalogo catalogo, String nombre) {
+        final String clave = clave(catalogo, nombre);
+        if (clave == null) {
+            return null;
+        }
+        final Long cacheado = caches().idsPorNombre.get(catalogo).get(clave);
+        if (cacheado != null) {
+            return cacheado;
+        }
+        @SuppressWarnings("unchecked")
+        final Map<String, Long> pendientes = (Map<String, Long>) TransactionSynchronizationManager.getResource(recurso(catalogo));
+        final Long pendiente = pendientes != null ? pendientes.get(clave) : null;
+        if (pendiente != null) {
+            return pendiente;
+        }
+        final Long id = buscar(catalogo, nombre, clave);
+        if (id == null) {
+            throw new IllegalStateException(String.format("'%s' no esta en el catalogo %s: hay que registrarlo antes de guardar", nombre, catalogo));
+        }
+        return id;
+    }
+
+    public String nombre(Catalogo catalogo, Long id) {
+        if (id == null) {
+            return null;
+        }
+        final Map<Long, String> nombresPorId = caches().nombresPorId.get(catalogo);
+        final String cacheado = nombresPorId.get(id);
+        if (cacheado != null) {
+            return cacheado;
+        }
+        final String nombre = jdbcTemplate.queryForObject("SELECT nombre FROM " + catalogo.getTabla() + " WHERE id = ?", String.class, id);
+        final String anterior = nombresPorId.putIfAbsent(id, nombre);
+        return anterior != null ? anterior : nombre;
+    }
+
+    // Una coleccion sin inicializar no se carga: sus elementos no cambiaron y los add quedan encolados sin cargarla.
+    @SuppressWarnings("unchecked")
+    private static <E> Collection<E> aGuardar(Collection<E> coleccion) {
+        if (coleccion == null || Hibernate.isInitialized(coleccion)) {
+            return coleccion == null ? List.of() : coleccion;
+        }
+        final List<E> agregados = new ArrayList<>();
+        ((AbstractPersistentCollection) coleccion).queuedAdditionIterator().forEachRemaining(elemento -> agregados.add((E) elemento));
+        return agregados;
+    }
+
+    private static String clave(Catalogo catalogo, String nombre) {
+        if (nombre == null) {
+            return null;
+        }
+        final String clave = catalogo.tieneAlias() ? catalogo.alias(nombre) : catalogo.texto(nombre);
+        return clave.isEmpty() ? null : clave;
+    }
+
+    // Una habilidad guardada se lee con su nombre canonico, que puede no estar registrado como alias.
+    private Long buscar(Catalogo catalogo, String nombre, String clave) {
+        try {
+            if (catalogo.tieneAlias()) {
+                return jdbcTemplate.queryForObject("SELECT " + catalogo.getTabla() + "_id FROM " + catalogo.getTablaAlias() + " WHERE alias = ?", Long.class, clave);
+            }
+            return jdbcTemplate.queryForObject("SELECT id FROM " + catalogo.getTabla() + " WHERE nombre = ?", Long.class, clave);
+        } catch (EmptyResultDataAccessException e) {
+            if (!catalogo.tieneAlias()) {
+                return null;
+            }
+        }
+        try {
+            return jdbcTemplate.queryForObject("SELECT id FROM " + catalogo.getTabla() + " WHERE nombre = ?", Long.class, catalogo.canonico(nombre));
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    // Busca primero: la mayoria de los textos ya existen y la lectura no bloquea la clave unica.
+    private Long buscarOInsertar(Catalogo catalogo, String nombre) {
+        try {
+            return jdbcTemplate.queryForObject("SELECT id FROM " + catalogo.getTabla() + " WHERE nombre = ?", Long.class, nombre);
+        } catch (EmptyResultDataAccessException e) {
+            return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try (PreparedStatement insert = connection.prepareStatement(catalogo.tieneAlias()
+                        ? "INSERT INTO " + catalogo.getTabla() + " (nombre) VALUES (?) ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)"
+                        : "INSERT INTO " + catalogo.getTabla() + " (nombre, clave) VALUES (?, ?) ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)")) {
+                    insert.setString(1, nombre);
+                    if (!catalogo.tieneAlias()) {
+                        insert.setString(2, Catalogo.clave(nombre));
+                    }
+                    insert.executeUpdate();
+                }
+                try (PreparedStatement ultimo = connection.prepareStatement("SELECT LAST_INSERT_ID()");
+                     ResultSet rs = ultimo.executeQuery()) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            });
+        }
+    }
+
+    private Long buscarOInsertarAlias(Catalogo catalogo, String nombre, String alias) {
+        final String porAlias = "SELECT " + catalogo.getTabla() + "_id FROM " + catalogo.getTablaAlias() + " WHERE alias = ?";
+        try {
+            return jdbcTemplate.queryForObject(porAlias, Long.class, alias);
+        } catch (EmptyResultDataAccessException e) {
+            final Long id = buscarOInsertar(catalogo, catalogo.canonico(nombre));
+            jdbcTemplate.update("INSERT IGNORE INTO " + catalogo.getTablaAlias() + " (alias, " + catalogo.getTabla() + "_id) VALUES (?, ?)", alias, id);
+            // Si otra transaccion registro el mismo alias primero, vale el suyo. La lectura bloqueante ve su fila
+            // confirmada; una lectura comun usaria la foto de la primera consulta y no la encontraria.
+            return jdbcTemplate.queryForObject(porAlias + " LOCK IN SHARE MODE", Long.class, alias);
+        }
+    }
+
+    private Caches caches() {
+        final String shard = ShardContexto.actual();
+        return cachesPorShard.computeIfAbsent(shard == null ? "" : shard, s -> new Caches());
+    }
+
+    // Un id insertado dentro de una transaccion que despues se revierte no debe quedar en la cache compartida.
+    // La cache del shard se toma antes: el afterCommit puede correr con el contexto ya restaurado.
+    private void registrarAlConfirmar(Map<String, Long> idsPorNombre, String nombre, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idsPorNombre.put(nombre, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idsPorNombre.put(nombre, id);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> pendientes(Catalogo catalogo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashMap<>();
+        }
+        final String recurso = recurso(catalogo);
+        Map<String, Long> pendientes = (Map<String, Long>) TransactionSynchronizationManager.getResource(recurso);
+        if (pendientes == null) {
+            pendientes = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(recurso, pendientes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(recurso);
+                }
+            });
+        }
+        return pendientes;
+    }
+
+    private static String recurso(Catalogo catalogo) {
+        return CatalogoResolver.class.getName() + "." + catalogo;
+    }
+
+    private static class Caches {
+
+        private final Map<Catalogo, Map<String, Long>> idsPorNombre = new EnumMap<>(Catalogo.class);
+        private final Map<Catalogo, Map<Long, String>> nombresPorId = new EnumMap<>(Catalogo.class);
+
+        private Caches() {
+            for (Catalogo catalogo : Catalogo.values()) {
+                idsPorNombre.put(catalogo, new ConcurrentHashMap<>());
+                nombresPorId.put(catalogo, new ConcurrentHashMap<>());
+            }
+        }
+    }
+}
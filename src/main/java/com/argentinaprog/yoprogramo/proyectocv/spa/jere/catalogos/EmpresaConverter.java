@@ -0,0 +1,11 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos;
+
+import javax.persistence.Converter;
+
+@Converter
+public class EmpresaConverter extends CatalogoConverter {
+
+    public EmpresaConverter(CatalogoResolver resolver) {
+        super(resolver, Catalogo.EMPRESA);
+    }
+}
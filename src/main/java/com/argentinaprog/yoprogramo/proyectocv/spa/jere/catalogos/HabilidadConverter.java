@@ -0,0 +1,11 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos;
+
+import javax.persistence.Converter;
+
+@Converter
+public class HabilidadConverter extends CatalogoConverter {
+
+    public HabilidadConverter(CatalogoResolver resolver) {
+        super(resolver, Catalogo.HABILIDAD);
+    }
+}
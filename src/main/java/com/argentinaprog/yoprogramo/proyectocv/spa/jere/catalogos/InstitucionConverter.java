@@ -0,0 +1,11 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos;
+
+import javax.persistence.Converter;
+
+@Converter
+public class InstitucionConverter extends CatalogoConverter {
+
+    public InstitucionConverter(CatalogoResolver resolver) {
+        super(resolver, Catalogo.INSTITUCION);
+    }
+}
@@ -0,0 +1,11 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos;
+
+import javax.persistence.Converter;
+
+@Converter
+public class LugarConverter extends CatalogoConverter {
+
+    public LugarConverter(CatalogoResolver resolver) {
+        super(resolver, Catalogo.LUGAR);
+    }
+}
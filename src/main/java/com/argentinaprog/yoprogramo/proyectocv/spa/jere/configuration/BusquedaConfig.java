@@ -0,0 +1,30 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.PersonaIndice;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@Configuration
+@ConditionalOnProperty(prefix = "application.busqueda", name = "enabled", havingValue = "true")
+public class BusquedaConfig {
+
+    @Bean
+    public PersonaIndice personaIndice(@Value("${application.busqueda.directorio}") String directorio,
+                                       @Value("${application.busqueda.hilos-reconstruccion}") int hilosReconstruccion,
+                                       PersonaRepository personaRepo,
+                                       Shards shards,
+                                       PlatformTransactionManager transactionManager) throws IOException {
+        final Path path = Files.createDirectories(Paths.get(directorio));
+        return new PersonaIndice(path, personaRepo, shards, transactionManager, hilosReconstruccion);
+    }
+}
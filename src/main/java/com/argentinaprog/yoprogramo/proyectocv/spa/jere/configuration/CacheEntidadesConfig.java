@@ -0,0 +1,68 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nivel de Hibernate sobre JCache (Caffeine), con un tamanio maximo por region.
+ * Las regiones se crean aca y Hibernate falla al iniciar si una entidad pide una que no existe.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class CacheEntidadesConfig {
+
+    private static final String TAMANIO_PROPERTY = "application.cache.entidades.regiones.";
+    private static final long TAMANIO_POR_DEFECTO = 10_000;
+
+    static final List<String> REGIONES = List.of(
+            "persona",
+            "persona-estudios",
+            "persona-habilidades",
+            "persona-experiencias-laborales",
+            "persona-proyectos",
+            "educacion",
+            "habilidad",
+            "trabajo",
+            "proyecto",
+            "usuario",
+            "usuario-username"
+    );
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheEntidadesCustomizer(Environment environment) {
+        final CacheManager cacheManager = cacheManager(environment);
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Un CacheManager propio por contexto: Hibernate lo cierra junto con la SessionFactory.
+    private static CacheManager cacheManager(Environment environment) {
+        final CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("cache-entidades-" + UUID.randomUUID()), CacheEntidadesConfig.class.getClassLoader());
+        for (String region : REGIONES) {
+            final var configuracion = new CaffeineConfiguration<Object, Object>();
+            configuracion.setMaximumSize(OptionalLong.of(environment.getProperty(TAMANIO_PROPERTY + region, Long.class, TAMANIO_POR_DEFECTO)));
+            // Hibernate ya guarda copias desensambladas: no hace falta serializar cada entrada.
+            configuracion.setStoreByValue(false);
+            cacheManager.createCache(region, configuracion);
+        }
+        return cacheManager;
+    }
+}
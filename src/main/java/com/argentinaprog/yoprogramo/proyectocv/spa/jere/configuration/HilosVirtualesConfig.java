@@ -0,0 +1,44 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "application.threads", name = "virtual", havingValue = "true")
+public class HilosVirtualesConfig {
+
+    private static final String JAVA_21_REQUERIDO_ERROR_MSG = "application.threads.virtual=true requiere Java 21 o superior (runtime actual: %s)";
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService ejecutorHilosVirtuales() {
+        try {
+            final var ejecutor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Requests y tareas @Async se ejecutan en hilos virtuales");
+            return ejecutor;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(String.format(JAVA_21_REQUERIDO_ERROR_MSG, Runtime.version()), e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> hilosVirtualesTomcat(ExecutorService ejecutorHilosVirtuales) {
+        return protocolHandler -> protocolHandler.setExecutor(ejecutorHilosVirtuales);
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService ejecutorHilosVirtuales) {
+        return new TaskExecutorAdapter(ejecutorHilosVirtuales);
+    }
+}
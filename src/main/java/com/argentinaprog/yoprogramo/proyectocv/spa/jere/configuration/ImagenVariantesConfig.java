@@ -0,0 +1,24 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImagenVariantesConfig {
+
+    // Pool acotado: decodificar y escalar imagenes es CPU y memoria intensivo.
+    @Bean
+    public ThreadPoolTaskExecutor imagenVariantesExecutor(@Value("${application.imagenes.variantes.hilos}") int hilos,
+                                                          @Value("${application.imagenes.variantes.cola}") int cola) {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        executor.setQueueCapacity(cola);
+        executor.setThreadNamePrefix("imagen-variantes-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -0,0 +1,120 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.EsquemaInvalidoException;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class IndicesRequeridosCallback implements Callback {
+
+    private static final String INDICES_DEL_ESQUEMA_SQL = "SELECT table_name, non_unique, " +
+            "GROUP_CONCAT(column_name ORDER BY seq_in_index SEPARATOR ',') AS columnas " +
+            "FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() " +
+            "GROUP BY table_name, index_name, non_unique";
+
+    private static final List<IndiceRequerido> INDICES_REQUERIDOS = List.of(
+            new IndiceRequerido("usuario", "username", true),
+            new IndiceRequerido("educacion", "persona_id,id", false),
+            new IndiceRequerido("habilidad", "persona_id,id", false),
+            new IndiceRequerido("proyecto", "persona_id,id", false),
+            new IndiceRequerido("trabajo", "persona_id,id", false),
+            new IndiceRequerido("trabajo", "persona_id,fecha_inicio", false),
+            new IndiceRequerido("imagen_variante_trabajo", "estado,proximo_intento", false),
+            new IndiceRequerido("lugar", "nombre", true),
+            new IndiceRequerido("empresa", "nombre", true),
+            new IndiceRequerido("institucion", "nombre", true),
+            new IndiceRequerido("lugar", "clave", false),
+            new IndiceRequerido("empresa", "clave", false),
+            new IndiceRequerido("institucion", "clave", false),
+            new IndiceRequerido("trabajo", "empresa_id", false),
+            new IndiceRequerido("educacion", "institucion_id", false),
+            new IndiceRequerido("habilidad_canonica", "nombre", true),
+            new IndiceRequerido("habilidad", "habilidad_canonica_id,porcentaje", false)
+    );
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        final Set<String> existentes = indicesExistentes(context.getConnection());
+        final List<String> faltantes = INDICES_REQUERIDOS.stream()
+                .filter(indice -> !indice.presenteEn(existentes))
+                .map(IndiceRequerido::toString)
+                .collect(Collectors.toList());
+
+        if (!faltantes.isEmpty()) {
+            throw new EsquemaInvalidoException(faltantes);
+        }
+        log.info("Indices requeridos verificados: {}", INDICES_REQUERIDOS.size());
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "indicesRequeridos";
+    }
+
+    private Set<String> indicesExistentes(Connection connection) {
+        final Set<String> existentes = new HashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(INDICES_DEL_ESQUEMA_SQL);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                final String clave = clave(rs.getString("table_name"), rs.getString("columnas"));
+                existentes.add(clave);
+                if (!rs.getBoolean("non_unique")) {
+                    existentes.add(clave + "#unico");
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudieron leer los indices del esquema", e);
+        }
+        return existentes;
+    }
+
+    private static String clave(String tabla, String columnas) {
+        return tabla.toLowerCase() + "(" + columnas.toLowerCase() + ")";
+    }
+
+    private static final class IndiceRequerido {
+
+        private final String tabla;
+        private final String columnas;
+        private final boolean unico;
+
+        private IndiceRequerido(String tabla, String columnas, boolean unico) {
+            this.tabla = tabla;
+            this.columnas = columnas;
+            this.unico = unico;
+        }
+
+        private boolean presenteEn(Set<String> existentes) {
+            return existentes.contains(unico ? clave(tabla, columnas) + "#unico" : clave(tabla, columnas));
+        }
+
+        @Override
+        public String toString() {
+            return (unico ? "UNIQUE " : "") + clave(tabla, columnas);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.json.PersonaSerializer;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modulos que Spring Boot registra en el ObjectMapper compartido (el del MVC y el del handler reactivo).
+ */
+@Configuration
+public class JacksonConfig {
+
+    public static Module serializadoresModule() {
+        return new SimpleModule("serializadores-cv")
+                .addSerializer(Persona.class, new PersonaSerializer());
+    }
+
+    @Bean
+    public Module serializadores() {
+        return serializadoresModule();
+    }
+
+    // Reemplaza la reflexion de los serializadores por defecto (imagenVariantes, dtos, errores) por lambdas generadas
+    @Bean
+    @ConditionalOnProperty(prefix = "application.jackson", name = "blackbird", havingValue = "true")
+    public Module blackbird() {
+        return new BlackbirdModule();
+    }
+}
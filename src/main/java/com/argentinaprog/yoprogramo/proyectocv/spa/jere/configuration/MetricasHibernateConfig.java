@@ -0,0 +1,66 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.metricas.ContadorSentencias;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.metricas.SentenciasPorRequestFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * Telemetria de Hibernate ademas de la que publica Spring Boot (sesiones, cargas, flushes, cache, pool):
+ * tiempos por consulta HQL y cantidad de sentencias por request y por transaccion.
+ */
+@Configuration
+public class MetricasHibernateConfig {
+
+    private static final String ENTITY_MANAGER_FACTORY = "entityManagerFactory";
+
+    // El proxy cuenta todo lo que llega a JDBC, no solo lo que prepara Hibernate (consultas nativas, JdbcTemplate).
+    // Static: un BeanPostProcessor se crea antes que el resto de la configuracion.
+    @Bean
+    public static BeanPostProcessor contadorSentenciasDataSource(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(new ContadorSentencias(meterRegistry))
+                        .build();
+            }
+        };
+    }
+
+    // hibernate.query.execution.total/max por consulta: las mas lentas se ordenan por max en Prometheus.
+    // Se registra al terminar de crear los singletons para no forzar la EntityManagerFactory desde el MeterRegistry.
+    // Se desenvuelve hasta la implementacion: el proxy de Spring tambien es SessionFactory y HibernateQueryMetrics lo ignoraria.
+    @Bean
+    public SmartInitializingSingleton consultasHibernateMetrics(ObjectProvider<EntityManagerFactory> entityManagerFactory, MeterRegistry meterRegistry) {
+        return () -> entityManagerFactory.ifAvailable(emf -> new HibernateQueryMetrics(emf.unwrap(SessionFactoryImplementor.class), ENTITY_MANAGER_FACTORY, Tags.empty())
+                .bindTo(meterRegistry));
+    }
+
+    // Antes de la cadena de seguridad: la busqueda del usuario al autenticar tambien cuenta.
+    @Bean
+    public FilterRegistrationBean<SentenciasPorRequestFilter> sentenciasPorRequestFilter(MeterRegistry meterRegistry,
+                                                                                      @Value("${application.metricas.sentencias.presupuesto}") int presupuesto) {
+        final var registro = new FilterRegistrationBean<>(new SentenciasPorRequestFilter(meterRegistry, presupuesto));
+        registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registro;
+    }
+}
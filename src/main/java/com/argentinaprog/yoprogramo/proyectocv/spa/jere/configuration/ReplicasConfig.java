@@ -0,0 +1,92 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.replicas.EnrutadorDataSource;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.replicas.LecturasPropias;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.replicas.ReplicasProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primaria para escrituras y replicas para las transacciones readOnly (getPersona, getAllPersonas, la busqueda).
+ * Reemplaza al DataSource de Spring Boot: todos los pools toman spring.datasource.hikari.* y sus metricas salen
+ * como hikaricp.* con pool "primaria" y "replica-N".
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.replicas", name = "enabled", havingValue = "true")
+@Conditional(ShardsConfig.SinCombinaciones.class)
+@EnableConfigurationProperties(ReplicasProperties.class)
+public class ReplicasConfig {
+
+    private static final String HIKARI_PROPERTIES = "spring.datasource.hikari";
+
+    @Bean
+    @Primary
+    public EnrutadorDataSource dataSource(DataSourceProperties dataSourceProperties, ReplicasProperties replicasProperties,
+                                          Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (replicasProperties.getUrls().isEmpty()) {
+            throw new IllegalStateException("application.replicas.enabled sin application.replicas.urls");
+        }
+        final Binder binder = Binder.get(environment);
+        final HikariDataSource primaria = pool(binder, "primaria", dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+
+        final List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicasProperties.getUrls()) {
+            final HikariDataSource replica = pool(binder, "replica-" + replicas.size(), url,
+                    replicasProperties.getUsername() != null ? replicasProperties.getUsername() : dataSourceProperties.determineUsername(),
+                    replicasProperties.getPassword() != null ? replicasProperties.getPassword() : dataSourceProperties.determinePassword());
+            if (replicasProperties.getMaximumPoolSize() != null) {
+                replica.setMaximumPoolSize(replicasProperties.getMaximumPoolSize());
+            }
+            replicas.add(replica);
+        }
+        return new EnrutadorDataSource(primaria, replicas, new LecturasPropias(replicasProperties.getVentanaLecturasPropias()),
+                replicasProperties.isGtid(), meterRegistry);
+    }
+
+    // Spring Boot solo instrumenta HikariDataSource que encuentra desenvolviendo el DataSource; los pools de aca no los ve.
+    // Se desenvuelve hasta el enrutador: el bean que queda registrado es el proxy que cuenta sentencias.
+    @Bean
+    public MeterBinder poolsReplicasMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                dataSource.unwrap(EnrutadorDataSource.class).pools().stream()
+                        .filter(pool -> pool.getMetricsTrackerFactory() == null)
+                        .forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static HikariDataSource pool(Binder binder, String nombre, String url, String username, String password) {
+        final HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        binder.bind(HIKARI_PROPERTIES, Bindable.ofInstance(pool));
+        pool.setPoolName(nombre);
+        return pool;
+    }
+}
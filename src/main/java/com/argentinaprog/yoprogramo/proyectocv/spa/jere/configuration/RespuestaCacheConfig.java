@@ -0,0 +1,29 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.cache.RespuestaCache;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.cache.RespuestaCacheFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "application.cache.respuestas", name = "enabled", havingValue = "true")
+public class RespuestaCacheConfig {
+
+    @Bean
+    public RespuestaCache respuestaCache(@Value("${application.cache.respuestas.max-bytes:33554432}") long maxBytes) {
+        return new RespuestaCache(maxBytes);
+    }
+
+    // Despues de la cadena de seguridad: CORS y la validacion del token siguen aplicando a los hits.
+    @Bean
+    public FilterRegistrationBean<RespuestaCacheFilter> respuestaCacheFilter(RespuestaCache respuestaCache) {
+        final var registro = new FilterRegistrationBean<>(new RespuestaCacheFilter(respuestaCache));
+        registro.addUrlPatterns("/api/v1/persona/find/*", "/api/v1/persona/all");
+        registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registro;
+    }
+}
@@ -0,0 +1,20 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sin application.shards: un solo shard, el DataSource de Spring Boot. Las tareas de Shards corren en el hilo que
+ * llama y @PorPersona / @PorUsuario no tienen aspecto que las atienda.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.shards", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class ShardUnicoConfig {
+
+    @Bean
+    public Shards shards() {
+        return Shards.unico();
+    }
+}
@@ -0,0 +1,193 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.CatalogoResolver;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.ImagenVarianteTrabajoRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.AnilloShards;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.DirectorioUsuarios;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.RebalanceoShards;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.ShardsAspect;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.ShardsDataSource;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.ShardsProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Personas repartidas en varias bases por id (anillo de hashing consistente). Reemplaza al DataSource de Spring Boot
+ * como ReplicasConfig: cada shard tiene su pool "shard-N" con spring.datasource.hikari.* y Flyway migra todos.
+ * No se combina con application.replicas ni con el modo reactivo.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.shards", name = "enabled", havingValue = "true")
+@Conditional(ShardsConfig.SinCombinaciones.class)
+@EnableConfigurationProperties(ShardsProperties.class)
+public class ShardsConfig {
+
+    private static final String HIKARI_PROPERTIES = "spring.datasource.hikari";
+    // El shard N reparte los ids de hijos y usuarios desde N << 40; los de persona salen del primero
+    private static final int BITS_RANGO = 40;
+    private static final String RESERVAR_RANGO = "UPDATE hibernate_sequence SET next_val = ? WHERE next_val < ?";
+
+    @Bean
+    @Primary
+    public ShardsDataSource dataSource(DataSourceProperties dataSourceProperties, ShardsProperties shardsProperties,
+                                       Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (shardsProperties.getUrls().isEmpty()) {
+            throw new IllegalStateException("application.shards.enabled sin application.shards.urls");
+        }
+        final Binder binder = Binder.get(environment);
+        final Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (String url : shardsProperties.getUrls()) {
+            final HikariDataSource pool = pool(binder, "shard-" + pools.size(), url,
+                    shardsProperties.getUsername() != null ? shardsProperties.getUsername() : dataSourceProperties.determineUsername(),
+                    shardsProperties.getPassword() != null ? shardsProperties.getPassword() : dataSourceProperties.determinePassword());
+            if (shardsProperties.getMaximumPoolSize() != null) {
+                pool.setMaximumPoolSize(shardsProperties.getMaximumPoolSize());
+            }
+            pools.put(pool.getPoolName(), pool);
+        }
+        return new ShardsDataSource(pools, new AnilloShards(new ArrayList<>(pools.keySet()), shardsProperties.getNodosVirtuales()),
+                meterRegistry);
+    }
+
+    // Spring Boot migraria solo el DataSource de la aplicacion; aca se migra cada shard con la misma configuracion
+    @Bean
+    public FlywayMigrationStrategy migracionPorShard(DataSource dataSource) {
+        return flyway -> {
+            int indice = 0;
+            for (HikariDataSource pool : shardsDataSource(dataSource).pools().values()) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(pool)
+                        .load()
+                        .migrate();
+                if (indice > 0) {
+                    final long inicio = (long) indice << BITS_RANGO;
+                    new JdbcTemplate(pool).update(RESERVAR_RANGO, inicio, inicio);
+                }
+                indice++;
+            }
+        };
+    }
+
+    // No se registra como Executor: con un segundo bean @Async dejaria de usar imagenVariantesExecutor
+    @Bean
+    public Shards shards(DataSource dataSource, ShardsProperties shardsProperties) {
+        final ShardsDataSource shardsDataSource = shardsDataSource(dataSource);
+        final int hilos = shardsProperties.getHilos() != null ? shardsProperties.getHilos() : 2 * shardsDataSource.pools().size();
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("shards-");
+        threadFactory.setDaemon(true);
+        return new Shards(shardsDataSource.anillo(), Executors.newFixedThreadPool(hilos, threadFactory));
+    }
+
+    @Bean
+    public DirectorioUsuarios directorioUsuarios(DataSource dataSource, Shards shards, JdbcTemplate jdbcTemplate,
+                                                 ShardsProperties shardsProperties) {
+        return new DirectorioUsuarios(shardsDataSource(dataSource).anillo(), shards, jdbcTemplate, shardsProperties.getUsuariosCacheados(),
+                shardsProperties.getUsuariosExpiracion());
+    }
+
+    @Bean
+    public ShardsAspect shardsAspect(DataSource dataSource, DirectorioUsuarios directorioUsuarios) {
+        return new ShardsAspect(shardsDataSource(dataSource).anillo(), directorioUsuarios);
+    }
+
+    @Bean
+    public RebalanceoShards rebalanceoShards(DataSource dataSource, Shards shards, PersonaRepository personaRepo,
+                                             ImagenVarianteTrabajoRepository trabajoRepo, EntityManagerFactory entityManagerFactory,
+                                             DirectorioUsuarios directorioUsuarios, CatalogoResolver catalogoResolver,
+                                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                             ShardsProperties shardsProperties) {
+        return new RebalanceoShards(shards, shardsDataSource(dataSource).anillo(), personaRepo, trabajoRepo,
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory), directorioUsuarios, catalogoResolver, transactionManager,
+                meterRegistry, shardsProperties.isRebalancearAlIniciar());
+    }
+
+    // Igual que con replicas: Spring Boot no ve estos pools y el bean registrado es el proxy que cuenta sentencias
+    @Bean
+    public MeterBinder poolsShardsMetrics(DataSource dataSource) {
+        return registry -> shardsDataSource(dataSource).pools().values().stream()
+                .filter(pool -> pool.getMetricsTrackerFactory() == null)
+                .forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
+    private static ShardsDataSource shardsDataSource(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(ShardsDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HikariDataSource pool(Binder binder, String nombre, String url, String username, String password) {
+        final HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        binder.bind(HIKARI_PROPERTIES, Bindable.ofInstance(pool));
+        pool.setPoolName(nombre);
+        return pool;
+    }
+
+    /**
+     * Falla al leer la configuracion, antes de registrar beans: con replicas el error seria un choque de beans
+     * "dataSource" sin explicacion, y el servidor reactivo leeria solo spring.datasource.url, sin shards.
+     * La usa tambien ReplicasConfig, asi el error es el mismo sin importar cual se procese primero.
+     */
+    public static class SinCombinaciones implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            final Environment environment = context.getEnvironment();
+            if (!activo(environment, "application.shards.enabled")) {
+                return true;
+            }
+            if (activo(environment, "application.replicas.enabled")) {
+                throw new IllegalStateException("application.shards.enabled y application.replicas.enabled no se pueden activar juntos");
+            }
+            if (activo(environment, "application.reactive.enabled")) {
+                throw new IllegalStateException("application.shards.enabled y application.reactive.enabled no se pueden activar juntos: " +
+                        "el servidor reactivo solo lee spring.datasource.url");
+            }
+            return true;
+        }
+
+        private static boolean activo(Environment environment, String propiedad) {
+            return environment.getProperty(propiedad, Boolean.class, false);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.controllers;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.Autocompletado;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.TipoAutocompletado;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.SugerenciaDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/persona")
+public class AutocompletadoController {
+
+    @Autowired
+    private final Autocompletado autocompletado;
+
+    public AutocompletadoController(Autocompletado autocompletado) {
+        this.autocompletado = autocompletado;
+    }
+
+    @GetMapping("/autocompletar")
+    public ResponseEntity<List<SugerenciaDto>> autocompletar(@RequestParam("tipo") TipoAutocompletado tipo,
+                                                             @RequestParam("prefijo") String prefijo,
+                                                             @RequestParam(value = "cantidad", defaultValue = "5") int cantidad) {
+        return new ResponseEntity<>(autocompletado.completar(tipo, prefijo, Math.max(1, cantidad)), HttpStatus.OK);
+    }
+}
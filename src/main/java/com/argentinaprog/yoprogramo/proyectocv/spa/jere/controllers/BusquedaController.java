@@ -0,0 +1,38 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.controllers;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.PersonaIndice;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.PaginaBusquedaDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/persona")
+@ConditionalOnProperty(prefix = "application.busqueda", name = "enabled", havingValue = "true")
+public class BusquedaController {
+
+    private static final int TAMANIO_MAXIMO = 100;
+
+    @Autowired
+    private final PersonaIndice personaIndice;
+
+    public BusquedaController(PersonaIndice personaIndice) {
+        this.personaIndice = personaIndice;
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PaginaBusquedaDto> search(@RequestParam("q") String q,
+                                                    @RequestParam(value = "pagina", defaultValue = "0") int pagina,
+                                                    @RequestParam(value = "tamanio", defaultValue = "20") int tamanio) {
+        final int paginaValida = Math.max(0, pagina);
+        final int tamanioValido = Math.min(Math.max(1, tamanio), TAMANIO_MAXIMO);
+        if (q.isBlank()) {
+            return new ResponseEntity<>(new PaginaBusquedaDto(q, 0, paginaValida, tamanioValido, List.of()), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(personaIndice.buscar(q, paginaValida, tamanioValido), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,33 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.controllers;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.FacetasIndice;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.FacetasDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/persona")
+public class FacetasController {
+
+    private static final int TOP_MAXIMO = 100;
+
+    @Autowired
+    private final FacetasIndice facetasIndice;
+
+    public FacetasController(FacetasIndice facetasIndice) {
+        this.facetasIndice = facetasIndice;
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<FacetasDto> facets(@RequestParam(value = "q", required = false) String q,
+                                             @RequestParam(value = "nivelMinimo", required = false) Integer nivelMinimo,
+                                             @RequestParam(value = "top", defaultValue = "10") int top) {
+        final int topValido = Math.min(Math.max(1, top), TOP_MAXIMO);
+        if (q == null || q.isBlank()) {
+            return new ResponseEntity<>(facetasIndice.facetas(topValido), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(facetasIndice.facetas(q, nivelMinimo, topValido), HttpStatus.OK);
+    }
+}
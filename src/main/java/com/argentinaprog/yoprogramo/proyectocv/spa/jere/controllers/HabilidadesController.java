@@ -0,0 +1,32 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.controllers;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.HabilidadesIndice;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.ResultadoHabilidadesDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/persona")
+public class HabilidadesController {
+
+    private static final int TAMANIO_MAXIMO = 1000;
+
+    @Autowired
+    private final HabilidadesIndice habilidadesIndice;
+
+    public HabilidadesController(HabilidadesIndice habilidadesIndice) {
+        this.habilidadesIndice = habilidadesIndice;
+    }
+
+    @GetMapping("/habilidades/buscar")
+    public ResponseEntity<ResultadoHabilidadesDto> buscar(@RequestParam("q") String q,
+                                                          @RequestParam(value = "nivelMinimo", required = false) Integer nivelMinimo,
+                                                          @RequestParam(value = "pagina", defaultValue = "0") int pagina,
+                                                          @RequestParam(value = "tamanio", defaultValue = "100") int tamanio) {
+        final int paginaValida = Math.max(0, pagina);
+        final int tamanioValido = Math.min(Math.max(1, tamanio), TAMANIO_MAXIMO);
+        return new ResponseEntity<>(habilidadesIndice.buscar(q, nivelMinimo, paginaValida, tamanioValido), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,134 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.controllers;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.services.ImagenStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.springframework.http.HttpHeaders.*;
+
+@RestController
+@RequestMapping("/api/v1/persona")
+public class ImagenController {
+
+    private static final String CACHE_INMUTABLE = "public, max-age=31536000, immutable";
+
+    // Atributos con los que Tomcat NIO envia el archivo con sendfile, sin copiarlo por la JVM.
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private final ImagenStorageService imagenSvc;
+
+    public ImagenController(ImagenStorageService imagenSvc) {
+        this.imagenSvc = imagenSvc;
+    }
+
+    @GetMapping("/imagen/{hash}")
+    public void getImagen(@PathVariable("hash") String hash, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        final Path archivo = imagenSvc.ubicar(hash);
+        final long largo = Files.size(archivo);
+        final String etag = "\"" + hash + "\"";
+
+        response.setHeader(ETAG, etag);
+        response.setHeader(CACHE_CONTROL, CACHE_INMUTABLE);
+        response.setHeader(ACCEPT_RANGES, "bytes");
+        if (coincide(request.getHeader(IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(imagenSvc.tipo(archivo).toString());
+
+        long inicio = 0;
+        long fin = largo - 1;
+        final String rango = request.getHeader(RANGE);
+        final String ifRange = request.getHeader(IF_RANGE);
+        if (rango != null && (ifRange == null || ifRange.equals(etag))) {
+            final List<HttpRange> rangos;
+            try {
+                rangos = HttpRange.parseRanges(rango);
+            } catch (IllegalArgumentException e) {
+                rangoInvalido(response, largo);
+                return;
+            }
+            // Multiples rangos se responden con el archivo completo (RFC 7233, seccion 4.1).
+            if (rangos.size() == 1) {
+                if (largo == 0 || !rangoSatisfacible(rangos.get(0), largo)) {
+                    rangoInvalido(response, largo);
+                    return;
+                }
+                inicio = rangos.get(0).getRangeStart(largo);
+                fin = rangos.get(0).getRangeEnd(largo);
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(CONTENT_RANGE, "bytes " + inicio + "-" + fin + "/" + largo);
+            }
+        }
+
+        final long cantidad = fin - inicio + 1;
+        response.setContentLengthLong(cantidad);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || cantidad <= 0) {
+            return;
+        }
+        enviar(archivo, inicio, cantidad, request, response);
+    }
+
+    private static void enviar(Path archivo, long inicio, long cantidad, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, archivo.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, inicio);
+            request.setAttribute(SENDFILE_END, inicio + cantidad);
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            final WritableByteChannel salida = Channels.newChannel(response.getOutputStream());
+            long enviados = 0;
+            while (enviados < cantidad) {
+                enviados += canal.transferTo(inicio + enviados, cantidad - enviados, salida);
+            }
+        }
+    }
+
+    private static boolean rangoSatisfacible(HttpRange rango, long largo) {
+        try {
+            return rango.getRangeStart(largo) < largo;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void rangoInvalido(HttpServletResponse response, long largo) {
+        response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        response.setHeader(CONTENT_RANGE, "bytes */" + largo);
+    }
+
+    private static boolean coincide(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            final String valor = candidato.trim();
+            if (valor.equals("*") || valor.equals(etag) || valor.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,14 +1,19 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.controllers;
 
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.metricas.PresupuestoSentencias;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.*;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.services.PersonaService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -25,6 +30,7 @@ public class PersonaController {
     // ------------------- Persona -----------------------------
 
     @GetMapping("/find/{id}")
+    @PresupuestoSentencias(8)
     public ResponseEntity<Persona> getPersona(@PathVariable("id") Long id) {
         return new ResponseEntity<>(personaSvc.getPersona(id), HttpStatus.OK);
     }
@@ -45,6 +51,18 @@ public class PersonaController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @PostMapping(value = "/{id}/imagen", consumes = {MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_GIF_VALUE, "image/webp"})
+    public ResponseEntity<Persona> updateImagen(@PathVariable("id") Long id, InputStream imagen) {
+        return new ResponseEntity<>(personaSvc.updateImagen(id, imagen), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/{id}/imagen", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Persona> updateImagen(@PathVariable("id") Long id, @RequestPart("imagen") MultipartFile imagen) throws IOException {
+        try (InputStream contenido = imagen.getInputStream()) {
+            return new ResponseEntity<>(personaSvc.updateImagen(id, contenido), HttpStatus.OK);
+        }
+    }
+
     @GetMapping("/all")
     public ResponseEntity<List<Persona>> getAllPersonas() {
         return new ResponseEntity<>(personaSvc.getAllPersonas(), HttpStatus.OK);
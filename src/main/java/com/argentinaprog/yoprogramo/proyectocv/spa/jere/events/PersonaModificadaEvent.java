@@ -0,0 +1,9 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.events;
+
+import lombok.Value;
+
+@Value
+public class PersonaModificadaEvent {
+
+    Long personaId;
+}
@@ -0,0 +1,14 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST)
+public class ConsultaHabilidadesInvalidaException extends RuntimeException {
+
+    private static final String CONSULTA_INVALIDA_ERROR_MSG = "Consulta de habilidades invalida en la posicion %d: %s.";
+
+    public ConsultaHabilidadesInvalidaException(int posicion, String detalle) {
+        super(String.format(CONSULTA_INVALIDA_ERROR_MSG, posicion, detalle));
+    }
+}
@@ -0,0 +1,12 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions;
+
+import java.util.List;
+
+public class EsquemaInvalidoException extends RuntimeException {
+
+    private static final String INDICES_FALTANTES_ERROR_MSG = "Faltan indices requeridos en el esquema: %s";
+
+    public EsquemaInvalidoException(List<String> indicesFaltantes) {
+        super(String.format(INDICES_FALTANTES_ERROR_MSG, String.join(", ", indicesFaltantes)));
+    }
+}
@@ -0,0 +1,14 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.PAYLOAD_TOO_LARGE)
+public class ImagenDemasiadoGrandeException extends RuntimeException {
+
+    private static final String IMAGEN_DEMASIADO_GRANDE_ERROR_MSG = "La imagen supera el máximo de %d bytes.";
+
+    public ImagenDemasiadoGrandeException(long maxBytes) {
+        super(String.format(IMAGEN_DEMASIADO_GRANDE_ERROR_MSG, maxBytes));
+    }
+}
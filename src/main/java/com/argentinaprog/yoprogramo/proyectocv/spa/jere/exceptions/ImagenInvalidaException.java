@@ -0,0 +1,14 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+public class ImagenInvalidaException extends RuntimeException {
+
+    private static final String IMAGEN_INVALIDA_ERROR_MSG = "El archivo no es una imagen PNG, JPEG, GIF o WEBP.";
+
+    public ImagenInvalidaException() {
+        super(IMAGEN_INVALIDA_ERROR_MSG);
+    }
+}
@@ -0,0 +1,14 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.NOT_FOUND)
+public class ImagenNotFoundException extends RuntimeException {
+
+    private static final String IMAGEN_NOT_FOUND_ERROR_MSG = "Imagen %s no encontrada.";
+
+    public ImagenNotFoundException(String hash) {
+        super(String.format(IMAGEN_NOT_FOUND_ERROR_MSG, hash));
+    }
+}
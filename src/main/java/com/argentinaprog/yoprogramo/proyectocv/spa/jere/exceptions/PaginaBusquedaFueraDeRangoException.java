@@ -0,0 +1,14 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST)
+public class PaginaBusquedaFueraDeRangoException extends RuntimeException {
+
+    private static final String FUERA_DE_RANGO_ERROR_MSG = "La busqueda solo llega hasta el resultado %d: pagina %d de tamanio %d.";
+
+    public PaginaBusquedaFueraDeRangoException(int ventanaMaxima, int pagina, int tamanio) {
+        super(String.format(FUERA_DE_RANGO_ERROR_MSG, ventanaMaxima, pagina, tamanio));
+    }
+}
@@ -0,0 +1,202 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.json;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Escribe Persona y sus cuatro listas directo sobre el JsonGenerator, con el mismo orden de campos y el mismo
+ * resultado que la serializacion por introspeccion (PersonaSerializerTest lo compara byte a byte).
+ * Solo lee las propiedades que salen en el JSON: no recorre los getters ignorados de Usuario ni la referencia
+ * de cada hijo a su persona. imagenVariantes sigue pasando por el serializador por defecto.
+ */
+public class PersonaSerializer extends StdSerializer<Persona> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NOMBRES = new SerializedString("nombres");
+    private static final SerializedString APELLIDOS = new SerializedString("apellidos");
+    private static final SerializedString FECHA_NACIMIENTO = new SerializedString("fechaNacimiento");
+    private static final SerializedString NACIONALIDAD = new SerializedString("nacionalidad");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString DESCRIPCION = new SerializedString("descripcion");
+    private static final SerializedString IMAGEN = new SerializedString("imagen");
+    private static final SerializedString IMAGEN_VARIANTES = new SerializedString("imagenVariantes");
+    private static final SerializedString OCUPACION = new SerializedString("ocupacion");
+    private static final SerializedString USUARIO = new SerializedString("usuario");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString ESTUDIOS = new SerializedString("estudios");
+    private static final SerializedString HABILIDADES = new SerializedString("habilidades");
+    private static final SerializedString EXPERIENCIAS_LABORALES = new SerializedString("experienciasLaborales");
+    private static final SerializedString PROYECTOS = new SerializedString("proyectos");
+    private static final SerializedString INSTITUCION = new SerializedString("institucion");
+    private static final SerializedString TITULO = new SerializedString("titulo");
+    private static final SerializedString LUGAR = new SerializedString("lugar");
+    private static final SerializedString ESTADO = new SerializedString("estado");
+    private static final SerializedString NOMBRE = new SerializedString("nombre");
+    private static final SerializedString NIVEL = new SerializedString("nivel");
+    private static final SerializedString EMPRESA = new SerializedString("empresa");
+    private static final SerializedString CARGO = new SerializedString("cargo");
+    private static final SerializedString DESDE = new SerializedString("desde");
+    private static final SerializedString HASTA = new SerializedString("hasta");
+
+    public PersonaSerializer() {
+        super(Persona.class);
+    }
+
+    @Override
+    public void serialize(Persona persona, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(persona);
+        escribir(gen, ID, persona.getId());
+        escribir(gen, NOMBRES, persona.getNombres());
+        escribir(gen, APELLIDOS, persona.getApellidos());
+        escribir(gen, FECHA_NACIMIENTO, persona.getFechaNacimiento(), provider);
+        escribir(gen, NACIONALIDAD, persona.getNacionalidad());
+        escribir(gen, EMAIL, persona.getEmail());
+        escribir(gen, DESCRIPCION, persona.getDescripcion());
+        escribir(gen, IMAGEN, persona.getImagen());
+        final ImagenVariantes variantes = persona.getImagenVariantes();
+        if (variantes != null) {
+            gen.writeFieldName(IMAGEN_VARIANTES);
+            provider.defaultSerializeValue(variantes, gen);
+        }
+        escribir(gen, OCUPACION, persona.getOcupacion());
+        escribirUsuario(gen, persona.getUsuario());
+        escribirEstudios(gen, persona.getEstudios());
+        escribirHabilidades(gen, persona.getHabilidades());
+        escribirTrabajos(gen, persona.getExperienciasLaborales(), provider);
+        escribirProyectos(gen, persona.getProyectos());
+        gen.writeEndObject();
+    }
+
+    private static void escribirUsuario(JsonGenerator gen, Usuario usuario) throws IOException {
+        gen.writeFieldName(USUARIO);
+        if (usuario == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        escribir(gen, USERNAME, usuario.getUsername());
+        gen.writeEndObject();
+    }
+
+    private static void escribirEstudios(JsonGenerator gen, List<Educacion> estudios) throws IOException {
+        gen.writeFieldName(ESTUDIOS);
+        if (estudios == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (Educacion estudio : estudios) {
+            gen.writeStartObject();
+            escribir(gen, ID, estudio.getId());
+            escribir(gen, INSTITUCION, estudio.getInstitucion());
+            escribir(gen, TITULO, estudio.getTitulo());
+            escribir(gen, LUGAR, estudio.getLugar());
+            escribir(gen, ESTADO, estudio.getEstado());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void escribirHabilidades(JsonGenerator gen, List<Habilidad> habilidades) throws IOException {
+        gen.writeFieldName(HABILIDADES);
+        if (habilidades == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (Habilidad habilidad : habilidades) {
+            gen.writeStartObject();
+            escribir(gen, ID, habilidad.getId());
+            escribir(gen, NOMBRE, habilidad.getNombre());
+            gen.writeFieldName(NIVEL);
+            gen.writeNumber(habilidad.getNivel());
+            escribir(gen, DESCRIPCION, habilidad.getDescripcion());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void escribirTrabajos(JsonGenerator gen, List<Trabajo> trabajos, SerializerProvider provider) throws IOException {
+        gen.writeFieldName(EXPERIENCIAS_LABORALES);
+        if (trabajos == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (Trabajo trabajo : trabajos) {
+            gen.writeStartObject();
+            escribir(gen, ID, trabajo.getId());
+            escribir(gen, EMPRESA, trabajo.getEmpresa());
+            escribir(gen, CARGO, trabajo.getCargo());
+            escribir(gen, LUGAR, trabajo.getLugar());
+            escribir(gen, DESDE, trabajo.getDesde(), provider);
+            escribir(gen, HASTA, trabajo.getHasta(), provider);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void escribirProyectos(JsonGenerator gen, List<Proyecto> proyectos) throws IOException {
+        gen.writeFieldName(PROYECTOS);
+        if (proyectos == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (Proyecto proyecto : proyectos) {
+            gen.writeStartObject();
+            escribir(gen, ID, proyecto.getId());
+            escribir(gen, NOMBRE, proyecto.getNombre());
+            escribir(gen, DESCRIPCION, proyecto.getDescripcion());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void escribir(JsonGenerator gen, SerializedString nombre, String valor) throws IOException {
+        gen.writeFieldName(nombre);
+        if (valor == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(valor);
+        }
+    }
+
+    private static void escribir(JsonGenerator gen, SerializedString nombre, Long valor) throws IOException {
+        gen.writeFieldName(nombre);
+        if (valor == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(valor);
+        }
+    }
+
+    private static void escribir(JsonGenerator gen, SerializedString nombre, Enum<?> valor) throws IOException {
+        gen.writeFieldName(nombre);
+        if (valor == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(valor.name());
+        }
+    }
+
+    // Con WRITE_DATES_AS_TIMESTAMPS (desactivado en Spring Boot) la fecha va como arreglo: lo resuelve JavaTimeModule
+    private static void escribir(JsonGenerator gen, SerializedString nombre, LocalDate valor, SerializerProvider provider) throws IOException {
+        gen.writeFieldName(nombre);
+        if (valor == null) {
+            gen.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(valor, gen);
+        } else {
+            gen.writeString(valor.toString());
+        }
+    }
+}
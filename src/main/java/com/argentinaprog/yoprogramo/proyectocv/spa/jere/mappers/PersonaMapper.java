@@ -0,0 +1,150 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.mappers;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.*;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Mapeo de los dtos de escritura a las entidades sin reflexion. Igual que el ModelMapper que reemplaza
+ * (setSkipNullEnabled), un valor null en el dto deja el valor actual de la entidad.
+ */
+@Component
+public class PersonaMapper {
+
+    // ------------------- Persona -----------------------------
+
+    public Persona persona(PersonaDto dto) {
+        final var persona = new Persona();
+        actualizar(dto, persona);
+        return persona;
+    }
+
+    // El usuario del dto no se copia: la persona siempre queda asociada al usuario autenticado.
+    public void actualizar(PersonaDto dto, Persona persona) {
+        siNoEsNull(dto.getNombres(), persona::setNombres);
+        siNoEsNull(dto.getApellidos(), persona::setApellidos);
+        siNoEsNull(dto.getFechaNacimiento(), persona::setFechaNacimiento);
+        siNoEsNull(dto.getNacionalidad(), persona::setNacionalidad);
+        siNoEsNull(dto.getEmail(), persona::setEmail);
+        siNoEsNull(dto.getDescripcion(), persona::setDescripcion);
+        siNoEsNull(dto.getImagen(), persona::setImagen);
+        siNoEsNull(dto.getOcupacion(), persona::setOcupacion);
+        actualizarLista(dto.getEstudios(), persona.getEstudios(), Educacion::new, PersonaMapper::copiar, hijo -> hijo.setPersona(persona));
+        actualizarLista(dto.getHabilidades(), persona.getHabilidades(), Habilidad::new, PersonaMapper::copiar, hijo -> hijo.setPersona(persona));
+        actualizarLista(dto.getExperienciasLaborales(), persona.getExperienciasLaborales(), Trabajo::new, PersonaMapper::copiar, hijo -> hijo.setPersona(persona));
+        actualizarLista(dto.getProyectos(), persona.getProyectos(), Proyecto::new, PersonaMapper::copiar, hijo -> hijo.setPersona(persona));
+    }
+
+    // ------------------- Trabajo -----------------------------
+
+    public Trabajo trabajo(TrabajoDto dto) {
+        final var trabajo = new Trabajo();
+        actualizar(dto, trabajo);
+        return trabajo;
+    }
+
+    public void actualizar(TrabajoDto dto, Trabajo trabajo) {
+        siNoEsNull(dto.getEmpresa(), trabajo::setEmpresa);
+        siNoEsNull(dto.getCargo(), trabajo::setCargo);
+        siNoEsNull(dto.getLugar(), trabajo::setLugar);
+        siNoEsNull(dto.getDesde(), trabajo::setDesde);
+        siNoEsNull(dto.getHasta(), trabajo::setHasta);
+    }
+
+    // ------------------- Educacion -----------------------------
+
+    public Educacion estudio(EducacionDto dto) {
+        final var estudio = new Educacion();
+        actualizar(dto, estudio);
+        return estudio;
+    }
+
+    public void actualizar(EducacionDto dto, Educacion estudio) {
+        siNoEsNull(dto.getInstitucion(), estudio::setInstitucion);
+        siNoEsNull(dto.getTitulo(), estudio::setTitulo);
+        siNoEsNull(dto.getLugar(), estudio::setLugar);
+        siNoEsNull(dto.getEstado(), estudio::setEstado);
+    }
+
+    // ------------------- Proyecto -----------------------------
+
+    public Proyecto proyecto(ProyectoDto dto) {
+        final var proyecto = new Proyecto();
+        actualizar(dto, proyecto);
+        return proyecto;
+    }
+
+    public void actualizar(ProyectoDto dto, Proyecto proyecto) {
+        siNoEsNull(dto.getNombre(), proyecto::setNombre);
+        siNoEsNull(dto.getDescripcion(), proyecto::setDescripcion);
+    }
+
+    // ------------------- Habilidad -----------------------------
+
+    public Habilidad habilidad(HabilidadDto dto) {
+        final var habilidad = new Habilidad();
+        actualizar(dto, habilidad);
+        return habilidad;
+    }
+
+    public void actualizar(HabilidadDto dto, Habilidad habilidad) {
+        siNoEsNull(dto.getNombre(), habilidad::setNombre);
+        habilidad.setNivel(dto.getNivel());
+        siNoEsNull(dto.getDescripcion(), habilidad::setDescripcion);
+    }
+
+    // ------------------- Hijos dentro de PersonaDto -----------------------------
+
+    // Se actualiza por posicion sobre la lista existente: reemplazarla rompe el orphanRemoval de Hibernate.
+    private static <T> void actualizarLista(List<T> nuevos, List<T> actuales, Supplier<T> crear, BiConsumer<T, T> copiar, Consumer<T> asignarPersona) {
+        if (nuevos == null) {
+            return;
+        }
+        for (int i = 0; i < nuevos.size(); i++) {
+            if (i == actuales.size()) {
+                final T hijo = crear.get();
+                asignarPersona.accept(hijo);
+                actuales.add(hijo);
+            }
+            copiar.accept(nuevos.get(i), actuales.get(i));
+        }
+        actuales.subList(nuevos.size(), actuales.size()).clear();
+    }
+
+    private static void copiar(Educacion origen, Educacion destino) {
+        siNoEsNull(origen.getInstitucion(), destino::setInstitucion);
+        siNoEsNull(origen.getTitulo(), destino::setTitulo);
+        siNoEsNull(origen.getLugar(), destino::setLugar);
+        siNoEsNull(origen.getEstado(), destino::setEstado);
+    }
+
+    private static void copiar(Habilidad origen, Habilidad destino) {
+        siNoEsNull(origen.getNombre(), destino::setNombre);
+        destino.setNivel(origen.getNivel());
+        siNoEsNull(origen.getDescripcion(), destino::setDescripcion);
+    }
+
+    private static void copiar(Trabajo origen, Trabajo destino) {
+        siNoEsNull(origen.getEmpresa(), destino::setEmpresa);
+        siNoEsNull(origen.getCargo(), destino::setCargo);
+        siNoEsNull(origen.getLugar(), destino::setLugar);
+        siNoEsNull(origen.getDesde(), destino::setDesde);
+        siNoEsNull(origen.getHasta(), destino::setHasta);
+    }
+
+    private static void copiar(Proyecto origen, Proyecto destino) {
+        siNoEsNull(origen.getNombre(), destino::setNombre);
+        siNoEsNull(origen.getDescripcion(), destino::setDescripcion);
+    }
+
+    private static <T> void siNoEsNull(T valor, Consumer<T> setter) {
+        if (valor != null) {
+            setter.accept(valor);
+        }
+    }
+}
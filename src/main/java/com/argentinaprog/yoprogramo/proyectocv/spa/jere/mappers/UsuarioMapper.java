@@ -0,0 +1,17 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.mappers;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Usuario;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.LoginRequestDto;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UsuarioMapper {
+
+    // Con el constructor (y no el builder) el usuario nuevo queda habilitado y sin bloquear
+    public Usuario usuario(LoginRequestDto dto) {
+        final var usuario = new Usuario();
+        usuario.setUsername(dto.getUsername());
+        usuario.setPassword(dto.getPassword());
+        return usuario;
+    }
+}
@@ -0,0 +1,87 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Cuenta las sentencias que llegan al DataSource (cada ejecucion es un viaje a la base, un batch cuenta una vez):
+ * por request en el hilo actual mientras hay uno abierto, y por transaccion de Spring en "hibernate.transaction.statements".
+ */
+public class ContadorSentencias implements QueryExecutionListener {
+
+    private static final ThreadLocal<int[]> SENTENCIAS = new ThreadLocal<>();
+    private static final String TRANSACCION_DESCONOCIDA = "UNKNOWN";
+
+    // Se resuelve recien al cerrar una transaccion: el DataSource se crea antes que el MeterRegistry
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ContadorSentencias(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        final int[] contador = SENTENCIAS.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            sentenciasTransaccion().sentencias++;
+        }
+    }
+
+    // Se busca entre las sincronizaciones (y no como recurso) para que una REQUIRES_NEW no sume en la transaccion suspendida
+    private SentenciasTransaccion sentenciasTransaccion() {
+        for (TransactionSynchronization sincronizacion : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacion instanceof SentenciasTransaccion) {
+                return (SentenciasTransaccion) sincronizacion;
+            }
+        }
+        final var nueva = new SentenciasTransaccion(TransactionSynchronizationManager.getCurrentTransactionName());
+        TransactionSynchronizationManager.registerSynchronization(nueva);
+        return nueva;
+    }
+
+    static void iniciar() {
+        SENTENCIAS.set(new int[1]);
+    }
+
+    static int finalizar() {
+        final int[] contador = SENTENCIAS.get();
+        SENTENCIAS.remove();
+        return contador == null ? 0 : contador[0];
+    }
+
+    private class SentenciasTransaccion implements TransactionSynchronization {
+
+        private final String nombre;
+        private int sentencias;
+
+        SentenciasTransaccion(String nombre) {
+            this.nombre = nombre == null ? TRANSACCION_DESCONOCIDA : nombre;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            DistributionSummary.builder("hibernate.transaction.statements")
+                    .description("Sentencias SQL ejecutadas por transaccion")
+                    .tag("transaccion", nombre)
+                    .tag("estado", status == STATUS_COMMITTED ? "commit" : "rollback")
+                    .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry))
+                    .record(sentencias);
+        }
+    }
+}
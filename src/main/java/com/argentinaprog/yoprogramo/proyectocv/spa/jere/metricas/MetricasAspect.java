@@ -0,0 +1,77 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Mide cada metodo publico de controllers y services: el timer "aplicacion.metodo" queda etiquetado por capa,
+ * clase, metodo, outcome y excepcion, asi se ve cual de las operaciones de un mismo endpoint se degrada.
+ * Percentiles, histograma y buckets de SLO se configuran en management.metrics.distribution.*
+ */
+@Aspect
+@Component
+public class MetricasAspect {
+
+    static final String TIMER = "aplicacion.metodo";
+    private static final String SIN_EXCEPCION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricasAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.argentinaprog.yoprogramo.proyectocv.spa.jere.controllers..*(..))")
+    public Object medirController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(joinPoint, "controller");
+    }
+
+    @Around("execution(public * com.argentinaprog.yoprogramo.proyectocv.spa.jere.services..*(..))")
+    public Object medirService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(joinPoint, "service");
+    }
+
+    private Object medir(ProceedingJoinPoint joinPoint, String capa) throws Throwable {
+        final Timer.Sample muestra = Timer.start(meterRegistry);
+        Outcome outcome = Outcome.SUCCESS;
+        String excepcion = SIN_EXCEPCION;
+        try {
+            final Object resultado = joinPoint.proceed();
+            if (resultado instanceof ResponseEntity) {
+                outcome = Outcome.forStatus(((ResponseEntity<?>) resultado).getStatusCodeValue());
+            }
+            return resultado;
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            excepcion = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            muestra.stop(Timer.builder(TIMER)
+                    .description("Duracion de los metodos de controllers y services")
+                    .tag("capa", capa)
+                    .tag("clase", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("metodo", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome.name())
+                    .tag("exception", excepcion)
+                    .register(meterRegistry));
+        }
+    }
+
+    // Las excepciones del dominio declaran su status con @ResponseStatus; el resto termina en un 500.
+    private static Outcome outcome(Throwable e) {
+        if (e instanceof ResponseStatusException) {
+            return Outcome.forStatus(((ResponseStatusException) e).getRawStatusCode());
+        }
+        final ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+        return status == null ? Outcome.SERVER_ERROR : Outcome.forStatus(status.code().value());
+    }
+}
@@ -0,0 +1,17 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.metricas;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximo de sentencias SQL que deberia ejecutar un request a este endpoint. Reemplaza al presupuesto por defecto
+ * (application.metricas.sentencias.presupuesto); pasarse queda logueado y contado en "hibernate.request.statements.excedidas".
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PresupuestoSentencias {
+
+    int value();
+}
@@ -0,0 +1,70 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Publica cuantas sentencias SQL genero cada request, por metodo y patron de URI:
+ * un endpoint que de golpe hace N consultas en vez de una se ve en la distribucion.
+ * Los requests que superan el presupuesto del endpoint ({@link PresupuestoSentencias}) se loguean y se cuentan aparte.
+ */
+@Slf4j
+public class SentenciasPorRequestFilter extends OncePerRequestFilter {
+
+    private static final String URI_DESCONOCIDA = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int presupuestoPorDefecto;
+
+    public SentenciasPorRequestFilter(MeterRegistry meterRegistry, int presupuestoPorDefecto) {
+        this.meterRegistry = meterRegistry;
+        this.presupuestoPorDefecto = presupuestoPorDefecto;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContadorSentencias.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            final int sentencias = ContadorSentencias.finalizar();
+            // El patron (no la URI real) mantiene acotada la cantidad de series
+            final Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            final String uri = patron == null ? URI_DESCONOCIDA : patron.toString();
+            DistributionSummary.builder("hibernate.request.statements")
+                    .description("Sentencias SQL ejecutadas por request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(sentencias);
+
+            final int presupuesto = presupuesto(request);
+            if (sentencias > presupuesto) {
+                log.warn("{} {} ejecuto {} sentencias SQL, el presupuesto es {}", request.getMethod(), uri, sentencias, presupuesto);
+                meterRegistry.counter("hibernate.request.statements.excedidas", "method", request.getMethod(), "uri", uri)
+                        .increment();
+            }
+        }
+    }
+
+    private int presupuesto(HttpServletRequest request) {
+        final Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod) {
+            final var anotacion = ((HandlerMethod) handler).getMethodAnnotation(PresupuestoSentencias.class);
+            if (anotacion != null) {
+                return anotacion.value();
+            }
+        }
+        return presupuestoPorDefecto;
+    }
+}
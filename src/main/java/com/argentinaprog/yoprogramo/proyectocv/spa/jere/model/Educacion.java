@@ -1,7 +1,11 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model;
 
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.InstitucionConverter;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.LugarConverter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -11,14 +15,21 @@ import javax.persistence.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "educacion")
 public class Educacion {
 
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @Column(nullable = false)
     private Long id;
+
+    @Convert(converter = InstitucionConverter.class)
+    @Column(name = "institucion_id")
     private String institucion;
     private String titulo;
+
+    @Convert(converter = LugarConverter.class)
+    @Column(name = "lugar_id")
     private String lugar;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,8 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model;
+
+public enum EstadoTrabajo {
+    PENDIENTE,
+    EN_PROCESO,
+    COMPLETADO,
+    FALLIDO
+}
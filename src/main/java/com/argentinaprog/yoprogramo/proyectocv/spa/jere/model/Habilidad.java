@@ -1,7 +1,10 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model;
 
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.HabilidadConverter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -11,11 +14,15 @@ import javax.persistence.*;
 @Getter
 @Setter
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "habilidad")
 public class Habilidad {
 
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
+
+    @Convert(converter = HabilidadConverter.class)
+    @Column(name = "habilidad_canonica_id")
     private String nombre;
 
     @Column(name = "porcentaje")
@@ -0,0 +1,42 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+public class ImagenVarianteTrabajo {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(name = "persona_id", nullable = false)
+    private Long personaId;
+
+    @Column(nullable = false, length = 64)
+    private String imagenHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EstadoTrabajo estado;
+
+    @Column(nullable = false)
+    private int intentos;
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime creado;
+
+    @Column(nullable = false)
+    private LocalDateTime actualizado;
+
+    @Column(nullable = false)
+    private LocalDateTime proximoIntento;
+}
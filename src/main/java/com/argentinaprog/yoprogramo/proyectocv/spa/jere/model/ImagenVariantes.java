@@ -0,0 +1,51 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+@Embeddable
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImagenVariantes {
+
+    @JsonIgnore
+    @Column(name = "imagen_miniatura_hash", length = 64)
+    private String miniaturaHash;
+
+    @JsonIgnore
+    @Column(name = "imagen_tarjeta_hash", length = 64)
+    private String tarjetaHash;
+
+    @JsonIgnore
+    @Column(name = "imagen_completa_hash", length = 64)
+    private String completaHash;
+
+    @Column(name = "imagen_placeholder", length = 64)
+    private String placeholder;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getMiniatura() {
+        return url(miniaturaHash);
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getTarjeta() {
+        return url(tarjetaHash);
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getCompleta() {
+        return url(completaHash);
+    }
+
+    private static String url(String hash) {
+        return hash != null ? Persona.IMAGEN_URL + hash : null;
+    }
+}
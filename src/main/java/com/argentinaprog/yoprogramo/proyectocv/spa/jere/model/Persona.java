@@ -1,13 +1,21 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "persona")
 @Getter
 @Setter
 @Builder
@@ -15,8 +23,13 @@ import java.util.List;
 @NoArgsConstructor
 public class Persona {
 
+    public static final String IMAGEN_URL = "/api/v1/persona/imagen/";
+
+    // Misma secuencia que el resto de las entidades; con shards el id ademas decide el shard de la persona
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "persona_id")
+    @GenericGenerator(name = "persona_id", strategy = "com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.PersonaIdGenerator",
+            parameters = @Parameter(name = "sequence_name", value = "hibernate_sequence"))
     @Column(nullable = false)
     private Long id;
     private String nombres;
@@ -28,6 +41,14 @@ public class Persona {
     private String email;
     private String descripcion;
     private String imagen;
+
+    @JsonIgnore
+    @Column(length = 64)
+    private String imagenHash;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Embedded
+    private ImagenVariantes imagenVariantes;
     private String ocupacion;
 
     //@JsonIgnore
@@ -36,18 +57,35 @@ public class Persona {
 
     @Singular
     @OneToMany(mappedBy = "persona", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "persona-estudios")
     private List<Educacion> estudios = new ArrayList<>();
 
     @Singular
     @OneToMany(mappedBy = "persona", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "persona-habilidades")
     private List<Habilidad> habilidades = new ArrayList<>();
 
     @Singular
     @OneToMany(mappedBy = "persona", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "persona-experiencias-laborales")
     //@OrderBy("trabajo.fecha_inicio DESC")
     private List<Trabajo> experienciasLaborales = new ArrayList<>();
 
     @Singular
     @OneToMany(mappedBy = "persona", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "persona-proyectos")
     private List<Proyecto> proyectos = new ArrayList<>();
+
+    public String getImagen() {
+        return imagenHash != null ? IMAGEN_URL + imagenHash : imagen;
+    }
+
+    public void setImagen(String imagen) {
+        if (imagenHash != null && Objects.equals(imagen, IMAGEN_URL + imagenHash)) {
+            return;
+        }
+        this.imagen = imagen;
+        this.imagenHash = null;
+        this.imagenVariantes = null;
+    }
 }
@@ -2,12 +2,15 @@ package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Setter
 @Getter
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "proyecto")
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
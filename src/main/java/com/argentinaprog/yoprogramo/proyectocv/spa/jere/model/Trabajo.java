@@ -1,12 +1,17 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model;
 
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.EmpresaConverter;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.LugarConverter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "trabajo")
 @Getter
 @Setter
 @Builder
@@ -17,8 +22,14 @@ public class Trabajo {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
+
+    @Convert(converter = EmpresaConverter.class)
+    @Column(name = "empresa_id")
     private String empresa;
     private String cargo;
+
+    @Convert(converter = LugarConverter.class)
+    @Column(name = "lugar_id")
     private String lugar;
 
     @Column(name = "fecha_inicio")
@@ -3,6 +3,10 @@ package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +19,8 @@ import java.util.Objects;
 @Getter
 @Setter
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
+@NaturalIdCache(region = "usuario-username")
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -24,6 +30,8 @@ public class Usuario implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
+
+    @NaturalId(mutable = true)
     private String username;
     @JsonIgnore
     private String password;
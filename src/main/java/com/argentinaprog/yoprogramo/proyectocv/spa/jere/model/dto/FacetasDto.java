@@ -0,0 +1,19 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class FacetasDto implements Serializable {
+
+    private final String consulta;
+    private final long total;
+    private final List<FacetaDto> nacionalidades;
+    private final List<FacetaDto> estadosEducacion;
+    private final List<FacetaDto> habilidades;
+    private final List<FacetaDto> empleadores;
+}
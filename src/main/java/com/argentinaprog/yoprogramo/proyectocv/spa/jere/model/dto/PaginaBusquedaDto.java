@@ -0,0 +1,18 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class PaginaBusquedaDto implements Serializable {
+
+    private final String consulta;
+    private final long total;
+    private final int pagina;
+    private final int tamanio;
+    private final List<ResultadoBusquedaDto> resultados;
+}
@@ -0,0 +1,18 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+@AllArgsConstructor
+@Getter
+public class ResultadoBusquedaDto implements Serializable {
+
+    private final Long id;
+    private final String nombres;
+    private final String apellidos;
+    private final String ocupacion;
+    private final String imagen;
+    private final float puntaje;
+}
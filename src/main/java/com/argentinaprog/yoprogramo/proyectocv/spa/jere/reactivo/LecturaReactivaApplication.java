@@ -0,0 +1,63 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.reactivo;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.HttpHandlerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.ReactiveWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.error.ErrorWebFluxAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.List;
+
+// Contexto WebFlux + R2DBC para las lecturas públicas. Sin @Configuration a propósito: no debe entrar
+// en el component scan del contexto servlet, solo lo levanta LecturaReactivaLifecycle.
+@ImportAutoConfiguration({
+        ReactiveWebServerFactoryAutoConfiguration.class,
+        HttpHandlerAutoConfiguration.class,
+        WebFluxAutoConfiguration.class,
+        CodecsAutoConfiguration.class,
+        ErrorWebFluxAutoConfiguration.class,
+        R2dbcAutoConfiguration.class
+})
+public class LecturaReactivaApplication {
+
+    @Bean
+    public PersonaReactivaRepository personaReactivaRepository(DatabaseClient databaseClient) {
+        return new PersonaReactivaRepository(databaseClient);
+    }
+
+    @Bean
+    public PersonaReactivaHandler personaReactivaHandler(PersonaReactivaRepository personaReactivaRepository,
+                                                         ObjectMapper objectMapper,
+                                                         JwtConfig jwtConfig) {
+        return new PersonaReactivaHandler(personaReactivaRepository, objectMapper, jwtConfig);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> personaReactivaRoutes(PersonaReactivaHandler personaReactivaHandler) {
+        return personaReactivaHandler.routes();
+    }
+
+    @Bean
+    public CorsWebFilter corsWebFilter(@Value("${frontend.url}") String frontendUrl) {
+        var corsConfiguration = new CorsConfiguration();
+        corsConfiguration.setAllowCredentials(true);
+        corsConfiguration.setAllowedOrigins(List.of(frontendUrl.split(",")));
+        corsConfiguration.setAllowedHeaders(List.of("Origin", "Content-Type", "Accept", "Authorization"));
+        corsConfiguration.setAllowedMethods(List.of("GET", "OPTIONS"));
+        var urlBasedCorsConfigurationSource = new UrlBasedCorsConfigurationSource();
+        urlBasedCorsConfigurationSource.registerCorsConfiguration("/**", corsConfiguration);
+        return new CorsWebFilter(urlBasedCorsConfigurationSource);
+    }
+}
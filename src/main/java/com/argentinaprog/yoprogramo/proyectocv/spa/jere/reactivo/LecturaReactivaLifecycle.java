@@ -0,0 +1,84 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.reactivo;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.reactive", name = "enabled", havingValue = "true")
+public class LecturaReactivaLifecycle implements SmartLifecycle {
+
+    private final ConfigurableEnvironment environment;
+    private final ObjectMapper objectMapper;
+    private final JwtConfig jwtConfig;
+
+    private ConfigurableApplicationContext contextoReactivo;
+
+    public LecturaReactivaLifecycle(ConfigurableEnvironment environment, ObjectMapper objectMapper, JwtConfig jwtConfig) {
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.jwtConfig = jwtConfig;
+    }
+
+    @Override
+    public void start() {
+        contextoReactivo = new SpringApplicationBuilder(LecturaReactivaApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .profiles(environment.getActiveProfiles())
+                .initializers(contexto -> {
+                    contexto.getEnvironment().getPropertySources()
+                            .addFirst(new MapPropertySource("lecturaReactiva", propiedades()));
+                    contexto.getBeanFactory().registerSingleton("objectMapper", objectMapper);
+                    contexto.getBeanFactory().registerSingleton("jwtConfig", jwtConfig);
+                })
+                .run();
+        log.info("Lecturas reactivas de personas escuchando en el puerto {}",
+                ((WebServerApplicationContext) contextoReactivo).getWebServer().getPort());
+    }
+
+    @Override
+    public void stop() {
+        if (contextoReactivo != null) {
+            contextoReactivo.close();
+            contextoReactivo = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return contextoReactivo != null && contextoReactivo.isActive();
+    }
+
+    public int getPuerto() {
+        return ((WebServerApplicationContext) contextoReactivo).getWebServer().getPort();
+    }
+
+    // El contexto reactivo lee el mismo esquema: si no hay spring.r2dbc.url se deriva de la URL JDBC.
+    private Map<String, Object> propiedades() {
+        final Map<String, Object> propiedades = new HashMap<>();
+        propiedades.put("server.port", environment.getProperty("application.reactive.port", "8081"));
+        if (!environment.containsProperty("spring.r2dbc.url")) {
+            final String jdbcUrl = environment.getRequiredProperty("spring.datasource.url");
+            propiedades.put("spring.r2dbc.url", jdbcUrl.replaceFirst("^jdbc:", "r2dbc:").replaceFirst("\\?.*$", ""));
+            propiedades.put("spring.r2dbc.username", environment.getProperty("spring.datasource.username"));
+            propiedades.put("spring.r2dbc.password", environment.getProperty("spring.datasource.password", ""));
+        }
+        return propiedades;
+    }
+}
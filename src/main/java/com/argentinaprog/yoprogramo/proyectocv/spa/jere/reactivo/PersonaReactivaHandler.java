@@ -0,0 +1,152 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.reactivo;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.JwtTokenInvalidoException;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.PersonaNotFoundException;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.UsuarioNotFoundException;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+public class PersonaReactivaHandler {
+
+    private static final String API_PERSONA_BASE_URL = "/api/v1/persona";
+    private static final int TAMANIO_LOTE = 50;
+    private static final byte[] INICIO_ARRAY = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SEPARADOR = ",".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FIN_ARRAY = "]".getBytes(StandardCharsets.UTF_8);
+
+    private final PersonaReactivaRepository personaRepo;
+    private final ObjectWriter personaWriter;
+    private final JwtConfig jwtConfig;
+
+    public PersonaReactivaHandler(PersonaReactivaRepository personaRepo, ObjectMapper objectMapper, JwtConfig jwtConfig) {
+        this.personaRepo = personaRepo;
+        this.personaWriter = objectMapper.writerFor(Persona.class);
+        this.jwtConfig = jwtConfig;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return route(GET(API_PERSONA_BASE_URL + "/find/{id}"), this::getPersona)
+                .andRoute(GET(API_PERSONA_BASE_URL + "/all").and(request -> acceptsNdjson(request)), this::streamAllPersonas)
+                .andRoute(GET(API_PERSONA_BASE_URL + "/all"), this::getAllPersonas)
+                .andRoute(GET(API_PERSONA_BASE_URL + "/current"), this::currentPersona);
+    }
+
+    private Mono<ServerResponse> getPersona(ServerRequest request) {
+        final Long id;
+        try {
+            id = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return Mono.error(badRequest(new TypeMismatchException(request.pathVariable("id"), Long.class, e)));
+        }
+        return personaRepo.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(new PersonaNotFoundException(id))))
+                .flatMap(persona -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(persona));
+    }
+
+    private Mono<ServerResponse> streamAllPersonas(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(personaRepo.findAll(TAMANIO_LOTE), Persona.class);
+    }
+
+    // Mismo array JSON que el endpoint servlet, pero escrito persona por persona a medida que el
+    // cliente consume, sin juntar toda la lista en memoria.
+    private Mono<ServerResponse> getAllPersonas(ServerRequest request) {
+        final DataBufferFactory buffers = request.exchange().getResponse().bufferFactory();
+        final Flux<DataBuffer> cuerpo = Flux.concat(
+                Mono.fromCallable(() -> buffers.wrap(INICIO_ARRAY)),
+                personaRepo.findAll(TAMANIO_LOTE)
+                        .index()
+                        .map(indexada -> buffers.wrap(json(indexada.getT2(), indexada.getT1() > 0))),
+                Mono.fromCallable(() -> buffers.wrap(FIN_ARRAY)));
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(cuerpo));
+    }
+
+    private Mono<ServerResponse> currentPersona(ServerRequest request) {
+        final String username = usernameDelToken(request.headers().firstHeader(AUTHORIZATION));
+        if (username == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.ACCEPTED, new UsuarioNotFoundException().getMessage()));
+        }
+        return personaRepo.findPersonaIdByUsername(username)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.ACCEPTED, new UsuarioNotFoundException().getMessage())))
+                .flatMap(personaId -> personaId
+                        .map(personaRepo::findById)
+                        .orElseGet(Mono::empty))
+                .switchIfEmpty(Mono.error(() -> notFound(new PersonaNotFoundException(username))))
+                .flatMap(persona -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(persona));
+    }
+
+    private String usernameDelToken(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        final String token = authHeader.replace("Bearer ", "");
+        try {
+            return JWT.require(jwtConfig.algorithmWithSecret())
+                    .build()
+                    .verify(token)
+                    .getSubject();
+        } catch (JWTVerificationException exception) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,
+                    new JwtTokenInvalidoException(token, exception.getMessage()).getMessage());
+        }
+    }
+
+    private byte[] json(Persona persona, boolean conSeparador) {
+        try {
+            final byte[] json = personaWriter.writeValueAsBytes(persona);
+            if (!conSeparador) {
+                return json;
+            }
+            final byte[] conComa = new byte[json.length + SEPARADOR.length];
+            System.arraycopy(SEPARADOR, 0, conComa, 0, SEPARADOR.length);
+            System.arraycopy(json, 0, conComa, SEPARADOR.length, json.length);
+            return conComa;
+        } catch (JsonProcessingException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private static boolean acceptsNdjson(ServerRequest request) {
+        return request.headers().accept().stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+
+    private static ResponseStatusException notFound(RuntimeException causa) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, causa.getMessage());
+    }
+
+    // Mismo 400 y mensaje que el controller servlet cuando un path variable no se puede convertir
+    private static ResponseStatusException badRequest(TypeMismatchException causa) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, causa.getMessage(), causa);
+    }
+}
@@ -0,0 +1,182 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.reactivo;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class PersonaReactivaRepository {
+
+    private static final String PERSONA_COLUMNAS = "SELECT p.id, p.nombres, p.apellidos, p.fecha_nacimiento, p.nacionalidad, " +
+            "p.email, p.descripcion, p.imagen, p.imagen_hash, p.ocupacion, " +
+            "p.imagen_miniatura_hash, p.imagen_tarjeta_hash, p.imagen_completa_hash, p.imagen_placeholder FROM persona p ";
+    private static final String PERSONA_POR_ID_SQL = PERSONA_COLUMNAS + "WHERE p.id = :id";
+    private static final String IDS_SQL = "SELECT id FROM persona ORDER BY id";
+    private static final String PERSONAS_POR_IDS_SQL = PERSONA_COLUMNAS + "WHERE p.id IN (:ids) ORDER BY p.id";
+    private static final String PERSONA_ID_POR_USERNAME_SQL = "SELECT persona_id FROM usuario WHERE username = :username";
+    private static final String USUARIOS_SQL = "SELECT persona_id, username FROM usuario WHERE persona_id IN (:ids)";
+    private static final String ESTUDIOS_SQL = "SELECT e.id, i.nombre AS institucion, e.titulo, l.nombre AS lugar, e.estado, e.persona_id FROM educacion e " +
+            "LEFT JOIN institucion i ON i.id = e.institucion_id LEFT JOIN lugar l ON l.id = e.lugar_id " +
+            "WHERE e.persona_id IN (:ids) ORDER BY e.persona_id, e.id";
+    private static final String HABILIDADES_SQL = "SELECT h.id, c.nombre, h.porcentaje, h.obs, h.persona_id FROM habilidad h " +
+            "LEFT JOIN habilidad_canonica c ON c.id = h.habilidad_canonica_id " +
+            "WHERE h.persona_id IN (:ids) ORDER BY h.persona_id, h.id";
+    private static final String TRABAJOS_SQL = "SELECT t.id, c.nombre AS empresa, t.cargo, l.nombre AS lugar, t.fecha_inicio, t.fecha_fin, t.persona_id FROM trabajo t " +
+            "LEFT JOIN empresa c ON c.id = t.empresa_id LEFT JOIN lugar l ON l.id = t.lugar_id " +
+            "WHERE t.persona_id IN (:ids) ORDER BY t.persona_id, t.id";
+    private static final String PROYECTOS_SQL = "SELECT id, nombre, obs, persona_id FROM proyecto WHERE persona_id IN (:ids) ORDER BY persona_id, id";
+
+    private final DatabaseClient databaseClient;
+
+    public PersonaReactivaRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Persona> findById(Long id) {
+        return databaseClient.sql(PERSONA_POR_ID_SQL)
+                .bind("id", id)
+                .map((row, metadata) -> persona(row))
+                .one()
+                .flatMap(persona -> completar(List.of(persona)).next());
+    }
+
+    // Vacío si el usuario no existe; Optional vacío si existe pero todavía no creó su persona.
+    public Mono<Optional<Long>> findPersonaIdByUsername(String username) {
+        return databaseClient.sql(PERSONA_ID_POR_USERNAME_SQL)
+                .bind("username", username)
+                .map((row, metadata) -> Optional.ofNullable(row.get("persona_id", Long.class)))
+                .one();
+    }
+
+    // Las personas se piden a la base por lotes según la demanda del cliente, y cada lote trae sus
+    // colecciones con una consulta por tabla en lugar de una por persona. Los ids se leen enteros primero:
+    // un cursor abierto hasta el último lote retendría su conexión mientras los lotes piden otras y, con el
+    // pool agotado por requests concurrentes, ninguno avanzaría.
+    public Flux<Persona> findAll(int tamanioLote) {
+        return databaseClient.sql(IDS_SQL)
+                .map((row, metadata) -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .flatMapMany(ids -> Flux.fromIterable(ids).buffer(tamanioLote))
+                .concatMap(this::lote, 1);
+    }
+
+    private Flux<Persona> lote(List<Long> ids) {
+        return databaseClient.sql(PERSONAS_POR_IDS_SQL)
+                .bind("ids", ids)
+                .map((row, metadata) -> persona(row))
+                .all()
+                .collectList()
+                // Las personas del lote pueden haberse borrado despues de leer los ids
+                .filter(personas -> !personas.isEmpty())
+                .flatMapMany(this::completar);
+    }
+
+    private Flux<Persona> completar(List<Persona> lote) {
+        final List<Long> ids = lote.stream().map(Persona::getId).collect(Collectors.toList());
+        return Mono.zip(
+                        porPersona(USUARIOS_SQL, ids, row -> Usuario.builder().username(row.get("username", String.class)).build()),
+                        porPersona(ESTUDIOS_SQL, ids, this::educacion),
+                        porPersona(HABILIDADES_SQL, ids, this::habilidad),
+                        porPersona(TRABAJOS_SQL, ids, this::trabajo),
+                        porPersona(PROYECTOS_SQL, ids, this::proyecto))
+                .flatMapMany(hijos -> Flux.fromIterable(lote)
+                        .map(persona -> {
+                            persona.setUsuario(hijos.getT1().getOrDefault(persona.getId(), List.of()).stream().findFirst().orElse(null));
+                            persona.setEstudios(hijos.getT2().getOrDefault(persona.getId(), new ArrayList<>()));
+                            persona.setHabilidades(hijos.getT3().getOrDefault(persona.getId(), new ArrayList<>()));
+                            persona.setExperienciasLaborales(hijos.getT4().getOrDefault(persona.getId(), new ArrayList<>()));
+                            persona.setProyectos(hijos.getT5().getOrDefault(persona.getId(), new ArrayList<>()));
+                            return persona;
+                        }));
+    }
+
+    private <T> Mono<Map<Long, List<T>>> porPersona(String sql, Collection<Long> ids, Function<Row, T> mapeo) {
+        return databaseClient.sql(sql)
+                .bind("ids", ids)
+                .map((row, metadata) -> Map.entry(row.get("persona_id", Long.class), mapeo.apply(row)))
+                .all()
+                .collect(Collectors.groupingBy(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toCollection(ArrayList::new))));
+    }
+
+    private Persona persona(Row row) {
+        return Persona.builder()
+                .id(row.get("id", Long.class))
+                .nombres(row.get("nombres", String.class))
+                .apellidos(row.get("apellidos", String.class))
+                .fechaNacimiento(row.get("fecha_nacimiento", LocalDate.class))
+                .nacionalidad(enumValue(Nacionalidades.class, row.get("nacionalidad", String.class)))
+                .email(row.get("email", String.class))
+                .descripcion(row.get("descripcion", String.class))
+                .imagen(row.get("imagen", String.class))
+                .imagenHash(row.get("imagen_hash", String.class))
+                .ocupacion(row.get("ocupacion", String.class))
+                .imagenVariantes(imagenVariantes(row))
+                .build();
+    }
+
+    // Igual que Hibernate con un @Embedded: sin ninguna columna cargada no hay variantes.
+    private ImagenVariantes imagenVariantes(Row row) {
+        final var variantes = ImagenVariantes.builder()
+                .miniaturaHash(row.get("imagen_miniatura_hash", String.class))
+                .tarjetaHash(row.get("imagen_tarjeta_hash", String.class))
+                .completaHash(row.get("imagen_completa_hash", String.class))
+                .placeholder(row.get("imagen_placeholder", String.class))
+                .build();
+        return variantes.getMiniaturaHash() == null && variantes.getTarjetaHash() == null
+                && variantes.getCompletaHash() == null && variantes.getPlaceholder() == null ? null : variantes;
+    }
+
+    private Educacion educacion(Row row) {
+        return Educacion.builder()
+                .id(row.get("id", Long.class))
+                .institucion(row.get("institucion", String.class))
+                .titulo(row.get("titulo", String.class))
+                .lugar(row.get("lugar", String.class))
+                .estado(enumValue(ProgresoEducacion.class, row.get("estado", String.class)))
+                .build();
+    }
+
+    private Habilidad habilidad(Row row) {
+        return Habilidad.builder()
+                .id(row.get("id", Long.class))
+                .nombre(row.get("nombre", String.class))
+                .nivel(Optional.ofNullable(row.get("porcentaje", Integer.class)).orElse(0))
+                .descripcion(row.get("obs", String.class))
+                .build();
+    }
+
+    private Trabajo trabajo(Row row) {
+        return Trabajo.builder()
+                .id(row.get("id", Long.class))
+                .empresa(row.get("empresa", String.class))
+                .cargo(row.get("cargo", String.class))
+                .lugar(row.get("lugar", String.class))
+                .desde(row.get("fecha_inicio", LocalDate.class))
+                .hasta(row.get("fecha_fin", LocalDate.class))
+                .build();
+    }
+
+    private Proyecto proyecto(Row row) {
+        return Proyecto.builder()
+                .id(row.get("id", Long.class))
+                .nombre(row.get("nombre", String.class))
+                .descripcion(row.get("obs", String.class))
+                .build();
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> tipo, String valor) {
+        return valor == null ? null : Enum.valueOf(tipo, valor);
+    }
+}
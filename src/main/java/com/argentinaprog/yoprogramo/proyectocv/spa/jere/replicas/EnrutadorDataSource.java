@@ -0,0 +1,190 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.replicas;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.cache.RespuestaCacheFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource de la aplicacion cuando hay replicas: las transacciones readOnly leen de una replica (en ronda) y el
+ * resto va a la primaria. La conexion real se pide recien en la primera sentencia, cuando Spring ya marco la
+ * transaccion como readOnly; al empezar la transaccion todavia no se sabe. Si la replica no responde la lectura va
+ * a la primaria. Cada decision se cuenta en "datasource.enrutamiento" por destino y motivo.
+ * Una lectura de replica que puede no tener la ultima escritura confirmada no llena la cache de segundo nivel ni la
+ * de respuestas: el que escribio lee de la primaria, pero esas caches se comparten y no expiran solas.
+ */
+@Slf4j
+public class EnrutadorDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final String GTID_EJECUTADOS = "SELECT @@GLOBAL.gtid_executed";
+    private static final String GTID_APLICADOS = "SELECT GTID_SUBSET(?, @@GLOBAL.gtid_executed)";
+
+    private final HikariDataSource primaria;
+    private final List<HikariDataSource> replicas;
+    private final LecturasPropias lecturasPropias;
+    private final boolean gtid;
+    // Se resuelve en cada decision: el DataSource se crea antes que el MeterRegistry
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    public EnrutadorDataSource(HikariDataSource primaria, List<HikariDataSource> replicas, LecturasPropias lecturasPropias,
+                               boolean gtid, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.primaria = primaria;
+        this.replicas = List.copyOf(replicas);
+        this.lecturasPropias = lecturasPropias;
+        this.gtid = gtid;
+        this.meterRegistry = meterRegistry;
+        setTargetDataSource(new Destino());
+        // Valores por defecto de MySQL: asi no se pide una conexion al iniciar solo para leerlos
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+    }
+
+    public List<HikariDataSource> pools() {
+        final List<HikariDataSource> pools = new ArrayList<>(replicas);
+        pools.add(0, primaria);
+        return pools;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primaria.close();
+    }
+
+    private Connection conexion() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return escritura();
+        }
+        final Optional<LecturasPropias.Escritura> pendiente = lecturasPropias.pendiente(LecturasPropias.usuarioActual());
+        if (pendiente.isPresent() && pendiente.get().getGtid() == null) {
+            return primaria("lectura-propia");
+        }
+
+        final HikariDataSource replica = replicas.get(Math.floorMod(siguiente.getAndIncrement(), replicas.size()));
+        final Connection conexion;
+        try {
+            conexion = replica.getConnection();
+        } catch (SQLException e) {
+            log.warn("Replica {} no disponible, la lectura va a la primaria: {}", replica.getPoolName(), e.getMessage());
+            return primaria("replica-caida");
+        }
+        if (pendiente.isEmpty()) {
+            contar("replica", "lectura");
+            sinCacheSiAtrasada(conexion);
+            return conexion;
+        }
+        if (aplico(conexion, pendiente.get().getGtid())) {
+            contar("replica", "replica-al-dia");
+            sinCacheSiAtrasada(conexion);
+            return conexion;
+        }
+        conexion.close();
+        return primaria("lectura-propia");
+    }
+
+    // La conexion se pide en la primera sentencia de la transaccion: todavia no se cargo nada que pudiera cachearse.
+    private void sinCacheSiAtrasada(Connection replica) {
+        final Optional<LecturasPropias.Escritura> ultima = lecturasPropias.ultima();
+        if (ultima.isEmpty() || (ultima.get().getGtid() != null && aplico(replica, ultima.get().getGtid()))) {
+            return;
+        }
+        contar("replica", "sin-cache");
+        TransactionSynchronizationManager.getResourceMap().values().stream()
+                .filter(EntityManagerHolder.class::isInstance)
+                .map(holder -> ((EntityManagerHolder) holder).getEntityManager().unwrap(Session.class))
+                .forEach(session -> session.setCacheMode(CacheMode.GET));
+        final RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(RespuestaCacheFilter.SIN_CACHE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    // Al confirmar, la escritura queda a nombre del usuario (si hay) y como la ultima, con el GTID que la replica tiene
+    // que haber aplicado.
+    // En afterCommit la conexion todavia esta tomada: Spring la devuelve al limpiar la transaccion.
+    private Connection escritura() throws SQLException {
+        final Connection conexion = primaria("escritura");
+        final String usuario = LecturasPropias.usuarioActual();
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lecturasPropias.registrar(usuario, gtid ? gtidEjecutados(conexion) : null);
+                }
+            });
+        }
+        return conexion;
+    }
+
+    private Connection primaria(String motivo) throws SQLException {
+        final Connection conexion = primaria.getConnection();
+        contar("primaria", motivo);
+        return conexion;
+    }
+
+    private String gtidEjecutados(Connection conexion) {
+        try (Statement statement = conexion.createStatement();
+             ResultSet resultado = statement.executeQuery(GTID_EJECUTADOS)) {
+            return resultado.next() ? resultado.getString(1) : null;
+        } catch (SQLException e) {
+            log.warn("No se pudo leer el GTID de la escritura, las lecturas del usuario esperan la ventana completa: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean aplico(Connection replica, String gtidEscritura) {
+        try (PreparedStatement statement = replica.prepareStatement(GTID_APLICADOS)) {
+            statement.setString(1, gtidEscritura);
+            try (ResultSet resultado = statement.executeQuery()) {
+                return resultado.next() && resultado.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            log.warn("No se pudo comparar el GTID en la replica: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void contar(String destino, String motivo) {
+        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)
+                .counter("datasource.enrutamiento", "destino", destino, "motivo", motivo)
+                .increment();
+    }
+
+    private class Destino extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return conexion();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Los pools de primaria y replicas tienen sus propias credenciales");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.replicas;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read-your-writes por usuario: despues de confirmar una escritura, sus lecturas van a la primaria durante la ventana
+ * o hasta que la replica ya aplico el GTID de esa escritura. Los requests anonimos no se siguen: no pueden escribir
+ * y el registro lee las credenciales siempre de la primaria.
+ * Tambien se guarda la ultima escritura de cualquiera: mientras la replica pueda no tenerla, lo que se lee de ella
+ * no se guarda en las caches compartidas, donde lo verian tambien los que ya escribieron.
+ */
+public class LecturasPropias {
+
+    private final Cache<String, Escritura> escrituras;
+    private final Duration ventana;
+    private final AtomicReference<Escritura> ultima = new AtomicReference<>();
+
+    public LecturasPropias(Duration ventana) {
+        this.ventana = ventana;
+        this.escrituras = Caffeine.newBuilder()
+                .expireAfterWrite(ventana)
+                .build();
+    }
+
+    static String usuarioActual() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    // Sin GTID (replicacion sin gtid_mode o no se pudo leer) solo cuenta la ventana. Sin usuario (tareas de fondo)
+    // solo cuenta como ultima escritura.
+    void registrar(String usuario, String gtid) {
+        final Escritura escritura = new Escritura(gtid, System.nanoTime());
+        if (usuario != null) {
+            escrituras.put(usuario, escritura);
+        }
+        // gtid_executed solo crece: entre dos confirmaciones concurrentes vale el que se leyo despues
+        ultima.accumulateAndGet(escritura, (actual, nueva) -> actual == null || actual.leida - nueva.leida <= 0 ? nueva : actual);
+    }
+
+    Optional<Escritura> pendiente(String usuario) {
+        return usuario == null ? Optional.empty() : Optional.ofNullable(escrituras.getIfPresent(usuario));
+    }
+
+    Optional<Escritura> ultima() {
+        final Escritura escritura = ultima.get();
+        if (escritura == null || System.nanoTime() - escritura.leida > ventana.toNanos()) {
+            return Optional.empty();
+        }
+        return Optional.of(escritura);
+    }
+
+    static final class Escritura {
+
+        private final String gtid;
+        private final long leida;
+
+        private Escritura(String gtid, long leida) {
+            this.gtid = gtid;
+            this.leida = leida;
+        }
+
+        String getGtid() {
+            return gtid;
+        }
+    }
+}
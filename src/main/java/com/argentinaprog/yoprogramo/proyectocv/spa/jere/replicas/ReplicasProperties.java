@@ -0,0 +1,26 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.replicas;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "application.replicas")
+@Getter
+@Setter
+public class ReplicasProperties {
+
+    private boolean enabled;
+    private List<String> urls = new ArrayList<>();
+    // Sin usuario ni password se usan los de spring.datasource
+    private String username;
+    private String password;
+    // Sin valor se usa spring.datasource.hikari.maximum-pool-size
+    private Integer maximumPoolSize;
+    private Duration ventanaLecturasPropias = Duration.ofSeconds(5);
+    // Requiere gtid_mode=ON en la primaria y las replicas
+    private boolean gtid;
+}
@@ -1,9 +1,36 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories;
 
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Educacion;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.ProgresoEducacion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface EducacionRepository extends JpaRepository<Educacion, Long> {
+
+    @Query("SELECT DISTINCT e.persona.id AS personaId, e.estado AS estado FROM Educacion e WHERE e.estado IS NOT NULL")
+    List<EstadoEducacion> findAllEstados();
+
+    @Query(value = "SELECT e.persona_id AS personaId, c.nombre AS institucion, c.clave AS clave FROM educacion e " +
+            "JOIN institucion c ON c.id = e.institucion_id", nativeQuery = true)
+    List<InstitucionPersona> findAllInstituciones();
+
+    interface EstadoEducacion {
+
+        Long getPersonaId();
+
+        ProgresoEducacion getEstado();
+    }
+
+    interface InstitucionPersona {
+
+        Long getPersonaId();
+
+        String getInstitucion();
+
+        String getClave();
+    }
 }
@@ -2,8 +2,27 @@ package com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories;
 
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Habilidad;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface HabilidadRepository extends JpaRepository<Habilidad, Long> {
+
+    @Query("SELECT h.persona.id AS personaId, h.nombre AS nombre, h.nivel AS nivel FROM Habilidad h")
+    List<NivelHabilidad> findAllNiveles();
+
+    @Query("SELECT h.persona.id AS personaId, h.nombre AS nombre, h.nivel AS nivel FROM Habilidad h WHERE h.persona.id = :personaId")
+    List<NivelHabilidad> findNivelesByPersonaId(@Param("personaId") Long personaId);
+
+    interface NivelHabilidad {
+
+        Long getPersonaId();
+
+        String getNombre();
+
+        int getNivel();
+    }
 }
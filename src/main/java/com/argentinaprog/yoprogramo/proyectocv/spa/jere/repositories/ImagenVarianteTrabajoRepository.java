@@ -0,0 +1,42 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.EstadoTrabajo;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.ImagenVarianteTrabajo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImagenVarianteTrabajoRepository extends JpaRepository<ImagenVarianteTrabajo, Long> {
+
+    List<ImagenVarianteTrabajo> findByEstadoAndProximoIntentoLessThanEqualOrderByProximoIntento(EstadoTrabajo estado,
+                                                                                              LocalDateTime ahora,
+                                                                                              Pageable pageable);
+
+    List<ImagenVarianteTrabajo> findByPersonaId(Long personaId);
+
+    // Solo un worker gana el trabajo, aunque haya varias instancias leyendo la misma cola.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImagenVarianteTrabajo t SET t.estado = :nuevo, t.actualizado = :ahora WHERE t.id = :id AND t.estado = :actual")
+    int cambiarEstado(@Param("id") Long id,
+                      @Param("actual") EstadoTrabajo actual,
+                      @Param("nuevo") EstadoTrabajo nuevo,
+                      @Param("ahora") LocalDateTime ahora);
+
+    // Solo los trabajos sin novedades desde antes de vencido: los que toman otras instancias vivas no se tocan.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImagenVarianteTrabajo t SET t.estado = :nuevo, t.actualizado = :ahora WHERE t.estado = :actual AND t.actualizado < :vencido")
+    int cambiarEstadoVencidos(@Param("actual") EstadoTrabajo actual,
+                              @Param("nuevo") EstadoTrabajo nuevo,
+                              @Param("vencido") LocalDateTime vencido,
+                              @Param("ahora") LocalDateTime ahora);
+}
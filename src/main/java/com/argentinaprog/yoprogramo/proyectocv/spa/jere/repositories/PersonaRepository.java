@@ -1,9 +1,49 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories;
 
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Nacionalidades;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface PersonaRepository extends JpaRepository<Persona, Long> {
+public interface PersonaRepository extends JpaRepository<Persona, Long>, PersonaRepositoryCustom {
+
+    // Redeclarados para que el compilador elija los del fragmento, que registran los textos de catalogo
+    @Override
+    <S extends Persona> S save(S persona);
+
+    @Override
+    <S extends Persona> S saveAndFlush(S persona);
+
+    // El usuario es el lado inverso de un OneToOne: sin el join se carga con una consulta por persona
+    @Query("SELECT p FROM Persona p LEFT JOIN FETCH p.usuario")
+    List<Persona> findAllConUsuario();
+
+    @Query("SELECT p.id FROM Persona p ORDER BY p.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT p.id AS id, p.nacionalidad AS nacionalidad FROM Persona p")
+    List<NacionalidadPersona> findAllNacionalidades();
+
+    @Query("SELECT p.id AS id, p.nombres AS nombres, p.apellidos AS apellidos FROM Persona p")
+    List<NombrePersona> findAllNombres();
+
+    interface NacionalidadPersona {
+
+        Long getId();
+
+        Nacionalidades getNacionalidad();
+    }
+
+    interface NombrePersona {
+
+        Long getId();
+
+        String getNombres();
+
+        String getApellidos();
+    }
 }
@@ -0,0 +1,10 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+
+public interface PersonaRepositoryCustom {
+
+    <S extends Persona> S save(S persona);
+
+    <S extends Persona> S saveAndFlush(S persona);
+}
@@ -0,0 +1,43 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.CatalogoResolver;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class PersonaRepositoryCustomImpl implements PersonaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CatalogoResolver catalogos;
+
+    public PersonaRepositoryCustomImpl(CatalogoResolver catalogos) {
+        this.catalogos = catalogos;
+    }
+
+    // Igual que el save de Spring Data, pero con los textos de catalogo ya registrados: el flush no inserta nada por su cuenta.
+    @Override
+    @Transactional
+    public <S extends Persona> S save(S persona) {
+        catalogos.registrar(persona);
+        final JpaEntityInformation<Persona, ?> informacion = JpaEntityInformationSupport.getEntityInformation(Persona.class, entityManager);
+        if (informacion.isNew(persona)) {
+            entityManager.persist(persona);
+            return persona;
+        }
+        return entityManager.merge(persona);
+    }
+
+    @Override
+    @Transactional
+    public <S extends Persona> S saveAndFlush(S persona) {
+        final S guardada = save(persona);
+        entityManager.flush();
+        return guardada;
+    }
+}
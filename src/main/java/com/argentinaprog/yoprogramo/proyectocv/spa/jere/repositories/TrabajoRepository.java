@@ -2,8 +2,31 @@ package com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories;
 
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Trabajo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface TrabajoRepository extends JpaRepository<Trabajo, Long> {
+
+    // Las variantes de una empresa ("Globant", "globant") comparten la clave del catalogo
+    @Query(value = "SELECT t.persona_id AS personaId, c.nombre AS empresa, c.clave AS clave FROM trabajo t " +
+            "JOIN empresa c ON c.id = t.empresa_id WHERE t.fecha_fin IS NULL OR t.fecha_fin >= :fecha", nativeQuery = true)
+    List<EmpresaPersona> findEmpleadoresActuales(@Param("fecha") LocalDate fecha);
+
+    @Query(value = "SELECT t.persona_id AS personaId, c.nombre AS empresa, c.clave AS clave FROM trabajo t " +
+            "JOIN empresa c ON c.id = t.empresa_id", nativeQuery = true)
+    List<EmpresaPersona> findAllEmpresas();
+
+    interface EmpresaPersona {
+
+        Long getPersonaId();
+
+        String getEmpresa();
+
+        String getClave();
+    }
 }
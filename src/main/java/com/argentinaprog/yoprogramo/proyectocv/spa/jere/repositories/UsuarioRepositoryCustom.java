@@ -0,0 +1,10 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Usuario;
+
+import java.util.Optional;
+
+public interface UsuarioRepositoryCustom {
+
+    Optional<Usuario> findByUsername(String username);
+}
@@ -0,0 +1,24 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Usuario;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+public class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Busqueda por natural id: con la cache de segundo nivel activa el login y cada request autenticado no consultan la base.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Usuario> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Usuario.class)
+                .loadOptional(username);
+    }
+}
@@ -3,7 +3,10 @@ package com.argentinaprog.yoprogramo.proyectocv.spa.jere.security;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.JwtTokenInvalidoException;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.logging.log4j.util.Strings;
+import org.springframework.boot.actuate.metrics.http.Outcome;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,10 +25,14 @@ import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
+    private static final String TIMER = "jwt.verificacion";
+
     private final JwtConfig jwtConfig;
+    private final MeterRegistry meterRegistry;
 
-    public JwtAuthorizationFilter(JwtConfig jwtConfig) {
+    public JwtAuthorizationFilter(JwtConfig jwtConfig, MeterRegistry meterRegistry) {
         this.jwtConfig = jwtConfig;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -38,11 +45,13 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
         final String token = authHeader.replace("Bearer ", "");
 
+        final Timer.Sample muestra = Timer.start(meterRegistry);
         try {
             final var verified = JWT
                     .require(jwtConfig.algorithmWithSecret())
                     .build()
                     .verify(token);
+            registrarVerificacion(muestra, Outcome.SUCCESS, "none");
 
             final List<SimpleGrantedAuthority> authorities =
                     Arrays.stream(verified.getClaim("roles").asArray(String.class))
@@ -56,12 +65,21 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
             SecurityContextHolder.getContext().setAuthentication(authToken);
         } catch (JWTVerificationException exception) {
+            registrarVerificacion(muestra, Outcome.CLIENT_ERROR, exception.getClass().getSimpleName());
             throw new JwtTokenInvalidoException(token, exception.getMessage());
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void registrarVerificacion(Timer.Sample muestra, Outcome outcome, String excepcion) {
+        muestra.stop(Timer.builder(TIMER)
+                .description("Duracion de la verificacion del token JWT")
+                .tag("outcome", outcome.name())
+                .tag("exception", excepcion)
+                .register(meterRegistry));
+    }
+
     private boolean isBearerHeaderInvalid(String authHeader) {
         return Strings.isBlank(authHeader) || Strings.isEmpty(authHeader) || !(authHeader.startsWith("Bearer "));
     }
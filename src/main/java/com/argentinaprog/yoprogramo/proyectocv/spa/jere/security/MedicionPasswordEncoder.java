@@ -0,0 +1,46 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Decorador que mide el costo de BCrypt en el registro y en cada login ("password.encoder").
+ */
+public class MedicionPasswordEncoder implements PasswordEncoder {
+
+    private static final String TIMER = "password.encoder";
+
+    private final PasswordEncoder delegado;
+    private final Timer encode;
+    private final Timer matches;
+
+    public MedicionPasswordEncoder(PasswordEncoder delegado, MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.encode = timer("encode", meterRegistry);
+        this.matches = timer("matches", meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encode.record(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        final Boolean resultado = matches.record(() -> delegado.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(resultado);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(String operacion, MeterRegistry meterRegistry) {
+        return Timer.builder(TIMER)
+                .description("Duracion del hash de passwords")
+                .tag("operacion", operacion)
+                .register(meterRegistry);
+    }
+}
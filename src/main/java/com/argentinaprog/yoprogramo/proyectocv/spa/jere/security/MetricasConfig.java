@@ -0,0 +1,16 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "application.metricas")
+@Getter
+@Setter
+public class MetricasConfig {
+
+    private String usuario;
+    private String password;
+}
@@ -0,0 +1,73 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
+
+/**
+ * El scrape de Prometheus usa autenticacion basica con un usuario propio, separado de los usuarios de la API.
+ */
+@Configuration
+@Order(1)
+@Import(MetricasConfig.class)
+public class MetricasSecurityConfig extends WebSecurityConfigurerAdapter {
+
+    private static final String ROL_METRICAS = "METRICAS";
+
+    @Autowired
+    private final MetricasConfig metricasConfig;
+    @Autowired
+    private final PasswordEncoder bCryptPasswordEncoder;
+
+    public MetricasSecurityConfig(MetricasConfig metricasConfig, PasswordEncoder bCryptPasswordEncoder) {
+        this.metricasConfig = metricasConfig;
+        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+    }
+
+    @Override
+    protected void configure(AuthenticationManagerBuilder auth) throws Exception {
+        auth.inMemoryAuthentication()
+                .passwordEncoder(bCryptPasswordEncoder)
+                .withUser(metricasConfig.getUsuario())
+                .password(bCryptPasswordEncoder.encode(metricasConfig.getPassword()))
+                .roles(ROL_METRICAS);
+    }
+
+    @Override
+    protected void configure(HttpSecurity http) throws Exception {
+        // @formatter:off
+        http.requestMatcher(EndpointRequest.to(PrometheusScrapeEndpoint.class))
+                .csrf().disable()
+                .sessionManagement()
+                .sessionCreationPolicy(STATELESS)
+                .and()
+                .authorizeRequests()
+                .anyRequest()
+                .hasRole(ROL_METRICAS)
+                .and()
+                .httpBasic()
+                .authenticationEntryPoint(MetricasSecurityConfig::noAutorizado);
+        // @formatter:on
+    }
+
+    // Responde el 401 directo: con sendError el despacho a /error pasa por la cadena JWT y termina en 403.
+    private static void noAutorizado(HttpServletRequest request, HttpServletResponse response, AuthenticationException exception) {
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"" + ROL_METRICAS.toLowerCase() + "\"");
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+    }
+}
@@ -1,5 +1,8 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,7 +12,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class PasswordConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    public PasswordEncoder passwordEncoder(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MedicionPasswordEncoder(new BCryptPasswordEncoder(10), meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 }
@@ -1,9 +1,13 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -29,11 +33,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private final PasswordEncoder bCryptPasswordEncoder;
     @Autowired
     private final JwtConfig jwtConfig;
+    private final MeterRegistry meterRegistry;
 
-    public SecurityConfig(UserDetailsService userDetailsService, PasswordEncoder bCryptPasswordEncoder, JwtConfig jwtConfig) {
+    public SecurityConfig(UserDetailsService userDetailsService, PasswordEncoder bCryptPasswordEncoder, JwtConfig jwtConfig,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
         this.userDetailsService = userDetailsService;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
         this.jwtConfig = jwtConfig;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
     }
 
     @Override
@@ -55,12 +62,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .sessionCreationPolicy(STATELESS)
                 .and()
                 .addFilter(jwtAuthenticationFilter)
-                .addFilterAfter(new JwtAuthorizationFilter(jwtConfig), JwtAuthenticationFilter.class)
+                .addFilterAfter(new JwtAuthorizationFilter(jwtConfig, meterRegistry), JwtAuthenticationFilter.class)
                 .authorizeRequests()
                 .antMatchers("/api/v1/auth/**").permitAll()
                 .antMatchers("/api/v1/persona/find/{id}").permitAll()
                 .antMatchers("/api/v1/persona/all").permitAll()
                 .antMatchers("/api/v1/persona/current").permitAll()
+                .antMatchers(HttpMethod.GET, "/api/v1/persona/imagen/*").permitAll()
+                .antMatchers(HttpMethod.GET, "/api/v1/persona/search").permitAll()
+                .antMatchers(HttpMethod.GET, "/api/v1/persona/habilidades/buscar").permitAll()
+                .antMatchers(HttpMethod.GET, "/api/v1/persona/facets").permitAll()
+                .antMatchers(HttpMethod.GET, "/api/v1/persona/autocompletar").permitAll()
                 .antMatchers("/actuator/**").permitAll()
                 .anyRequest()
                 .authenticated();
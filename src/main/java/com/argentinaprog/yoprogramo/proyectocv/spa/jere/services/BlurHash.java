@@ -0,0 +1,97 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.services;
+
+import java.awt.image.BufferedImage;
+
+// Codificador BlurHash (https://blurha.sh): resume la imagen en unos 30 caracteres que el front decodifica como placeholder.
+final class BlurHash {
+
+    private static final String BASE83 = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    private BlurHash() {
+    }
+
+    static String codificar(BufferedImage imagen, int componentesX, int componentesY) {
+        final int ancho = imagen.getWidth();
+        final int alto = imagen.getHeight();
+        final int[] pixeles = imagen.getRGB(0, 0, ancho, alto, null, 0, ancho);
+        final double[][] factores = new double[componentesX * componentesY][];
+
+        for (int j = 0; j < componentesY; j++) {
+            for (int i = 0; i < componentesX; i++) {
+                final double normalizacion = (i == 0 && j == 0) ? 1 : 2;
+                double r = 0;
+                double g = 0;
+                double b = 0;
+                for (int y = 0; y < alto; y++) {
+                    for (int x = 0; x < ancho; x++) {
+                        final double base = Math.cos(Math.PI * i * x / ancho) * Math.cos(Math.PI * j * y / alto);
+                        final int pixel = pixeles[y * ancho + x];
+                        r += base * sRgbALineal((pixel >> 16) & 0xFF);
+                        g += base * sRgbALineal((pixel >> 8) & 0xFF);
+                        b += base * sRgbALineal(pixel & 0xFF);
+                    }
+                }
+                final double escala = normalizacion / (ancho * alto);
+                factores[j * componentesX + i] = new double[]{r * escala, g * escala, b * escala};
+            }
+        }
+
+        final var hash = new StringBuilder();
+        hash.append(base83((componentesX - 1) + (componentesY - 1) * 9, 1));
+
+        double maximo = 1;
+        if (factores.length > 1) {
+            double maximoReal = 0;
+            for (int k = 1; k < factores.length; k++) {
+                for (double componente : factores[k]) {
+                    maximoReal = Math.max(maximoReal, Math.abs(componente));
+                }
+            }
+            final int maximoCuantizado = (int) Math.max(0, Math.min(82, Math.floor(maximoReal * 166 - 0.5)));
+            maximo = (maximoCuantizado + 1) / 166.0;
+            hash.append(base83(maximoCuantizado, 1));
+        } else {
+            hash.append(base83(0, 1));
+        }
+
+        final double[] dc = factores[0];
+        hash.append(base83((linealASRgb(dc[0]) << 16) + (linealASRgb(dc[1]) << 8) + linealASRgb(dc[2]), 4));
+        for (int k = 1; k < factores.length; k++) {
+            hash.append(base83(codificarAc(factores[k], maximo), 2));
+        }
+        return hash.toString();
+    }
+
+    private static int codificarAc(double[] valor, double maximo) {
+        final int r = cuantizar(valor[0] / maximo);
+        final int g = cuantizar(valor[1] / maximo);
+        final int b = cuantizar(valor[2] / maximo);
+        return r * 19 * 19 + g * 19 + b;
+    }
+
+    private static int cuantizar(double valor) {
+        final double potencia = Math.copySign(Math.sqrt(Math.abs(valor)), valor);
+        return (int) Math.max(0, Math.min(18, Math.floor(potencia * 9 + 9.5)));
+    }
+
+    private static double sRgbALineal(int valor) {
+        final double v = valor / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    private static int linealASRgb(double valor) {
+        final double v = Math.max(0, Math.min(1, valor));
+        return v <= 0.0031308
+                ? (int) (v * 12.92 * 255 + 0.5)
+                : (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+    }
+
+    private static String base83(int valor, int largo) {
+        final var resultado = new StringBuilder(largo);
+        for (int i = 1; i <= largo; i++) {
+            final int digito = (int) ((valor / (long) Math.pow(83, largo - i)) % 83);
+            resultado.append(BASE83.charAt(digito));
+        }
+        return resultado.toString();
+    }
+}
@@ -0,0 +1,172 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.services;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.ImagenDemasiadoGrandeException;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.ImagenInvalidaException;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.ImagenNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+public class ImagenStorageService {
+
+    private static final Pattern HASH_VALIDO = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final int CABECERA_BYTES = 12;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path directorio;
+    private final long maxBytes;
+
+    public ImagenStorageService(@Value("${application.imagenes.directorio}") String directorio,
+                                @Value("${application.imagenes.max-bytes}") long maxBytes) {
+        this.directorio = Paths.get(directorio).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+    }
+
+    // Se escribe a un temporal mientras se calcula el SHA-256; si el hash ya existe el temporal se descarta.
+    public String guardar(InputStream contenido) {
+        final MessageDigest sha256 = sha256();
+        Path temporal = null;
+        try {
+            Files.createDirectories(directorio);
+            temporal = Files.createTempFile(directorio, "subida-", ".tmp");
+            try (OutputStream salida = Files.newOutputStream(temporal)) {
+                final byte[] cabecera = contenido.readNBytes(CABECERA_BYTES);
+                if (tipo(cabecera) == null) {
+                    throw new ImagenInvalidaException();
+                }
+                sha256.update(cabecera);
+                salida.write(cabecera);
+
+                final byte[] buffer = new byte[BUFFER_BYTES];
+                long total = cabecera.length;
+                int leidos;
+                while ((leidos = contenido.read(buffer)) != -1) {
+                    total += leidos;
+                    if (total > maxBytes) {
+                        throw new ImagenDemasiadoGrandeException(maxBytes);
+                    }
+                    sha256.update(buffer, 0, leidos);
+                    salida.write(buffer, 0, leidos);
+                }
+            }
+
+            final String hash = hex(sha256.digest());
+            final Path destino = ubicacion(hash);
+            if (Files.exists(destino)) {
+                log.debug("Imagen {} ya almacenada, se descarta la subida duplicada", hash);
+                return hash;
+            }
+            Files.createDirectories(destino.getParent());
+            try {
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                log.debug("Imagen {} almacenada concurrentemente", hash);
+            }
+            return hash;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            eliminar(temporal);
+        }
+    }
+
+    public Path ubicar(String hash) {
+        if (!HASH_VALIDO.matcher(hash).matches()) {
+            throw new ImagenNotFoundException(hash);
+        }
+        final Path archivo = ubicacion(hash);
+        if (!Files.isRegularFile(archivo)) {
+            throw new ImagenNotFoundException(hash);
+        }
+        return archivo;
+    }
+
+    public MediaType tipo(Path archivo) {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            final ByteBuffer cabecera = ByteBuffer.allocate(CABECERA_BYTES);
+            canal.read(cabecera, 0);
+            final MediaType tipo = tipo(Arrays.copyOf(cabecera.array(), cabecera.position()));
+            return tipo != null ? tipo : MediaType.APPLICATION_OCTET_STREAM;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Repartido en subdirectorios por los dos primeros caracteres del hash.
+    private Path ubicacion(String hash) {
+        return directorio.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MediaType tipo(byte[] cabecera) {
+        if (empiezaCon(cabecera, 0x89, 'P', 'N', 'G')) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (empiezaCon(cabecera, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (empiezaCon(cabecera, 'G', 'I', 'F', '8')) {
+            return MediaType.IMAGE_GIF;
+        }
+        if (empiezaCon(cabecera, 'R', 'I', 'F', 'F') && cabecera.length >= 12
+                && cabecera[8] == 'W' && cabecera[9] == 'E' && cabecera[10] == 'B' && cabecera[11] == 'P') {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return null;
+    }
+
+    private static boolean empiezaCon(byte[] cabecera, int... firma) {
+        if (cabecera.length < firma.length) {
+            return false;
+        }
+        for (int i = 0; i < firma.length; i++) {
+            if ((cabecera[i] & 0xFF) != firma[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String hex(byte[] bytes) {
+        final char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void eliminar(Path temporal) {
+        if (temporal == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el temporal {}", temporal, e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.services;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.events.PersonaModificadaEvent;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.EstadoTrabajo;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.ImagenVarianteTrabajo;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.ImagenVariantes;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.ImagenVarianteTrabajoRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+public class ImagenVariantesProcesador {
+
+    private static final int ERROR_MAX_LARGO = 255;
+    private static final int MAX_DUPLICACIONES_ESPERA = 16;
+
+    @Autowired
+    private final ImagenVarianteTrabajoRepository trabajoRepo;
+
+    @Autowired
+    private final ImagenVariantesService variantesSvc;
+
+    @Autowired
+    private final PersonaService personaSvc;
+
+    @Autowired
+    private final ThreadPoolTaskExecutor executor;
+
+    @Autowired
+    private final Shards shards;
+
+    private final int maxIntentos;
+
+    private final Duration vencimiento;
+
+    private final Duration esperaReintento;
+
+    public ImagenVariantesProcesador(ImagenVarianteTrabajoRepository trabajoRepo,
+                                     ImagenVariantesService variantesSvc,
+                                     PersonaService personaSvc,
+                                     @Qualifier("imagenVariantesExecutor") ThreadPoolTaskExecutor executor,
+                                     Shards shards,
+                                     @Value("${application.imagenes.variantes.max-intentos}") int maxIntentos,
+                                     @Value("${application.imagenes.variantes.vencimiento-ms}") long vencimientoMs,
+                                     @Value("${application.imagenes.variantes.espera-reintento-ms}") long esperaReintentoMs) {
+        this.trabajoRepo = trabajoRepo;
+        this.variantesSvc = variantesSvc;
+        this.personaSvc = personaSvc;
+        this.executor = executor;
+        this.shards = shards;
+        this.maxIntentos = maxIntentos;
+        this.vencimiento = Duration.ofMillis(vencimientoMs);
+        this.esperaReintento = Duration.ofMillis(esperaReintentoMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudar() {
+        procesarPendientes();
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onPersonaModificada(PersonaModificadaEvent event) {
+        procesarPendientes();
+    }
+
+    // Cada shard tiene su propia cola de trabajos; todos comparten el pool de hilos.
+    @Scheduled(fixedDelayString = "${application.imagenes.variantes.intervalo-ms}")
+    public void procesarPendientes() {
+        shards.recolectar(() -> {
+            reclamarVencidos();
+            encolarPendientes();
+            return null;
+        });
+    }
+
+    // Un trabajo en proceso que no termino dentro del vencimiento quedo de una instancia que se apago: vuelve a la cola.
+    private void reclamarVencidos() {
+        final LocalDateTime ahora = LocalDateTime.now();
+        final int reclamados = trabajoRepo.cambiarEstadoVencidos(EstadoTrabajo.EN_PROCESO, EstadoTrabajo.PENDIENTE,
+                ahora.minus(vencimiento), ahora);
+        if (reclamados > 0) {
+            log.info("Trabajos de variantes de imagen vencidos devueltos a la cola: {}", reclamados);
+        }
+    }
+
+    private void encolarPendientes() {
+        final int capacidad = executor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacidad == 0) {
+            return;
+        }
+        final List<ImagenVarianteTrabajo> pendientes = trabajoRepo.findByEstadoAndProximoIntentoLessThanEqualOrderByProximoIntento(
+                EstadoTrabajo.PENDIENTE, LocalDateTime.now(), PageRequest.of(0, capacidad));
+        for (ImagenVarianteTrabajo trabajo : pendientes) {
+            if (trabajoRepo.cambiarEstado(trabajo.getId(), EstadoTrabajo.PENDIENTE, EstadoTrabajo.EN_PROCESO, LocalDateTime.now()) == 0) {
+                continue;
+            }
+            try {
+                executor.execute(() -> procesar(trabajo));
+            } catch (TaskRejectedException e) {
+                trabajoRepo.cambiarEstado(trabajo.getId(), EstadoTrabajo.EN_PROCESO, EstadoTrabajo.PENDIENTE, LocalDateTime.now());
+                return;
+            }
+        }
+    }
+
+    void procesar(ImagenVarianteTrabajo trabajo) {
+        try {
+            final ImagenVariantes variantes = variantesSvc.generar(trabajo.getImagenHash());
+            personaSvc.updateImagenVariantes(trabajo.getPersonaId(), trabajo.getImagenHash(), variantes);
+            finalizar(trabajo, EstadoTrabajo.COMPLETADO, null);
+        } catch (Exception e) {
+            final boolean reintentar = trabajo.getIntentos() + 1 < maxIntentos;
+            log.warn("Variantes de la imagen {} (persona {}) fallaron, intento {}: {}",
+                    trabajo.getImagenHash(), trabajo.getPersonaId(), trabajo.getIntentos() + 1, e.getMessage());
+            finalizar(trabajo, reintentar ? EstadoTrabajo.PENDIENTE : EstadoTrabajo.FALLIDO, e);
+        }
+    }
+
+    private void finalizar(ImagenVarianteTrabajo trabajo, EstadoTrabajo estado, Exception error) {
+        shards.enPersona(trabajo.getPersonaId(), () -> {
+            guardarEstado(trabajo, estado, error);
+            return null;
+        });
+    }
+
+    private void guardarEstado(ImagenVarianteTrabajo trabajo, EstadoTrabajo estado, Exception error) {
+        trabajoRepo.findById(trabajo.getId()).ifPresent(actual -> {
+            final LocalDateTime ahora = LocalDateTime.now();
+            actual.setEstado(estado);
+            actual.setActualizado(ahora);
+            if (error != null) {
+                actual.setIntentos(actual.getIntentos() + 1);
+                actual.setProximoIntento(ahora.plus(espera(actual.getIntentos())));
+                final String mensaje = String.valueOf(error.getMessage());
+                actual.setError(mensaje.length() > ERROR_MAX_LARGO ? mensaje.substring(0, ERROR_MAX_LARGO) : mensaje);
+            }
+            trabajoRepo.save(actual);
+        });
+    }
+
+    // Espera exponencial: la base despues del primer fallo, el doble despues del segundo, y asi.
+    Duration espera(int intentos) {
+        return esperaReintento.multipliedBy(1L << Math.min(Math.max(intentos - 1, 0), MAX_DUPLICACIONES_ESPERA));
+    }
+}
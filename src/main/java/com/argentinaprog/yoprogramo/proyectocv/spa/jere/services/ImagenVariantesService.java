@@ -0,0 +1,144 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.services;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.ImagenVariantes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+@Service
+public class ImagenVariantesService {
+
+    static final int LADO_MINIATURA = 64;
+    static final int LADO_TARJETA = 256;
+    static final int LADO_COMPLETA = 1024;
+    private static final int LADO_PLACEHOLDER = 32;
+    private static final float CALIDAD_JPEG = 0.82f;
+
+    @Autowired
+    private final ImagenStorageService imagenSvc;
+
+    private final long maxPixeles;
+
+    public ImagenVariantesService(ImagenStorageService imagenSvc,
+                                  @Value("${application.imagenes.variantes.max-pixeles}") long maxPixeles) {
+        this.imagenSvc = imagenSvc;
+        this.maxPixeles = maxPixeles;
+    }
+
+    public ImagenVariantes generar(String imagenHash) throws IOException {
+        final BufferedImage imagen = leer(imagenSvc.ubicar(imagenHash));
+
+        final BufferedImage completa = escalar(imagen, LADO_COMPLETA);
+        final BufferedImage tarjeta = escalar(completa, LADO_TARJETA);
+        final BufferedImage miniatura = escalar(tarjeta, LADO_MINIATURA);
+
+        return ImagenVariantes.builder()
+                .completaHash(guardar(completa))
+                .tarjetaHash(guardar(tarjeta))
+                .miniaturaHash(guardar(miniatura))
+                .placeholder(BlurHash.codificar(escalar(miniatura, LADO_PLACEHOLDER), 4, 3))
+                .build();
+    }
+
+    // Las dimensiones salen del encabezado: unos pocos KB comprimidos pueden declarar millones de pixeles.
+    private BufferedImage leer(Path original) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(original.toFile())) {
+            final Iterator<ImageReader> readers = entrada == null ? null : ImageIO.getImageReaders(entrada);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Formato de imagen sin decodificador disponible: " + imagenSvc.tipo(original));
+            }
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(entrada, true, true);
+                final int ancho = reader.getWidth(0);
+                final int alto = reader.getHeight(0);
+                if ((long) ancho * alto > maxPixeles) {
+                    throw new IOException(String.format("La imagen de %dx%d supera el maximo de %d pixeles", ancho, alto, maxPixeles));
+                }
+                final ImageReadParam param = reader.getDefaultReadParam();
+                final int submuestreo = submuestreo(ancho, alto);
+                param.setSourceSubsampling(submuestreo, submuestreo, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Decodifica salteando pixeles pero deja al menos el doble de la variante completa, para que el ultimo paso bilineal suavice.
+    static int submuestreo(int ancho, int alto) {
+        return Math.max(1, Math.max(ancho, alto) / (2 * LADO_COMPLETA));
+    }
+
+    private String guardar(BufferedImage imagen) throws IOException {
+        return imagenSvc.guardar(new ByteArrayInputStream(codificar(imagen)));
+    }
+
+    // Las fotos van en JPEG; solo las imagenes con transparencia se mantienen en PNG.
+    private static byte[] codificar(BufferedImage imagen) throws IOException {
+        final var salida = new ByteArrayOutputStream();
+        if (imagen.getColorModel().hasAlpha()) {
+            ImageIO.write(imagen, "png", salida);
+            return salida.toByteArray();
+        }
+        final ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(salida)) {
+            writer.setOutput(ios);
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(CALIDAD_JPEG);
+            writer.write(null, new IIOImage(imagen, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return salida.toByteArray();
+    }
+
+    // Reduce a la mitad en pasos sucesivos para que el bilineal no pierda detalle; nunca amplia.
+    static BufferedImage escalar(BufferedImage imagen, int ladoMaximo) {
+        final boolean alfa = imagen.getColorModel().hasAlpha();
+        final int tipo = alfa ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        final double factor = Math.min(1.0, (double) ladoMaximo / Math.max(imagen.getWidth(), imagen.getHeight()));
+        final int anchoFinal = Math.max(1, (int) Math.round(imagen.getWidth() * factor));
+        final int altoFinal = Math.max(1, (int) Math.round(imagen.getHeight() * factor));
+
+        BufferedImage actual = imagen;
+        int ancho = imagen.getWidth();
+        int alto = imagen.getHeight();
+        do {
+            ancho = Math.max(anchoFinal, ancho / 2);
+            alto = Math.max(altoFinal, alto / 2);
+            final var paso = new BufferedImage(ancho, alto, tipo);
+            final Graphics2D g = paso.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!alfa) {
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, ancho, alto);
+                }
+                g.drawImage(actual, 0, 0, ancho, alto, null);
+            } finally {
+                g.dispose();
+            }
+            actual = paso;
+        } while (ancho != anchoFinal || alto != altoFinal);
+        return actual;
+    }
+}
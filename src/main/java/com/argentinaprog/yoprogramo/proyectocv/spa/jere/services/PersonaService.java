@@ -1,17 +1,29 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.services;
 
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.events.PersonaModificadaEvent;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.mappers.PersonaMapper;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.ImagenVarianteTrabajoRepository;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
-import org.modelmapper.ModelMapper;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.PorPersona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.PorUsuario;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class PersonaService {
@@ -23,21 +35,45 @@ public class PersonaService {
     private final UsuarioService usuarioSvc;
 
     @Autowired
-    private final ModelMapper mapper;
+    private final PersonaMapper mapper;
 
-    public PersonaService(PersonaRepository personaRepo, UsuarioService usuarioSvc, ModelMapper mapper) {
+    @Autowired
+    private final ImagenStorageService imagenSvc;
+
+    @Autowired
+    private final ImagenVarianteTrabajoRepository trabajoRepo;
+
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private final Shards shards;
+
+    private final TransactionTemplate lectura;
+
+    public PersonaService(PersonaRepository personaRepo, UsuarioService usuarioSvc, PersonaMapper mapper, ImagenStorageService imagenSvc, ImagenVarianteTrabajoRepository trabajoRepo, ApplicationEventPublisher eventPublisher, Shards shards, PlatformTransactionManager transactionManager) {
         this.personaRepo = personaRepo;
         this.usuarioSvc = usuarioSvc;
         this.mapper = mapper;
+        this.imagenSvc = imagenSvc;
+        this.trabajoRepo = trabajoRepo;
+        this.eventPublisher = eventPublisher;
+        this.shards = shards;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
     }
 
     // ------------------- Persona -----------------------------
 
+    @PorPersona
+    @Transactional(readOnly = true)
     public Persona getPersona(Long id) {
         return personaRepo.findById(id)
+                .map(PersonaService::inicializada)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
     }
 
+    @PorUsuario
     @Transactional
     public Persona addPersona(PersonaDto personaDto) {
         final Usuario currentUser = this.usuarioSvc.getCurrentUser();
@@ -45,67 +81,117 @@ public class PersonaService {
         if (Objects.nonNull(currentUser.getPersona())) {
             throw new PersonaAlreadyExistsException(currentUser.getUsername());
         }
-        var persona = mapper.map(personaDto, Persona.class);
+        var persona = mapper.persona(personaDto);
         currentUser.setPersona(persona);
-        return personaRepo.save(persona);
+        return guardar(persona);
     }
 
+    @PorPersona
     @Transactional
     public void deletePersona(Long id) {
         var persona = personaRepo.findById(id)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
         personaRepo.delete(persona);
+        eventPublisher.publishEvent(new PersonaModificadaEvent(id));
     }
 
+    @PorPersona
     @Transactional
     public Persona updatePersona(Long id, PersonaDto personaDto) {
         var persona = personaRepo.findById(id)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
-        mapper.map(personaDto, persona);
+        mapper.actualizar(personaDto, persona);
+
+        return inicializada(guardar(persona));
+    }
+
+    @PorPersona
+    @Transactional
+    public Persona updateImagen(Long id, InputStream imagen) {
+        var persona = personaRepo.findById(id)
+                .orElseThrow(() -> new PersonaNotFoundException(id));
+        final String hash = imagenSvc.guardar(imagen);
+        persona.setImagenHash(hash);
+        persona.setImagenVariantes(null);
+
+        final LocalDateTime ahora = LocalDateTime.now();
+        trabajoRepo.save(ImagenVarianteTrabajo.builder()
+                .personaId(id)
+                .imagenHash(hash)
+                .estado(EstadoTrabajo.PENDIENTE)
+                .creado(ahora)
+                .actualizado(ahora)
+                .proximoIntento(ahora)
+                .build());
+
+        return inicializada(guardar(persona));
+    }
 
-        return personaRepo.save(persona);
+    // Si mientras se generaban las variantes se subio otra imagen, el resultado se descarta.
+    @PorPersona
+    @Transactional
+    public void updateImagenVariantes(Long id, String imagenHash, ImagenVariantes variantes) {
+        personaRepo.findById(id)
+                .filter(persona -> Objects.equals(persona.getImagenHash(), imagenHash))
+                .ifPresent(persona -> {
+                    persona.setImagenVariantes(variantes);
+                    guardar(persona);
+                });
     }
 
+    @PorUsuario
+    @Transactional(readOnly = true)
     public Persona getCurrentPersona() {
         final Usuario currentUser = this.usuarioSvc.getCurrentUser();
         return Optional.ofNullable(currentUser.getPersona())
+                .map(PersonaService::inicializada)
                 .orElseThrow(() -> new PersonaNotFoundException(currentUser.getUsername()));
     }
 
+    // Con shards cada uno se lee en paralelo, en su propia transaccion
     public List<Persona> getAllPersonas() {
-        return personaRepo.findAll();
+        return shards.recolectar(() -> lectura.execute(status -> {
+                    final List<Persona> personas = personaRepo.findAllConUsuario();
+                    personas.forEach(PersonaService::inicializada);
+                    return personas;
+                }))
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
     }
 
     // ------------------- Trabajo -----------------------------
 
+    @PorPersona
     @Transactional
     public Persona addTrabajo(Long id, TrabajoDto trabajoDto) {
         var persona = personaRepo.findById(id)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
 
-        final Trabajo trabajoParaAgregar = mapper.map(trabajoDto, Trabajo.class);
+        final Trabajo trabajoParaAgregar = mapper.trabajo(trabajoDto);
         trabajoParaAgregar.setPersona(persona);
         persona.getExperienciasLaborales().add(trabajoParaAgregar);
 
-        return personaRepo.save(persona);
+        return inicializada(guardar(persona));
     }
 
+    @PorPersona
     @Transactional
     public Persona updateTrabajo(Long id, Long idTrabajo, TrabajoDto trabajoDto) {
         var persona = personaRepo.findById(id)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
 
-        final Trabajo nuevosDatosTrabajo = mapper.map(trabajoDto, Trabajo.class);
         final Trabajo trabajoParaActualizar = persona.getExperienciasLaborales()
                 .stream()
                 .filter(trabajo -> Objects.equals(trabajo.getId(), idTrabajo))
                 .findFirst()
                 .orElseThrow(() -> new TrabajoNotFoundException(idTrabajo));
-        mapper.map(nuevosDatosTrabajo, trabajoParaActualizar);
+        mapper.actualizar(trabajoDto, trabajoParaActualizar);
 
-        return personaRepo.save(persona);
+        return inicializada(guardar(persona));
     }
 
+    @PorPersona
     @Transactional
     public void removeTrabajo(Long id, Long idTrabajo) {
         var persona = personaRepo.findById(id)
@@ -117,39 +203,41 @@ public class PersonaService {
         }
         experienciasLaborales.removeIf(trabajo -> trabajo.getId().equals(idTrabajo));
 
-        personaRepo.save(persona);
+        guardar(persona);
     }
 
     // ------------------- Educacion -----------------------------
 
+    @PorPersona
     @Transactional
     public Persona addEstudio(Long id, EducacionDto educacionDto) {
         var persona = personaRepo.findById(id)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
 
-        final Educacion estudioParaAgregar = mapper.map(educacionDto, Educacion.class);
+        final Educacion estudioParaAgregar = mapper.estudio(educacionDto);
         estudioParaAgregar.setPersona(persona);
         persona.getEstudios().add(estudioParaAgregar);
 
-        return personaRepo.save(persona);
+        return inicializada(guardar(persona));
     }
 
+    @PorPersona
     @Transactional
     public Persona updateEstudio(Long id, Long idEstudio, EducacionDto educacionDto) {
         var persona = personaRepo.findById(id)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
 
-        final Educacion nuevosDatosEstudio = mapper.map(educacionDto, Educacion.class);
         final Educacion estudioParaActualizar = persona.getEstudios()
                 .stream()
                 .filter(estudio -> Objects.equals(estudio.getId(), idEstudio))
                 .findFirst()
                 .orElseThrow(() -> new EducacionNotFoundException(idEstudio));
-        mapper.map(nuevosDatosEstudio, estudioParaActualizar);
+        mapper.actualizar(educacionDto, estudioParaActualizar);
 
-        return personaRepo.save(persona);
+        return inicializada(guardar(persona));
     }
 
+    @PorPersona
     @Transactional
     public void removeEstudio(Long id, Long idEstudio) {
         var persona = personaRepo.findById(id)
@@ -161,39 +249,41 @@ public class PersonaService {
         }
         estudios.removeIf(trabajo -> trabajo.getId().equals(idEstudio));
 
-        personaRepo.save(persona);
+        guardar(persona);
     }
 
     // ------------------- Proyecto -----------------------------
 
+    @PorPersona
     @Transactional
     public Persona addProyecto(Long id, ProyectoDto proyectoDto) {
         var persona = personaRepo.findById(id)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
 
-        final Proyecto proyectoParaAgregar = mapper.map(proyectoDto, Proyecto.class);
+        final Proyecto proyectoParaAgregar = mapper.proyecto(proyectoDto);
         proyectoParaAgregar.setPersona(persona);
         persona.getProyectos().add(proyectoParaAgregar);
 
-        return personaRepo.save(persona);
+        return inicializada(guardar(persona));
     }
 
+    @PorPersona
     @Transactional
     public Persona updateProyecto(Long id, Long idProyecto, ProyectoDto proyectoDto) {
         var persona = personaRepo.findById(id)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
 
-        final Proyecto nuevosDatosProyecto = mapper.map(proyectoDto, Proyecto.class);
         final Proyecto proyectoParaActualizar = persona.getProyectos()
                 .stream()
                 .filter(proyecto -> Objects.equals(proyecto.getId(), idProyecto))
                 .findFirst()
                 .orElseThrow(() -> new ProyectoNotFoundException(idProyecto));
-        mapper.map(nuevosDatosProyecto, proyectoParaActualizar);
+        mapper.actualizar(proyectoDto, proyectoParaActualizar);
 
-        return personaRepo.save(persona);
+        return inicializada(guardar(persona));
     }
 
+    @PorPersona
     @Transactional
     public void removeProyecto(Long id, Long idProyecto) {
         var persona = personaRepo.findById(id)
@@ -205,39 +295,41 @@ public class PersonaService {
         }
         proyectos.removeIf(trabajo -> trabajo.getId().equals(idProyecto));
 
-        personaRepo.save(persona);
+        guardar(persona);
     }
 
     // ------------------- Habilidad -----------------------------
 
+    @PorPersona
     @Transactional
     public Persona addHabilidad(Long id, HabilidadDto habilidadDto) {
         var persona = personaRepo.findById(id)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
 
-        final Habilidad habilidadParaAgregar = mapper.map(habilidadDto, Habilidad.class);
+        final Habilidad habilidadParaAgregar = mapper.habilidad(habilidadDto);
         habilidadParaAgregar.setPersona(persona);
         persona.getHabilidades().add(habilidadParaAgregar);
 
-        return personaRepo.save(persona);
+        return inicializada(guardar(persona));
     }
 
+    @PorPersona
     @Transactional
     public Persona updateHabilidad(Long id, Long idHabilidad, HabilidadDto habilidadDto) {
         var persona = personaRepo.findById(id)
                 .orElseThrow(() -> new PersonaNotFoundException(id));
 
-        final Habilidad nuevosDatosHabilidad = mapper.map(habilidadDto, Habilidad.class);
         final Habilidad habilidadParaActualizar = persona.getHabilidades()
                 .stream()
                 .filter(habilidad -> Objects.equals(habilidad.getId(), idHabilidad))
                 .findFirst()
                 .orElseThrow(() -> new HabilidadNotFoundException(idHabilidad));
-        mapper.map(nuevosDatosHabilidad, habilidadParaActualizar);
+        mapper.actualizar(habilidadDto, habilidadParaActualizar);
 
-        return personaRepo.save(persona);
+        return inicializada(guardar(persona));
     }
 
+    @PorPersona
     @Transactional
     public void removeHabilidad(Long id, Long idHabilidad) {
         var persona = personaRepo.findById(id)
@@ -249,6 +341,22 @@ public class PersonaService {
         }
         habilidades.removeIf(habilidad -> habilidad.getId().equals(idHabilidad));
 
-        personaRepo.save(persona);
+        guardar(persona);
+    }
+
+    private Persona guardar(Persona persona) {
+        final Persona guardada = personaRepo.save(persona);
+        eventPublisher.publishEvent(new PersonaModificadaEvent(persona.getId()));
+        return guardada;
+    }
+
+    // Open-Session-in-View esta apagado: todo lo que serializa el controller se carga aca, antes de cerrar la
+    // transaccion, y la conexion vuelve al pool sin esperar a que se escriba la respuesta.
+    private static Persona inicializada(Persona persona) {
+        Hibernate.initialize(persona.getEstudios());
+        Hibernate.initialize(persona.getHabilidades());
+        Hibernate.initialize(persona.getExperienciasLaborales());
+        Hibernate.initialize(persona.getProyectos());
+        return persona;
     }
 }
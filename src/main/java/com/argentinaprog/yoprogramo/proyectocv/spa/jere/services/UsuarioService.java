@@ -2,10 +2,11 @@ package com.argentinaprog.yoprogramo.proyectocv.spa.jere.services;
 
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.EmailAlreadyTakenException;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.UsuarioNotFoundException;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.mappers.UsuarioMapper;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Usuario;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.LoginRequestDto;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
-import org.modelmapper.ModelMapper;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.PorUsuario;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,6 +15,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UsuarioService implements UserDetailsService {
@@ -25,31 +27,38 @@ public class UsuarioService implements UserDetailsService {
     private final PasswordEncoder bcryptEncoder;
 
     @Autowired
-    private final ModelMapper mapper;
+    private final UsuarioMapper mapper;
 
-    public UsuarioService(UsuarioRepository usuarioRepo, PasswordEncoder bcryptEncoder, ModelMapper mapper) {
+    public UsuarioService(UsuarioRepository usuarioRepo, PasswordEncoder bcryptEncoder, UsuarioMapper mapper) {
         this.usuarioRepo = usuarioRepo;
         this.bcryptEncoder = bcryptEncoder;
         this.mapper = mapper;
     }
 
+    // Transaccion de escritura a proposito: con replicas las credenciales se leen de la primaria, asi un usuario
+    // recien registrado (todavia anonimo) puede loguearse aunque la replica venga atrasada.
     @Override
+    @PorUsuario
+    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return usuarioRepo.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
     }
 
+    @PorUsuario
+    @Transactional
     public Usuario save(LoginRequestDto loginRequestDto) {
         usuarioRepo.findByUsername(loginRequestDto.getUsername())
                 .ifPresent(usuario -> {
                     throw new EmailAlreadyTakenException(loginRequestDto.getUsername());
                 });
 
-        final Usuario usuario = mapper.map(loginRequestDto, Usuario.class);
+        final Usuario usuario = mapper.usuario(loginRequestDto);
         usuario.setPassword(bcryptEncoder.encode(usuario.getPassword()));
         return usuarioRepo.save(usuario);
     }
 
+    @PorUsuario
     public Usuario getCurrentUser() {
         final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         final String username = authentication.getName();
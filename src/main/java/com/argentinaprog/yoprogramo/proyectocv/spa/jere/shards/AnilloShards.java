@@ -0,0 +1,76 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hashing consistente: cada shard ocupa varios puntos (nodos virtuales) y una clave va al primer punto que
+ * le sigue. Los puntos dependen solo del nombre del shard, asi agregar uno mueve alrededor de 1/N de las claves y el
+ * resto queda donde estaba.
+ */
+public class AnilloShards {
+
+    private final List<String> shards;
+    private final long[] puntos;
+    private final String[] duenios;
+
+    public AnilloShards(List<String> shards, int nodosVirtuales) {
+        if (shards.isEmpty() || nodosVirtuales < 1) {
+            throw new IllegalArgumentException("El anillo necesita al menos un shard y un nodo virtual por shard");
+        }
+        this.shards = List.copyOf(shards);
+        final TreeMap<Long, String> anillo = new TreeMap<>();
+        for (String shard : this.shards) {
+            for (int i = 0; i < nodosVirtuales; i++) {
+                anillo.putIfAbsent(hash(shard + "#" + i), shard);
+            }
+        }
+        puntos = new long[anillo.size()];
+        duenios = new String[anillo.size()];
+        int i = 0;
+        for (Map.Entry<Long, String> punto : anillo.entrySet()) {
+            puntos[i] = punto.getKey();
+            duenios[i++] = punto.getValue();
+        }
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    public String shard(long personaId) {
+        return ubicar(mezclar(personaId));
+    }
+
+    public String shard(String clave) {
+        return ubicar(hash(clave));
+    }
+
+    private String ubicar(long hash) {
+        int i = Arrays.binarySearch(puntos, hash);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return duenios[i == puntos.length ? 0 : i];
+    }
+
+    // FNV-1a de 64 bits: el mismo valor en cada JVM y en cada ejecucion, a diferencia de un hashCode.
+    private static long hash(String clave) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : clave.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mezclar(hash);
+    }
+
+    // Finalizador de SplitMix64: ids consecutivos quedan repartidos por todo el anillo.
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,67 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * En que shard esta cada usuario. Un usuario vive con su persona; antes de tenerla, en el shard que el anillo le
+ * asigna a su username (ahi se registra). La primera vez se pregunta a todos los shards en paralelo y el resultado
+ * queda en cache un tiempo corto. El rebalanceo actualiza la cache de su instancia; las demas se enteran cuando el
+ * usuario no aparece en el shard cacheado ({@link #reubicar}) o cuando vence la entrada.
+ */
+public class DirectorioUsuarios {
+
+    private static final String EXISTE = "SELECT COUNT(*) FROM usuario WHERE username = ?";
+
+    private final AnilloShards anillo;
+    private final Shards shards;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, String> ubicaciones;
+
+    public DirectorioUsuarios(AnilloShards anillo, Shards shards, JdbcTemplate jdbcTemplate, long maximoCacheado, Duration expiracion) {
+        this.anillo = anillo;
+        this.shards = shards;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ubicaciones = Caffeine.newBuilder()
+                .maximumSize(maximoCacheado)
+                .expireAfterWrite(expiracion)
+                .build();
+    }
+
+    public String shard(String username) {
+        final String cacheado = ubicaciones.getIfPresent(username);
+        if (cacheado != null) {
+            return cacheado;
+        }
+        final String shard = buscar(username);
+        ubicaciones.put(username, shard);
+        return shard;
+    }
+
+    // Vuelve a preguntar a todos los shards, sin mirar la cache
+    public String reubicar(String username) {
+        final String shard = buscar(username);
+        ubicaciones.put(username, shard);
+        return shard;
+    }
+
+    public void mover(String username, String shard) {
+        ubicaciones.put(username, shard);
+    }
+
+    // Un username que no existe se ubica donde se registraria, asi el alta y el login que le siga coinciden.
+    private String buscar(String username) {
+        return shards.recolectar(() -> {
+                    final Long cantidad = jdbcTemplate.queryForObject(EXISTE, Long.class, username);
+                    return cantidad != null && cantidad > 0 ? ShardContexto.actual() : null;
+                })
+                .stream()
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseGet(() -> anillo.shard(username));
+    }
+}
@@ -0,0 +1,77 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import javax.sql.DataSource;
+import java.io.Serializable;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sin shards es la secuencia de siempre. Con shards los ids de persona salen de la secuencia del primer shard, asi
+ * son unicos en todos, y una persona nueva recibe un id que el anillo asigna al shard donde se esta guardando (el de
+ * su usuario). Los ids que caen en otro shard quedan reservados en memoria para la proxima persona de ese shard;
+ * si la aplicacion se reinicia se pierden y solo quedan huecos en la numeracion.
+ */
+public class PersonaIdGenerator extends SequenceStyleGenerator {
+
+    private static final int MAX_RESERVADOS = 1024;
+
+    private final Map<String, BlockingQueue<Long>> reservados = new ConcurrentHashMap<>();
+    private volatile boolean resuelto;
+    private volatile ShardsDataSource shardsDataSource;
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        final ShardsDataSource shards = shards(session);
+        if (shards == null) {
+            return super.generate(session, object);
+        }
+        final String destino = ShardContexto.actual();
+        if (destino == null) {
+            throw new IllegalStateException("Persona nueva sin shard de destino");
+        }
+        final Long reservado = reservados(destino).poll();
+        if (reservado != null) {
+            return reservado;
+        }
+        while (true) {
+            final long candidato = ShardContexto.en(shards.coordinador(), () -> ((Number) super.generate(session, object)).longValue());
+            final String duenio = shards.anillo().shard(candidato);
+            if (duenio.equals(destino)) {
+                return candidato;
+            }
+            reservados(duenio).offer(candidato);
+        }
+    }
+
+    private BlockingQueue<Long> reservados(String shard) {
+        return reservados.computeIfAbsent(shard, s -> new ArrayBlockingQueue<>(MAX_RESERVADOS));
+    }
+
+    // Hibernate crea el generador sin pasar por Spring: el DataSource se busca desde la session la primera vez.
+    private ShardsDataSource shards(SharedSessionContractImplementor session) {
+        if (!resuelto) {
+            shardsDataSource = desenvolver(session.getFactory().getServiceRegistry().getService(ConnectionProvider.class));
+            resuelto = true;
+        }
+        return shardsDataSource;
+    }
+
+    private static ShardsDataSource desenvolver(ConnectionProvider connectionProvider) {
+        if (connectionProvider == null || !connectionProvider.isUnwrappableAs(DataSource.class)) {
+            return null;
+        }
+        try {
+            final DataSource dataSource = connectionProvider.unwrap(DataSource.class);
+            return dataSource.isWrapperFor(ShardsDataSource.class) ? dataSource.unwrap(ShardsDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * El metodo trabaja sobre el agregado de una persona: su primer parametro es el id y con shards todo el metodo
+ * (incluido el commit y los listeners posteriores) corre en el shard que el anillo le asigna a ese id.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PorPersona {
+}
@@ -0,0 +1,15 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * El metodo trabaja sobre un usuario (y su persona, que vive en el mismo shard). El usuario es el primer parametro
+ * (username o LoginRequestDto) o, si el metodo no tiene parametros, el usuario autenticado.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PorUsuario {
+}
@@ -0,0 +1,133 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.CatalogoResolver;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.ImagenVarianteTrabajo;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.ImagenVarianteTrabajoRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.hibernate.ReplicationMode;
+import org.hibernate.Session;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lleva cada agregado (persona, hijos, usuario y trabajos de imagen) al shard que le asigna el anillo. Hace falta
+ * despues de agregar un shard: el anillo nuevo rige desde el reinicio y los agregados que ahora le tocan al shard
+ * nuevo siguen en el anterior, sin verse, hasta que se mueven.
+ * Cada agregado se copia al destino con sus mismos ids (Session.replicate; los textos de catalogo se registran antes en
+ * el destino, donde tienen otros ids) y despues se borra del origen. Son dos transacciones: si se corta en el medio, volver a correrlo
+ * sobreescribe la copia y termina de borrar.
+ */
+@Slf4j
+public class RebalanceoShards {
+
+    private final Shards shards;
+    private final AnilloShards anillo;
+    private final PersonaRepository personaRepo;
+    private final ImagenVarianteTrabajoRepository trabajoRepo;
+    private final EntityManager entityManager;
+    private final DirectorioUsuarios directorio;
+    private final CatalogoResolver catalogos;
+    private final MeterRegistry meterRegistry;
+    private final boolean alIniciar;
+    private final TransactionTemplate lectura;
+    private final TransactionTemplate escritura;
+
+    public RebalanceoShards(Shards shards, AnilloShards anillo, PersonaRepository personaRepo, ImagenVarianteTrabajoRepository trabajoRepo,
+                            EntityManager entityManager, DirectorioUsuarios directorio, CatalogoResolver catalogos, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry, boolean alIniciar) {
+        this.shards = shards;
+        this.anillo = anillo;
+        this.personaRepo = personaRepo;
+        this.trabajoRepo = trabajoRepo;
+        this.entityManager = entityManager;
+        this.directorio = directorio;
+        this.catalogos = catalogos;
+        this.meterRegistry = meterRegistry;
+        this.alIniciar = alIniciar;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.escritura = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebalancearAlIniciar() {
+        if (alIniciar) {
+            rebalancear();
+        }
+    }
+
+    // Agregados movidos por shard de origen. Los shards se recorren en paralelo.
+    public Map<String, Integer> rebalancear() {
+        final long inicio = System.nanoTime();
+        final Map<String, Integer> movidos = shards.porShard(() -> moverDesde(ShardContexto.actual()));
+        log.info("Rebalanceo de shards: {} agregados movidos en {} ms ({})", movidos.values().stream().mapToInt(Integer::intValue).sum(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), movidos);
+        return movidos;
+    }
+
+    private int moverDesde(String origen) {
+        final List<Long> ids = lectura.execute(status -> personaRepo.findAllIds());
+        int movidos = 0;
+        for (Long id : ids) {
+            final String destino = anillo.shard(id);
+            if (!destino.equals(origen) && mover(id, origen, destino)) {
+                movidos++;
+            }
+        }
+        return movidos;
+    }
+
+    private boolean mover(Long id, String origen, String destino) {
+        final Agregado agregado = lectura.execute(status -> personaRepo.findById(id)
+                .map(persona -> new Agregado(inicializada(persona), trabajoRepo.findByPersonaId(id)))
+                .orElse(null));
+        if (agregado == null) {
+            return false;
+        }
+
+        ShardContexto.en(destino, () -> escritura.execute(status -> {
+            catalogos.registrar(agregado.getPersona());
+            final Session session = entityManager.unwrap(Session.class);
+            session.replicate(agregado.getPersona(), ReplicationMode.OVERWRITE);
+            agregado.getTrabajos().forEach(trabajo -> session.replicate(trabajo, ReplicationMode.OVERWRITE));
+            return null;
+        }));
+        escritura.executeWithoutResult(status -> {
+            trabajoRepo.deleteAll(trabajoRepo.findByPersonaId(id));
+            personaRepo.findById(id).ifPresent(personaRepo::delete);
+        });
+
+        if (agregado.getPersona().getUsuario() != null) {
+            directorio.mover(agregado.getPersona().getUsuario().getUsername(), destino);
+        }
+        meterRegistry.counter("shards.rebalanceo.movidos", "origen", origen, "destino", destino).increment();
+        return true;
+    }
+
+    private static Persona inicializada(Persona persona) {
+        Hibernate.initialize(persona.getEstudios());
+        Hibernate.initialize(persona.getHabilidades());
+        Hibernate.initialize(persona.getExperienciasLaborales());
+        Hibernate.initialize(persona.getProyectos());
+        return persona;
+    }
+
+    @Value
+    private static class Agregado {
+
+        Persona persona;
+        List<ImagenVarianteTrabajo> trabajos;
+    }
+}
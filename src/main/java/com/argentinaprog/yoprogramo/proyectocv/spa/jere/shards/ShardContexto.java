@@ -0,0 +1,43 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard sobre el que trabaja el hilo actual. Se fija antes de que la transaccion pida su conexion y dura hasta
+ * despues del commit: ShardsDataSource elige el pool con este valor y CatalogoResolver separa sus caches por shard.
+ */
+public final class ShardContexto {
+
+    private static final ThreadLocal<String> ACTUAL = new ThreadLocal<>();
+
+    private ShardContexto() {
+    }
+
+    public static String actual() {
+        return ACTUAL.get();
+    }
+
+    // Devuelve el shard anterior para restaurarlo al terminar.
+    public static String fijar(String shard) {
+        final String anterior = ACTUAL.get();
+        if (shard == null) {
+            ACTUAL.remove();
+        } else {
+            ACTUAL.set(shard);
+        }
+        return anterior;
+    }
+
+    public static void restaurar(String anterior) {
+        fijar(anterior);
+    }
+
+    public static <T> T en(String shard, Supplier<T> tarea) {
+        final String anterior = fijar(shard);
+        try {
+            return tarea.get();
+        } finally {
+            restaurar(anterior);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Lo que necesita el resto de la aplicacion para trabajar con shards: correr una tarea en el shard de una persona
+ * o en todos a la vez (scatter-gather). Con un solo shard (sin application.shards) todo corre en el hilo que llama,
+ * sin tocar el contexto, y el comportamiento es el de siempre.
+ * Cada tarea abre su propia transaccion dentro del shard; las tareas de recolectar no deben volver a recolectar.
+ */
+public class Shards implements Closeable {
+
+    public static final String UNICO = "unico";
+
+    private final AnilloShards anillo;
+    private final ExecutorService executor;
+
+    public Shards(AnilloShards anillo, ExecutorService executor) {
+        this.anillo = anillo;
+        this.executor = executor;
+    }
+
+    public static Shards unico() {
+        return new Shards(null, null);
+    }
+
+    public List<String> nombres() {
+        return anillo == null ? List.of(UNICO) : anillo.shards();
+    }
+
+    public String dePersona(Long personaId) {
+        return anillo == null ? UNICO : anillo.shard(personaId);
+    }
+
+    public <T> T en(String shard, Supplier<T> tarea) {
+        return anillo == null ? tarea.get() : ShardContexto.en(shard, tarea);
+    }
+
+    public <T> T enPersona(Long personaId, Supplier<T> tarea) {
+        return anillo == null || personaId == null ? tarea.get() : ShardContexto.en(anillo.shard(personaId), tarea);
+    }
+
+    // Resultados en el orden de los shards
+    public <T> List<T> recolectar(Supplier<T> tarea) {
+        return new ArrayList<>(porShard(tarea).values());
+    }
+
+    public <T> Map<String, T> porShard(Supplier<T> tarea) {
+        if (anillo == null) {
+            return Collections.singletonMap(UNICO, tarea.get());
+        }
+        final Map<String, CompletableFuture<T>> tareas = new LinkedHashMap<>();
+        anillo.shards().forEach(shard -> tareas.put(shard, CompletableFuture.supplyAsync(() -> ShardContexto.en(shard, tarea), executor)));
+
+        final Map<String, T> resultados = new LinkedHashMap<>();
+        try {
+            tareas.forEach((shard, resultado) -> resultados.put(shard, resultado.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+        return resultados;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.UsuarioNotFoundException;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.LoginRequestDto;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Fija el shard de los metodos con @PorPersona y @PorUsuario. Envuelve a la transaccion (orden mas alto), asi el
+ * shard sigue fijo durante el commit y los listeners que corren despues. Si ya hay un shard fijo (un service que
+ * llama a otro) se respeta: una transaccion no cambia de shard a la mitad.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ShardsAspect {
+
+    private final AnilloShards anillo;
+    private final DirectorioUsuarios directorio;
+
+    public ShardsAspect(AnilloShards anillo, DirectorioUsuarios directorio) {
+        this.anillo = anillo;
+        this.directorio = directorio;
+    }
+
+    @Around("@annotation(com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.PorPersona)")
+    public Object porPersona(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContexto.actual() != null) {
+            return joinPoint.proceed();
+        }
+        final Long personaId = (Long) joinPoint.getArgs()[0];
+        return enShard(personaId == null ? null : anillo.shard(personaId), joinPoint);
+    }
+
+    @Around("@annotation(com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.PorUsuario)")
+    public Object porUsuario(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContexto.actual() != null) {
+            return joinPoint.proceed();
+        }
+        final String username = username(joinPoint.getArgs());
+        if (username == null) {
+            return enShard(null, joinPoint);
+        }
+        final String shard = directorio.shard(username);
+        try {
+            return enShard(shard, joinPoint);
+        } catch (UsernameNotFoundException | UsuarioNotFoundException e) {
+            // Otra instancia pudo haberlo movido en un rebalanceo: se busca de nuevo en todos y, si cambio, se reintenta ahi
+            final String actual = directorio.reubicar(username);
+            if (actual.equals(shard)) {
+                throw e;
+            }
+            return enShard(actual, joinPoint);
+        }
+    }
+
+    private static Object enShard(String shard, ProceedingJoinPoint joinPoint) throws Throwable {
+        final String anterior = ShardContexto.fijar(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContexto.restaurar(anterior);
+        }
+    }
+
+    // El username del primer argumento (loadUserByUsername, el registro) o el del usuario autenticado (addPersona, current)
+    private static String username(Object[] args) {
+        if (args.length > 0 && args[0] instanceof LoginRequestDto) {
+            return ((LoginRequestDto) args[0]).getUsername();
+        }
+        if (args.length > 0 && args[0] instanceof String) {
+            return (String) args[0];
+        }
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,92 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DataSource de la aplicacion con shards: cada transaccion usa el pool del shard de ShardContexto. Igual que con
+ * replicas, la conexion real se pide en la primera sentencia, cuando el aspecto o la tarea ya eligieron el shard.
+ * Una transaccion sin shard es un error de ruteo y falla; fuera de una transaccion (el arranque de Hibernate, el
+ * health check) se usa el primer shard. Cada conexion se cuenta en "datasource.shards" por shard.
+ */
+public class ShardsDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final Map<String, HikariDataSource> pools;
+    private final AnilloShards anillo;
+    // Se resuelve en cada conexion: el DataSource se crea antes que el MeterRegistry
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ShardsDataSource(Map<String, HikariDataSource> pools, AnilloShards anillo, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.pools = new LinkedHashMap<>(pools);
+        this.anillo = anillo;
+        this.meterRegistry = meterRegistry;
+        setTargetDataSource(new Destino());
+        // Valores por defecto de MySQL: asi no se pide una conexion al iniciar solo para leerlos
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+    }
+
+    public AnilloShards anillo() {
+        return anillo;
+    }
+
+    // Reparte los ids de persona
+    public String coordinador() {
+        return anillo.shards().get(0);
+    }
+
+    public Map<String, HikariDataSource> pools() {
+        return pools;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+
+    private Connection conexion() throws SQLException {
+        String shard = ShardContexto.actual();
+        String motivo = "contexto";
+        if (shard == null) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw new IllegalStateException("Transaccion sin shard: el metodo que la abre necesita @PorPersona, @PorUsuario o Shards");
+            }
+            shard = coordinador();
+            motivo = "sin-shard";
+        }
+        final HikariDataSource pool = pools.get(shard);
+        if (pool == null) {
+            throw new IllegalStateException("Shard desconocido: " + shard);
+        }
+        final Connection conexion = pool.getConnection();
+        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)
+                .counter("datasource.shards", "shard", shard, "motivo", motivo)
+                .increment();
+        return conexion;
+    }
+
+    private class Destino extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return conexion();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Cada shard tiene su propio pool con sus credenciales");
+        }
+    }
+}
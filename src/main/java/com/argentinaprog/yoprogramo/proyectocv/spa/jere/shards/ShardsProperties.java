@@ -0,0 +1,31 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "application.shards")
+@Getter
+@Setter
+public class ShardsProperties {
+
+    private boolean enabled;
+    // El primero reparte los ids de persona; los shards nuevos se agregan al final (el orden fija el rango de ids de cada uno)
+    private List<String> urls = new ArrayList<>();
+    // Sin usuario ni password se usan los de spring.datasource
+    private String username;
+    private String password;
+    // Sin valor se usa spring.datasource.hikari.maximum-pool-size
+    private Integer maximumPoolSize;
+    private int nodosVirtuales = 128;
+    // Hilos para las consultas a todos los shards; sin valor, dos por shard
+    private Integer hilos;
+    private long usuariosCacheados = 100_000;
+    // El rebalanceo de otra instancia no avisa: pasado este tiempo cada usuario se vuelve a buscar en todos los shards
+    private Duration usuariosExpiracion = Duration.ofMinutes(1);
+    private boolean rebalancearAlIniciar;
+}
@@ -0,0 +1,91 @@
+package db.migration;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.Catalogo;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Catalogos de lugar, empresa e institucion: cada texto se guarda una sola vez y las filas lo referencian por id.
+ * El nombre compara en binario, asi que "Globant" y "globant" son filas distintas y cada una se lee tal como se
+ * escribio; solo se quitan los espacios de los extremos, como hace CatalogoResolver. Las variantes de un mismo valor
+ * se agrupan por la columna clave, que se calcula en Java porque SQL no tiene como quitar acentos.
+ */
+public class V5__catalogos extends BaseJavaMigration {
+
+    private static final List<String> TABLAS = List.of("lugar", "empresa", "institucion");
+
+    private static final List<String> COPIA = List.of(
+            // Deduplicacion de los valores existentes: el INSERT IGNORE solo descarta textos identicos
+            "INSERT IGNORE INTO lugar (nombre)" +
+                    " SELECT TRIM(lugar) FROM trabajo WHERE lugar IS NOT NULL" +
+                    " UNION ALL" +
+                    " SELECT TRIM(lugar) FROM educacion WHERE lugar IS NOT NULL",
+            "INSERT IGNORE INTO empresa (nombre) SELECT TRIM(empresa) FROM trabajo WHERE empresa IS NOT NULL",
+            "INSERT IGNORE INTO institucion (nombre) SELECT TRIM(institucion) FROM educacion WHERE institucion IS NOT NULL",
+
+            "ALTER TABLE trabajo ADD COLUMN empresa_id BIGINT, ADD COLUMN lugar_id BIGINT",
+            "ALTER TABLE educacion ADD COLUMN institucion_id BIGINT, ADD COLUMN lugar_id BIGINT",
+
+            // Tambien en binario: con la collation de la columna vieja "cordoba" encontraria la fila de "Córdoba"
+            "UPDATE trabajo t JOIN empresa c ON c.nombre = TRIM(t.empresa) COLLATE utf8mb4_bin SET t.empresa_id = c.id",
+            "UPDATE trabajo t JOIN lugar c ON c.nombre = TRIM(t.lugar) COLLATE utf8mb4_bin SET t.lugar_id = c.id",
+            "UPDATE educacion e JOIN institucion c ON c.nombre = TRIM(e.institucion) COLLATE utf8mb4_bin SET e.institucion_id = c.id",
+            "UPDATE educacion e JOIN lugar c ON c.nombre = TRIM(e.lugar) COLLATE utf8mb4_bin SET e.lugar_id = c.id",
+
+            "ALTER TABLE trabajo" +
+                    " DROP COLUMN empresa," +
+                    " DROP COLUMN lugar," +
+                    " ADD CONSTRAINT fk_trabajo_empresa FOREIGN KEY (empresa_id) REFERENCES empresa (id)," +
+                    " ADD CONSTRAINT fk_trabajo_lugar FOREIGN KEY (lugar_id) REFERENCES lugar (id)",
+            "ALTER TABLE educacion" +
+                    " DROP COLUMN institucion," +
+                    " DROP COLUMN lugar," +
+                    " ADD CONSTRAINT fk_educacion_institucion FOREIGN KEY (institucion_id) REFERENCES institucion (id)," +
+                    " ADD CONSTRAINT fk_educacion_lugar FOREIGN KEY (lugar_id) REFERENCES lugar (id)",
+
+            // Agrupar y filtrar por empresa o institucion recorre estos indices enteros
+            "CREATE INDEX idx_trabajo_empresa ON trabajo (empresa_id)",
+            "CREATE INDEX idx_educacion_institucion ON educacion (institucion_id)");
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        final Connection connection = context.getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            for (String tabla : TABLAS) {
+                ddl.execute("CREATE TABLE " + tabla + " (" +
+                        " id BIGINT NOT NULL AUTO_INCREMENT," +
+                        " nombre VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL," +
+                        " clave VARCHAR(255)," +
+                        " PRIMARY KEY (id)," +
+                        " CONSTRAINT uk_" + tabla + "_nombre UNIQUE (nombre)" +
+                        ") ENGINE = InnoDB");
+            }
+            for (String sql : COPIA) {
+                ddl.execute(sql);
+            }
+        }
+        for (String tabla : TABLAS) {
+            try (Statement select = connection.createStatement();
+                 ResultSet filas = select.executeQuery("SELECT id, nombre FROM " + tabla);
+                 PreparedStatement update = connection.prepareStatement("UPDATE " + tabla + " SET clave = ? WHERE id = ?")) {
+                while (filas.next()) {
+                    update.setString(1, Catalogo.clave(filas.getString("nombre")));
+                    update.setLong(2, filas.getLong("id"));
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("ALTER TABLE " + tabla + " MODIFY clave VARCHAR(255) NOT NULL");
+                ddl.execute("CREATE INDEX idx_" + tabla + "_clave ON " + tabla + " (clave)");
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+-- Esquema tal como lo generaba Hibernate con ddl-auto=update.
+-- Las bases existentes se toman como linea base en esta version (spring.flyway.baseline-version=1).
+
+CREATE TABLE hibernate_sequence
+(
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO hibernate_sequence VALUES (1);
+
+CREATE TABLE persona
+(
+    id               BIGINT NOT NULL,
+    apellidos        VARCHAR(255),
+    descripcion      VARCHAR(255),
+    email            VARCHAR(255),
+    fecha_nacimiento DATE,
+    imagen           VARCHAR(255),
+    nacionalidad     VARCHAR(255),
+    nombres          VARCHAR(255),
+    ocupacion        VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE usuario
+(
+    id         BIGINT NOT NULL,
+    enabled    BIT    NOT NULL,
+    locked     BIT    NOT NULL,
+    password   VARCHAR(255),
+    username   VARCHAR(255),
+    persona_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_usuario_persona FOREIGN KEY (persona_id) REFERENCES persona (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE educacion
+(
+    id          BIGINT NOT NULL,
+    estado      VARCHAR(255),
+    institucion VARCHAR(255),
+    lugar       VARCHAR(255),
+    titulo      VARCHAR(255),
+    persona_id  BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_educacion_persona FOREIGN KEY (persona_id) REFERENCES persona (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE habilidad
+(
+    id         BIGINT NOT NULL,
+    obs        VARCHAR(255),
+    porcentaje INTEGER,
+    nombre     VARCHAR(255),
+    persona_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_habilidad_persona FOREIGN KEY (persona_id) REFERENCES persona (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE proyecto
+(
+    id         BIGINT NOT NULL,
+    obs        VARCHAR(255),
+    nombre     VARCHAR(255),
+    persona_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_proyecto_persona FOREIGN KEY (persona_id) REFERENCES persona (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE trabajo
+(
+    id           BIGINT NOT NULL,
+    cargo        VARCHAR(255),
+    fecha_inicio DATE,
+    empresa      VARCHAR(255),
+    fecha_fin    DATE,
+    lugar        VARCHAR(255),
+    persona_id   BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_trabajo_persona FOREIGN KEY (persona_id) REFERENCES persona (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,14 @@
+-- Indices segun los patrones de consulta reales:
+--  * login y usuario actual buscan por username
+--  * las colecciones de Persona se cargan por persona_id (y se recorren por id)
+--  * las experiencias laborales se listan por persona ordenadas por fecha de inicio
+-- MySQL descarta el indice implicito de cada FK al existir otro que empiece por persona_id.
+
+ALTER TABLE usuario
+    ADD CONSTRAINT uk_usuario_username UNIQUE (username);
+
+CREATE INDEX idx_educacion_persona ON educacion (persona_id, id);
+CREATE INDEX idx_habilidad_persona ON habilidad (persona_id, id);
+CREATE INDEX idx_proyecto_persona ON proyecto (persona_id, id);
+CREATE INDEX idx_trabajo_persona ON trabajo (persona_id, id);
+CREATE INDEX idx_trabajo_persona_fecha_inicio ON trabajo (persona_id, fecha_inicio);
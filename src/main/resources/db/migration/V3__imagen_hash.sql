@@ -0,0 +1,2 @@
+-- Imagen de perfil subida: solo se guarda el hash SHA-256 del archivo, el contenido vive en el almacenamiento de imagenes
+ALTER TABLE persona ADD COLUMN imagen_hash VARCHAR(64);
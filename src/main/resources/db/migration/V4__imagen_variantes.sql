@@ -0,0 +1,22 @@
+-- Variantes de la imagen de perfil (hash de cada archivo en el almacenamiento de imagenes) y placeholder BlurHash
+ALTER TABLE persona
+    ADD COLUMN imagen_miniatura_hash VARCHAR(64),
+    ADD COLUMN imagen_tarjeta_hash   VARCHAR(64),
+    ADD COLUMN imagen_completa_hash  VARCHAR(64),
+    ADD COLUMN imagen_placeholder    VARCHAR(64);
+
+-- Cola persistente de generacion de variantes: los trabajos sobreviven a un reinicio
+CREATE TABLE imagen_variante_trabajo
+(
+    id          BIGINT       NOT NULL,
+    persona_id  BIGINT       NOT NULL,
+    imagen_hash VARCHAR(64)  NOT NULL,
+    estado      VARCHAR(255) NOT NULL,
+    intentos    INTEGER      NOT NULL,
+    error       VARCHAR(255),
+    creado      DATETIME(6)  NOT NULL,
+    actualizado DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_imagen_variante_trabajo_estado ON imagen_variante_trabajo (estado, id);
@@ -0,0 +1,50 @@
+-- Catalogo canonico de habilidades: "Java", "java" y "JAVA 11" son la misma habilidad.
+-- Cada variante escrita por un usuario queda como alias (en minusculas y sin numero de version) de una habilidad canonica.
+CREATE TABLE habilidad_canonica
+(
+    id     BIGINT       NOT NULL AUTO_INCREMENT,
+    nombre VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_habilidad_canonica_nombre UNIQUE (nombre)
+) ENGINE = InnoDB;
+
+CREATE TABLE habilidad_alias
+(
+    alias                 VARCHAR(255) NOT NULL,
+    habilidad_canonica_id BIGINT       NOT NULL,
+    PRIMARY KEY (alias),
+    CONSTRAINT fk_habilidad_alias_canonica FOREIGN KEY (habilidad_canonica_id) REFERENCES habilidad_canonica (id)
+) ENGINE = InnoDB;
+
+ALTER TABLE habilidad
+    ADD COLUMN alias VARCHAR(255);
+
+UPDATE habilidad
+SET alias = LOWER(REGEXP_REPLACE(TRIM(nombre), '[[:space:]]+[vV]?[0-9]+([.][0-9]+)*$', ''))
+WHERE nombre IS NOT NULL;
+
+-- La restriccion unica (segun la collation) deja una sola canonica por alias; gana la primera variante encontrada.
+INSERT IGNORE INTO habilidad_canonica (nombre)
+SELECT REGEXP_REPLACE(TRIM(nombre), '[[:space:]]+[vV]?[0-9]+([.][0-9]+)*$', '')
+FROM habilidad
+WHERE alias IS NOT NULL AND alias <> ''
+ORDER BY id;
+
+INSERT IGNORE INTO habilidad_alias (alias, habilidad_canonica_id)
+SELECT DISTINCT h.alias, c.id
+FROM habilidad h
+         JOIN habilidad_canonica c ON c.nombre = h.alias;
+
+ALTER TABLE habilidad
+    ADD COLUMN habilidad_canonica_id BIGINT;
+
+UPDATE habilidad h JOIN habilidad_alias a ON a.alias = h.alias
+SET h.habilidad_canonica_id = a.habilidad_canonica_id;
+
+ALTER TABLE habilidad
+    DROP COLUMN alias,
+    DROP COLUMN nombre,
+    ADD CONSTRAINT fk_habilidad_canonica FOREIGN KEY (habilidad_canonica_id) REFERENCES habilidad_canonica (id);
+
+-- "personas con la habilidad X y nivel >= N" se resuelve sobre este indice entero
+CREATE INDEX idx_habilidad_canonica_nivel ON habilidad (habilidad_canonica_id, porcentaje);
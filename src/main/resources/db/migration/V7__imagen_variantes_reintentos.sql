@@ -0,0 +1,12 @@
+-- Cada reintento de un trabajo fallido espera el doble que el anterior: no se toma antes de proximo_intento
+ALTER TABLE imagen_variante_trabajo
+    ADD COLUMN proximo_intento DATETIME(6);
+
+UPDATE imagen_variante_trabajo
+SET proximo_intento = actualizado;
+
+ALTER TABLE imagen_variante_trabajo
+    MODIFY proximo_intento DATETIME(6) NOT NULL;
+
+DROP INDEX idx_imagen_variante_trabajo_estado ON imagen_variante_trabajo;
+CREATE INDEX idx_imagen_variante_trabajo_estado ON imagen_variante_trabajo (estado, proximo_intento);
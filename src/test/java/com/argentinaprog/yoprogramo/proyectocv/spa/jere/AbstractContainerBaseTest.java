@@ -7,7 +7,7 @@ public abstract class AbstractContainerBaseTest {
     static final MySQLContainer MY_SQL_CONTAINER;
 
     static {
-        MY_SQL_CONTAINER = new MySQLContainer<>("mysql:8.0.30")
+        MY_SQL_CONTAINER = new LocalMySQLContainer()
                 .withDatabaseName("testDB")
                 .withUsername("testUser")
                 .withPassword("testPassword");
@@ -16,6 +16,10 @@ public abstract class AbstractContainerBaseTest {
         System.setProperty("spring.datasource.url", MY_SQL_CONTAINER.getJdbcUrl());
         System.setProperty("spring.datasource.password", MY_SQL_CONTAINER.getPassword());
         System.setProperty("spring.datasource.username", MY_SQL_CONTAINER.getUsername());
+        System.setProperty("application.reactive.enabled", "false");
+        System.setProperty("application.cache.respuestas.enabled", "false");
+        System.setProperty("application.busqueda.enabled", "false");
+        System.setProperty("spring.jpa.properties.hibernate.cache.use_second_level_cache", "false");
 
     }
 }
@@ -0,0 +1,163 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Primaria y replica en dos contenedores con replicacion por GTID, compartidos por todos los tests de replicas.
+ * Deteniendo el hilo SQL de la replica se la deja atrasada a proposito.
+ */
+public abstract class AbstractReplicasContainerTest {
+
+    private static final Network RED = Network.newNetwork();
+    private static final MySQLContainer<?> PRIMARIA = contenedor("--server-id=1")
+            .withNetworkAliases("primaria");
+    private static final MySQLContainer<?> REPLICA = contenedor("--server-id=2");
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(30);
+    static final String API_URL = "/api/v1";
+
+    static {
+        PRIMARIA.start();
+        REPLICA.start();
+        replicar();
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @LocalServerPort
+    int randomServerPort;
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARIA::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARIA::getUsername);
+        registry.add("spring.datasource.password", PRIMARIA::getPassword);
+        registry.add("application.replicas.urls", REPLICA::getJdbcUrl);
+    }
+
+    @AfterEach
+    void limpiar() {
+        iniciarReplica();
+        List.of("usuario", "educacion", "habilidad", "trabajo", "proyecto", "persona")
+                .forEach(tabla -> jdbcTemplate.update("DELETE FROM " + tabla));
+    }
+
+    String registrarYLoguear(String username, String password) {
+        final Map<String, String> credenciales = Map.of("username", username, "password", password);
+        RestAssured.given()
+                .port(randomServerPort)
+                .contentType(ContentType.JSON)
+                .body(credenciales)
+                .when()
+                .post(API_URL + "/auth/register")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+        return RestAssured.given()
+                .port(randomServerPort)
+                .contentType(ContentType.JSON)
+                .body(credenciales)
+                .when()
+                .post(API_URL + "/auth/login")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header("Access-Token");
+    }
+
+    // ------------------- Replicacion -----------------------------
+
+    private static MySQLContainer<?> contenedor(String serverId) {
+        return new MySQLContainer<>("mysql:8.0.30")
+                .withNetwork(RED)
+                .withDatabaseName("testDB")
+                .withUsername("testUser")
+                .withPassword("testPassword")
+                .withCommand(serverId, "--gtid-mode=ON", "--enforce-gtid-consistency=ON");
+    }
+
+    // La replica arranca desde el estado actual de la primaria: lo que hizo el entrypoint de cada contenedor
+    // (crear la base y el usuario) no se replica; Flyway corre despues, al levantar el contexto, y si.
+    private static void replicar() {
+        ejecutar(REPLICA, "RESET MASTER");
+        ejecutar(REPLICA, "SET GLOBAL gtid_purged = '" + gtidEjecutados(PRIMARIA) + "'");
+        ejecutar(REPLICA, "CHANGE REPLICATION SOURCE TO SOURCE_HOST = 'primaria', SOURCE_PORT = 3306, SOURCE_USER = 'root', " +
+                "SOURCE_PASSWORD = '" + PRIMARIA.getPassword() + "', SOURCE_AUTO_POSITION = 1, GET_SOURCE_PUBLIC_KEY = 1");
+        ejecutar(REPLICA, "START REPLICA");
+        // testUser no tiene SUPER: cualquier escritura que llegue a la replica falla
+        ejecutar(REPLICA, "SET GLOBAL read_only = ON");
+    }
+
+    static void detenerReplica() {
+        ejecutar(REPLICA, "STOP REPLICA SQL_THREAD");
+    }
+
+    static void iniciarReplica() {
+        ejecutar(REPLICA, "START REPLICA SQL_THREAD");
+    }
+
+    static void esperarReplica() {
+        final String gtid = gtidEjecutados(PRIMARIA);
+        final long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        try (Connection conexion = root(REPLICA);
+             PreparedStatement statement = conexion.prepareStatement("SELECT GTID_SUBSET(?, @@GLOBAL.gtid_executed)")) {
+            statement.setString(1, gtid);
+            while (true) {
+                try (ResultSet resultado = statement.executeQuery()) {
+                    if (resultado.next() && resultado.getBoolean(1)) {
+                        return;
+                    }
+                }
+                if (System.nanoTime() > limite) {
+                    throw new AssertionError("La replica no aplico " + gtid);
+                }
+                LockSupport.parkNanos(Duration.ofMillis(50).toNanos());
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String gtidEjecutados(MySQLContainer<?> contenedor) {
+        try (Connection conexion = root(contenedor);
+             Statement statement = conexion.createStatement();
+             ResultSet resultado = statement.executeQuery("SELECT @@GLOBAL.gtid_executed")) {
+            resultado.next();
+            return resultado.getString(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void ejecutar(MySQLContainer<?> contenedor, String sql) {
+        try (Connection conexion = root(contenedor);
+             Statement statement = conexion.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(sql, e);
+        }
+    }
+
+    private static Connection root(MySQLContainer<?> contenedor) throws SQLException {
+        return DriverManager.getConnection(contenedor.getJdbcUrl(), "root", contenedor.getPassword());
+    }
+}
@@ -0,0 +1,177 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.Autocompletado;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.TipoAutocompletado;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.TrabajoDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.auth0.jwt.JWT;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class AutocompletadoIntegrationTest extends AbstractContainerBaseTest {
+
+    private static final String API_PERSONA_URL = "/api/v1/persona";
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private Autocompletado autocompletado;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @LocalServerPort
+    int randomServerPort;
+
+    private Persona lucia;
+
+    @BeforeEach
+    void setUp() {
+        lucia = guardarPersona("Lucía", "Gómez", "lucia@test.com", List.of("Java", "JavaScript"), "Globant", "UTN");
+        guardarPersona("Martín", "Pérez", "martin@test.com", List.of("java", "Jakarta EE"), "Globant", "UBA");
+        guardarPersona("Lucas", "Díaz", "lucas@test.com", List.of("Java", "Go"), "Mercado Libre", "UTN");
+        autocompletado.reconstruir();
+    }
+
+    @AfterEach
+    void tearDown() {
+        personaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void autocompletar_ShouldRankByFrequency() {
+        autocompletar("HABILIDAD", "ja")
+                .statusCode(HttpStatus.OK.value())
+                .body("valor", contains("Java", "Jakarta EE", "JavaScript"))
+                .body("frecuencia", contains(3, 1, 1));
+        autocompletar("EMPRESA", "g")
+                .body("valor", contains("Globant"))
+                .body("[0].frecuencia", is(2));
+        autocompletar("INSTITUCION", "u")
+                .body("valor", contains("UTN", "UBA"));
+        autocompletar("NOMBRE", "LUC")
+                .body("valor", contains("Lucas Díaz", "Lucía Gómez"));
+        autocompletar("HABILIDAD", "rust")
+                .body("", empty());
+    }
+
+    @Test
+    void autocompletar_WhenTypeIsUnknown_ShouldReturnBadRequest() {
+        autocompletar("COLOR", "a")
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void addTrabajo_ShouldUpdateSuggestionsAfterCommit() {
+        final String token = JWT.create()
+                .withSubject(lucia.getUsuario().getUsername())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .withClaim("roles", List.of("ROLE_USER"))
+                .sign(jwtConfig.algorithmWithSecret());
+        RestAssured.given()
+                .port(randomServerPort)
+                .contentType(ContentType.JSON)
+                .header("Authorization", String.format("Bearer %s", token))
+                .body(new TrabajoDto("Mercado Libre", "Backend", "CABA", LocalDate.of(2022, 1, 1), null))
+                .when()
+                .post(API_PERSONA_URL + "/add/" + lucia.getId() + "/trabajos/")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+        autocompletado.sincronizar();
+
+        autocompletar("EMPRESA", "m")
+                .body("[0].valor", is("Mercado Libre"))
+                .body("[0].frecuencia", is(2));
+
+        RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", String.format("Bearer %s", token))
+                .when()
+                .delete(API_PERSONA_URL + "/delete/" + lucia.getId())
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+        autocompletado.sincronizar();
+
+        autocompletar("HABILIDAD", "javas")
+                .body("", empty());
+        autocompletar("EMPRESA", "")
+                .body("frecuencia", contains(1, 1));
+    }
+
+    @Test
+    void completar_ShouldAnswerWithinLatencyBudget() {
+        for (int i = 0; i < 1_000; i++) {
+            autocompletado.completar(TipoAutocompletado.HABILIDAD, "ja", 5);
+        }
+        final long inicio = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            autocompletado.completar(TipoAutocompletado.HABILIDAD, "ja", 5);
+        }
+        final long promedio = (System.nanoTime() - inicio) / 10_000;
+        assertThat(promedio).isLessThan(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    void actuator_ShouldExposeMemoryEstimate() {
+        RestAssured.given()
+                .port(randomServerPort)
+                .queryParam("tag", "tipo:habilidad")
+                .when()
+                .get("/actuator/metrics/autocompletado.memoria")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("baseUnit", is("bytes"))
+                .body("measurements[0].value", greaterThan(0f));
+    }
+
+    private Persona guardarPersona(String nombres, String apellidos, String username, List<String> habilidades, String empresa, String institucion) {
+        var persona = Persona.builder()
+                .nombres(nombres)
+                .apellidos(apellidos)
+                .build();
+        persona.setHabilidades(habilidades.stream()
+                .map(nombre -> Habilidad.builder().nombre(nombre).nivel(50).persona(persona).build())
+                .collect(Collectors.toList()));
+        persona.setExperienciasLaborales(List.of(Trabajo.builder().empresa(empresa).desde(LocalDate.of(2020, 1, 1)).persona(persona).build()));
+        persona.setEstudios(List.of(Educacion.builder().institucion(institucion).titulo("Título").estado(ProgresoEducacion.COMPLETO).persona(persona).build()));
+        persona.setUsuario(Usuario.builder().username(username).password("password").persona(persona).build());
+        return personaRepository.save(persona);
+    }
+
+    private ValidatableResponse autocompletar(String tipo, String prefijo) {
+        return RestAssured.given()
+                .port(randomServerPort)
+                .queryParam("tipo", tipo)
+                .queryParam("prefijo", prefijo)
+                .when()
+                .get(API_PERSONA_URL + "/autocompletar")
+                .then();
+    }
+}
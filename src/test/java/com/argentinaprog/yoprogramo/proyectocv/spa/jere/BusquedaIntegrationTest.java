@@ -0,0 +1,225 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.PersonaIndice;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.PersonaDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.auth0.jwt.JWT;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        "application.busqueda.enabled=true",
+        "application.busqueda.directorio=" + BusquedaIntegrationTest.DIRECTORIO
+})
+class BusquedaIntegrationTest extends AbstractContainerBaseTest {
+
+    static final String DIRECTORIO = "target/indice-test";
+
+    private static final String API_PERSONA_URL = "/api/v1/persona";
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PersonaIndice personaIndice;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @LocalServerPort
+    int randomServerPort;
+
+    private Persona lucia;
+
+    private Persona martin;
+
+    @BeforeAll
+    static void limpiarIndice() throws IOException {
+        FileSystemUtils.deleteRecursively(Paths.get(DIRECTORIO));
+    }
+
+    @BeforeEach
+    void setUp() {
+        var nuevaLucia = Persona.builder()
+                .nombres("Lucía")
+                .apellidos("Gómez")
+                .ocupacion("Desarrolladora backend")
+                .build();
+        nuevaLucia.setHabilidades(List.of(Habilidad.builder().nombre("Java").nivel(90).persona(nuevaLucia).build()));
+        nuevaLucia.setExperienciasLaborales(List.of(Trabajo.builder().empresa("Globant").cargo("Ingeniera de software").desde(LocalDate.of(2018, 1, 1)).persona(nuevaLucia).build()));
+        nuevaLucia.setEstudios(List.of(Educacion.builder().institucion("UTN").titulo("Ingeniería en Sistemas").estado(ProgresoEducacion.COMPLETO).persona(nuevaLucia).build()));
+        nuevaLucia.setUsuario(Usuario.builder().username("lucia@test.com").password("password").persona(nuevaLucia).build());
+        lucia = personaRepository.save(nuevaLucia);
+
+        var nuevoMartin = Persona.builder()
+                .nombres("Martín")
+                .apellidos("Pérez")
+                .ocupacion("Diseñador UX")
+                .build();
+        nuevoMartin.setHabilidades(List.of(Habilidad.builder().nombre("Figma").nivel(80).persona(nuevoMartin).build()));
+        nuevoMartin.setProyectos(List.of(Proyecto.builder().nombre("Turnos").descripcion("Rediseño de una app escrita en Java").persona(nuevoMartin).build()));
+        nuevoMartin.setUsuario(Usuario.builder().username("martin@test.com").password("password").persona(nuevoMartin).build());
+        martin = personaRepository.save(nuevoMartin);
+
+        personaIndice.reconstruir();
+    }
+
+    @AfterEach
+    void tearDown() {
+        personaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void search_ShouldRankByFieldRelevance() {
+        buscar("java")
+                .statusCode(HttpStatus.OK.value())
+                .body("consulta", is("java"))
+                .body("total", is(2))
+                .body("resultados.id", contains(lucia.getId().intValue(), martin.getId().intValue()))
+                .body("resultados[0].nombres", is("Lucía"))
+                .body("resultados[0].ocupacion", is("Desarrolladora backend"))
+                .body("resultados[0].puntaje", greaterThan(0f));
+    }
+
+    @Test
+    void search_ShouldIgnoreAccentsAndCase() {
+        buscar("INGENIERIA sistemas")
+                .body("total", is(1))
+                .body("resultados[0].id", is(lucia.getId().intValue()));
+    }
+
+    @Test
+    void search_ShouldPageResults() {
+        RestAssured.given()
+                .port(randomServerPort)
+                .queryParam("q", "java")
+                .queryParam("pagina", 1)
+                .queryParam("tamanio", 1)
+                .when()
+                .get(API_PERSONA_URL + "/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", is(2))
+                .body("pagina", is(1))
+                .body("tamanio", is(1))
+                .body("resultados.id", contains(martin.getId().intValue()));
+    }
+
+    @Test
+    void search_WhenPageIsBeyondMaxWindow_ShouldReturnBadRequest() {
+        RestAssured.given()
+                .port(randomServerPort)
+                .queryParam("q", "java")
+                .queryParam("pagina", Integer.MAX_VALUE)
+                .queryParam("tamanio", 100)
+                .when()
+                .get(API_PERSONA_URL + "/search")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+        RestAssured.given()
+                .port(randomServerPort)
+                .queryParam("q", "java")
+                .queryParam("pagina", PersonaIndice.VENTANA_MAXIMA / 100 - 1)
+                .queryParam("tamanio", 100)
+                .when()
+                .get(API_PERSONA_URL + "/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", is(2))
+                .body("resultados", empty());
+    }
+
+    @Test
+    void search_WhenQueryHasInvalidSyntax_ShouldSearchItLiterally() {
+        buscar("java AND (")
+                .statusCode(HttpStatus.OK.value())
+                .body("total", is(2));
+        buscar(" ")
+                .statusCode(HttpStatus.OK.value())
+                .body("total", is(0))
+                .body("resultados", empty());
+    }
+
+    @Test
+    void updatePersona_ShouldBeSearchableAfterCommit() {
+        final var personaDto = new PersonaDto("Martín", "Pérez", null, null, null, null, null,
+                "Científico de datos", null, null, null, null, null);
+
+        RestAssured.given()
+                .port(randomServerPort)
+                .contentType(ContentType.JSON)
+                .header("Authorization", String.format("Bearer %s", accessToken(martin)))
+                .body(personaDto)
+                .when()
+                .put(API_PERSONA_URL + "/update/" + martin.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        personaIndice.sincronizar();
+
+        buscar("cientifico datos")
+                .body("total", is(1))
+                .body("resultados[0].id", is(martin.getId().intValue()))
+                .body("resultados[0].ocupacion", is("Científico de datos"));
+        buscar("diseñador")
+                .body("total", is(0));
+    }
+
+    @Test
+    void deletePersona_ShouldRemoveItFromIndex() {
+        RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", String.format("Bearer %s", accessToken(lucia)))
+                .when()
+                .delete(API_PERSONA_URL + "/delete/" + lucia.getId())
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+        personaIndice.sincronizar();
+
+        buscar("java")
+                .body("total", is(1))
+                .body("resultados.id", contains(martin.getId().intValue()));
+    }
+
+    private ValidatableResponse buscar(String consulta) {
+        return RestAssured.given()
+                .port(randomServerPort)
+                .queryParam("q", consulta)
+                .when()
+                .get(API_PERSONA_URL + "/search")
+                .then();
+    }
+
+    private String accessToken(Persona persona) {
+        return JWT.create()
+                .withSubject(persona.getUsuario().getUsername())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .withClaim("roles", List.of("ROLE_USER"))
+                .sign(jwtConfig.algorithmWithSecret());
+    }
+}
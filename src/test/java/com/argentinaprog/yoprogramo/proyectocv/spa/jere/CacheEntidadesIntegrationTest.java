@@ -0,0 +1,114 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Habilidad;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Nacionalidades;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Usuario;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+class CacheEntidadesIntegrationTest extends AbstractContainerBaseTest {
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Persona persona;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var nuevaPersona = Persona.builder()
+                .nombres("Lucía")
+                .apellidos("Gómez")
+                .fechaNacimiento(LocalDate.of(1992, 5, 1))
+                .nacionalidad(Nacionalidades.ARGENTINA)
+                .email("lucia@test.com")
+                .habilidades(new ArrayList<>(List.of(Habilidad.builder().nombre("Java").nivel(80).build())))
+                .build();
+        nuevaPersona.getHabilidades().forEach(habilidad -> habilidad.setPersona(nuevaPersona));
+        var usuario = Usuario.builder().username("lucia@test.com").password("password").persona(nuevaPersona).build();
+        nuevaPersona.setUsuario(usuario);
+        persona = personaRepository.save(nuevaPersona);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        personaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void findById_WhenReadInAnotherSession_ShouldHitEntityAndCollectionRegions() {
+        final var lectura = new TransactionTemplate(transactionManager);
+        lectura.executeWithoutResult(status -> personaRepository.findById(persona.getId()).orElseThrow().getHabilidades().size());
+        lectura.executeWithoutResult(status -> personaRepository.findById(persona.getId()).orElseThrow().getHabilidades().size());
+
+        assertThat(statistics.getDomainDataRegionStatistics("persona").getHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics("persona-habilidades").getHitCount()).isPositive();
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "persona", "result", "hit")
+                .functionCounter()
+                .count()).isPositive();
+    }
+
+    @Test
+    void save_WhenEntityChanges_ShouldNotServeStaleData() {
+        personaRepository.findById(persona.getId());
+        final Persona modificada = personaRepository.findById(persona.getId()).orElseThrow();
+        modificada.setNombres("Lucía Inés");
+        personaRepository.save(modificada);
+
+        assertThat(personaRepository.findById(persona.getId()).orElseThrow().getNombres()).isEqualTo("Lucía Inés");
+    }
+
+    @Test
+    void findByUsername_WhenRepeated_ShouldResolveFromNaturalIdCache() {
+        assertThat(usuarioRepository.findByUsername("lucia@test.com")).isPresent();
+        assertThat(usuarioRepository.findByUsername("lucia@test.com")).isPresent();
+        assertThat(usuarioRepository.findByUsername("nadie@test.com")).isEmpty();
+
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void findByUsername_WhenUsernameChanges_ShouldFindOnlyTheNewOne() {
+        final Usuario usuario = usuarioRepository.findByUsername("lucia@test.com").orElseThrow();
+        usuario.setUsername("lucia.gomez@test.com");
+        usuarioRepository.save(usuario);
+
+        assertThat(usuarioRepository.findByUsername("lucia@test.com")).isEmpty();
+        assertThat(usuarioRepository.findByUsername("lucia.gomez@test.com")).isPresent();
+    }
+}
@@ -0,0 +1,145 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.Catalogo;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.CatalogoResolver;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Habilidad;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Trabajo;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Usuario;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.HabilidadRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.TrabajoRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CatalogosIntegrationTest extends AbstractContainerBaseTest {
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TrabajoRepository trabajoRepository;
+
+    @Autowired
+    private HabilidadRepository habilidadRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CatalogoResolver catalogoResolver;
+
+    @AfterEach
+    void tearDown() {
+        personaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void save_ShouldStoreEachTextOnceAndKeepItAsWritten() {
+        final Long lucia = guardarPersona("lucia@test.com", "Catalogo Globant", "Córdoba").getId();
+        final Long martin = guardarPersona("martin@test.com", "catalogo globant ", "Córdoba").getId();
+        final Long ana = guardarPersona("ana@test.com", "Catalogo Globant", "Córdoba").getId();
+
+        assertThat(jdbcTemplate.queryForList("SELECT nombre FROM empresa WHERE clave = 'catalogo globant'", String.class))
+                .containsExactlyInAnyOrder("Catalogo Globant", "catalogo globant");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT empresa_id) FROM trabajo", Integer.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT lugar_id) FROM trabajo", Integer.class)).isEqualTo(1);
+
+        final Map<Long, String> empresas = trabajoRepository.findAll().stream()
+                .collect(Collectors.toMap(trabajo -> trabajo.getPersona().getId(), Trabajo::getEmpresa));
+        assertThat(empresas).containsOnly(
+                Map.entry(lucia, "Catalogo Globant"),
+                Map.entry(martin, "catalogo globant"),
+                Map.entry(ana, "Catalogo Globant"));
+        assertThat(empresas.get(lucia)).isSameAs(empresas.get(ana));
+    }
+
+    @Test
+    void save_WhenTransactionRollsBack_ShouldNotCacheTheDiscardedId() {
+        final var transaccion = new TransactionTemplate(transactionManager);
+        transaccion.executeWithoutResult(status -> {
+            guardarPersona("lucia@test.com", "Catalogo Efimera", null);
+            status.setRollbackOnly();
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM empresa WHERE nombre = 'Catalogo Efimera'", Integer.class)).isZero();
+
+        final Persona persona = guardarPersona("lucia@test.com", "Catalogo Efimera", null);
+
+        assertThat(personaRepository.findById(persona.getId())).isPresent();
+        assertThat(trabajoRepository.findAll()).extracting(Trabajo::getEmpresa).containsExactly("Catalogo Efimera");
+    }
+
+    @Test
+    void save_ShouldResolveSkillVariantsToOneCanonicalSkill() {
+        var persona = guardarPersona("lucia@test.com", null, null);
+        persona.setHabilidades(new ArrayList<>(List.of(
+                Habilidad.builder().nombre("Catalogo Kotlin").nivel(80).persona(persona).build(),
+                Habilidad.builder().nombre("catalogo  KOTLIN 1.9").nivel(60).persona(persona).build(),
+                Habilidad.builder().nombre("Catalogo Scala").nivel(40).persona(persona).build())));
+        personaRepository.save(persona);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM habilidad_canonica WHERE nombre LIKE 'Catalogo K%'", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT alias FROM habilidad_alias WHERE alias LIKE 'catalogo k%'", String.class))
+                .containsExactly("catalogo kotlin");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT habilidad_canonica_id) FROM habilidad", Integer.class)).isEqualTo(2);
+        assertThat(habilidadRepository.findAll()).extracting(Habilidad::getNombre)
+                .containsExactlyInAnyOrder("Catalogo Kotlin", "Catalogo Kotlin", "Catalogo Scala");
+    }
+
+    @Test
+    void registrar_WhenAnotherInstanceCommittedTheSameSkillMeanwhile_ShouldUseItsAlias() {
+        final String nombre = "Catalogo Elixir";
+        final Long id = new TransactionTemplate(transactionManager).execute(status -> {
+            //given: una transaccion que ya tomo su foto de la base
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM habilidad_alias WHERE alias = ?", Integer.class,
+                    Catalogo.HABILIDAD.alias(nombre))).isZero();
+
+            //when: otra instancia, sin pasar por esta cache, registra la misma habilidad y confirma
+            CompletableFuture.runAsync(() -> {
+                jdbcTemplate.update("INSERT INTO habilidad_canonica (nombre) VALUES (?)", Catalogo.HABILIDAD.canonico(nombre));
+                jdbcTemplate.update("INSERT INTO habilidad_alias (alias, habilidad_canonica_id) SELECT ?, id FROM habilidad_canonica WHERE nombre = ?",
+                        Catalogo.HABILIDAD.alias(nombre), Catalogo.HABILIDAD.canonico(nombre));
+            }).join();
+            return catalogoResolver.registrar(Catalogo.HABILIDAD, nombre);
+        });
+
+        //then
+        assertThat(id).isEqualTo(jdbcTemplate.queryForObject("SELECT id FROM habilidad_canonica WHERE nombre = ?", Long.class,
+                Catalogo.HABILIDAD.canonico(nombre)));
+    }
+
+    private Persona guardarPersona(String username, String empresa, String lugar) {
+        var persona = Persona.builder()
+                .nombres(username)
+                .apellidos("Test")
+                .build();
+        if (empresa != null) {
+            persona.setExperienciasLaborales(List.of(Trabajo.builder().empresa(empresa).lugar(lugar).desde(LocalDate.of(2020, 1, 1)).persona(persona).build()));
+        }
+        persona.setUsuario(Usuario.builder().username(username).password("password").persona(persona).build());
+        return personaRepository.save(persona);
+    }
+}
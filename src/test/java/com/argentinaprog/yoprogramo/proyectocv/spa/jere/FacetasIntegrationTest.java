@@ -0,0 +1,191 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.FacetasIndice;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.HabilidadesIndice;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.HabilidadDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.PersonaDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.auth0.jwt.JWT;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class FacetasIntegrationTest extends AbstractContainerBaseTest {
+
+    private static final String API_PERSONA_URL = "/api/v1/persona";
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private FacetasIndice facetasIndice;
+
+    @Autowired
+    private HabilidadesIndice habilidadesIndice;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @LocalServerPort
+    int randomServerPort;
+
+    private Persona lucia;
+
+    private Persona martin;
+
+    @BeforeEach
+    void setUp() {
+        var nuevaLucia = Persona.builder()
+                .nombres("Lucía")
+                .apellidos("Gómez")
+                .nacionalidad(Nacionalidades.ARGENTINA)
+                .build();
+        nuevaLucia.setHabilidades(List.of(
+                Habilidad.builder().nombre("Java").nivel(90).persona(nuevaLucia).build(),
+                Habilidad.builder().nombre("MySQL").nivel(70).persona(nuevaLucia).build()));
+        nuevaLucia.setEstudios(List.of(Educacion.builder().institucion("UTN").titulo("Ingeniería").estado(ProgresoEducacion.COMPLETO).persona(nuevaLucia).build()));
+        nuevaLucia.setExperienciasLaborales(List.of(
+                Trabajo.builder().empresa("Globant").desde(LocalDate.of(2018, 1, 1)).persona(nuevaLucia).build(),
+                Trabajo.builder().empresa("Accenture").desde(LocalDate.of(2015, 1, 1)).hasta(LocalDate.of(2017, 12, 31)).persona(nuevaLucia).build()));
+        nuevaLucia.setUsuario(Usuario.builder().username("lucia@test.com").password("password").persona(nuevaLucia).build());
+        lucia = personaRepository.save(nuevaLucia);
+
+        var nuevoMartin = Persona.builder()
+                .nombres("Martín")
+                .apellidos("Pérez")
+                .nacionalidad(Nacionalidades.URUGUAY)
+                .build();
+        nuevoMartin.setHabilidades(List.of(Habilidad.builder().nombre("Java").nivel(60).persona(nuevoMartin).build()));
+        nuevoMartin.setEstudios(List.of(Educacion.builder().institucion("UdelaR").titulo("Diseño").estado(ProgresoEducacion.CURSANDO).persona(nuevoMartin).build()));
+        nuevoMartin.setExperienciasLaborales(List.of(Trabajo.builder().empresa("globant ").desde(LocalDate.of(2020, 1, 1)).persona(nuevoMartin).build()));
+        nuevoMartin.setUsuario(Usuario.builder().username("martin@test.com").password("password").persona(nuevoMartin).build());
+        martin = personaRepository.save(nuevoMartin);
+
+        habilidadesIndice.reconstruir();
+        facetasIndice.reconciliar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        personaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void facets_ShouldCountEachDimension() {
+        facets(null)
+                .statusCode(HttpStatus.OK.value())
+                .body("total", is(2))
+                .body("nacionalidades.valor", contains("ARGENTINA", "URUGUAY"))
+                .body("estadosEducacion.valor", contains("COMPLETO", "CURSANDO"))
+                .body("habilidades.valor", contains("java", "mysql"))
+                .body("habilidades.cantidad", contains(2, 1))
+                .body("empleadores.valor", contains("Globant"))
+                .body("empleadores[0].cantidad", is(2));
+    }
+
+    @Test
+    void facets_WhenFilteredBySkills_ShouldCountOnlyMatchingPersonas() {
+        facets("java>=80")
+                .statusCode(HttpStatus.OK.value())
+                .body("consulta", is("java>=80"))
+                .body("total", is(1))
+                .body("nacionalidades.valor", contains("ARGENTINA"))
+                .body("habilidades.valor", contains("java", "mysql"));
+        facets("java AND (")
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void personaMutations_ShouldApplyDeltas() {
+        autenticado(martin)
+                .body(new HabilidadDto("MySQL", 50, null))
+                .when()
+                .post(API_PERSONA_URL + "/add/" + martin.getId() + "/habilidades/")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+        autenticado(martin)
+                .body(new PersonaDto("Martín", "Pérez", null, Nacionalidades.ARGENTINA, null, null, null, null, null, null, null, null, null))
+                .when()
+                .put(API_PERSONA_URL + "/update/" + martin.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        facetasIndice.sincronizar();
+
+        facets(null)
+                .body("nacionalidades.valor", contains("ARGENTINA"))
+                .body("nacionalidades[0].cantidad", is(2))
+                .body("habilidades.cantidad", contains(2, 2));
+
+        autenticado(lucia)
+                .when()
+                .delete(API_PERSONA_URL + "/delete/" + lucia.getId())
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+        facetasIndice.sincronizar();
+
+        facets(null)
+                .body("total", is(1))
+                .body("estadosEducacion.valor", contains("CURSANDO"))
+                .body("empleadores[0].cantidad", is(1));
+    }
+
+    @Test
+    void reconciliar_ShouldFixCountsChangedOutsideTheService() {
+        personaRepository.delete(martin);
+        facets(null)
+                .body("total", is(2));
+
+        facetasIndice.reconciliar();
+
+        facets(null)
+                .body("total", is(1))
+                .body("nacionalidades.valor", contains("ARGENTINA"));
+    }
+
+    private ValidatableResponse facets(String consulta) {
+        var request = RestAssured.given()
+                .port(randomServerPort);
+        if (consulta != null) {
+            request = request.queryParam("q", consulta);
+        }
+        return request
+                .when()
+                .get(API_PERSONA_URL + "/facets")
+                .then();
+    }
+
+    private RequestSpecification autenticado(Persona persona) {
+        final String token = JWT.create()
+                .withSubject(persona.getUsuario().getUsername())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .withClaim("roles", List.of("ROLE_USER"))
+                .sign(jwtConfig.algorithmWithSecret());
+        return RestAssured.given()
+                .port(randomServerPort)
+                .contentType(ContentType.JSON)
+                .header("Authorization", String.format("Bearer %s", token));
+    }
+}
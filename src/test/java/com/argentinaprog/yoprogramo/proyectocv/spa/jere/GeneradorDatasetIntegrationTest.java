@@ -0,0 +1,125 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.dataset.ConfiguracionDataset;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.dataset.Distribucion;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.dataset.GeneradorDataset;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.dataset.ResumenDataset;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class GeneradorDatasetIntegrationTest extends AbstractContainerBaseTest {
+
+    private static final ConfiguracionDataset CONFIGURACION = ConfiguracionDataset.builder()
+            .semilla(7)
+            .personas(300)
+            .estudios(Distribucion.uniforme(0, 3))
+            .habilidades(Distribucion.poisson(4, 12))
+            .trabajos(Distribucion.fija(2))
+            .proyectos(Distribucion.uniforme(0, 2))
+            .empresas(50)
+            .lugares(20)
+            .instituciones(20)
+            .habilidadesCanonicas(20)
+            .hilos(4)
+            .personasPorLote(40)
+            .build();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        List.of("usuario", "educacion", "habilidad", "trabajo", "proyecto", "persona")
+                .forEach(tabla -> jdbcTemplate.update("DELETE FROM " + tabla));
+    }
+
+    @Test
+    void generar_ShouldLoadEveryRowInsideTheReservedIdRange() {
+        final ResumenDataset resumen = new GeneradorDataset(dataSource, CONFIGURACION).generar();
+
+        assertThat(contar("persona")).isEqualTo(300);
+        assertThat(contar("educacion")).isEqualTo(resumen.getEstudios());
+        assertThat(contar("habilidad")).isEqualTo(resumen.getHabilidades());
+        assertThat(contar("trabajo")).isEqualTo(600);
+        assertThat(contar("proyecto")).isEqualTo(resumen.getProyectos());
+        final long finRango = resumen.getPrimerId() + resumen.filas();
+        for (String tabla : List.of("persona", "educacion", "habilidad", "trabajo", "proyecto")) {
+            assertThat(jdbcTemplate.queryForObject("SELECT MIN(id) >= ? AND MAX(id) < ? FROM " + tabla, Boolean.class, resumen.getPrimerId(), finRango))
+                    .as("ids de %s dentro del rango reservado", tabla)
+                    .isTrue();
+        }
+
+        // La aplicacion sigue asignando ids despues del rango
+        final Persona nueva = personaRepository.save(Persona.builder().nombres("Despues del dataset").build());
+        assertThat(nueva.getId()).isGreaterThanOrEqualTo(finRango);
+    }
+
+    @Test
+    void generar_ShouldBeReadableThroughJpaWithCatalogNames() {
+        final ResumenDataset resumen = new GeneradorDataset(dataSource, CONFIGURACION).generar();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            final Persona persona = personaRepository.findById(resumen.getPrimerId()).orElseThrow();
+            assertThat(persona.getNombres()).isNotBlank();
+            assertThat(persona.getExperienciasLaborales()).hasSize(2)
+                    .allSatisfy(trabajo -> {
+                        assertThat(trabajo.getEmpresa()).isNotBlank();
+                        assertThat(trabajo.getLugar()).isNotBlank();
+                    });
+            assertThat(persona.getHabilidades()).allSatisfy(habilidad -> assertThat(habilidad.getNombre()).isNotBlank());
+        });
+    }
+
+    @Test
+    void generar_WithTheSameSeed_ShouldProduceTheSameContentRegardlessOfThreadsAndBatchSize() {
+        final ResumenDataset primero = new GeneradorDataset(dataSource, CONFIGURACION).generar();
+        final ResumenDataset segundo = new GeneradorDataset(dataSource, CONFIGURACION.toBuilder()
+                .hilos(1)
+                .personasPorLote(300)
+                .build())
+                .generar();
+
+        assertThat(segundo.filas()).isEqualTo(primero.filas());
+        assertThat(contenido(segundo)).isEqualTo(contenido(primero));
+    }
+
+    private long contar(String tabla) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabla, Long.class);
+    }
+
+    // Filas con ids relativos al comienzo del rango, para comparar dos cargas de la misma semilla
+    private List<String> contenido(ResumenDataset resumen) {
+        final long desde = resumen.getPrimerId();
+        final long hasta = desde + resumen.filas();
+        return jdbcTemplate.queryForList(
+                "SELECT CONCAT_WS('|', p.id - ?, p.nombres, p.apellidos, p.fecha_nacimiento, p.email, p.ocupacion, " +
+                        "(SELECT GROUP_CONCAT(CONCAT_WS(',', t.id - ?, t.empresa_id, t.cargo, t.fecha_inicio, t.fecha_fin) ORDER BY t.id) FROM trabajo t WHERE t.persona_id = p.id), " +
+                        "(SELECT GROUP_CONCAT(CONCAT_WS(',', h.id - ?, h.habilidad_canonica_id, h.porcentaje) ORDER BY h.id) FROM habilidad h WHERE h.persona_id = p.id), " +
+                        "(SELECT GROUP_CONCAT(CONCAT_WS(',', e.id - ?, e.institucion_id, e.titulo, e.estado) ORDER BY e.id) FROM educacion e WHERE e.persona_id = p.id), " +
+                        "(SELECT GROUP_CONCAT(CONCAT_WS(',', r.id - ?, r.nombre) ORDER BY r.id) FROM proyecto r WHERE r.persona_id = p.id)) " +
+                        "FROM persona p WHERE p.id >= ? AND p.id < ? ORDER BY p.id",
+                String.class, desde, desde, desde, desde, desde, desde, hasta);
+    }
+}
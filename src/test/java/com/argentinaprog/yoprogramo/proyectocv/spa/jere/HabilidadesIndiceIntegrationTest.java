@@ -0,0 +1,205 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda.HabilidadesIndice;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Habilidad;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Usuario;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.HabilidadDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.auth0.jwt.JWT;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class HabilidadesIndiceIntegrationTest extends AbstractContainerBaseTest {
+
+    private static final String API_PERSONA_URL = "/api/v1/persona";
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private HabilidadesIndice habilidadesIndice;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @LocalServerPort
+    int randomServerPort;
+
+    private Persona lucia;
+
+    private Persona martin;
+
+    private Persona ana;
+
+    @BeforeEach
+    void setUp() {
+        lucia = guardarPersona("lucia@test.com", List.of("Java", 90, "Spring Boot", 80, "MySQL", 70));
+        martin = guardarPersona("martin@test.com", List.of("java", 60, "Spring Boot", 75, "PostgreSQL", 85));
+        ana = guardarPersona("ana@test.com", List.of("Figma", 95, "Java", 40));
+        habilidadesIndice.reconstruir();
+    }
+
+    @AfterEach
+    void tearDown() {
+        personaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void buscar_ShouldCombineAndOrAcrossSkills() {
+        buscar("java AND \"spring boot\" AND (mysql OR postgresql)", null)
+                .statusCode(HttpStatus.OK.value())
+                .body("total", is(2))
+                .body("ids", contains(lucia.getId().intValue(), martin.getId().intValue()));
+    }
+
+    @Test
+    void buscar_ShouldApplyGlobalAndTermLevels() {
+        buscar("java \"spring boot\"", 70)
+                .body("total", is(1))
+                .body("ids", contains(lucia.getId().intValue()));
+        buscar("JAVA>=50 OR figma>=99", null)
+                .body("ids", contains(lucia.getId().intValue(), martin.getId().intValue()));
+    }
+
+    @Test
+    void buscar_ShouldNegateAgainstAllPersonas() {
+        final var sinHabilidades = guardarPersona("sin@test.com", List.of());
+        habilidadesIndice.reconstruir();
+
+        buscar("NOT java", null)
+                .body("ids", contains(sinHabilidades.getId().intValue()));
+        buscar("java NOT \"spring boot\"", null)
+                .body("ids", contains(ana.getId().intValue()));
+    }
+
+    @Test
+    void buscar_WhenQueryHasInvalidSyntax_ShouldReturnBadRequest() {
+        buscar("java AND (mysql", null)
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+        buscar("java>=alto", null)
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+        buscar(" ", null)
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void habilidadCrud_ShouldKeepIndexCurrent() {
+        autenticado(ana)
+                .body(new HabilidadDto("Spring Boot", 65, null))
+                .when()
+                .post(API_PERSONA_URL + "/add/" + ana.getId() + "/habilidades/")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+        habilidadesIndice.sincronizar();
+        buscar("\"spring boot\">=65", null)
+                .body("ids", contains(lucia.getId().intValue(), martin.getId().intValue(), ana.getId().intValue()));
+
+        final Long idMysql = idHabilidad(lucia, "MySQL");
+        autenticado(lucia)
+                .body(new HabilidadDto("MySQL", 30, null))
+                .when()
+                .put(API_PERSONA_URL + "/update/" + lucia.getId() + "/habilidades/" + idMysql)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        habilidadesIndice.sincronizar();
+        buscar("mysql>=50", null)
+                .body("total", is(0));
+        buscar("mysql", null)
+                .body("ids", contains(lucia.getId().intValue()));
+
+        autenticado(lucia)
+                .when()
+                .delete(API_PERSONA_URL + "/remove/" + lucia.getId() + "/habilidades/" + idMysql)
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+        habilidadesIndice.sincronizar();
+        buscar("mysql", null)
+                .body("total", is(0));
+    }
+
+    @Test
+    void deletePersona_ShouldRemoveItFromIndex() {
+        autenticado(martin)
+                .when()
+                .delete(API_PERSONA_URL + "/delete/" + martin.getId())
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+        habilidadesIndice.sincronizar();
+
+        buscar("java", null)
+                .body("ids", contains(lucia.getId().intValue(), ana.getId().intValue()));
+        buscar("NOT figma", null)
+                .body("ids", contains(lucia.getId().intValue()));
+    }
+
+    private Persona guardarPersona(String username, List<Object> habilidades) {
+        var persona = Persona.builder()
+                .nombres(username)
+                .apellidos("Test")
+                .build();
+        final List<Habilidad> lista = new ArrayList<>();
+        for (int i = 0; i < habilidades.size(); i += 2) {
+            lista.add(Habilidad.builder().nombre((String) habilidades.get(i)).nivel((Integer) habilidades.get(i + 1)).persona(persona).build());
+        }
+        persona.setHabilidades(lista);
+        persona.setUsuario(Usuario.builder().username(username).password("password").persona(persona).build());
+        return personaRepository.save(persona);
+    }
+
+    private Long idHabilidad(Persona persona, String nombre) {
+        return persona.getHabilidades().stream()
+                .filter(habilidad -> habilidad.getNombre().equals(nombre))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+
+    private ValidatableResponse buscar(String consulta, Integer nivelMinimo) {
+        var request = RestAssured.given()
+                .port(randomServerPort)
+                .queryParam("q", consulta);
+        if (nivelMinimo != null) {
+            request = request.queryParam("nivelMinimo", nivelMinimo);
+        }
+        return request
+                .when()
+                .get(API_PERSONA_URL + "/habilidades/buscar")
+                .then();
+    }
+
+    private RequestSpecification autenticado(Persona persona) {
+        final String token = JWT.create()
+                .withSubject(persona.getUsuario().getUsername())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .withClaim("roles", List.of("ROLE_USER"))
+                .sign(jwtConfig.algorithmWithSecret());
+        return RestAssured.given()
+                .port(randomServerPort)
+                .contentType(ContentType.JSON)
+                .header("Authorization", String.format("Bearer %s", token));
+    }
+}
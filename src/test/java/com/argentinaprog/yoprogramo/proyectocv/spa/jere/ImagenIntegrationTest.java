@@ -0,0 +1,325 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.ImagenVarianteTrabajoRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.auth0.jwt.JWT;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.FileSystemUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        "application.imagenes.directorio=" + ImagenIntegrationTest.DIRECTORIO,
+        "application.imagenes.max-bytes=262144",
+        "application.imagenes.variantes.intervalo-ms=500"
+})
+class ImagenIntegrationTest extends AbstractContainerBaseTest {
+
+    static final String DIRECTORIO = "target/imagenes-test";
+
+    private static final String API_PERSONA_URL = "/api/v1/persona";
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ImagenVarianteTrabajoRepository trabajoRepository;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @LocalServerPort
+    int randomServerPort;
+
+    private Persona persona;
+
+    private byte[] png;
+
+    @BeforeEach
+    void setUp() {
+        var nuevaPersona = Persona.builder()
+                .nombres("Jeremías")
+                .apellidos("Calvet")
+                .fechaNacimiento(LocalDate.of(1990, 1, 1))
+                .nacionalidad(Nacionalidades.ARGENTINA)
+                .imagen("assets/imagen.jpg")
+                .build();
+        var usuario = Usuario.builder().username("jere@test.com").password("password").persona(nuevaPersona).build();
+        nuevaPersona.setUsuario(usuario);
+        persona = personaRepository.save(nuevaPersona);
+
+        png = new byte[100_000];
+        new Random(42).nextBytes(png);
+        System.arraycopy(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}, 0, png, 0, 8);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        personaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        trabajoRepository.deleteAll();
+        FileSystemUtils.deleteRecursively(Paths.get(DIRECTORIO));
+    }
+
+    @Test
+    void updateImagen_ShouldStoreOnlyHashAndServeImageUrl() {
+        final String imagenUrl = subir(png)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("imagen", startsWith(Persona.IMAGEN_URL))
+                .body("$", not(hasKey("imagenHash")))
+                .extract()
+                .path("imagen");
+
+        assertThat(personaRepository.findById(persona.getId()).get().getImagenHash())
+                .isEqualTo(imagenUrl.substring(Persona.IMAGEN_URL.length()));
+        RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(API_PERSONA_URL + "/find/" + persona.getId())
+                .then()
+                .body("imagen", is(imagenUrl));
+    }
+
+    @Test
+    void updateImagen_WhenSameImageIsUploadedTwice_ShouldStoreItOnce() throws IOException {
+        final String primera = subir(png).path("imagen");
+        final String segunda = subir(png).path("imagen");
+
+        assertThat(segunda).isEqualTo(primera);
+        try (Stream<Path> archivos = Files.walk(Paths.get(DIRECTORIO))) {
+            assertThat(archivos.filter(Files::isRegularFile).collect(Collectors.toList())).hasSize(1);
+        }
+    }
+
+    @Test
+    void updateImagen_WhenFileIsNotAnImage_ShouldReturn415() {
+        subir("no soy una imagen, aunque diga image/png".getBytes())
+                .then()
+                .statusCode(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value())
+                .body("message", is("El archivo no es una imagen PNG, JPEG, GIF o WEBP."));
+    }
+
+    @Test
+    void updateImagen_WhenImageIsTooLarge_ShouldReturn413() {
+        final byte[] grande = Arrays.copyOf(png, 300_000);
+
+        subir(grande)
+                .then()
+                .statusCode(HttpStatus.PAYLOAD_TOO_LARGE.value());
+    }
+
+    @Test
+    void getImagen_ShouldServeWholeFileWithImmutableCacheHeaders() {
+        final String imagenUrl = subir(png).path("imagen");
+        final String hash = imagenUrl.substring(Persona.IMAGEN_URL.length());
+
+        final Response response = RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(imagenUrl);
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.contentType()).isEqualTo(MediaType.IMAGE_PNG_VALUE);
+        assertThat(response.header("ETag")).isEqualTo("\"" + hash + "\"");
+        assertThat(response.header("Cache-Control")).isEqualTo("public, max-age=31536000, immutable");
+        assertThat(response.header("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.asByteArray()).isEqualTo(png);
+    }
+
+    @Test
+    void getImagen_WhenRangeIsRequested_ShouldReturnPartialContent() {
+        final String imagenUrl = subir(png).path("imagen");
+
+        final Response response = RestAssured.given()
+                .port(randomServerPort)
+                .header("Range", "bytes=1000-1999")
+                .when()
+                .get(imagenUrl);
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(response.header("Content-Range")).isEqualTo("bytes 1000-1999/" + png.length);
+        assertThat(response.asByteArray()).isEqualTo(Arrays.copyOfRange(png, 1000, 2000));
+    }
+
+    @Test
+    void getImagen_WhenRangeIsNotSatisfiable_ShouldReturn416() {
+        final String imagenUrl = subir(png).path("imagen");
+
+        RestAssured.given()
+                .port(randomServerPort)
+                .header("Range", "bytes=" + png.length + "-")
+                .when()
+                .get(imagenUrl)
+                .then()
+                .statusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value())
+                .header("Content-Range", "bytes */" + png.length);
+    }
+
+    @Test
+    void getImagen_WhenEtagMatches_ShouldReturn304() {
+        final String imagenUrl = subir(png).path("imagen");
+        final String hash = imagenUrl.substring(Persona.IMAGEN_URL.length());
+
+        RestAssured.given()
+                .port(randomServerPort)
+                .header("If-None-Match", "\"" + hash + "\"")
+                .when()
+                .get(imagenUrl)
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    void getImagen_WhenHashDoesNotExist_ShouldReturn404() {
+        RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(API_PERSONA_URL + "/imagen/" + "0".repeat(64))
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+        RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(API_PERSONA_URL + "/imagen/..%2F..%2Fpom.xml")
+                .then()
+                .statusCode(both(greaterThanOrEqualTo(400)).and(lessThan(500)));
+    }
+
+    @Test
+    void updateImagen_ShouldGenerateVariantesInBackground() throws IOException, InterruptedException {
+        final var foto = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g = foto.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.BLUE, 1600, 1200, Color.ORANGE));
+        g.fillRect(0, 0, 1600, 1200);
+        g.dispose();
+        final var salida = new ByteArrayOutputStream();
+        ImageIO.write(foto, "jpeg", salida);
+
+        subir(salida.toByteArray(), MediaType.IMAGE_JPEG_VALUE)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("$", not(hasKey("imagenVariantes")));
+
+        Response persona = null;
+        for (int intento = 0; intento < 100; intento++) {
+            persona = RestAssured.given()
+                    .port(randomServerPort)
+                    .when()
+                    .get(API_PERSONA_URL + "/find/" + this.persona.getId());
+            if (persona.path("imagenVariantes") != null) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+
+        assertThat(persona.<String>path("imagenVariantes.placeholder")).hasSize(28);
+        assertThat(persona.<String>path("imagenVariantes.tarjeta")).startsWith(Persona.IMAGEN_URL);
+        assertThat(persona.<String>path("imagenVariantes.completa")).startsWith(Persona.IMAGEN_URL);
+        final byte[] miniatura = RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(persona.<String>path("imagenVariantes.miniatura"))
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(MediaType.IMAGE_JPEG_VALUE)
+                .extract()
+                .asByteArray();
+        final BufferedImage leida = ImageIO.read(new ByteArrayInputStream(miniatura));
+        assertThat(leida.getWidth()).isEqualTo(64);
+        assertThat(leida.getHeight()).isEqualTo(48);
+        assertThat(trabajoRepository.findAll())
+                .extracting(ImagenVarianteTrabajo::getEstado)
+                .containsExactly(EstadoTrabajo.COMPLETADO);
+    }
+
+    @Test
+    void procesarPendientes_ShouldReclaimOnlyExpiredJobsAndBackOffFailedOnes() throws InterruptedException {
+        final LocalDateTime ahora = LocalDateTime.now();
+        final ImagenVarianteTrabajo ajeno = trabajoRepository.save(trabajo(EstadoTrabajo.EN_PROCESO, ahora));
+        final ImagenVarianteTrabajo vencido = trabajoRepository.save(trabajo(EstadoTrabajo.EN_PROCESO, ahora.minusHours(1)));
+
+        ImagenVarianteTrabajo reintento = null;
+        for (int intento = 0; intento < 100; intento++) {
+            reintento = trabajoRepository.findById(vencido.getId()).orElseThrow();
+            if (reintento.getIntentos() > 0) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+
+        // El de otra instancia sigue en proceso; el vencido se tomo, fallo (no hay archivo) y espera para reintentar
+        assertThat(trabajoRepository.findById(ajeno.getId()).orElseThrow().getEstado()).isEqualTo(EstadoTrabajo.EN_PROCESO);
+        assertThat(reintento.getIntentos()).isEqualTo(1);
+        assertThat(reintento.getEstado()).isEqualTo(EstadoTrabajo.PENDIENTE);
+        assertThat(reintento.getProximoIntento()).isAfter(LocalDateTime.now().plusSeconds(20));
+    }
+
+    private ImagenVarianteTrabajo trabajo(EstadoTrabajo estado, LocalDateTime actualizado) {
+        return ImagenVarianteTrabajo.builder()
+                .personaId(persona.getId())
+                .imagenHash("0".repeat(64))
+                .estado(estado)
+                .creado(actualizado)
+                .actualizado(actualizado)
+                .proximoIntento(actualizado)
+                .build();
+    }
+
+    private Response subir(byte[] contenido) {
+        return subir(contenido, MediaType.IMAGE_PNG_VALUE);
+    }
+
+    private Response subir(byte[] contenido, String contentType) {
+        return RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", String.format("Bearer %s", accessToken()))
+                .contentType(contentType)
+                .body(contenido)
+                .when()
+                .post(API_PERSONA_URL + "/" + persona.getId() + "/imagen");
+    }
+
+    private String accessToken() {
+        return JWT.create()
+                .withSubject(persona.getUsuario().getUsername())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .withClaim("roles", List.of("ROLE_USER"))
+                .sign(jwtConfig.algorithmWithSecret());
+    }
+}
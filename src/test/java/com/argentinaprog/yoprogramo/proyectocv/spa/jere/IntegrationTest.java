@@ -1,18 +1,24 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
 
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.Catalogo;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.CatalogoResolver;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.*;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.*;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.services.PersonaService;
 import com.auth0.jwt.JWT;
 import com.github.javafaker.Faker;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.web.server.LocalServerPort;
@@ -33,6 +39,7 @@ import static org.springframework.boot.test.context.SpringBootTest.WebEnvironmen
 
 @SuppressWarnings("OptionalGetWithoutIsPresent")
 @Slf4j
+@ExtendWith(SentenciasSqlExtension.class)
 @SpringBootTest(webEnvironment = RANDOM_PORT)
 public class IntegrationTest extends AbstractContainerBaseTest {
 
@@ -53,12 +60,18 @@ public class IntegrationTest extends AbstractContainerBaseTest {
     @Autowired
     private TrabajoRepository trabajoRepository;
 
+    @Autowired
+    private CatalogoResolver catalogoResolver;
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
     @Autowired
     private JwtConfig jwtConfig;
 
+    @Autowired
+    private PersonaService personaService;
+
     @LocalServerPort
     int randomServerPort;
 
@@ -207,6 +220,215 @@ public class IntegrationTest extends AbstractContainerBaseTest {
         personaRepository.findAll().forEach(hitPersonaByIdEndpointAndCheckValuesConsumer);
     }
 
+    @Test
+    void getPersonById_ShouldRunTheSameStatementsRegardlessOfChildrenCount(SentenciasSql sentencias) {
+        //given
+        final Persona conVariosTrabajos = personaRepository.findAll().get(0);
+        for (int i = 0; i < 5; i++) {
+            final Trabajo trabajo = Trabajo.builder()
+                    .empresa(faker.company().name())
+                    .cargo(faker.job().position())
+                    .desde(LocalDate.of(2010 + i, 1, 1))
+                    .hasta(LocalDate.of(2011 + i, 1, 1))
+                    .lugar(faker.address().city())
+                    .persona(conVariosTrabajos)
+                    .build();
+            // Sin pasar por PersonaRepository los textos de catalogo se registran a mano
+            catalogoResolver.registrar(Catalogo.EMPRESA, trabajo.getEmpresa());
+            catalogoResolver.registrar(Catalogo.LUGAR, trabajo.getLugar());
+            trabajoRepository.save(trabajo);
+        }
+        final String uri = API_URL + "/persona/find/{id}";
+        final List<Long> ids = personaRepository.findAll().stream().map(Persona::getId).collect(Collectors.toList());
+        // Una primera pasada llena la cache de nombres de catalogo; la cache de segundo nivel esta apagada en los tests
+        ids.forEach(id -> sentencias.de("GET", uri, () -> RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(uri, id)
+                .then()
+                .statusCode(HttpStatus.OK.value())));
+
+        //when
+        final List<Long> sentenciasPorPersona = ids.stream()
+                .map(id -> sentencias.de("GET", uri, () -> RestAssured.given()
+                        .port(randomServerPort)
+                        .when()
+                        .get(uri, id)
+                        .then()
+                        .statusCode(HttpStatus.OK.value())))
+                .collect(Collectors.toList());
+
+        //then: la persona con su usuario y una consulta por cada una de las cuatro colecciones
+        assertThat(sentenciasPorPersona).containsOnly(5L);
+    }
+
+    @Test
+    void getAllPersonas_ShouldRunTheSameStatementsRegardlessOfPersonasCount(SentenciasSql sentencias) {
+        //given
+        final long conDiez = sentenciasDeAll(sentencias, 10);
+        setUpFakeData();
+
+        //when
+        final long conVeinte = sentenciasDeAll(sentencias, 20);
+
+        //then: la pagina de personas con su usuario y un IN por cada una de las cuatro colecciones
+        assertThat(conDiez).isEqualTo(5L);
+        assertThat(conVeinte).isEqualTo(5L);
+    }
+
+    // Mide el segundo request: el primero llena la cache de nombres de catalogo
+    private long sentenciasDeAll(SentenciasSql sentencias, int personas) {
+        final String uri = API_URL + "/persona/all";
+        final Runnable all = () -> RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(uri)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("size()", is(personas));
+        sentencias.de("GET", uri, all);
+        return sentencias.de("GET", uri, all);
+    }
+
+    @Test
+    void updatePersona_ShouldRunAFixedNumberOfStatements(SentenciasSql sentencias) {
+        //given
+        final Persona personaInDb = personaRepository.findAll().get(0);
+        final PersonaDto dto = new PersonaDto("Jeremias", "Calvet", LocalDate.of(2000, 8, 27), Nacionalidades.ARGENTINA,
+                "jere_calvet@gmail.com", "acerca de test", "assets/imagen.jpg", "tester", null, null, null, null, null);
+        final String uri = API_URL + "/persona/update/{id}";
+        calentarNombresDeCatalogo(sentencias, personaInDb);
+
+        //when
+        final long cantidad = sentencias.de("PUT", uri, () -> autenticado(personaInDb)
+                .contentType(ContentType.JSON)
+                .body(dto)
+                .when()
+                .put(uri, personaInDb.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value()));
+
+        //then: la persona con su usuario, sus cuatro colecciones para la respuesta y el update
+        assertThat(cantidad).isEqualTo(6L);
+    }
+
+    @Test
+    void addTrabajo_ShouldRunAFixedNumberOfStatements(SentenciasSql sentencias) {
+        //given
+        final Persona personaInDb = personaRepository.findAll().get(0);
+        final Trabajo trabajoPersonaInDb = trabajoRepository.findAll().stream().filter(t -> t.getPersona().getId().equals(personaInDb.getId())).findFirst().get();
+        final TrabajoDto dto = new TrabajoDto(trabajoPersonaInDb.getEmpresa(), "tester", trabajoPersonaInDb.getLugar(),
+                LocalDate.of(2020, 1, 1), LocalDate.of(2021, 1, 1));
+        final String uri = API_URL + "/persona/add/{id}/trabajos/";
+        calentarNombresDeCatalogo(sentencias, personaInDb);
+
+        //when
+        final long cantidad = sentencias.de("POST", uri, () -> autenticado(personaInDb)
+                .contentType(ContentType.JSON)
+                .body(dto)
+                .when()
+                .post(uri, personaInDb.getId())
+                .then()
+                .statusCode(HttpStatus.CREATED.value()));
+
+        //then: la persona con su usuario, el id del trabajo (select y update de hibernate_sequence), las cuatro
+        // colecciones para la respuesta y el insert. Empresa y lugar ya estan registrados: el catalogo no consulta.
+        assertThat(cantidad).isEqualTo(8L);
+    }
+
+    @Test
+    void updateHabilidad_ShouldRunAFixedNumberOfStatements(SentenciasSql sentencias) {
+        //given
+        final Persona personaInDb = personaRepository.findAll().get(0);
+        final Habilidad habilidadPersonaInDb = habilidadRepository.findAll().stream().filter(h -> h.getPersona().getId().equals(personaInDb.getId())).findFirst().get();
+        final HabilidadDto dto = new HabilidadDto(habilidadPersonaInDb.getNombre(), 99, "actualizada");
+        final String uri = API_URL + "/persona/update/{id}/habilidades/{idHabilidad}";
+        calentarNombresDeCatalogo(sentencias, personaInDb);
+
+        //when
+        final long cantidad = sentencias.de("PUT", uri, () -> autenticado(personaInDb)
+                .contentType(ContentType.JSON)
+                .body(dto)
+                .when()
+                .put(uri, personaInDb.getId(), habilidadPersonaInDb.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value()));
+
+        //then: la persona con su usuario, sus cuatro colecciones para la respuesta y el update de la habilidad
+        assertThat(cantidad).isEqualTo(6L);
+    }
+
+    @Test
+    void removeHijos_ShouldRunAFixedNumberOfStatements(SentenciasSql sentencias) {
+        //given
+        final Persona personaInDb = personaRepository.findAll().get(0);
+        final Long personaId = personaInDb.getId();
+        final Long trabajoId = trabajoRepository.findAll().stream().filter(t -> t.getPersona().getId().equals(personaId)).findFirst().get().getId();
+        final Long estudioId = educacionRepository.findAll().stream().filter(e -> e.getPersona().getId().equals(personaId)).findFirst().get().getId();
+        final Long proyectoId = proyectoRepository.findAll().stream().filter(p -> p.getPersona().getId().equals(personaId)).findFirst().get().getId();
+        final Long habilidadId = habilidadRepository.findAll().stream().filter(h -> h.getPersona().getId().equals(personaId)).findFirst().get().getId();
+
+        //when
+        final long trabajo = sentenciasDeRemove(sentencias, personaInDb, "trabajos", "idTrabajo", trabajoId);
+        final long estudio = sentenciasDeRemove(sentencias, personaInDb, "estudios", "idEstudio", estudioId);
+        final long proyecto = sentenciasDeRemove(sentencias, personaInDb, "proyectos", "idProyecto", proyectoId);
+        final long habilidad = sentenciasDeRemove(sentencias, personaInDb, "habilidades", "idHabilidad", habilidadId);
+
+        //then: la persona con su usuario, solo la coleccion que cambia y el delete
+        assertThat(List.of(trabajo, estudio, proyecto, habilidad)).containsOnly(3L);
+    }
+
+    private long sentenciasDeRemove(SentenciasSql sentencias, Persona persona, String coleccion, String variable, Long hijoId) {
+        final String uri = String.format("%s/persona/remove/{id}/%s/{%s}", API_URL, coleccion, variable);
+        return sentencias.de("DELETE", uri, () -> autenticado(persona)
+                .when()
+                .delete(uri, persona.getId(), hijoId)
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value()));
+    }
+
+    // La respuesta lee los nombres de catalogo de la persona. Un GET previo los deja en la cache; si no, la cantidad
+    // dependeria de que textos repitio faker entre las personas del setUp.
+    private void calentarNombresDeCatalogo(SentenciasSql sentencias, Persona persona) {
+        final String uri = API_URL + "/persona/find/{id}";
+        sentencias.de("GET", uri, () -> RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(uri, persona.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value()));
+    }
+
+    private RequestSpecification autenticado(Persona persona) {
+        final String accessToken = JWT.create()
+                .withSubject(persona.getUsuario().getUsername())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000))
+                .withIssuer("integration test")
+                .withClaim("roles", List.of("ROLE_USER"))
+                .sign(jwtConfig.algorithmWithSecret());
+        return RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", String.format("Bearer %s", accessToken));
+    }
+
+    @Test
+    void getPersona_WithoutOpenSessionInView_ShouldReturnEveryCollectionInitialized() {
+        //given
+        final Long id = personaRepository.findAll().get(0).getId();
+
+        //when
+        final Persona persona = personaService.getPersona(id);
+        final List<Persona> personas = personaService.getAllPersonas();
+
+        //then
+        Stream.concat(Stream.of(persona), personas.stream()).forEach(p -> {
+            assertThat(List.of(p.getEstudios(), p.getHabilidades(), p.getExperienciasLaborales(), p.getProyectos()))
+                    .allMatch(Hibernate::isInitialized);
+            assertThat(p.getHabilidades()).hasSize(1);
+            assertThat(p.getExperienciasLaborales()).hasSize(1);
+        });
+    }
+
     @Test
     void getPersonById_WhenPersonaNotFound_ShouldReturnError() {
         //given
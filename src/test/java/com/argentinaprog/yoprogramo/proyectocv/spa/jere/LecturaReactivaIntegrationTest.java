@@ -0,0 +1,186 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.reactivo.LecturaReactivaLifecycle;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.auth0.jwt.JWT;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        "application.reactive.enabled=true",
+        "application.reactive.port=0"
+})
+class LecturaReactivaIntegrationTest extends AbstractContainerBaseTest {
+
+    private static final String API_PERSONA_URL = "/api/v1/persona";
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private LecturaReactivaLifecycle lecturaReactiva;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @LocalServerPort
+    int randomServerPort;
+
+    private WebTestClient reactivo;
+
+    private Persona persona;
+
+    @BeforeEach
+    void setUp() {
+        reactivo = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + lecturaReactiva.getPuerto())
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            var nuevaPersona = Persona.builder()
+                    .nombres("Nombre " + i)
+                    .apellidos("Apellido " + i)
+                    .fechaNacimiento(LocalDate.of(1990, 1, 1 + i))
+                    .nacionalidad(Nacionalidades.ARGENTINA)
+                    .email("persona" + i + "@test.com")
+                    .build();
+            var trabajo = Trabajo.builder().empresa("Empresa " + i).cargo("Cargo").desde(LocalDate.of(2015, 3, 1)).persona(nuevaPersona).build();
+            var estudio = Educacion.builder().institucion("UTN").titulo("Ingeniería").estado(ProgresoEducacion.CURSANDO).persona(nuevaPersona).build();
+            var habilidad = Habilidad.builder().nombre("Java").nivel(80).persona(nuevaPersona).build();
+            var proyecto = Proyecto.builder().nombre("Portfolio").descripcion("SPA").persona(nuevaPersona).build();
+            var usuario = Usuario.builder().username("persona" + i + "@test.com").password("password").persona(nuevaPersona).build();
+            nuevaPersona.setExperienciasLaborales(List.of(trabajo));
+            nuevaPersona.setEstudios(List.of(estudio));
+            nuevaPersona.setHabilidades(List.of(habilidad));
+            nuevaPersona.setProyectos(List.of(proyecto));
+            nuevaPersona.setUsuario(usuario);
+            persona = personaRepository.save(nuevaPersona);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        personaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void getPersona_ShouldReturnSameJsonAsServletEndpoint() {
+        final String servlet = getServlet(API_PERSONA_URL + "/find/" + persona.getId());
+
+        reactivo.get().uri(API_PERSONA_URL + "/find/{id}", persona.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json(servlet);
+    }
+
+    @Test
+    void getPersona_WhenIdIsNotANumber_ShouldReturn400LikeServletEndpoint() {
+        final String mensajeServlet = RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(API_PERSONA_URL + "/find/abc")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .extract()
+                .path("message");
+
+        reactivo.get().uri(API_PERSONA_URL + "/find/abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("message").isEqualTo(mensajeServlet);
+    }
+
+    @Test
+    void getPersona_WhenPersonaNotFound_ShouldReturn404() {
+        reactivo.get().uri(API_PERSONA_URL + "/find/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("message").isEqualTo(String.format("Persona id %d no encontrada.", Long.MAX_VALUE));
+    }
+
+    @Test
+    void getAllPersonas_ShouldReturnSameJsonArrayAsServletEndpoint() {
+        final String servlet = getServlet(API_PERSONA_URL + "/all");
+
+        reactivo.get().uri(API_PERSONA_URL + "/all")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().json(servlet);
+    }
+
+    @Test
+    void getAllPersonas_WhenNdjsonIsAccepted_ShouldStreamOnePersonaPerLine() {
+        final List<Persona> personas = reactivo.get().uri(API_PERSONA_URL + "/all")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Persona.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(personas).hasSize(3);
+        assertThat(personas).allSatisfy(p -> assertThat(p.getHabilidades()).hasSize(1));
+    }
+
+    @Test
+    void currentPersona_WhenTokenIsValid_ShouldReturnPersonaOfUser() {
+        final String accessToken = JWT.create()
+                .withSubject(persona.getUsuario().getUsername())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .withClaim("roles", List.of("ROLE_USER"))
+                .sign(jwtConfig.algorithmWithSecret());
+
+        reactivo.get().uri(API_PERSONA_URL + "/current")
+                .header("Authorization", "Bearer " + accessToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("id").isEqualTo(persona.getId().intValue());
+    }
+
+    @Test
+    void currentPersona_WhenUnauthenticated_ShouldReturnAccepted() {
+        reactivo.get().uri(API_PERSONA_URL + "/current")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.ACCEPTED)
+                .expectBody()
+                .jsonPath("message").isEqualTo("Usuario no encontrado.");
+    }
+
+    private String getServlet(String path) {
+        return RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(path)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .asString();
+    }
+}
@@ -0,0 +1,45 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// LOCAL VERIFICATION HARNESS ONLY - never committed. One database per "container" on a local MariaDB.
+public class LocalMySQLContainer extends MySQLContainer<LocalMySQLContainer> {
+
+    private static final AtomicInteger SIGUIENTE = new AtomicInteger();
+    private static final String SERVIDOR = "jdbc:mysql://127.0.0.1:" + System.getProperty("harness.port", "3310") + "/";
+    private final String base = "h" + SIGUIENTE.incrementAndGet();
+
+    public LocalMySQLContainer() {
+        super("mysql:8.0.30");
+    }
+
+    @Override
+    public void start() {
+        try (Connection c = DriverManager.getConnection(SERVIDOR, "root", "testPassword"); Statement s = c.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + base);
+            s.execute("CREATE DATABASE " + base + " CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String getJdbcUrl() {
+        return SERVIDOR + base;
+    }
+
+    @Override
+    public String getUsername() {
+        return "testUser";
+    }
+
+    @Override
+    public String getPassword() {
+        return "testPassword";
+    }
+}
@@ -0,0 +1,369 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.auth0.jwt.JWT;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Varios clientes modifican los mismos agregados a la vez (addTrabajo, updateHabilidad, removeProyecto y
+ * updatePersona sobre pocas personas) y al final se verifican los invariantes directamente en la base: cada alta
+ * confirmada esta una sola vez, ninguna fallida quedo escrita, cada baja confirmada desaparecio, cada fila refleja
+ * una escritura confirmada completa y no hay hijos huerfanos. Las respuestas 409 y 5xx (deadlocks, filas que cambiaron
+ * debajo de la sesion) se reintentan y se cuentan como conflictos. Tambien deja ops/s y tasas de conflicto en
+ * target/benchmark/mutaciones-concurrentes.json; con -Destres.hilos, -Destres.operaciones y -Destres.personas
+ * sirve como benchmark de contencion.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class MutacionesConcurrentesIntegrationTest extends AbstractContainerBaseTest {
+
+    private static final int HILOS = Integer.getInteger("estres.hilos", 8);
+    private static final int OPERACIONES = Integer.getInteger("estres.operaciones", 400);
+    private static final int PERSONAS = Integer.getInteger("estres.personas", 1);
+    private static final int REINTENTOS = Integer.getInteger("estres.reintentos", 5);
+    private static final int HABILIDADES_POR_PERSONA = 5;
+    private static final int TRABAJOS_INICIALES = 2;
+    private static final Path SALIDA = Path.of("target", "benchmark", "mutaciones-concurrentes.json");
+    private static final String API_URL = "/api/v1";
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @LocalServerPort
+    int randomServerPort;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newHttpClient();
+    private String accessToken;
+
+    @AfterEach
+    void tearDown() {
+        personaRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentMutations_ShouldKeepEveryAggregateConsistent() throws Exception {
+        //given
+        final List<Agregado> agregados = IntStream.range(0, PERSONAS)
+                .mapToObj(i -> sembrar())
+                .collect(Collectors.toList());
+        accessToken = JWT.create()
+                .withSubject("estres@test.com")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000))
+                .withIssuer("integration test")
+                .withClaim("roles", List.of("ROLE_USER"))
+                .sign(jwtConfig.algorithmWithSecret());
+        final Estadisticas estadisticas = new Estadisticas();
+
+        //when
+        final ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        final CountDownLatch largada = new CountDownLatch(1);
+        final List<Future<?>> clientes = new ArrayList<>();
+        for (int hilo = 0; hilo < HILOS; hilo++) {
+            final int numero = hilo;
+            clientes.add(hilos.submit(() -> {
+                largada.await();
+                cliente(numero, agregados, estadisticas);
+                return null;
+            }));
+        }
+        final long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> cliente : clientes) {
+            cliente.get();
+        }
+        final long duracionNanos = System.nanoTime() - inicio;
+        hilos.shutdown();
+        reportar(estadisticas, duracionNanos);
+
+        //then
+        assertThat(estadisticas.rechazadas.sum()).as("operaciones rechazadas con 4xx").isZero();
+        assertThat(estadisticas.confirmadas.sum()).isPositive();
+        agregados.forEach(this::verificarInvariantes);
+        for (String tabla : List.of("educacion", "habilidad", "trabajo", "proyecto")) {
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabla + " h LEFT JOIN persona p ON p.id = h.persona_id WHERE p.id IS NULL", Long.class))
+                    .as("filas huerfanas en %s", tabla)
+                    .isZero();
+        }
+    }
+
+    // ------------------- Carga -----------------------------
+
+    private void cliente(int hilo, List<Agregado> agregados, Estadisticas estadisticas) {
+        final Random random = new Random(hilo);
+        for (int n = 0; n < OPERACIONES / HILOS; n++) {
+            final Agregado agregado = agregados.get(random.nextInt(agregados.size()));
+            final String marca = "estres-" + hilo + "-" + n;
+            switch (random.nextInt(4)) {
+                case 0:
+                    agregarTrabajo(agregado, marca, estadisticas);
+                    break;
+                case 1:
+                    final Long idProyecto = agregado.proyectosPorQuitar.poll();
+                    if (idProyecto != null) {
+                        quitarProyecto(agregado, idProyecto, estadisticas);
+                        break;
+                    }
+                    actualizarHabilidad(agregado, marca, random, estadisticas);
+                    break;
+                case 2:
+                    actualizarHabilidad(agregado, marca, random, estadisticas);
+                    break;
+                default:
+                    actualizarPersona(agregado, marca, estadisticas);
+            }
+        }
+    }
+
+    private void agregarTrabajo(Agregado agregado, String marca, Estadisticas estadisticas) {
+        final boolean confirmada = ejecutar("addTrabajo", estadisticas, () -> request("/persona/add/" + agregado.id + "/trabajos/")
+                .POST(json(Map.of("empresa", "Estres", "cargo", marca, "lugar", "Rosario"))));
+        (confirmada ? agregado.trabajosAgregados : agregado.trabajosFallidos).add(marca);
+    }
+
+    private void quitarProyecto(Agregado agregado, Long idProyecto, Estadisticas estadisticas) {
+        final boolean confirmada = ejecutar("removeProyecto", estadisticas, () -> request("/persona/remove/" + agregado.id + "/proyectos/" + idProyecto)
+                .DELETE());
+        if (confirmada) {
+            agregado.proyectosQuitados.add(idProyecto);
+        }
+    }
+
+    private void actualizarHabilidad(Agregado agregado, String marca, Random random, Estadisticas estadisticas) {
+        final Long idHabilidad = agregado.habilidades.get(random.nextInt(agregado.habilidades.size()));
+        final int nivel = 1 + random.nextInt(100);
+        final boolean confirmada = ejecutar("updateHabilidad", estadisticas, () -> request("/persona/update/" + agregado.id + "/habilidades/" + idHabilidad)
+                .PUT(json(Map.of("nombre", "Java", "nivel", nivel, "descripcion", marca))));
+        if (confirmada) {
+            agregado.escriturasHabilidad.computeIfAbsent(idHabilidad, id -> ConcurrentHashMap.newKeySet()).add(nivel + "|" + marca);
+        }
+    }
+
+    // Sin listas: el mapper deja los hijos como estan y solo cambian los campos propios de la persona
+    private void actualizarPersona(Agregado agregado, String marca, Estadisticas estadisticas) {
+        final boolean confirmada = ejecutar("updatePersona", estadisticas, () -> request("/persona/update/" + agregado.id)
+                .PUT(json(Map.of("nombres", "Nombre " + marca, "apellidos", "Apellido " + marca, "ocupacion", marca, "descripcion", marca))));
+        if (confirmada) {
+            agregado.escriturasPersona.add(marca);
+        }
+    }
+
+    private boolean ejecutar(String operacion, Estadisticas estadisticas, java.util.function.Supplier<HttpRequest.Builder> request) {
+        for (int intento = 0; intento <= REINTENTOS; intento++) {
+            if (intento > 0) {
+                estadisticas.reintentos.increment();
+                esperar(intento);
+            }
+            final int estado = enviar(request.get().build());
+            if (estado < 300) {
+                estadisticas.confirmadas.increment();
+                estadisticas.porOperacion.computeIfAbsent(operacion, o -> new LongAdder()).increment();
+                return true;
+            }
+            if (estado != 409 && estado < 500) {
+                log.warn("{} rechazada con {}", operacion, estado);
+                estadisticas.rechazadas.increment();
+                return false;
+            }
+            estadisticas.conflictos.increment();
+            estadisticas.conflictosPorOperacion.computeIfAbsent(operacion, o -> new LongAdder()).increment();
+        }
+        estadisticas.agotadas.increment();
+        return false;
+    }
+
+    private int enviar(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 599;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Espera exponencial con jitter para no volver a chocar en el mismo orden
+    private static void esperar(int intento) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(1, 5 << intento));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ------------------- Invariantes -----------------------------
+
+    private void verificarInvariantes(Agregado agregado) {
+        final List<String> cargos = jdbcTemplate.queryForList("SELECT cargo FROM trabajo WHERE persona_id = ?", String.class, agregado.id);
+        assertThat(cargos).as("trabajos de la persona %d", agregado.id)
+                .hasSize(TRABAJOS_INICIALES + agregado.trabajosAgregados.size())
+                .containsAll(agregado.trabajosAgregados)
+                .doesNotHaveDuplicates()
+                // doesNotContainAnyElementsOf no acepta una lista vacia, y sin fallidos lo esta
+                .noneMatch(agregado.trabajosFallidos::contains);
+
+        final Set<Long> proyectosEsperados = new HashSet<>(agregado.proyectosIniciales);
+        proyectosEsperados.removeAll(agregado.proyectosQuitados);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM proyecto WHERE persona_id = ?", Long.class, agregado.id))
+                .as("proyectos de la persona %d", agregado.id)
+                .containsExactlyInAnyOrderElementsOf(proyectosEsperados);
+
+        final Map<Long, String> habilidades = new HashMap<>();
+        jdbcTemplate.query("SELECT id, porcentaje, obs FROM habilidad WHERE persona_id = ?",
+                rs -> {
+                    habilidades.put(rs.getLong("id"), rs.getInt("porcentaje") + "|" + rs.getString("obs"));
+                }, agregado.id);
+        assertThat(habilidades.keySet()).containsExactlyInAnyOrderElementsOf(agregado.habilidades);
+        habilidades.forEach((id, valor) -> {
+            final Set<String> escrituras = agregado.escriturasHabilidad.get(id);
+            if (escrituras == null) {
+                assertThat(valor).as("habilidad %d sin escrituras confirmadas", id).isEqualTo(agregado.habilidadesIniciales.get(id));
+            } else {
+                assertThat(escrituras).as("habilidad %d refleja una escritura confirmada completa", id).contains(valor);
+            }
+        });
+
+        final Map<String, Object> persona = jdbcTemplate.queryForMap("SELECT nombres, apellidos, ocupacion, descripcion FROM persona WHERE id = ?", agregado.id);
+        if (!agregado.escriturasPersona.isEmpty()) {
+            final String marca = (String) persona.get("ocupacion");
+            assertThat(agregado.escriturasPersona).as("persona %d refleja una escritura confirmada", agregado.id).contains(marca);
+            assertThat(persona).as("persona %d sin campos de escrituras distintas", agregado.id)
+                    .containsEntry("nombres", "Nombre " + marca)
+                    .containsEntry("apellidos", "Apellido " + marca)
+                    .containsEntry("descripcion", marca);
+        }
+    }
+
+    // ------------------- Datos y reporte -----------------------------
+
+    private Agregado sembrar() {
+        final var persona = Persona.builder()
+                .nombres("Estres")
+                .apellidos("Concurrente")
+                .ocupacion("inicial")
+                .descripcion("inicial")
+                .build();
+        persona.setHabilidades(IntStream.range(0, HABILIDADES_POR_PERSONA)
+                .mapToObj(i -> Habilidad.builder().nombre("Java").nivel(50).descripcion("inicial-" + i).persona(persona).build())
+                .collect(Collectors.toList()));
+        persona.setExperienciasLaborales(IntStream.range(0, TRABAJOS_INICIALES)
+                .mapToObj(i -> Trabajo.builder().empresa("Inicial").cargo("inicial-" + i).persona(persona).build())
+                .collect(Collectors.toList()));
+        // Alcanza para que todas las bajas encuentren un proyecto aunque todas caigan en la misma persona
+        persona.setProyectos(IntStream.range(0, OPERACIONES / 4 + 1)
+                .mapToObj(i -> Proyecto.builder().nombre("Proyecto " + i).descripcion("inicial").persona(persona).build())
+                .collect(Collectors.toList()));
+        final Persona guardada = personaRepository.save(persona);
+
+        final var agregado = new Agregado(guardada.getId());
+        guardada.getHabilidades().forEach(habilidad -> {
+            agregado.habilidades.add(habilidad.getId());
+            agregado.habilidadesIniciales.put(habilidad.getId(), habilidad.getNivel() + "|" + habilidad.getDescripcion());
+        });
+        guardada.getProyectos().forEach(proyecto -> agregado.proyectosIniciales.add(proyecto.getId()));
+        agregado.proyectosPorQuitar.addAll(agregado.proyectosIniciales);
+        return agregado;
+    }
+
+    private HttpRequest.Builder request(String ruta) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + randomServerPort + API_URL + ruta))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + accessToken);
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, Object> cuerpo) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(cuerpo));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void reportar(Estadisticas estadisticas, long duracionNanos) throws IOException {
+        final double segundos = duracionNanos / 1_000_000_000.0;
+        final long intentos = estadisticas.confirmadas.sum() + estadisticas.rechazadas.sum() + estadisticas.conflictos.sum();
+        final Map<String, Object> reporte = new LinkedHashMap<>();
+        reporte.put("hilos", HILOS);
+        reporte.put("personas", PERSONAS);
+        reporte.put("operaciones", OPERACIONES / HILOS * HILOS);
+        reporte.put("confirmadas", estadisticas.confirmadas.sum());
+        reporte.put("rechazadas", estadisticas.rechazadas.sum());
+        reporte.put("agotadas", estadisticas.agotadas.sum());
+        reporte.put("conflictos", estadisticas.conflictos.sum());
+        reporte.put("reintentos", estadisticas.reintentos.sum());
+        reporte.put("tasaConflictos", intentos == 0 ? 0 : (double) estadisticas.conflictos.sum() / intentos);
+        reporte.put("opsPorSegundo", estadisticas.confirmadas.sum() / segundos);
+        reporte.put("confirmadasPorOperacion", sumas(estadisticas.porOperacion));
+        reporte.put("conflictosPorOperacion", sumas(estadisticas.conflictosPorOperacion));
+        log.info("Mutaciones concurrentes: {}", reporte);
+        Files.createDirectories(SALIDA.getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(SALIDA.toFile(), reporte);
+    }
+
+    private static Map<String, Long> sumas(Map<String, LongAdder> contadores) {
+        return new TreeMap<>(contadores.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, contador -> contador.getValue().sum())));
+    }
+
+    private static final class Agregado {
+
+        private final Long id;
+        private final List<Long> habilidades = new ArrayList<>();
+        private final Map<Long, String> habilidadesIniciales = new HashMap<>();
+        private final List<Long> proyectosIniciales = new ArrayList<>();
+        private final Queue<Long> proyectosPorQuitar = new ConcurrentLinkedQueue<>();
+        private final Set<Long> proyectosQuitados = ConcurrentHashMap.newKeySet();
+        private final Set<String> trabajosAgregados = ConcurrentHashMap.newKeySet();
+        private final Set<String> trabajosFallidos = ConcurrentHashMap.newKeySet();
+        private final Map<Long, Set<String>> escriturasHabilidad = new ConcurrentHashMap<>();
+        private final Set<String> escriturasPersona = ConcurrentHashMap.newKeySet();
+
+        private Agregado(Long id) {
+            this.id = id;
+        }
+    }
+
+    private static final class Estadisticas {
+
+        private final LongAdder confirmadas = new LongAdder();
+        private final LongAdder rechazadas = new LongAdder();
+        private final LongAdder agotadas = new LongAdder();
+        private final LongAdder conflictos = new LongAdder();
+        private final LongAdder reintentos = new LongAdder();
+        private final Map<String, LongAdder> porOperacion = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> conflictosPorOperacion = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,100 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.PersonaDto;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Con la cache de respuestas y la de segundo nivel activas: lo que un anonimo lee de la replica atrasada no puede
+ * quedar cacheado, porque el que escribio tambien lee de esas caches.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        "application.replicas.enabled=true",
+        "application.replicas.gtid=true",
+        "application.replicas.ventana-lecturas-propias=10m",
+        "application.reactive.enabled=false",
+        "application.cache.respuestas.enabled=true",
+        "application.busqueda.enabled=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true"
+})
+class ReplicasCacheIntegrationTest extends AbstractReplicasContainerTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void staleReplicaReads_ShouldNotFillTheSharedCaches() {
+        //given: una persona que la replica ya tiene
+        final String token = registrarYLoguear("cache-replicas@test.com", "cache-password");
+        final long id = RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", "Bearer " + token)
+                .contentType(ContentType.JSON)
+                .body(Map.of("nombres", "Antes", "apellidos", "Cacheada"))
+                .when()
+                .post(API_URL + "/persona/add")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract().jsonPath().getLong("id");
+        esperarReplica();
+        detenerReplica();
+
+        //when: se modifica con la replica detenida y la entidad sale de la cache de segundo nivel
+        RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", "Bearer " + token)
+                .contentType(ContentType.JSON)
+                .body(new PersonaDto("Despues", "Cacheada", null, null, null, null, null, null, null, null, null, null, null))
+                .when()
+                .put(API_URL + "/persona/update/" + id)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        entityManagerFactory.getCache().evict(Persona.class, id);
+
+        //then: el anonimo lee la version vieja de la replica, pero no queda ni en la cache de respuestas ni en la de entidades
+        buscar(RestAssured.given(), id).body("nombres", is("Antes")).header("X-Cache", "MISS");
+        buscar(RestAssured.given(), id).body("nombres", is("Antes")).header("X-Cache", "MISS");
+        assertThat(entityManagerFactory.getCache().contains(Persona.class, id)).isFalse();
+
+        //then: el que escribio lee su escritura por las dos caches
+        RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", "Bearer " + token)
+                .when()
+                .get(API_URL + "/persona/current")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("nombres", is("Despues"));
+        buscar(RestAssured.given().header("Authorization", "Bearer " + token), id).body("nombres", is("Despues"));
+
+        //when
+        iniciarReplica();
+        esperarReplica();
+
+        //then: la respuesta que quedo es la de la primaria
+        buscar(RestAssured.given(), id).body("nombres", is("Despues")).header("X-Cache", "HIT");
+    }
+
+    private ValidatableResponse buscar(RequestSpecification request, long id) {
+        return request
+                .port(randomServerPort)
+                .when()
+                .get(API_URL + "/persona/find/" + id)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+    }
+}
@@ -0,0 +1,108 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Deteniendo el hilo SQL de la replica se ve a donde fue cada lectura: un anonimo lee la replica atrasada y el usuario
+ * que escribio lee la primaria hasta que la replica aplica su escritura.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        "application.replicas.enabled=true",
+        "application.replicas.gtid=true",
+        "application.replicas.ventana-lecturas-propias=10m",
+        "application.reactive.enabled=false",
+        "application.cache.respuestas.enabled=false",
+        "application.busqueda.enabled=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+class ReplicasIntegrationTest extends AbstractReplicasContainerTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void reads_ShouldGoToTheReplica_ButTheWriterShouldReadItsOwnWritesUntilTheReplicaCatchesUp() {
+        //given
+        final String token = registrarYLoguear("replicas@test.com", "replicas-password");
+        esperarReplica();
+        detenerReplica();
+
+        //when
+        final int id = RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", "Bearer " + token)
+                .contentType(ContentType.JSON)
+                .body(Map.of("nombres", "Lectura", "apellidos", "Propia"))
+                .when()
+                .post(API_URL + "/persona/add")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract().path("id");
+
+        //then: la replica todavia no la tiene, el anonimo no la ve y quien la creo si
+        RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(API_URL + "/persona/find/" + id)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+        final double lecturasPropiasAntes = contador("primaria", "lectura-propia");
+        personaActual(token, id);
+        assertThat(contador("primaria", "lectura-propia")).isEqualTo(lecturasPropiasAntes + 1);
+
+        //when
+        iniciarReplica();
+        esperarReplica();
+
+        //then: con el GTID aplicado vuelven a leer de la replica, dentro de la ventana
+        final double alDiaAntes = contador("replica", "replica-al-dia");
+        personaActual(token, id);
+        assertThat(contador("replica", "replica-al-dia")).isEqualTo(alDiaAntes + 1);
+        RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(API_URL + "/persona/find/" + id)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("nombres", is("Lectura"));
+    }
+
+    @Test
+    void writes_ShouldNeverReachTheReplica() {
+        //given
+        final double escriturasAntes = contador("primaria", "escritura");
+
+        //when
+        registrarYLoguear("escritura@test.com", "escritura-password");
+
+        //then: la replica es read_only, si el registro o el login hubieran ido ahi fallarian
+        assertThat(contador("primaria", "escritura")).isGreaterThan(escriturasAntes);
+    }
+
+    private void personaActual(String token, int id) {
+        RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", "Bearer " + token)
+                .when()
+                .get(API_URL + "/persona/current")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", is(id));
+    }
+
+    private double contador(String destino, String motivo) {
+        return meterRegistry.counter("datasource.enrutamiento", "destino", destino, "motivo", motivo).count();
+    }
+}
@@ -0,0 +1,161 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.PersonaDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.security.JwtConfig;
+import com.auth0.jwt.JWT;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static io.restassured.config.DecoderConfig.decoderConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = "application.cache.respuestas.enabled=true")
+class RespuestaCacheIntegrationTest extends AbstractContainerBaseTest {
+
+    private static final String API_PERSONA_URL = "/api/v1/persona";
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    @LocalServerPort
+    int randomServerPort;
+
+    private Persona persona;
+
+    @BeforeEach
+    void setUp() {
+        var nuevaPersona = Persona.builder()
+                .nombres("Jeremías")
+                .apellidos("Calvet")
+                .fechaNacimiento(LocalDate.of(1990, 1, 1))
+                .nacionalidad(Nacionalidades.ARGENTINA)
+                .email("jere@test.com")
+                .build();
+        var usuario = Usuario.builder().username("jere@test.com").password("password").persona(nuevaPersona).build();
+        nuevaPersona.setUsuario(usuario);
+        persona = personaRepository.save(nuevaPersona);
+    }
+
+    @AfterEach
+    void tearDown() {
+        personaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void getPersona_WhenRequestedTwice_ShouldServeSecondFromCache() {
+        get(API_PERSONA_URL + "/find/" + persona.getId(), "identity")
+                .then()
+                .header("X-Cache", "MISS");
+
+        get(API_PERSONA_URL + "/find/" + persona.getId(), "identity")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(ContentType.JSON)
+                .header("X-Cache", "HIT")
+                .header("Content-Encoding", nullValue())
+                .body("nombres", is("Jeremías"));
+    }
+
+    @Test
+    void getPersona_WhenGzipIsAccepted_ShouldServePrecompressedVariant() throws IOException {
+        final String identidad = get(API_PERSONA_URL + "/find/" + persona.getId(), "identity").asString();
+
+        final Response gzip = get(API_PERSONA_URL + "/find/" + persona.getId(), "gzip");
+
+        assertThat(gzip.getHeader("X-Cache")).isEqualTo("HIT");
+        assertThat(gzip.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gzip.getHeaders().getValues("Vary")).contains("Accept-Encoding");
+        assertThat(descomprimir(gzip.asByteArray())).isEqualTo(identidad);
+    }
+
+    @Test
+    void getPersona_WhenPersonaNotFound_ShouldNotBeCached() {
+        get(API_PERSONA_URL + "/find/" + Long.MAX_VALUE, "identity")
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+
+        get(API_PERSONA_URL + "/find/" + Long.MAX_VALUE, "identity")
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value())
+                .header("X-Cache", nullValue());
+    }
+
+    @Test
+    void updatePersona_ShouldPurgeCachedResponsesOfPersona() {
+        get(API_PERSONA_URL + "/find/" + persona.getId(), "gzip");
+        get(API_PERSONA_URL + "/all", "gzip");
+        final var personaDto = new PersonaDto("Jere", "Calvet", LocalDate.of(1990, 1, 1), Nacionalidades.ARGENTINA,
+                "jere@test.com", "nueva descripción", null, "tester", null, null, null, null, null);
+
+        RestAssured.given()
+                .port(randomServerPort)
+                .contentType(ContentType.JSON)
+                .header("Authorization", String.format("Bearer %s", accessToken()))
+                .body(personaDto)
+                .when()
+                .put(API_PERSONA_URL + "/update/" + persona.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        get(API_PERSONA_URL + "/find/" + persona.getId(), "identity")
+                .then()
+                .header("X-Cache", "MISS")
+                .body("nombres", is("Jere"))
+                .body("descripcion", is("nueva descripción"));
+        get(API_PERSONA_URL + "/all", "identity")
+                .then()
+                .header("X-Cache", "MISS")
+                .body("nombres", hasItem("Jere"));
+    }
+
+    private Response get(String path, String acceptEncoding) {
+        return RestAssured.given()
+                .port(randomServerPort)
+                .config(RestAssured.config().decoderConfig(decoderConfig().noContentDecoders()))
+                .header("Accept-Encoding", acceptEncoding)
+                .when()
+                .get(path);
+    }
+
+    private static String descomprimir(byte[] gzip) throws IOException {
+        try (var entrada = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String accessToken() {
+        return JWT.create()
+                .withSubject(persona.getUsuario().getUsername())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .withClaim("roles", List.of("ROLE_USER"))
+                .sign(jwtConfig.algorithmWithSecret());
+    }
+}
@@ -0,0 +1,49 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cuenta las sentencias SQL que ejecuto un request a partir de la distribucion "hibernate.request.statements"
+ * que publica SentenciasPorRequestFilter. Se obtiene como parametro del test con {@link SentenciasSqlExtension}.
+ */
+public class SentenciasSql {
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(5);
+
+    private final MeterRegistry meterRegistry;
+
+    SentenciasSql(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Ejecuta un unico request al endpoint y devuelve cuantas sentencias SQL genero.
+     */
+    public long de(String method, String uri, Runnable request) {
+        final DistributionSummary summary = DistributionSummary.builder("hibernate.request.statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+        final long requestsAntes = summary.count();
+        final double sentenciasAntes = summary.totalAmount();
+
+        request.run();
+
+        // El filtro registra despues de escribir la respuesta: el cliente puede terminar de leerla antes
+        final long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        while (summary.count() == requestsAntes) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError(String.format("No se registro ningun request a %s %s", method, uri));
+            }
+            LockSupport.parkNanos(Duration.ofMillis(5).toNanos());
+        }
+        if (summary.count() != requestsAntes + 1) {
+            throw new AssertionError(String.format("Se esperaba un request a %s %s y hubo %d", method, uri, summary.count() - requestsAntes));
+        }
+        return Math.round(summary.totalAmount() - sentenciasAntes);
+    }
+}
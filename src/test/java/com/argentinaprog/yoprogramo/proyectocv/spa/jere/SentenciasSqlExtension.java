@@ -0,0 +1,24 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Inyecta {@link SentenciasSql} en los tests de integracion para fijar la cantidad exacta de consultas por endpoint:
+ * un N+1 nuevo hace fallar el build en vez de aparecer en produccion.
+ */
+public class SentenciasSqlExtension implements ParameterResolver {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SentenciasSql.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return new SentenciasSql(SpringExtension.getApplicationContext(extensionContext).getBean(MeterRegistry.class));
+    }
+}
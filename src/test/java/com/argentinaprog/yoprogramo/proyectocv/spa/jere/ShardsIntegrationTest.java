@@ -0,0 +1,256 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.RebalanceoShards;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.ShardsDataSource;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Tres bases independientes como shards. Se verifica donde quedo cada fila mirando cada base por separado.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        "application.shards.enabled=true",
+        "application.reactive.enabled=false",
+        "application.cache.respuestas.enabled=false",
+        "application.busqueda.enabled=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+class ShardsIntegrationTest {
+
+    private static final List<MySQLContainer<?>> SHARDS = List.of(contenedor(), contenedor(), contenedor());
+    private static final List<String> TABLAS = List.of("imagen_variante_trabajo", "usuario", "educacion", "habilidad", "trabajo", "proyecto", "persona");
+    private static final String API_URL = "/api/v1";
+
+    static {
+        SHARDS.forEach(MySQLContainer::start);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Shards shards;
+
+    @Autowired
+    private RebalanceoShards rebalanceo;
+
+    @LocalServerPort
+    int randomServerPort;
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", SHARDS.get(0)::getJdbcUrl);
+        registry.add("spring.datasource.username", SHARDS.get(0)::getUsername);
+        registry.add("spring.datasource.password", SHARDS.get(0)::getPassword);
+        for (int i = 0; i < SHARDS.size(); i++) {
+            registry.add("application.shards.urls[" + i + "]", SHARDS.get(i)::getJdbcUrl);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.nombres().forEach(shard -> TABLAS.forEach(tabla -> jdbc(shard).update("DELETE FROM " + tabla)));
+    }
+
+    @Test
+    void personas_ShouldLiveOnlyInTheShardOfTheirId() {
+        //given
+        final Map<Long, String> usuarios = new HashMap<>();
+        for (int i = 0; i < 12; i++) {
+            final String username = "shard" + i + "@test.com";
+            final String token = registrarYLoguear(username, "shard-password");
+            final long id = crearPersona(token, "Persona" + i);
+            agregarTrabajo(token, id, "Empresa " + (i % 3));
+            usuarios.put(id, username);
+        }
+
+        //then: la persona, sus hijos y su usuario estan en un solo shard, el de su id
+        usuarios.forEach((id, username) -> {
+            final String esperado = shards.dePersona(id);
+            shards.nombres().forEach(shard -> {
+                final int filas = esperado.equals(shard) ? 1 : 0;
+                assertThat(contar(shard, "SELECT COUNT(*) FROM persona WHERE id = ?", id)).isEqualTo(filas);
+                assertThat(contar(shard, "SELECT COUNT(*) FROM trabajo WHERE persona_id = ?", id)).isEqualTo(filas);
+                assertThat(contar(shard, "SELECT COUNT(*) FROM usuario WHERE username = ?", username)).isEqualTo(filas);
+            });
+        });
+        assertThat(usuarios.keySet().stream().map(shards::dePersona).distinct().count()).isGreaterThan(1);
+
+        //then: /all junta todos los shards y los ids no se repiten entre bases
+        final List<Long> todas = RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(API_URL + "/persona/all")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().jsonPath().getList("id", Long.class);
+        assertThat(todas).containsExactlyInAnyOrderElementsOf(usuarios.keySet());
+        final List<Long> trabajos = shards.nombres().stream()
+                .flatMap(shard -> jdbc(shard).queryForList("SELECT id FROM trabajo", Long.class).stream())
+                .collect(Collectors.toList());
+        assertThat(trabajos).hasSize(usuarios.size()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void rebalancear_ShouldMoveAggregatesToTheShardOfTheirId() {
+        //given: una persona en el primer shard con un id que el anillo le asigna a otro (como despues de agregar un shard)
+        final String origen = shards.nombres().get(0);
+        final long id = LongStream.iterate(1_000_000L, i -> i + 1)
+                .filter(i -> !shards.dePersona(i).equals(origen))
+                .findFirst()
+                .getAsLong();
+        final String destino = shards.dePersona(id);
+        final JdbcTemplate jdbcOrigen = jdbc(origen);
+        jdbcOrigen.update("INSERT INTO persona (id, nombres, apellidos) VALUES (?, ?, ?)", id, "Movida", "DeShard");
+        jdbcOrigen.update("INSERT INTO usuario (id, enabled, locked, password, username, persona_id) VALUES (?, 1, 0, ?, ?, ?)",
+                id + 1, "sin-login", "movida@test.com", id);
+        jdbcOrigen.update("INSERT IGNORE INTO empresa (nombre, clave) VALUES (?, ?)", "Rebalanceada SA", "rebalanceada sa");
+        final Long empresaId = jdbcOrigen.queryForObject("SELECT id FROM empresa WHERE nombre = ?", Long.class, "Rebalanceada SA");
+        jdbcOrigen.update("INSERT INTO trabajo (id, cargo, empresa_id, persona_id) VALUES (?, ?, ?, ?)", id + 2, "Dev", empresaId, id);
+        buscarPersona(id).statusCode(HttpStatus.NOT_FOUND.value());
+
+        //when
+        final Map<String, Integer> movidos = rebalanceo.rebalancear();
+
+        //then
+        assertThat(movidos).containsEntry(origen, 1);
+        assertThat(contar(origen, "SELECT COUNT(*) FROM persona WHERE id = ?", id)).isZero();
+        assertThat(contar(origen, "SELECT COUNT(*) FROM usuario WHERE persona_id = ?", id)).isZero();
+        assertThat(contar(destino, "SELECT COUNT(*) FROM persona WHERE id = ?", id)).isEqualTo(1);
+        assertThat(contar(destino, "SELECT COUNT(*) FROM usuario WHERE persona_id = ?", id)).isEqualTo(1);
+        // El catalogo de empresas es de cada base: el id cambia, el nombre no
+        assertThat(jdbc(destino).queryForObject("SELECT e.nombre FROM trabajo t JOIN empresa e ON e.id = t.empresa_id WHERE t.persona_id = ?",
+                String.class, id)).isEqualTo("Rebalanceada SA");
+        buscarPersona(id)
+                .statusCode(HttpStatus.OK.value())
+                .body("nombres", is("Movida"))
+                .body("experienciasLaborales[0].empresa", is("Rebalanceada SA"));
+
+        //then: ya esta todo en su lugar
+        assertThat(rebalanceo.rebalancear().values()).containsOnly(0);
+    }
+
+    @Test
+    void login_WhenAnotherInstanceMovedTheUser_ShouldFindItInItsNewShard() {
+        //given: el directorio de esta instancia ya ubico al usuario
+        final String username = "movido@test.com";
+        registrarYLoguear(username, "movido-password");
+        final String origen = shards.nombres().stream()
+                .filter(shard -> contar(shard, "SELECT COUNT(*) FROM usuario WHERE username = ?", username) == 1)
+                .findFirst()
+                .orElseThrow();
+        final String destino = shards.nombres().stream().filter(shard -> !shard.equals(origen)).findFirst().orElseThrow();
+
+        //when: otra instancia lo mueve sin pasar por este directorio
+        final Map<String, Object> usuario = jdbc(origen).queryForMap("SELECT id, enabled, locked, password, username FROM usuario WHERE username = ?", username);
+        jdbc(destino).update("INSERT INTO usuario (id, enabled, locked, password, username) VALUES (?, ?, ?, ?, ?)",
+                usuario.get("id"), usuario.get("enabled"), usuario.get("locked"), usuario.get("password"), usuario.get("username"));
+        jdbc(origen).update("DELETE FROM usuario WHERE username = ?", username);
+
+        //then
+        loguear(username, "movido-password");
+    }
+
+    private ValidatableResponse buscarPersona(long id) {
+        return RestAssured.given()
+                .port(randomServerPort)
+                .when()
+                .get(API_URL + "/persona/find/" + id)
+                .then();
+    }
+
+    private long crearPersona(String token, String nombres) {
+        return RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", "Bearer " + token)
+                .contentType(ContentType.JSON)
+                .body(Map.of("nombres", nombres, "apellidos", "Shard"))
+                .when()
+                .post(API_URL + "/persona/add")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract().jsonPath().getLong("id");
+    }
+
+    private void agregarTrabajo(String token, long id, String empresa) {
+        RestAssured.given()
+                .port(randomServerPort)
+                .header("Authorization", "Bearer " + token)
+                .contentType(ContentType.JSON)
+                .body(Map.of("empresa", empresa, "cargo", "Dev"))
+                .when()
+                .post(API_URL + "/persona/add/" + id + "/trabajos/")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+    }
+
+    private String registrarYLoguear(String username, String password) {
+        final Map<String, String> credenciales = Map.of("username", username, "password", password);
+        RestAssured.given()
+                .port(randomServerPort)
+                .contentType(ContentType.JSON)
+                .body(credenciales)
+                .when()
+                .post(API_URL + "/auth/register")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+        return loguear(username, password);
+    }
+
+    private String loguear(String username, String password) {
+        return RestAssured.given()
+                .port(randomServerPort)
+                .contentType(ContentType.JSON)
+                .body(Map.of("username", username, "password", password))
+                .when()
+                .post(API_URL + "/auth/login")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header("Access-Token");
+    }
+
+    private int contar(String shard, String sql, Object... args) {
+        final Integer cantidad = jdbc(shard).queryForObject(sql, Integer.class, args);
+        return cantidad == null ? 0 : cantidad;
+    }
+
+    // Directo al pool del shard, sin pasar por el ruteo
+    private JdbcTemplate jdbc(String shard) {
+        try {
+            return new JdbcTemplate(dataSource.unwrap(ShardsDataSource.class).pools().get(shard));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MySQLContainer<?> contenedor() {
+        return new LocalMySQLContainer()
+                .withDatabaseName("testDB")
+                .withUsername("testUser")
+                .withPassword("testPassword");
+    }
+}
@@ -0,0 +1,158 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.benchmark;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.AbstractContainerBaseTest;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.Application;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Persona;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.github.javafaker.Faker;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Tag("benchmark")
+class HilosVirtualesBenchmarkTest extends AbstractContainerBaseTest {
+
+    private static final int CLIENTES_CONCURRENTES = Integer.getInteger("benchmark.clientes", 2000);
+    private static final int REQUESTS_POR_CLIENTE = Integer.getInteger("benchmark.requests", 20);
+    private static final int PERSONAS = 50;
+
+    private final Faker faker = new Faker(new Random(42));
+
+    @Test
+    void compararLatenciaHiloPorRequestContraHilosVirtuales() throws Exception {
+        final List<Resultado> resultados = new ArrayList<>();
+        resultados.add(medir(false));
+        if (Runtime.version().feature() >= 21) {
+            resultados.add(medir(true));
+        } else {
+            log.warn("Runtime {} sin hilos virtuales: solo se mide el modo hilo por request", Runtime.version());
+        }
+
+        resultados.forEach(resultado -> log.info("{}", resultado));
+        final Path salida = Path.of("target", "benchmark", "hilos-virtuales.json");
+        Files.createDirectories(salida.getParent());
+        Files.writeString(salida, resultados.stream()
+                .map(Resultado::toJson)
+                .collect(Collectors.joining(",\n  ", "[\n  ", "\n]\n")));
+
+        Assertions.assertThat(resultados).allMatch(resultado -> resultado.errores == 0);
+    }
+
+    private Resultado medir(boolean hilosVirtuales) throws Exception {
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(Application.class)
+                .profiles("stage")
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=" + (CLIENTES_CONCURRENTES * 2),
+                        "application.threads.virtual=" + hilosVirtuales,
+                        "logging.level.root=WARN")
+                .run()) {
+            final List<Long> ids = sembrarPersonas(ctx.getBean(PersonaRepository.class));
+            final int puerto = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            final HttpClient http = HttpClient.newBuilder().build();
+
+            disparar(http, puerto, ids, new ConcurrentHistogram(3), new AtomicLong(), 200, 5);
+
+            final Histogram latencias = new ConcurrentHistogram(3);
+            final AtomicLong errores = new AtomicLong();
+            final long inicio = System.nanoTime();
+            disparar(http, puerto, ids, latencias, errores, CLIENTES_CONCURRENTES, REQUESTS_POR_CLIENTE);
+            final long duracionNanos = System.nanoTime() - inicio;
+
+            return new Resultado(hilosVirtuales ? "hilos-virtuales" : "hilo-por-request", latencias, errores.get(), duracionNanos);
+        }
+    }
+
+    private List<Long> sembrarPersonas(PersonaRepository personaRepository) {
+        if (personaRepository.count() < PERSONAS) {
+            IntStream.range(0, PERSONAS).forEach(i -> personaRepository.save(Persona.builder()
+                    .nombres(faker.name().firstName())
+                    .apellidos(faker.name().lastName())
+                    .ocupacion(faker.job().title())
+                    .descripcion(faker.job().keySkills())
+                    .build()));
+        }
+        return personaRepository.findAll().stream().map(Persona::getId).collect(Collectors.toList());
+    }
+
+    private void disparar(HttpClient http, int puerto, List<Long> ids, Histogram latencias, AtomicLong errores,
+                          int clientes, int requestsPorCliente) {
+        CompletableFuture.allOf(IntStream.range(0, clientes)
+                        .mapToObj(cliente -> cliente(http, puerto, ids, latencias, errores, requestsPorCliente, new Random(cliente)))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private CompletableFuture<Void> cliente(HttpClient http, int puerto, List<Long> ids, Histogram latencias,
+                                            AtomicLong errores, int restantes, Random random) {
+        if (restantes == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final Long id = ids.get(random.nextInt(ids.size()));
+        final var request = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/api/v1/persona/find/" + id)).build();
+        final long inicio = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((respuesta, error) -> {
+                    latencias.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio));
+                    if (error != null || respuesta.statusCode() != 200) {
+                        errores.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignorado -> cliente(http, puerto, ids, latencias, errores, restantes - 1, random));
+    }
+
+    private static final class Resultado {
+
+        private final String modo;
+        private final Histogram latencias;
+        private final long errores;
+        private final long duracionNanos;
+
+        private Resultado(String modo, Histogram latencias, long errores, long duracionNanos) {
+            this.modo = modo;
+            this.latencias = latencias;
+            this.errores = errores;
+            this.duracionNanos = duracionNanos;
+        }
+
+        private double requestsPorSegundo() {
+            return latencias.getTotalCount() / (duracionNanos / 1_000_000_000.0);
+        }
+
+        private String toJson() {
+            return String.format("{\"modo\": \"%s\", \"clientes\": %d, \"requests\": %d, \"errores\": %d, " +
+                            "\"p50Micros\": %d, \"p99Micros\": %d, \"p999Micros\": %d, \"requestsPorSegundo\": %.1f}",
+                    modo, CLIENTES_CONCURRENTES, latencias.getTotalCount(), errores,
+                    latencias.getValueAtPercentile(50), latencias.getValueAtPercentile(99),
+                    latencias.getValueAtPercentile(99.9), requestsPorSegundo());
+        }
+
+        @Override
+        public String toString() {
+            return toJson();
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.benchmark;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.AbstractContainerBaseTest;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.Application;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.dataset.ConfiguracionDataset;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.dataset.GeneradorDataset;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Benchmark de punta a punta antes de cada deploy: levanta la aplicacion contra el MySQL de Testcontainers, siembra
+ * un dataset con GeneradorDataset (propiedades dataset.*, con la semilla fija) y mide por HTTP una mezcla de find/{id}, all, login y modificaciones de hijos.
+ * Cada nivel corre en lazo cerrado (N clientes que esperan su respuesta) y en lazo abierto (llegadas a tasa fija,
+ * con la latencia medida desde el instante programado para no esconder la cola). Falla sin linea base guardada y
+ * cuando p50, p99 o (con muestras suficientes) p999 de algun endpoint empeoran mas alla del umbral. Por escenario tambien deja cuanto retuvo cada
+ * request una conexion del pool (hikaricp.connections.usage); con -Dspring.jpa.open-in-view=true se mide el "antes".
+ */
+@Slf4j
+@Tag("benchmark")
+class MacroBenchmarkTest extends AbstractContainerBaseTest {
+
+    private static final ConfiguracionDataset DATASET = ConfiguracionDataset.desdePropiedades(ConfiguracionDataset.builder()
+            .personas(10_000)
+            .build());
+    // Personas sobre las que se reparten los requests
+    private static final int MUESTRA = Integer.getInteger("benchmark.macro.muestra", 1000);
+    private static final List<Integer> CONCURRENCIAS = enteros(System.getProperty("benchmark.macro.concurrencias", "8,64"));
+    private static final List<Integer> TASAS = enteros(System.getProperty("benchmark.macro.tasas", "100,400"));
+    private static final Duration DURACION = Duration.ofSeconds(Long.getLong("benchmark.macro.segundos", 20));
+    private static final Duration CALENTAMIENTO = Duration.ofSeconds(Long.getLong("benchmark.macro.calentamiento", 10));
+    private static final String MEZCLA = System.getProperty("benchmark.macro.mezcla",
+            "find=60,all=5,login=5,actualizarHabilidad=15,agregarTrabajo=15");
+    private static final double UMBRAL = Double.parseDouble(System.getProperty("benchmark.macro.umbral", "0.25"));
+    private static final long TOLERANCIA_MICROS = Long.getLong("benchmark.macro.toleranciaMicros", 2000);
+    private static final Path LINEA_BASE = Path.of(System.getProperty("benchmark.macro.lineaBase",
+            "src/test/resources/benchmark/macro-linea-base.json"));
+    private static final boolean GUARDAR_LINEA_BASE = Boolean.getBoolean("benchmark.macro.guardarLineaBase");
+    private static final Path SALIDA = Path.of("target", "benchmark", "macro.json");
+    private static final Path SALIDA_CONEXIONES = Path.of("target", "benchmark", "macro-conexiones.json");
+
+    private static final String API_URL = "/api/v1";
+    private static final String USUARIO = "benchmark@test.com";
+    private static final String PASSWORD = "benchmark-password";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void medirLatenciaPorEndpointContraLineaBase() throws Exception {
+        final ResultadosMacro resultados = new ResultadosMacro();
+        final Operacion[] mezcla = mezcla(MEZCLA);
+        final Map<String, Map<String, Object>> conexiones = new LinkedHashMap<>();
+
+        // Configuracion de stage con las caches que AbstractContainerBaseTest apaga: se mide lo que se despliega
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(Application.class)
+                .profiles("stage")
+                .properties(
+                        "server.port=0",
+                        "logging.level.root=WARN")
+                .run("--spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                        "--application.cache.respuestas.enabled=true")) {
+            final int puerto = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            final HttpClient http = HttpClient.newBuilder().build();
+            try (HikariDataSource carga = dataSourceDeCarga(ctx.getEnvironment())) {
+                new GeneradorDataset(carga, DATASET).generar();
+            }
+            final Sesion sesion = new Sesion(http, puerto, muestra(ctx.getBean(JdbcTemplate.class)), autenticar(http, puerto));
+            final MeterRegistry usoConexiones = ctx.getBean(MeterRegistry.class);
+
+            cerrado(sesion, mezcla, 8, CALENTAMIENTO, new ResultadosMacro().escenario("calentamiento"));
+
+            for (int clientes : CONCURRENCIAS) {
+                final String escenario = "cerrado-" + clientes;
+                final Retencion antes = new Retencion(usoConexiones);
+                cerrado(sesion, mezcla, clientes, DURACION, resultados.escenario(escenario));
+                conexiones.put(escenario, antes.hasta(new Retencion(usoConexiones)));
+            }
+            for (int tasa : TASAS) {
+                final String escenario = "abierto-" + tasa + "rps";
+                final Retencion antes = new Retencion(usoConexiones);
+                abierto(sesion, mezcla, tasa, DURACION, resultados.escenario(escenario));
+                conexiones.put(escenario, antes.hasta(new Retencion(usoConexiones)));
+            }
+        }
+
+        resultados.guardar(SALIDA);
+        Files.createDirectories(SALIDA_CONEXIONES.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(SALIDA_CONEXIONES.toFile(), conexiones);
+        log.info("Resultados en {}, retencion de conexiones en {}: {}", SALIDA.toAbsolutePath(), SALIDA_CONEXIONES.toAbsolutePath(), conexiones);
+        if (GUARDAR_LINEA_BASE) {
+            resultados.guardar(LINEA_BASE);
+            log.info("Linea base actualizada en {}", LINEA_BASE.toAbsolutePath());
+        }
+
+        Assertions.assertThat(resultados.errores()).as("requests con error").isZero();
+        // Sin linea base el gate no compararia nada y pasaria siempre
+        Assertions.assertThat(LINEA_BASE)
+                .as("linea base del benchmark; guardarla con -Dbenchmark.macro.guardarLineaBase=true")
+                .exists();
+        Assertions.assertThat(resultados.regresiones(ResultadosMacro.leer(LINEA_BASE), UMBRAL, TOLERANCIA_MICROS))
+                .as("regresiones de mas de %.0f%% contra %s", UMBRAL * 100, LINEA_BASE)
+                .isEmpty();
+    }
+
+    // ------------------- Carga -----------------------------
+
+    private void cerrado(Sesion sesion, Operacion[] mezcla, int clientes, Duration duracion, ConcurrentMap<String, ResultadosMacro.Medicion> escenario) {
+        final long fin = System.nanoTime() + duracion.toNanos();
+        CompletableFuture.allOf(IntStream.range(0, clientes)
+                        .mapToObj(cliente -> clienteCerrado(sesion, mezcla, fin, new Random(cliente), escenario))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private CompletableFuture<Void> clienteCerrado(Sesion sesion, Operacion[] mezcla, long fin, Random random,
+                                                   ConcurrentMap<String, ResultadosMacro.Medicion> escenario) {
+        if (System.nanoTime() >= fin) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return ejecutar(sesion, mezcla[random.nextInt(mezcla.length)], random, escenario, System.nanoTime())
+                .thenCompose(ignorado -> clienteCerrado(sesion, mezcla, fin, random, escenario));
+    }
+
+    private void abierto(Sesion sesion, Operacion[] mezcla, int tasa, Duration duracion, ConcurrentMap<String, ResultadosMacro.Medicion> escenario) {
+        final long intervalo = TimeUnit.SECONDS.toNanos(1) / tasa;
+        final long total = duracion.getSeconds() * tasa;
+        final Random random = new Random(tasa);
+        final List<CompletableFuture<Void>> enCurso = new ArrayList<>();
+        final long inicio = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            final long programado = inicio + i * intervalo;
+            final long espera = programado - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            enCurso.add(ejecutar(sesion, mezcla[random.nextInt(mezcla.length)], random, escenario, programado));
+        }
+        CompletableFuture.allOf(enCurso.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private CompletableFuture<Void> ejecutar(Sesion sesion, Operacion operacion, Random random,
+                                             ConcurrentMap<String, ResultadosMacro.Medicion> escenario, long inicio) {
+        final PersonaMuestra persona = sesion.personas.get(random.nextInt(sesion.personas.size()));
+        switch (operacion) {
+            case FIND:
+                return enviar(sesion, "GET /persona/find/{id}", sesion.request("/persona/find/" + persona.id).GET(), escenario, inicio)
+                        .thenApply(ignorado -> null);
+            case ALL:
+                return enviar(sesion, "GET /persona/all", sesion.request("/persona/all").GET(), escenario, inicio)
+                        .thenApply(ignorado -> null);
+            case LOGIN:
+                return enviar(sesion, "POST /auth/login", sesion.request("/auth/login").POST(login()), escenario, inicio)
+                        .thenApply(ignorado -> null);
+            case ACTUALIZAR_HABILIDAD:
+                final PersonaMuestra conHabilidades = sesion.conHabilidades.get(random.nextInt(sesion.conHabilidades.size()));
+                final Long idHabilidad = conHabilidades.habilidades.get(random.nextInt(conHabilidades.habilidades.size()));
+                return enviar(sesion, "PUT /persona/update/{id}/habilidades/{idHabilidad}",
+                        sesion.autenticado("/persona/update/" + conHabilidades.id + "/habilidades/" + idHabilidad)
+                                .PUT(json(Map.of("nombre", "Habilidad " + random.nextInt(10), "nivel", random.nextInt(100) + 1, "descripcion", "benchmark"))),
+                        escenario, inicio)
+                        .thenApply(ignorado -> null);
+            case AGREGAR_TRABAJO:
+                // El trabajo agregado se quita enseguida para que el dataset no crezca durante la corrida
+                final String cargo = "benchmark-" + UUID.randomUUID();
+                return enviar(sesion, "POST /persona/add/{id}/trabajos/",
+                        sesion.autenticado("/persona/add/" + persona.id + "/trabajos/")
+                                .POST(json(Map.of("empresa", "Benchmark", "cargo", cargo, "lugar", "Rosario", "desde", LocalDate.now().toString()))),
+                        escenario, inicio)
+                        .thenCompose(respuesta -> idTrabajo(respuesta, cargo)
+                                .map(idTrabajo -> enviar(sesion, "DELETE /persona/remove/{id}/trabajos/{idTrabajo}",
+                                        sesion.autenticado("/persona/remove/" + persona.id + "/trabajos/" + idTrabajo).DELETE(),
+                                        escenario, System.nanoTime()))
+                                .orElseGet(() -> CompletableFuture.completedFuture(null)))
+                        .thenApply(ignorado -> null);
+            default:
+                throw new IllegalArgumentException(operacion.name());
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> enviar(Sesion sesion, String endpoint, HttpRequest.Builder request,
+                                                           ConcurrentMap<String, ResultadosMacro.Medicion> escenario, long inicio) {
+        return sesion.http.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .handle((respuesta, error) -> {
+                    final boolean fallo = error != null || respuesta.statusCode() >= 300;
+                    if (fallo) {
+                        log.debug("{} fallo: {}", endpoint, error != null ? error.toString() : respuesta.statusCode() + " " + respuesta.body());
+                    }
+                    escenario.computeIfAbsent(endpoint, ignorado -> new ResultadosMacro.Medicion())
+                            .registrar(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio), fallo);
+                    return fallo ? null : respuesta;
+                });
+    }
+
+    private Optional<Long> idTrabajo(HttpResponse<String> respuesta, String cargo) {
+        if (respuesta == null) {
+            return Optional.empty();
+        }
+        try {
+            return StreamSupport.stream(objectMapper.readTree(respuesta.body()).path("experienciasLaborales").spliterator(), false)
+                    .filter(trabajo -> cargo.equals(trabajo.path("cargo").asText()))
+                    .map(trabajo -> trabajo.path("id").asLong())
+                    .findFirst();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    // ------------------- Dataset y sesion -----------------------------
+
+    // Muestra fija (RAND con semilla) para que dos corridas sobre el mismo dataset pidan las mismas personas
+    private List<PersonaMuestra> muestra(JdbcTemplate jdbcTemplate) {
+        final List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM persona ORDER BY RAND(?) LIMIT ?", Long.class, DATASET.getSemilla(), MUESTRA);
+        final Map<Long, List<Long>> habilidades = new HashMap<>();
+        ids.forEach(id -> habilidades.put(id, new ArrayList<>()));
+        jdbcTemplate.query("SELECT persona_id, id FROM habilidad WHERE persona_id IN (" + ids.stream().map(String::valueOf).collect(Collectors.joining(",")) + ") ORDER BY id",
+                rs -> {
+                    habilidades.get(rs.getLong(1)).add(rs.getLong(2));
+                });
+        return ids.stream()
+                .map(id -> new PersonaMuestra(id, habilidades.get(id)))
+                .collect(Collectors.toList());
+    }
+
+    // Pool aparte para la carga: con rewriteBatchedStatements el driver manda cada lote como inserts multi-fila
+    private static HikariDataSource dataSourceDeCarga(Environment environment) {
+        final String url = environment.getRequiredProperty("spring.datasource.url");
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true")
+                .username(environment.getProperty("spring.datasource.username"))
+                .password(environment.getProperty("spring.datasource.password"))
+                .build();
+    }
+
+    private String autenticar(HttpClient http, int puerto) throws IOException, InterruptedException {
+        final var base = "http://localhost:" + puerto + API_URL;
+        http.send(HttpRequest.newBuilder(URI.create(base + "/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(login())
+                .build(), HttpResponse.BodyHandlers.discarding());
+        final HttpResponse<String> respuesta = http.send(HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(login())
+                .build(), HttpResponse.BodyHandlers.ofString());
+        return respuesta.headers().firstValue("Access-Token")
+                .orElseThrow(() -> new IllegalStateException("Login fallido: " + respuesta.statusCode() + " " + respuesta.body()));
+    }
+
+    private HttpRequest.BodyPublisher login() {
+        return json(Map.of("username", USUARIO, "password", PASSWORD));
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, Object> cuerpo) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(cuerpo));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // "find=60,all=5" -> arreglo con cada operacion repetida segun su peso, para sortear con un indice
+    private static Operacion[] mezcla(String mezcla) {
+        return Arrays.stream(mezcla.split(","))
+                .map(peso -> peso.trim().split("="))
+                .flatMap(peso -> Collections.nCopies(Integer.parseInt(peso[1].trim()), Operacion.de(peso[0].trim())).stream())
+                .toArray(Operacion[]::new);
+    }
+
+    private static List<Integer> enteros(String valores) {
+        return Arrays.stream(valores.split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    private enum Operacion {
+        FIND("find"),
+        ALL("all"),
+        LOGIN("login"),
+        ACTUALIZAR_HABILIDAD("actualizarHabilidad"),
+        AGREGAR_TRABAJO("agregarTrabajo");
+
+        private final String nombre;
+
+        Operacion(String nombre) {
+            this.nombre = nombre;
+        }
+
+        static Operacion de(String nombre) {
+            return Arrays.stream(values())
+                    .filter(operacion -> operacion.nombre.equals(nombre))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Operacion desconocida en benchmark.macro.mezcla: " + nombre));
+        }
+    }
+
+    // Lectura acumulada de los timers de Hikari de todos los pools (tag pool: primaria, replicas o shards). La diferencia
+    // entre dos lecturas da los usos y el tiempo medio del escenario. El max del timer decae con el tiempo y no se puede
+    // acotar a un escenario: el maximo sale del histograma acumulado, como la cota del primer bucket que ya contiene
+    // todos los usos del escenario (null si alguno supero la ultima cota).
+    private static final class Retencion {
+
+        private final long usos;
+        private final double totalMicros;
+        private final NavigableMap<Double, Double> buckets = new TreeMap<>();
+
+        // Usos, total y buckets de una misma instantanea de cada timer, para que sean consistentes entre si
+        private Retencion(MeterRegistry registry) {
+            long usosPools = 0;
+            double totalPools = 0;
+            for (Timer timer : registry.find("hikaricp.connections.usage").timers()) {
+                final HistogramSnapshot instantanea = timer.takeSnapshot();
+                usosPools += instantanea.count();
+                totalPools += instantanea.total(TimeUnit.MICROSECONDS);
+                Arrays.stream(instantanea.histogramCounts())
+                        .forEach(bucket -> buckets.merge(bucket.bucket(TimeUnit.MICROSECONDS), bucket.count(), Double::sum));
+            }
+            this.usos = usosPools;
+            this.totalMicros = totalPools;
+        }
+
+        private Map<String, Object> hasta(Retencion despues) {
+            final long usosEscenario = despues.usos - usos;
+            final Map<String, Object> resumen = new LinkedHashMap<>();
+            resumen.put("usos", usosEscenario);
+            resumen.put("mediaMicros", usosEscenario == 0 ? 0 : Math.round((despues.totalMicros - totalMicros) / usosEscenario));
+            resumen.put("maxMicros", usosEscenario == 0 ? Long.valueOf(0) : despues.buckets.entrySet().stream()
+                    .filter(bucket -> bucket.getValue() - buckets.getOrDefault(bucket.getKey(), 0.0) >= usosEscenario)
+                    .findFirst()
+                    .map(bucket -> Math.round(bucket.getKey()))
+                    .orElse(null));
+            return resumen;
+        }
+    }
+
+    private static final class PersonaMuestra {
+
+        private final Long id;
+        private final List<Long> habilidades;
+
+        private PersonaMuestra(Long id, List<Long> habilidades) {
+            this.id = id;
+            this.habilidades = habilidades;
+        }
+    }
+
+    private static final class Sesion {
+
+        private final HttpClient http;
+        private final int puerto;
+        private final List<PersonaMuestra> personas;
+        private final List<PersonaMuestra> conHabilidades;
+        private final String token;
+
+        private Sesion(HttpClient http, int puerto, List<PersonaMuestra> personas, String token) {
+            this.http = http;
+            this.puerto = puerto;
+            this.personas = personas;
+            this.conHabilidades = personas.stream()
+                    .filter(persona -> !persona.habilidades.isEmpty())
+                    .collect(Collectors.toList());
+            this.token = token;
+        }
+
+        private HttpRequest.Builder request(String ruta) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + API_URL + ruta))
+                    .header("Content-Type", "application/json");
+        }
+
+        private HttpRequest.Builder autenticado(String ruta) {
+            return request(ruta).header("Authorization", "Bearer " + token);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencias por escenario (modo de carga y nivel) y por endpoint, en microsegundos, y la comparacion
+ * contra una linea base guardada con el mismo formato.
+ */
+class ResultadosMacro {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final TypeReference<Map<String, Map<String, Resumen>>> FORMATO = new TypeReference<>() {
+    };
+
+    // Con menos requests quedan menos de diez por encima del p999 y el percentil es casi el maximo, que cambia de una
+    // corrida a otra mas que cualquier umbral razonable.
+    static final long MINIMO_REQUESTS_P999 = 10_000;
+
+    private final Map<String, ConcurrentMap<String, Medicion>> escenarios = new LinkedHashMap<>();
+
+    synchronized ConcurrentMap<String, Medicion> escenario(String nombre) {
+        return escenarios.computeIfAbsent(nombre, ignorado -> new ConcurrentHashMap<>());
+    }
+
+    synchronized Map<String, Map<String, Resumen>> resumen() {
+        final Map<String, Map<String, Resumen>> resumen = new LinkedHashMap<>();
+        escenarios.forEach((escenario, mediciones) -> {
+            final Map<String, Resumen> endpoints = new LinkedHashMap<>();
+            mediciones.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(medicion -> endpoints.put(medicion.getKey(), medicion.getValue().resumen()));
+            resumen.put(escenario, endpoints);
+        });
+        return resumen;
+    }
+
+    void guardar(Path archivo) throws IOException {
+        Files.createDirectories(archivo.toAbsolutePath().getParent());
+        JSON.writeValue(archivo.toFile(), resumen());
+    }
+
+    static Map<String, Map<String, Resumen>> leer(Path archivo) throws IOException {
+        return JSON.readValue(archivo.toFile(), FORMATO);
+    }
+
+    /**
+     * Un percentil regresiona si supera a la linea base en mas del umbral relativo y, ademas, en mas de la tolerancia
+     * absoluta (para que el ruido en endpoints de pocos cientos de microsegundos no corte el deploy). El p999 se compara
+     * solo si la corrida y la linea base tienen {@link #MINIMO_REQUESTS_P999} requests del endpoint.
+     * Los escenarios o endpoints que no estan en la linea base no se comparan.
+     */
+    List<String> regresiones(Map<String, Map<String, Resumen>> lineaBase, double umbral, long toleranciaMicros) {
+        final List<String> regresiones = new ArrayList<>();
+        resumen().forEach((escenario, endpoints) -> endpoints.forEach((endpoint, actual) -> {
+            final Resumen base = lineaBase.getOrDefault(escenario, Map.of()).get(endpoint);
+            if (base == null) {
+                return;
+            }
+            comparar(regresiones, escenario, endpoint, "p50", base.getP50Micros(), actual.getP50Micros(), umbral, toleranciaMicros);
+            comparar(regresiones, escenario, endpoint, "p99", base.getP99Micros(), actual.getP99Micros(), umbral, toleranciaMicros);
+            if (base.getRequests() >= MINIMO_REQUESTS_P999 && actual.getRequests() >= MINIMO_REQUESTS_P999) {
+                comparar(regresiones, escenario, endpoint, "p999", base.getP999Micros(), actual.getP999Micros(), umbral, toleranciaMicros);
+            }
+        }));
+        return regresiones;
+    }
+
+    private static void comparar(List<String> regresiones, String escenario, String endpoint, String percentil,
+                                 long base, long actual, double umbral, long toleranciaMicros) {
+        if (actual > base * (1 + umbral) && actual - base > toleranciaMicros) {
+            regresiones.add(String.format("%s %s %s: %d us contra %d us de la linea base (+%.0f%%)",
+                    escenario, endpoint, percentil, actual, base, (actual - base) * 100.0 / Math.max(base, 1)));
+        }
+    }
+
+    long errores() {
+        return resumen().values().stream()
+                .flatMap(endpoints -> endpoints.values().stream())
+                .mapToLong(Resumen::getErrores)
+                .sum();
+    }
+
+    static final class Medicion {
+
+        private final Histogram latencias = new ConcurrentHistogram(3);
+        private final AtomicLong errores = new AtomicLong();
+
+        void registrar(long micros, boolean error) {
+            latencias.recordValue(micros);
+            if (error) {
+                errores.incrementAndGet();
+            }
+        }
+
+        private Resumen resumen() {
+            return new Resumen(latencias.getTotalCount(), errores.get(), latencias.getValueAtPercentile(50),
+                    latencias.getValueAtPercentile(99), latencias.getValueAtPercentile(99.9));
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static final class Resumen {
+
+        private long requests;
+        private long errores;
+        private long p50Micros;
+        private long p99Micros;
+        private long p999Micros;
+    }
+}
@@ -0,0 +1,46 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.busqueda;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OrdenLecturasTest {
+
+    private final OrdenLecturas underTest = new OrdenLecturas();
+
+    @DisplayName("Una lectura que termina despues de otra posterior de la misma persona no debe aplicarse")
+    @Test
+    void aplicar_WhenALaterReadWasApplied_ShouldDiscardTheEarlierOne() {
+        //given
+        final long vieja = underTest.iniciar();
+        final long nueva = underTest.iniciar();
+
+        //when
+        final boolean aplicoNueva = underTest.aplicar(1L, nueva);
+        final boolean aplicoVieja = underTest.aplicar(1L, vieja);
+
+        //then
+        Assertions.assertThat(aplicoNueva).isTrue();
+        Assertions.assertThat(aplicoVieja).isFalse();
+        Assertions.assertThat(underTest.aplicar(2L, vieja)).isTrue();
+    }
+
+    @DisplayName("La reconstruccion descarta las lecturas anteriores y devuelve las personas actualizadas despues de empezar")
+    @Test
+    void reconstruir_ShouldReturnThePersonasUpdatedWhileLoading() {
+        //given
+        final long antes = underTest.iniciar();
+        final long reconstruccion = underTest.iniciar();
+        final long despues = underTest.iniciar();
+        underTest.aplicar(1L, antes);
+        underTest.aplicar(2L, despues);
+
+        //when
+        final var posteriores = underTest.reconstruir(reconstruccion);
+
+        //then
+        Assertions.assertThat(posteriores).hasValueSatisfying(personas -> Assertions.assertThat(personas).containsExactly(2L));
+        Assertions.assertThat(underTest.aplicar(3L, antes)).isFalse();
+        Assertions.assertThat(underTest.reconstruir(antes)).isEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ReplicasConfig.class, ShardsConfig.class)
+            .withPropertyValues("application.shards.enabled=true");
+
+    @Test
+    void shardsWithReplicas_ShouldFailNamingBothProperties() {
+        contextRunner
+                .withPropertyValues("application.replicas.enabled=true")
+                .run(context -> assertThat(NestedExceptionUtils.getMostSpecificCause(context.getStartupFailure()))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("application.shards.enabled")
+                        .hasMessageContaining("application.replicas.enabled"));
+    }
+
+    @Test
+    void shardsWithReactive_ShouldFailNamingBothProperties() {
+        contextRunner
+                .withPropertyValues("application.reactive.enabled=true")
+                .run(context -> assertThat(NestedExceptionUtils.getMostSpecificCause(context.getStartupFailure()))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("application.shards.enabled")
+                        .hasMessageContaining("application.reactive.enabled"));
+    }
+}
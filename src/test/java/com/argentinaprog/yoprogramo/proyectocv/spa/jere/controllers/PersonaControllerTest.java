@@ -18,6 +18,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -647,6 +648,112 @@ class PersonaControllerTest {
         }
     }
 
+    @DisplayName("Should return 200 and persona with image url when authorized user uploads an image")
+    @WithMockUser()
+    @Test
+    void updateImagen_WhenImageIsUploaded_ShouldReturn200PersonaWithImageUrl() {
+        //given
+        final Long id = 1L;
+        final String hash = "a".repeat(64);
+        final byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0};
+        final var persona = Persona.builder()
+                .id(id)
+                .imagenHash(hash)
+                .build();
+        given(personaSvc.updateImagen(Mockito.eq(id), Mockito.any()))
+                .willReturn(persona);
+
+        //when
+        //then
+        try {
+            mockMvc.perform(
+                            post(API_PERSONA_BASE_URL + "/{id}/imagen", id)
+                                    .contentType(MediaType.IMAGE_PNG)
+                                    .content(png))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(id))
+                    .andExpect(jsonPath("$.imagen").value(Persona.IMAGEN_URL + hash))
+                    .andExpect(jsonPath("$.imagenHash").doesNotExist())
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw an exception");
+        }
+
+        Mockito.verify(personaSvc, times(1)).updateImagen(Mockito.eq(id), Mockito.any());
+    }
+
+    @DisplayName("Should return 200 when authorized user uploads an image as multipart form data")
+    @WithMockUser()
+    @Test
+    void updateImagen_WhenImageIsUploadedAsMultipart_ShouldReturn200() {
+        //given
+        final Long id = 1L;
+        final var imagen = new MockMultipartFile("imagen", "perfil.png", MediaType.IMAGE_PNG_VALUE, new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+        given(personaSvc.updateImagen(Mockito.eq(id), Mockito.any()))
+                .willReturn(Persona.builder().id(id).build());
+
+        //when
+        //then
+        try {
+            mockMvc.perform(
+                            multipart(API_PERSONA_BASE_URL + "/{id}/imagen", id)
+                                    .file(imagen))
+                    .andExpect(status().isOk())
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw an exception");
+        }
+
+        Mockito.verify(personaSvc, times(1)).updateImagen(Mockito.eq(id), Mockito.any());
+    }
+
+    @DisplayName("Should return 403 when user is unauthorized and shouldn't upload an image")
+    @Test
+    void updateImagen_WhenUnauthorized_ShouldNotUploadReturn403() {
+        //given
+        final Long id = 1L;
+
+        //when
+        //then
+        try {
+            mockMvc.perform(
+                            post(API_PERSONA_BASE_URL + "/{id}/imagen", id)
+                                    .contentType(MediaType.IMAGE_PNG)
+                                    .content(new byte[]{(byte) 0x89, 'P', 'N', 'G'}))
+                    .andExpect(status().isForbidden())
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw an exception");
+        }
+
+        Mockito.verify(personaSvc, Mockito.never()).updateImagen(Mockito.anyLong(), Mockito.any());
+    }
+
+    @DisplayName("Should return 415 when the uploaded file is not an image")
+    @WithMockUser()
+    @Test
+    void updateImagen_WhenFileIsNotAnImage_ShouldReturn415() {
+        //given
+        final Long id = 1L;
+        given(personaSvc.updateImagen(Mockito.eq(id), Mockito.any()))
+                .willThrow(new ImagenInvalidaException());
+
+        //when
+        //then
+        try {
+            mockMvc.perform(
+                            post(API_PERSONA_BASE_URL + "/{id}/imagen", id)
+                                    .contentType(MediaType.IMAGE_PNG)
+                                    .content("no soy una imagen".getBytes()))
+                    .andExpect(status().isUnsupportedMediaType())
+                    .andExpect(result -> Assertions.assertThat(result.getResolvedException())
+                            .isInstanceOf(ImagenInvalidaException.class))
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw an exception");
+        }
+    }
+
     @DisplayName("Should return 200 and all personas when user is authorized")
     @WithMockUser
     @Test
@@ -0,0 +1,65 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.dataset;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Parametros del dataset sintetico. Con la misma semilla y las mismas distribuciones el contenido es identico
+ * sin importar la cantidad de hilos ni el tamaño de lote.
+ */
+@Getter
+@Builder(toBuilder = true)
+@ToString
+public class ConfiguracionDataset {
+
+    @Builder.Default
+    private final long semilla = 42;
+    @Builder.Default
+    private final int personas = 1000;
+    @Builder.Default
+    private final Distribucion estudios = Distribucion.uniforme(0, 4);
+    @Builder.Default
+    private final Distribucion habilidades = Distribucion.poisson(6, 30);
+    @Builder.Default
+    private final Distribucion trabajos = Distribucion.uniforme(0, 6);
+    @Builder.Default
+    private final Distribucion proyectos = Distribucion.poisson(2, 15);
+
+    // Tamaño de los catalogos: los hijos eligen entre estos valores, como en una base real donde se repiten
+    @Builder.Default
+    private final int empresas = 2000;
+    @Builder.Default
+    private final int lugares = 300;
+    @Builder.Default
+    private final int instituciones = 400;
+    @Builder.Default
+    private final int habilidadesCanonicas = 150;
+
+    @Builder.Default
+    private final int hilos = Runtime.getRuntime().availableProcessors();
+    @Builder.Default
+    private final int personasPorLote = 500;
+
+    /**
+     * Toma los valores de las propiedades de sistema "dataset.*" (dataset.personas, dataset.semilla,
+     * dataset.habilidades=poisson:6-30, dataset.hilos, ...) y deja los de la configuracion base para el resto.
+     */
+    public static ConfiguracionDataset desdePropiedades(ConfiguracionDataset base) {
+        return base.toBuilder()
+                .semilla(Long.getLong("dataset.semilla", base.semilla))
+                .personas(Integer.getInteger("dataset.personas", base.personas))
+                .estudios(distribucion("dataset.estudios", base.estudios))
+                .habilidades(distribucion("dataset.habilidades", base.habilidades))
+                .trabajos(distribucion("dataset.trabajos", base.trabajos))
+                .proyectos(distribucion("dataset.proyectos", base.proyectos))
+                .hilos(Integer.getInteger("dataset.hilos", base.hilos))
+                .personasPorLote(Integer.getInteger("dataset.lote", base.personasPorLote))
+                .build();
+    }
+
+    private static Distribucion distribucion(String propiedad, Distribucion porDefecto) {
+        final String valor = System.getProperty(propiedad);
+        return valor == null ? porDefecto : Distribucion.de(valor);
+    }
+}
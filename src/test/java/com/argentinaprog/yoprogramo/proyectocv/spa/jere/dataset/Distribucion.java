@@ -0,0 +1,80 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.dataset;
+
+import java.util.Random;
+
+/**
+ * Cantidad de hijos por seccion de cada persona. Se escribe como "fija:3", "uniforme:0-8" o "poisson:2.5-20"
+ * (media y tope) para poder pasarla por propiedad de sistema.
+ */
+public abstract class Distribucion {
+
+    public abstract int muestra(Random random);
+
+    public static Distribucion fija(int cantidad) {
+        return new Distribucion() {
+            @Override
+            public int muestra(Random random) {
+                return cantidad;
+            }
+
+            @Override
+            public String toString() {
+                return "fija:" + cantidad;
+            }
+        };
+    }
+
+    public static Distribucion uniforme(int minimo, int maximo) {
+        if (minimo < 0 || maximo < minimo) {
+            throw new IllegalArgumentException("Rango invalido: " + minimo + "-" + maximo);
+        }
+        return new Distribucion() {
+            @Override
+            public int muestra(Random random) {
+                return minimo + random.nextInt(maximo - minimo + 1);
+            }
+
+            @Override
+            public String toString() {
+                return "uniforme:" + minimo + "-" + maximo;
+            }
+        };
+    }
+
+    // Algoritmo de Knuth: alcanza para medias chicas como las de un CV
+    public static Distribucion poisson(double media, int tope) {
+        final double limite = Math.exp(-media);
+        return new Distribucion() {
+            @Override
+            public int muestra(Random random) {
+                int cantidad = -1;
+                double producto = 1;
+                do {
+                    cantidad++;
+                    producto *= random.nextDouble();
+                } while (producto > limite);
+                return Math.min(cantidad, tope);
+            }
+
+            @Override
+            public String toString() {
+                return "poisson:" + media + "-" + tope;
+            }
+        };
+    }
+
+    public static Distribucion de(String valor) {
+        final String[] partes = valor.trim().split(":");
+        final String[] parametros = partes.length > 1 ? partes[1].split("-") : new String[0];
+        switch (partes[0]) {
+            case "fija":
+                return fija(Integer.parseInt(parametros[0]));
+            case "uniforme":
+                return uniforme(Integer.parseInt(parametros[0]), Integer.parseInt(parametros[1]));
+            case "poisson":
+                return poisson(Double.parseDouble(parametros[0]), parametros.length > 1 ? Integer.parseInt(parametros[1]) : Integer.MAX_VALUE);
+            default:
+                throw new IllegalArgumentException("Distribucion desconocida: " + valor);
+        }
+    }
+}
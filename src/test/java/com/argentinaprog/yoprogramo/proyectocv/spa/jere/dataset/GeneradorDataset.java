@@ -0,0 +1,303 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.dataset;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.Catalogo;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Nacionalidades;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.ProgresoEducacion;
+import com.github.javafaker.Faker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Genera personas sinteticas con javafaker y las carga por JDBC en lotes, en paralelo, sin pasar por JPA.
+ * <p>
+ * Cada persona se genera con un Random sembrado con (semilla, indice), asi que el contenido no depende del orden
+ * en que los hilos procesan los lotes. Las cantidades de hijos se sortean primero para calcular cuantos ids usa cada
+ * lote, y el rango completo se reserva de una vez en hibernate_sequence: la aplicacion sigue asignando ids despues
+ * del rango y, sobre una base vacia, los ids tambien se repiten entre corridas.
+ * <p>
+ * Los textos de catalogo (empresa, lugar, institucion, habilidad) salen de un conjunto acotado que se inserta antes
+ * de los lotes. Con rewriteBatchedStatements=true en la url de MySQL cada lote viaja como inserts multi-fila.
+ */
+@Slf4j
+public class GeneradorDataset {
+
+    private static final Locale LOCALE = new Locale("es");
+    private static final long MEZCLA = 0x9E3779B97F4A7C15L;
+
+    private static final String INSERT_PERSONA = "INSERT INTO persona (id, nombres, apellidos, fecha_nacimiento, nacionalidad, email, descripcion, imagen, ocupacion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EDUCACION = "INSERT INTO educacion (id, institucion_id, titulo, lugar_id, estado, persona_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_HABILIDAD = "INSERT INTO habilidad (id, habilidad_canonica_id, porcentaje, obs, persona_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_TRABAJO = "INSERT INTO trabajo (id, empresa_id, cargo, lugar_id, fecha_inicio, fecha_fin, persona_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PROYECTO = "INSERT INTO proyecto (id, nombre, obs, persona_id) VALUES (?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConfiguracionDataset configuracion;
+
+    public GeneradorDataset(DataSource dataSource, ConfiguracionDataset configuracion) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.configuracion = configuracion;
+    }
+
+    public ResumenDataset generar() {
+        final long inicio = System.nanoTime();
+        final Catalogos catalogos = cargarCatalogos();
+
+        final int lotes = (configuracion.getPersonas() + configuracion.getPersonasPorLote() - 1) / configuracion.getPersonasPorLote();
+        final long[] idsPorLote = new long[lotes];
+        final long[] filas = new long[4];
+        final Random random = new Random();
+        for (int indice = 0; indice < configuracion.getPersonas(); indice++) {
+            final int[] hijos = hijos(random, indice);
+            idsPorLote[indice / configuracion.getPersonasPorLote()] += 1 + hijos[0] + hijos[1] + hijos[2] + hijos[3];
+            for (int seccion = 0; seccion < hijos.length; seccion++) {
+                filas[seccion] += hijos[seccion];
+            }
+        }
+        final long primerId = reservarIds(Arrays.stream(idsPorLote).sum());
+
+        final ExecutorService hilos = Executors.newFixedThreadPool(configuracion.getHilos());
+        try {
+            final List<Future<?>> enCurso = new ArrayList<>();
+            long idLote = primerId;
+            for (int lote = 0; lote < lotes; lote++) {
+                final int numero = lote;
+                final long primerIdLote = idLote;
+                enCurso.add(hilos.submit(() -> insertarLote(numero, primerIdLote, catalogos)));
+                idLote += idsPorLote[lote];
+            }
+            for (Future<?> lote : enCurso) {
+                lote.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga del dataset interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fallo la carga del dataset", e.getCause());
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        final var resumen = new ResumenDataset(configuracion.getPersonas(), filas[0], filas[1], filas[2], filas[3],
+                primerId, Duration.ofNanos(System.nanoTime() - inicio));
+        log.info("Dataset generado: {}", resumen);
+        return resumen;
+    }
+
+    // ------------------- Personas -----------------------------
+
+    // Los primeros valores del Random de cada persona son sus cantidades de hijos: la pasada de conteo y la de carga coinciden
+    private int[] hijos(Random random, int indice) {
+        random.setSeed(configuracion.getSemilla() * MEZCLA + indice);
+        return new int[]{
+                configuracion.getEstudios().muestra(random),
+                configuracion.getHabilidades().muestra(random),
+                configuracion.getTrabajos().muestra(random),
+                configuracion.getProyectos().muestra(random)};
+    }
+
+    private void insertarLote(int lote, long primerId, Catalogos catalogos) {
+        final Random random = new Random();
+        final Faker faker = new Faker(LOCALE, random);
+        final int desde = lote * configuracion.getPersonasPorLote();
+        final int hasta = Math.min(desde + configuracion.getPersonasPorLote(), configuracion.getPersonas());
+        long id = primerId;
+
+        try (Connection conexion = dataSource.getConnection()) {
+            conexion.setAutoCommit(false);
+            try (PreparedStatement personas = conexion.prepareStatement(INSERT_PERSONA);
+                 PreparedStatement estudios = conexion.prepareStatement(INSERT_EDUCACION);
+                 PreparedStatement habilidades = conexion.prepareStatement(INSERT_HABILIDAD);
+                 PreparedStatement trabajos = conexion.prepareStatement(INSERT_TRABAJO);
+                 PreparedStatement proyectos = conexion.prepareStatement(INSERT_PROYECTO)) {
+                for (int indice = desde; indice < hasta; indice++) {
+                    final int[] hijos = hijos(random, indice);
+                    final long personaId = id++;
+                    final LocalDate nacimiento = LocalDate.of(1955, 1, 1).plusDays(random.nextInt(50 * 365));
+
+                    personas.setLong(1, personaId);
+                    personas.setString(2, faker.name().firstName());
+                    personas.setString(3, faker.name().lastName());
+                    personas.setDate(4, Date.valueOf(nacimiento));
+                    personas.setString(5, elegir(random, Nacionalidades.values()).name());
+                    personas.setString(6, faker.internet().emailAddress());
+                    personas.setString(7, texto(faker.lorem().sentence(12)));
+                    personas.setString(8, faker.internet().image());
+                    personas.setString(9, texto(faker.job().title()));
+                    personas.addBatch();
+
+                    for (int i = 0; i < hijos[0]; i++) {
+                        estudios.setLong(1, id++);
+                        estudios.setLong(2, elegir(random, catalogos.instituciones));
+                        estudios.setString(3, texto(faker.educator().course()));
+                        estudios.setLong(4, elegir(random, catalogos.lugares));
+                        estudios.setString(5, elegir(random, ProgresoEducacion.values()).name());
+                        estudios.setLong(6, personaId);
+                        estudios.addBatch();
+                    }
+                    for (int i = 0; i < hijos[1]; i++) {
+                        habilidades.setLong(1, id++);
+                        habilidades.setLong(2, elegir(random, catalogos.habilidades));
+                        habilidades.setInt(3, 1 + random.nextInt(100));
+                        habilidades.setString(4, texto(faker.lorem().sentence(8)));
+                        habilidades.setLong(5, personaId);
+                        habilidades.addBatch();
+                    }
+                    // Trabajos consecutivos desde los 18 años; el ultimo puede seguir en curso
+                    LocalDate desdeTrabajo = nacimiento.plusYears(18).plusDays(random.nextInt(5 * 365));
+                    for (int i = 0; i < hijos[2]; i++) {
+                        final LocalDate hastaTrabajo = desdeTrabajo.plusDays(90 + random.nextInt(5 * 365));
+                        final boolean enCurso = i == hijos[2] - 1 && random.nextInt(3) == 0;
+                        trabajos.setLong(1, id++);
+                        trabajos.setLong(2, elegir(random, catalogos.empresas));
+                        trabajos.setString(3, texto(faker.job().position()));
+                        trabajos.setLong(4, elegir(random, catalogos.lugares));
+                        trabajos.setDate(5, Date.valueOf(desdeTrabajo));
+                        trabajos.setDate(6, enCurso ? null : Date.valueOf(hastaTrabajo));
+                        trabajos.setLong(7, personaId);
+                        trabajos.addBatch();
+                        desdeTrabajo = hastaTrabajo.plusDays(random.nextInt(180));
+                    }
+                    for (int i = 0; i < hijos[3]; i++) {
+                        proyectos.setLong(1, id++);
+                        proyectos.setString(2, texto(faker.app().name()));
+                        proyectos.setString(3, texto(faker.lorem().sentence(15)));
+                        proyectos.setLong(4, personaId);
+                        proyectos.addBatch();
+                    }
+                }
+                // Padres antes que hijos por las claves foraneas
+                personas.executeBatch();
+                estudios.executeBatch();
+                habilidades.executeBatch();
+                trabajos.executeBatch();
+                proyectos.executeBatch();
+                conexion.commit();
+            } catch (SQLException e) {
+                conexion.rollback();
+                throw e;
+            } finally {
+                conexion.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Fallo el lote " + lote, e);
+        }
+        log.debug("Lote {} cargado ({} personas)", lote, hasta - desde);
+    }
+
+    // Mismo protocolo que el generador de Hibernate sobre la tabla hibernate_sequence, pero tomando el rango entero
+    private long reservarIds(long cantidad) {
+        try (Connection conexion = dataSource.getConnection()) {
+            conexion.setAutoCommit(false);
+            try (PreparedStatement select = conexion.prepareStatement("SELECT next_val FROM hibernate_sequence FOR UPDATE");
+                 ResultSet rs = select.executeQuery();
+                 PreparedStatement update = conexion.prepareStatement("UPDATE hibernate_sequence SET next_val = ?")) {
+                rs.next();
+                final long primero = rs.getLong(1);
+                update.setLong(1, primero + cantidad);
+                update.executeUpdate();
+                conexion.commit();
+                return primero;
+            } catch (SQLException e) {
+                conexion.rollback();
+                throw e;
+            } finally {
+                conexion.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudieron reservar " + cantidad + " ids", e);
+        }
+    }
+
+    // ------------------- Catalogos -----------------------------
+
+    private Catalogos cargarCatalogos() {
+        final Faker faker = new Faker(LOCALE, new Random(configuracion.getSemilla()));
+        return new Catalogos(
+                idsCatalogo(Catalogo.EMPRESA, nombres(Catalogo.EMPRESA, configuracion.getEmpresas(), () -> faker.company().name())),
+                idsCatalogo(Catalogo.LUGAR, nombres(Catalogo.LUGAR, configuracion.getLugares(), () -> faker.address().city())),
+                idsCatalogo(Catalogo.INSTITUCION, nombres(Catalogo.INSTITUCION, configuracion.getInstituciones(), () -> faker.educator().university())),
+                idsCatalogo(Catalogo.HABILIDAD, nombres(Catalogo.HABILIDAD, configuracion.getHabilidadesCanonicas(), () -> faker.random().nextBoolean()
+                        ? faker.programmingLanguage().name()
+                        : faker.job().keySkills())));
+    }
+
+    // Sin repetir segun la clave del catalogo; si faker no da tantos valores distintos el catalogo queda mas chico
+    private static List<String> nombres(Catalogo catalogo, int cantidad, Supplier<String> generar) {
+        final Map<String, String> nombres = new LinkedHashMap<>();
+        for (int intento = 0; intento < cantidad * 20 && nombres.size() < cantidad; intento++) {
+            final String nombre = texto(catalogo.canonico(generar.get()));
+            if (!nombre.isEmpty()) {
+                nombres.putIfAbsent(catalogo.alias(nombre), nombre);
+            }
+        }
+        return new ArrayList<>(nombres.values());
+    }
+
+    // Los ids se leen despues de insertar: la collation de la canonica puede juntar dos nombres en la misma fila
+    private long[] idsCatalogo(Catalogo catalogo, List<String> nombres) {
+        if (catalogo.tieneAlias()) {
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO " + catalogo.getTabla() + " (nombre) VALUES (?)",
+                    nombres.stream().map(nombre -> new Object[]{nombre}).collect(Collectors.toList()));
+        } else {
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO " + catalogo.getTabla() + " (nombre, clave) VALUES (?, ?)",
+                    nombres.stream().map(nombre -> new Object[]{nombre, Catalogo.clave(nombre)}).collect(Collectors.toList()));
+        }
+        if (catalogo.tieneAlias()) {
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO " + catalogo.getTablaAlias() + " (alias, " + catalogo.getTabla() + "_id) " +
+                            "SELECT ?, id FROM " + catalogo.getTabla() + " WHERE nombre = ?",
+                    nombres.stream().map(nombre -> new Object[]{catalogo.alias(nombre), nombre}).collect(Collectors.toList()));
+        }
+        return nombres.stream()
+                .mapToLong(nombre -> jdbcTemplate.queryForObject("SELECT id FROM " + catalogo.getTabla() + " WHERE nombre = ?", Long.class, nombre))
+                .distinct()
+                .toArray();
+    }
+
+    private static final class Catalogos {
+
+        private final long[] empresas;
+        private final long[] lugares;
+        private final long[] instituciones;
+        private final long[] habilidades;
+
+        private Catalogos(long[] empresas, long[] lugares, long[] instituciones, long[] habilidades) {
+            this.empresas = empresas;
+            this.lugares = lugares;
+            this.instituciones = instituciones;
+            this.habilidades = habilidades;
+        }
+    }
+
+    // ------------------- Utilidades -----------------------------
+
+    private static long elegir(Random random, long[] valores) {
+        return valores[random.nextInt(valores.length)];
+    }
+
+    private static <T> T elegir(Random random, T[] valores) {
+        return valores[random.nextInt(valores.length)];
+    }
+
+    private static String texto(String valor) {
+        final String limpio = valor.trim();
+        return limpio.length() > 255 ? limpio.substring(0, 255) : limpio;
+    }
+}
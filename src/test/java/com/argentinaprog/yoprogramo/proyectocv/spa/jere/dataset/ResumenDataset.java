@@ -0,0 +1,26 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.dataset;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class ResumenDataset {
+
+    private final long personas;
+    private final long estudios;
+    private final long habilidades;
+    private final long trabajos;
+    private final long proyectos;
+    // Primer id del rango reservado en hibernate_sequence
+    private final long primerId;
+    private final Duration duracion;
+
+    public long filas() {
+        return personas + estudios + habilidades + trabajos + proyectos;
+    }
+}
@@ -0,0 +1,133 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.json;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.configuration.JacksonConfig;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TimeZone;
+
+class PersonaSerializerTest {
+
+    // La misma configuracion que arma Spring Boot con spring.jackson.* de los perfiles
+    private static ObjectMapper mapperPorDefecto() {
+        return Jackson2ObjectMapperBuilder.json()
+                .simpleDateFormat("yyyy-MM-dd")
+                .timeZone(TimeZone.getTimeZone("America/Argentina/Buenos_Aires"))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static ObjectMapper mapperConSerializadores() {
+        return mapperPorDefecto().registerModule(JacksonConfig.serializadoresModule());
+    }
+
+    private static Persona personaCompleta() {
+        final var persona = Persona.builder()
+                .id(1L)
+                .nombres("Jeremias \"Jere\"")
+                .apellidos("Calvet")
+                .fechaNacimiento(LocalDate.of(1990, 3, 14))
+                .nacionalidad(Nacionalidades.ARGENTINA)
+                .email("jere@test.com")
+                .descripcion("Linea 1\nLinea 2 con acentos: programación")
+                .imagen("https://imagenes.test/1")
+                .ocupacion("Desarrollador")
+                .usuario(new Usuario("jere@test.com", "$2a$10$hash"))
+                .estudio(Educacion.builder().id(2L).institucion("UTN").titulo("Ingeniero").lugar("Rosario").estado(ProgresoEducacion.values()[0]).build())
+                .estudio(Educacion.builder().id(3L).build())
+                .habilidades(List.of(
+                        Habilidad.builder().id(4L).nombre("Java").nivel(80).descripcion("Backend").build(),
+                        Habilidad.builder().id(5L).build()))
+                .experienciasLaborales(List.of(
+                        Trabajo.builder().id(6L).empresa("Carrefour").cargo("Tester").lugar("Rio Grande")
+                                .desde(LocalDate.of(2010, 1, 1)).hasta(LocalDate.of(2012, 12, 31)).build(),
+                        Trabajo.builder().id(7L).empresa("La Anonima").desde(LocalDate.of(2013, 1, 1)).build()))
+                .proyecto(Proyecto.builder().id(8L).nombre("Backend").descripcion("API").build())
+                .proyecto(Proyecto.builder().id(9L).build())
+                .build();
+        persona.getUsuario().setPersona(persona);
+        return persona;
+    }
+
+    @DisplayName("Debe escribir exactamente el mismo JSON que la serializacion por introspeccion")
+    @Test
+    void serialize_ShouldMatchDefaultSerializationByteForByte() throws Exception {
+        //given
+        final var persona = personaCompleta();
+
+        //when
+        final byte[] esperado = mapperPorDefecto().writeValueAsBytes(persona);
+        final byte[] actual = mapperConSerializadores().writeValueAsBytes(persona);
+
+        //then
+        Assertions.assertThat(actual).isEqualTo(esperado);
+    }
+
+    @DisplayName("Debe coincidir con nulls, sin usuario, con listas null y con variantes de imagen")
+    @Test
+    void serialize_WhenOptionalValuesChange_ShouldMatchDefaultSerialization() throws Exception {
+        //given
+        final var vacia = new Persona();
+        final var sinListas = Persona.builder().id(2L).nombres("Sin listas").build();
+        sinListas.setEstudios(null);
+        sinListas.setHabilidades(null);
+        sinListas.setExperienciasLaborales(null);
+        sinListas.setProyectos(null);
+        final var conVariantes = Persona.builder()
+                .id(3L)
+                .imagenHash("abc123")
+                .imagenVariantes(ImagenVariantes.builder().miniaturaHash("m1").completaHash("c1").placeholder("data:blur").build())
+                .build();
+        final List<Persona> personas = List.of(vacia, sinListas, conVariantes, personaCompleta());
+
+        //when
+        final String esperado = mapperPorDefecto().writeValueAsString(personas);
+        final String actual = mapperConSerializadores().writeValueAsString(personas);
+
+        //then
+        Assertions.assertThat(actual).isEqualTo(esperado);
+        Assertions.assertThat(actual).contains("\"imagen\":\"/api/v1/persona/imagen/abc123\"");
+    }
+
+    @DisplayName("Con fechas como timestamps debe delegar las fechas igual que JavaTimeModule")
+    @Test
+    void serialize_WhenDatesAsTimestamps_ShouldMatchDefaultSerialization() throws Exception {
+        //given
+        final var persona = personaCompleta();
+
+        //when
+        final String esperado = mapperPorDefecto()
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValueAsString(persona);
+        final String actual = mapperConSerializadores()
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValueAsString(persona);
+
+        //then
+        Assertions.assertThat(actual).isEqualTo(esperado);
+    }
+
+    @DisplayName("Con el modulo Blackbird registrado el JSON no debe cambiar")
+    @Test
+    void serialize_WithBlackbird_ShouldMatchDefaultSerialization() throws Exception {
+        //given
+        final var persona = personaCompleta();
+
+        //when
+        final byte[] esperado = mapperPorDefecto().writeValueAsBytes(persona);
+        final byte[] conBlackbird = mapperConSerializadores().registerModule(new BlackbirdModule()).writeValueAsBytes(persona);
+        final byte[] soloBlackbird = mapperPorDefecto().registerModule(new BlackbirdModule()).writeValueAsBytes(persona);
+
+        //then
+        Assertions.assertThat(conBlackbird).isEqualTo(esperado);
+        Assertions.assertThat(soloBlackbird).isEqualTo(esperado);
+    }
+}
@@ -0,0 +1,93 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.mappers;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.PersonaDto;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.TrabajoDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class PersonaMapperTest {
+
+    private final PersonaMapper underTest = new PersonaMapper();
+
+    @DisplayName("Los campos null del dto no deben pisar los valores actuales del trabajo")
+    @Test
+    void actualizarTrabajo_WhenDtoHasNulls_ShouldSkipThem() {
+        //given
+        final var trabajo = Trabajo.builder()
+                .id(3L)
+                .empresa("Carrefour")
+                .cargo("Tester")
+                .lugar("Rio Grande")
+                .desde(LocalDate.of(2010, 1, 1))
+                .hasta(LocalDate.of(2012, 1, 1))
+                .build();
+        final var dto = new TrabajoDto("La Anonima", null, "Tolhuin", null, LocalDate.of(2013, 1, 1));
+
+        //when
+        underTest.actualizar(dto, trabajo);
+
+        //then
+        Assertions.assertThat(trabajo.getId()).isEqualTo(3L);
+        Assertions.assertThat(trabajo.getEmpresa()).isEqualTo("La Anonima");
+        Assertions.assertThat(trabajo.getCargo()).isEqualTo("Tester");
+        Assertions.assertThat(trabajo.getLugar()).isEqualTo("Tolhuin");
+        Assertions.assertThat(trabajo.getDesde()).isEqualTo(LocalDate.of(2010, 1, 1));
+        Assertions.assertThat(trabajo.getHasta()).isEqualTo(LocalDate.of(2013, 1, 1));
+    }
+
+    @DisplayName("Debe actualizar la persona y sus hijos por posicion, sin reemplazar las listas")
+    @Test
+    void actualizarPersona_ShouldMergeChildrenInPlace() {
+        //given
+        final var persona = Persona.builder()
+                .id(1L)
+                .nombres("Jeremias")
+                .apellidos("Calvet")
+                .email("jere@test.com")
+                .build();
+        persona.setProyectos(new ArrayList<>(List.of(
+                Proyecto.builder().id(10L).nombre("Backend").descripcion("API").persona(persona).build(),
+                Proyecto.builder().id(11L).nombre("Frontend").descripcion("SPA").persona(persona).build())));
+        final List<Proyecto> proyectos = persona.getProyectos();
+        final var dto = new PersonaDto(null, "Calvet Gomez", null, Nacionalidades.ARGENTINA, null, null, null, null,
+                null, null, null, null, List.of(Proyecto.builder().nombre("Backend v2").build()));
+
+        //when
+        underTest.actualizar(dto, persona);
+
+        //then
+        Assertions.assertThat(persona.getNombres()).isEqualTo("Jeremias");
+        Assertions.assertThat(persona.getApellidos()).isEqualTo("Calvet Gomez");
+        Assertions.assertThat(persona.getEmail()).isEqualTo("jere@test.com");
+        Assertions.assertThat(persona.getNacionalidad()).isEqualTo(Nacionalidades.ARGENTINA);
+        Assertions.assertThat(persona.getProyectos()).isSameAs(proyectos).hasSize(1);
+        Assertions.assertThat(proyectos.get(0).getId()).isEqualTo(10L);
+        Assertions.assertThat(proyectos.get(0).getNombre()).isEqualTo("Backend v2");
+        Assertions.assertThat(proyectos.get(0).getDescripcion()).isEqualTo("API");
+    }
+
+    @DisplayName("Una persona nueva debe quedar como duenia de los hijos que trae el dto")
+    @Test
+    void persona_ShouldAssignChildrenToNewPersona() {
+        //given
+        final var dto = new PersonaDto("Jeremias", "Calvet", LocalDate.of(1990, 1, 1), Nacionalidades.ARGENTINA,
+                "jere@test.com", null, null, null, null,
+                List.of(Educacion.builder().institucion("UTN").titulo("Ingenieria").build()), null, null, null);
+
+        //when
+        final Persona persona = underTest.persona(dto);
+
+        //then
+        Assertions.assertThat(persona.getNombres()).isEqualTo("Jeremias");
+        Assertions.assertThat(persona.getEstudios()).hasSize(1);
+        Assertions.assertThat(persona.getEstudios().get(0).getInstitucion()).isEqualTo("UTN");
+        Assertions.assertThat(persona.getEstudios().get(0).getPersona()).isSameAs(persona);
+        Assertions.assertThat(persona.getHabilidades()).isEmpty();
+    }
+}
@@ -1,6 +1,7 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories;
 
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.AbstractContainerBaseTest;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.catalogos.CatalogoResolver;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Usuario;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
@@ -9,11 +10,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Optional;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CatalogoResolver.class)
 class UsuarioRepositoryTest extends AbstractContainerBaseTest {
 
     @Autowired
@@ -63,4 +67,23 @@ class UsuarioRepositoryTest extends AbstractContainerBaseTest {
         Assertions.assertThat(usuarioNoEncontrado)
                 .isNotPresent();
     }
-}
\ No newline at end of file
+
+    @Test
+    void save_WhenUsernameAlreadyExists_ShouldViolateUniqueIndex() {
+        //given
+        String emailNombreUsuario = "jere@test.com";
+        underTest.saveAndFlush(Usuario.builder()
+                .username(emailNombreUsuario)
+                .password("password")
+                .build());
+
+        //when
+        //then
+        Assertions.assertThatThrownBy(() -> underTest.saveAndFlush(Usuario.builder()
+                        .username(emailNombreUsuario)
+                        .password("otroPassword")
+                        .build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        entityManager.clear();
+    }
+}
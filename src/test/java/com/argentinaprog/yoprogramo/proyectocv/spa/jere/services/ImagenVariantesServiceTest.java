@@ -0,0 +1,131 @@
+package com.argentinaprog.yoprogramo.proyectocv.spa.jere.services;
+
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.ImagenVariantes;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class ImagenVariantesServiceTest {
+
+    private static final long MAX_PIXELES = 40_000_000L;
+
+    @TempDir
+    Path directorio;
+
+    private ImagenStorageService imagenSvc;
+
+    private ImagenVariantesService underTest;
+
+    @BeforeEach
+    void setUp() {
+        imagenSvc = new ImagenStorageService(directorio.toString(), 10 * 1024 * 1024);
+        underTest = new ImagenVariantesService(imagenSvc, MAX_PIXELES);
+    }
+
+    @DisplayName("Debe generar miniatura, tarjeta y completa manteniendo la proporcion y sin ampliar")
+    @Test
+    void generar() throws IOException {
+        //given
+        final String hash = imagenSvc.guardar(codificar(imagen(800, 600, BufferedImage.TYPE_INT_RGB), "jpeg"));
+
+        //when
+        final ImagenVariantes variantes = underTest.generar(hash);
+
+        //then
+        assertDimensiones(variantes.getCompletaHash(), 800, 600, MediaType.IMAGE_JPEG);
+        assertDimensiones(variantes.getTarjetaHash(), 256, 192, MediaType.IMAGE_JPEG);
+        assertDimensiones(variantes.getMiniaturaHash(), 64, 48, MediaType.IMAGE_JPEG);
+        Assertions.assertThat(variantes.getPlaceholder()).hasSize(28);
+        Assertions.assertThat(variantes.getMiniatura()).endsWith(variantes.getMiniaturaHash());
+    }
+
+    @DisplayName("Debe reducir al lado maximo las imagenes grandes y mantener PNG cuando tienen transparencia")
+    @Test
+    void generar_WhenImageIsLargeAndTransparent_ShouldKeepPng() throws IOException {
+        //given
+        final String hash = imagenSvc.guardar(codificar(imagen(2000, 3000, BufferedImage.TYPE_INT_ARGB), "png"));
+
+        //when
+        final ImagenVariantes variantes = underTest.generar(hash);
+
+        //then
+        assertDimensiones(variantes.getCompletaHash(), 683, 1024, MediaType.IMAGE_PNG);
+        assertDimensiones(variantes.getMiniaturaHash(), 43, 64, MediaType.IMAGE_PNG);
+    }
+
+    @DisplayName("Debe tirar error cuando no hay decodificador para el formato subido")
+    @Test
+    void generar_WhenFormatCannotBeDecoded_ShouldThrowIOException() {
+        //given
+        final byte[] webp = {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8', ' '};
+        final String hash = imagenSvc.guardar(new ByteArrayInputStream(webp));
+
+        //when
+        //then
+        Assertions.assertThatThrownBy(() -> underTest.generar(hash))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("image/webp");
+    }
+
+    @DisplayName("Debe rechazar por el encabezado las imagenes que superan el maximo de pixeles")
+    @Test
+    void generar_WhenImageExceedsMaxPixels_ShouldThrowIOException() throws IOException {
+        //given
+        final var limitado = new ImagenVariantesService(imagenSvc, 1_000_000L);
+        final String hash = imagenSvc.guardar(codificar(imagen(1001, 1000, BufferedImage.TYPE_INT_RGB), "png"));
+
+        //when
+        //then
+        Assertions.assertThatThrownBy(() -> limitado.generar(hash))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("1001x1000");
+    }
+
+    @DisplayName("Debe submuestrear al decodificar sin bajar del doble de la variante completa")
+    @Test
+    void submuestreo() {
+        Assertions.assertThat(ImagenVariantesService.submuestreo(800, 600)).isEqualTo(1);
+        Assertions.assertThat(ImagenVariantesService.submuestreo(2000, 3000)).isEqualTo(1);
+        Assertions.assertThat(ImagenVariantesService.submuestreo(4096, 3072)).isEqualTo(2);
+        Assertions.assertThat(ImagenVariantesService.submuestreo(6000, 9000)).isEqualTo(4);
+    }
+
+    private void assertDimensiones(String hash, int ancho, int alto, MediaType tipo) throws IOException {
+        final Path archivo = imagenSvc.ubicar(hash);
+        final BufferedImage variante;
+        try (InputStream entrada = Files.newInputStream(archivo)) {
+            variante = ImageIO.read(entrada);
+        }
+        Assertions.assertThat(variante.getWidth()).isEqualTo(ancho);
+        Assertions.assertThat(variante.getHeight()).isEqualTo(alto);
+        Assertions.assertThat(imagenSvc.tipo(archivo)).isEqualTo(tipo);
+    }
+
+    private static BufferedImage imagen(int ancho, int alto, int tipo) {
+        final var imagen = new BufferedImage(ancho, alto, tipo);
+        final Graphics2D g = imagen.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.BLUE, ancho, alto, Color.ORANGE));
+        g.fillRect(0, 0, ancho, alto / 2);
+        g.dispose();
+        return imagen;
+    }
+
+    private static InputStream codificar(BufferedImage imagen, String formato) throws IOException {
+        final var salida = new ByteArrayOutputStream();
+        ImageIO.write(imagen, formato, salida);
+        return new ByteArrayInputStream(salida.toByteArray());
+    }
+}
@@ -1,9 +1,13 @@
 package com.argentinaprog.yoprogramo.proyectocv.spa.jere.services;
 
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.events.PersonaModificadaEvent;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.mappers.PersonaMapper;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.*;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.*;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.ImagenVarianteTrabajoRepository;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.PersonaRepository;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.shards.Shards;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,8 +18,10 @@ import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -32,16 +38,28 @@ class PersonaServiceTest {
     private UsuarioService usuarioSvc;
 
     @Mock
-    private ModelMapper mapper;
+    private PersonaMapper mapper;
 
     @Mock
     private PersonaRepository personaRepo;
 
+    @Mock
+    private ImagenStorageService imagenSvc;
+
+    @Mock
+    private ImagenVarianteTrabajoRepository trabajoRepo;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private PersonaService underTest;
 
     @BeforeEach
     void setUp() {
-        underTest = new PersonaService(personaRepo, usuarioSvc, mapper);
+        underTest = new PersonaService(personaRepo, usuarioSvc, mapper, imagenSvc, trabajoRepo, eventPublisher, Shards.unico(), transactionManager);
     }
 
     @DisplayName("Obtener persona correctamente")
@@ -137,14 +155,14 @@ class PersonaServiceTest {
         BDDMockito.given(usuarioSvc.getCurrentUser())
                 .willReturn(usuarioJere);
 
-        BDDMockito.given(mapper.map(Mockito.any(), Mockito.eq(Persona.class)))
+        BDDMockito.given(mapper.persona(Mockito.any()))
                 .willReturn(personaJere);
 
         //when
         underTest.addPersona(personaDto);
 
         //then
-        verify(mapper).map(personaDto, Persona.class);
+        verify(mapper).persona(personaDto);
 
         ArgumentCaptor<Persona> personaArgumentCaptor = ArgumentCaptor.forClass(Persona.class);
         verify(personaRepo).save(personaArgumentCaptor.capture());
@@ -221,7 +239,7 @@ class PersonaServiceTest {
                 .isInstanceOf(PersonaAlreadyExistsException.class)
                 .hasMessageContaining(errorMsg);
 
-        Mockito.verify(mapper, Mockito.never()).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -268,6 +286,7 @@ class PersonaServiceTest {
         final Persona personaValue = personaArgumentCaptor.getValue();
         Assertions.assertThat(personaValue).isEqualTo(personaJere);
         Assertions.assertThat(personaValue.getId()).isEqualTo(id);
+        Mockito.verify(eventPublisher).publishEvent(new PersonaModificadaEvent(id));
     }
 
     @DisplayName("Debe tirar error al intentar borrar, cuando no existe una persona con ese id")
@@ -288,6 +307,7 @@ class PersonaServiceTest {
 
         Mockito.verify(personaRepo, times(1)).findById(id);
         Mockito.verify(personaRepo, Mockito.never()).delete(Mockito.any());
+        Mockito.verify(eventPublisher, Mockito.never()).publishEvent(Mockito.any(Object.class));
     }
 
     @DisplayName("Debe actualizar la persona")
@@ -353,13 +373,13 @@ class PersonaServiceTest {
 
                     return null;
                 }
-        ).when(mapper).map(personaDto, personaJere);
+        ).when(mapper).actualizar(personaDto, personaJere);
 
         //when
         final Persona updatedPersona = underTest.updatePersona(id, personaDto);
 
         //then
-        Mockito.verify(mapper).map(personaDto, personaJere);
+        Mockito.verify(mapper).actualizar(personaDto, personaJere);
 
         ArgumentCaptor<Long> idArgumentCaptor = ArgumentCaptor.forClass(Long.class);
         Mockito.verify(personaRepo).findById(idArgumentCaptor.capture());
@@ -381,6 +401,105 @@ class PersonaServiceTest {
         Assertions.assertThat(updatedPersona.getOcupacion()).isEqualTo(ocupacion);
         Assertions.assertThat(updatedPersona.getDescripcion()).isEqualTo(descripcion);
         Assertions.assertThat(updatedPersona.getImagen()).isEqualTo(imagen);
+        Mockito.verify(eventPublisher).publishEvent(new PersonaModificadaEvent(id));
+    }
+
+    @DisplayName("Debe guardar la imagen y dejar en la persona solo su hash")
+    @Test
+    void updateImagen() {
+        //given
+        final Long id = 1L;
+        final String hash = "a".repeat(64);
+        final var imagen = new ByteArrayInputStream(new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+        Persona personaJere = Persona.builder()
+                .id(id)
+                .imagen("assets/imagen.jpg")
+                .build();
+        BDDMockito.given(personaRepo.findById(id))
+                .willReturn(Optional.of(personaJere));
+        BDDMockito.given(imagenSvc.guardar(imagen))
+                .willReturn(hash);
+        BDDMockito.given(personaRepo.save(personaJere))
+                .willReturn(personaJere);
+
+        //when
+        final Persona updatedPersona = underTest.updateImagen(id, imagen);
+
+        //then
+        Assertions.assertThat(updatedPersona.getImagenHash()).isEqualTo(hash);
+        Assertions.assertThat(updatedPersona.getImagen()).isEqualTo(Persona.IMAGEN_URL + hash);
+        Mockito.verify(eventPublisher).publishEvent(new PersonaModificadaEvent(id));
+
+        ArgumentCaptor<ImagenVarianteTrabajo> trabajoArgumentCaptor = ArgumentCaptor.forClass(ImagenVarianteTrabajo.class);
+        Mockito.verify(trabajoRepo).save(trabajoArgumentCaptor.capture());
+        Assertions.assertThat(trabajoArgumentCaptor.getValue().getPersonaId()).isEqualTo(id);
+        Assertions.assertThat(trabajoArgumentCaptor.getValue().getImagenHash()).isEqualTo(hash);
+        Assertions.assertThat(trabajoArgumentCaptor.getValue().getEstado()).isEqualTo(EstadoTrabajo.PENDIENTE);
+    }
+
+    @DisplayName("Debe asignar las variantes cuando la imagen de la persona no cambio")
+    @Test
+    void updateImagenVariantes() {
+        //given
+        final Long id = 1L;
+        final String hash = "a".repeat(64);
+        final var variantes = ImagenVariantes.builder()
+                .miniaturaHash("b".repeat(64))
+                .placeholder("LEHV6nWB2yk8pyo0adR*.7kCMdnj")
+                .build();
+        Persona personaJere = Persona.builder()
+                .id(id)
+                .imagenHash(hash)
+                .build();
+        BDDMockito.given(personaRepo.findById(id))
+                .willReturn(Optional.of(personaJere));
+
+        //when
+        underTest.updateImagenVariantes(id, hash, variantes);
+
+        //then
+        Assertions.assertThat(personaJere.getImagenVariantes()).isEqualTo(variantes);
+        Mockito.verify(personaRepo).save(personaJere);
+        Mockito.verify(eventPublisher).publishEvent(new PersonaModificadaEvent(id));
+    }
+
+    @DisplayName("Debe descartar las variantes cuando la persona subio otra imagen mientras se generaban")
+    @Test
+    void updateImagenVariantes_WhenImageChanged_ShouldDiscardVariantes() {
+        //given
+        final Long id = 1L;
+        Persona personaJere = Persona.builder()
+                .id(id)
+                .imagenHash("c".repeat(64))
+                .build();
+        BDDMockito.given(personaRepo.findById(id))
+                .willReturn(Optional.of(personaJere));
+
+        //when
+        underTest.updateImagenVariantes(id, "a".repeat(64), ImagenVariantes.builder().build());
+
+        //then
+        Assertions.assertThat(personaJere.getImagenVariantes()).isNull();
+        Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
+        Mockito.verify(eventPublisher, Mockito.never()).publishEvent(Mockito.any(Object.class));
+    }
+
+    @DisplayName("Debe tirar error al subir una imagen cuando el id es invalido")
+    @Test
+    void updateImagen_WhenIdIsInvalid_ShouldThrowPersonaNotFoundException() {
+        //given
+        final Long id = 1L;
+        final String errorMsg = String.format("Persona id %d no encontrada.", id);
+        BDDMockito.given(personaRepo.findById(id))
+                .willReturn(Optional.empty());
+
+        //when
+        //then
+        Assertions.assertThatThrownBy(() -> underTest.updateImagen(id, new ByteArrayInputStream(new byte[0])))
+                .isInstanceOf(PersonaNotFoundException.class)
+                .hasMessageContaining(errorMsg);
+        Mockito.verify(imagenSvc, Mockito.never()).guardar(Mockito.any());
+        Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
     @DisplayName("Debe tirar error al actualizar la persona cuando el id es invalido")
@@ -422,7 +541,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, Mockito.never()).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -484,14 +603,14 @@ class PersonaServiceTest {
 
         final List<Persona> listadoPersonas = List.of(jere, camila);
 
-        BDDMockito.given(personaRepo.findAll())
+        BDDMockito.given(personaRepo.findAllConUsuario())
                 .willReturn(listadoPersonas);
 
         //when
         final List<Persona> allPersonas = underTest.getAllPersonas();
 
         //then
-        Mockito.verify(personaRepo).findAll();
+        Mockito.verify(personaRepo).findAllConUsuario();
 
         Assertions.assertThat(allPersonas)
                 .isNotNull()
@@ -544,7 +663,7 @@ class PersonaServiceTest {
 
         BDDMockito.given(personaRepo.findById(id))
                 .willReturn(Optional.of(personaJere));
-        BDDMockito.given(mapper.map(trabajoDto, Trabajo.class))
+        BDDMockito.given(mapper.trabajo(trabajoDto))
                 .willReturn(trabajoParaAgregar);
         BDDMockito.given(personaRepo.save(Mockito.any(Persona.class)))
                 .willReturn(personaJere);
@@ -559,7 +678,7 @@ class PersonaServiceTest {
         Assertions.assertThat(idCapturedArgumentValue).isEqualTo(id);
 
         ArgumentCaptor<TrabajoDto> trabajoDtoArgumentCaptor = ArgumentCaptor.forClass(TrabajoDto.class);
-        Mockito.verify(mapper).map(trabajoDtoArgumentCaptor.capture(), Mockito.eq(Trabajo.class));
+        Mockito.verify(mapper).trabajo(trabajoDtoArgumentCaptor.capture());
         final TrabajoDto trabajoDtoCapturedArgumentValue = trabajoDtoArgumentCaptor.getValue();
         Assertions.assertThat(trabajoDtoCapturedArgumentValue).isEqualTo(trabajoDto);
 
@@ -610,7 +729,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, Mockito.never()).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -653,22 +772,10 @@ class PersonaServiceTest {
                 inicioUpdate,
                 finUpdate
         );
-        final var trabajoConDatosNuevos = Trabajo.builder()
-                .cargo(cargoUpdate)
-                .empresa(empresaUpdate)
-                .desde(inicioUpdate)
-                .hasta(finUpdate)
-                .lugar(lugarUpdate)
-                .persona(null)
-                .id(idTrabajo)
-                .build();
-
         BDDMockito.given(personaRepo.findById(id))
                 .willReturn(Optional.of(personaJere));
-        BDDMockito.given(mapper.map(nuevosDatosTrabajoDto, Trabajo.class))
-                .willReturn(trabajoConDatosNuevos);
         doAnswer((invocation) -> {
-                    var trabajoDatosNuevos = (Trabajo) invocation.getArgument(0);
+                    var trabajoDatosNuevos = (TrabajoDto) invocation.getArgument(0);
                     var trabajoDatosViejos = (Trabajo) invocation.getArgument(1);
                     trabajoDatosViejos.setEmpresa(trabajoDatosNuevos.getEmpresa());
                     trabajoDatosViejos.setLugar(trabajoDatosNuevos.getLugar());
@@ -678,7 +785,7 @@ class PersonaServiceTest {
 
                     return null;
                 }
-        ).when(mapper).map(trabajoConDatosNuevos, trabajoParaActualizar);
+        ).when(mapper).actualizar(nuevosDatosTrabajoDto, trabajoParaActualizar);
         BDDMockito.given(personaRepo.save(Mockito.any(Persona.class)))
                 .willReturn(personaJere);
         //when
@@ -690,13 +797,11 @@ class PersonaServiceTest {
         final Long idCapturedArgumentValue = idPersonaArgumentCaptor.getValue();
         Assertions.assertThat(idCapturedArgumentValue).isEqualTo(id);
 
-        Mockito.verify(mapper).map(nuevosDatosTrabajoDto, Trabajo.class);
         ArgumentCaptor<TrabajoDto> trabajoDtoArgumentCaptor = ArgumentCaptor.forClass(TrabajoDto.class);
-        Mockito.verify(mapper).map(trabajoDtoArgumentCaptor.capture(), Mockito.eq(Trabajo.class));
+        Mockito.verify(mapper).actualizar(trabajoDtoArgumentCaptor.capture(), Mockito.eq(trabajoParaActualizar));
         final TrabajoDto trabajoDtoCapturedArgumentValue = trabajoDtoArgumentCaptor.getValue();
         Assertions.assertThat(trabajoDtoCapturedArgumentValue).isEqualTo(nuevosDatosTrabajoDto);
 
-        Mockito.verify(mapper).map(trabajoConDatosNuevos, trabajoParaActualizar);
         Assertions.assertThat(trabajoParaActualizar.getId()).isEqualTo(idTrabajo);
         Assertions.assertThat(trabajoParaActualizar.getPersona()).isEqualTo(personaJere);
         Assertions.assertThat(trabajoParaActualizar.getCargo()).isEqualTo(cargoUpdate);
@@ -748,7 +853,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, times(1)).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -776,7 +881,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, Mockito.never()).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -966,7 +1071,7 @@ class PersonaServiceTest {
 
         BDDMockito.given(personaRepo.findById(id))
                 .willReturn(Optional.of(personaJere));
-        BDDMockito.given(mapper.map(estudioDto, Educacion.class))
+        BDDMockito.given(mapper.estudio(estudioDto))
                 .willReturn(estudioParaAgregar);
         BDDMockito.given(personaRepo.save(Mockito.any(Persona.class)))
                 .willReturn(personaJere);
@@ -981,7 +1086,7 @@ class PersonaServiceTest {
         Assertions.assertThat(idCapturedArgumentValue).isEqualTo(id);
 
         ArgumentCaptor<EducacionDto> estudioDtoArgumentCaptor = ArgumentCaptor.forClass(EducacionDto.class);
-        Mockito.verify(mapper).map(estudioDtoArgumentCaptor.capture(), Mockito.eq(Educacion.class));
+        Mockito.verify(mapper).estudio(estudioDtoArgumentCaptor.capture());
         final EducacionDto estudioDtoCapturedArgumentValue = estudioDtoArgumentCaptor.getValue();
         Assertions.assertThat(estudioDtoCapturedArgumentValue).isEqualTo(estudioDto);
 
@@ -1031,7 +1136,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, Mockito.never()).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -1073,21 +1178,10 @@ class PersonaServiceTest {
                 lugarUpdate,
                 progresoUpdate
         );
-        final var estudioConDatosNuevos = Educacion.builder()
-                .lugar(lugarUpdate)
-                .titulo(tituloUpdate)
-                .institucion(institucionUpdate)
-                .estado(progresoUpdate)
-                .persona(null)
-                .id(idEstudio)
-                .build();
-
         BDDMockito.given(personaRepo.findById(id))
                 .willReturn(Optional.of(personaJere));
-        BDDMockito.given(mapper.map(nuevosDatosEducacionDto, Educacion.class))
-                .willReturn(estudioConDatosNuevos);
         doAnswer((invocation) -> {
-                    var educacionDatosNuevos = (Educacion) invocation.getArgument(0);
+                    var educacionDatosNuevos = (EducacionDto) invocation.getArgument(0);
                     var educacionDatosViejos = (Educacion) invocation.getArgument(1);
                     educacionDatosViejos.setInstitucion(educacionDatosNuevos.getInstitucion());
                     educacionDatosViejos.setTitulo(educacionDatosNuevos.getTitulo());
@@ -1096,7 +1190,7 @@ class PersonaServiceTest {
 
                     return null;
                 }
-        ).when(mapper).map(estudioConDatosNuevos, estudioParaActualizar);
+        ).when(mapper).actualizar(nuevosDatosEducacionDto, estudioParaActualizar);
         BDDMockito.given(personaRepo.save(Mockito.any(Persona.class)))
                 .willReturn(personaJere);
         //when
@@ -1108,13 +1202,11 @@ class PersonaServiceTest {
         final Long idCapturedArgumentValue = idPersonaArgumentCaptor.getValue();
         Assertions.assertThat(idCapturedArgumentValue).isEqualTo(id);
 
-        Mockito.verify(mapper).map(nuevosDatosEducacionDto, Educacion.class);
         ArgumentCaptor<EducacionDto> educacionDtoArgumentCaptor = ArgumentCaptor.forClass(EducacionDto.class);
-        Mockito.verify(mapper).map(educacionDtoArgumentCaptor.capture(), Mockito.eq(Educacion.class));
+        Mockito.verify(mapper).actualizar(educacionDtoArgumentCaptor.capture(), Mockito.eq(estudioParaActualizar));
         final EducacionDto educacionDtoCapturedArgumentValue = educacionDtoArgumentCaptor.getValue();
         Assertions.assertThat(educacionDtoCapturedArgumentValue).isEqualTo(nuevosDatosEducacionDto);
 
-        Mockito.verify(mapper).map(estudioConDatosNuevos, estudioParaActualizar);
         Assertions.assertThat(estudioParaActualizar.getId()).isEqualTo(idEstudio);
         Assertions.assertThat(estudioParaActualizar.getPersona()).isEqualTo(personaJere);
         Assertions.assertThat(estudioParaActualizar.getTitulo()).isEqualTo(tituloUpdate);
@@ -1164,7 +1256,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, times(1)).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -1191,7 +1283,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, Mockito.never()).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -1368,7 +1460,7 @@ class PersonaServiceTest {
 
         BDDMockito.given(personaRepo.findById(id))
                 .willReturn(Optional.of(personaJere));
-        BDDMockito.given(mapper.map(proyectoDto, Proyecto.class))
+        BDDMockito.given(mapper.proyecto(proyectoDto))
                 .willReturn(proyectoParaAgregar);
         BDDMockito.given(personaRepo.save(Mockito.any(Persona.class)))
                 .willReturn(personaJere);
@@ -1383,7 +1475,7 @@ class PersonaServiceTest {
         Assertions.assertThat(idCapturedArgumentValue).isEqualTo(id);
 
         ArgumentCaptor<ProyectoDto> proyectoDtoArgumentCaptor = ArgumentCaptor.forClass(ProyectoDto.class);
-        Mockito.verify(mapper).map(proyectoDtoArgumentCaptor.capture(), Mockito.eq(Proyecto.class));
+        Mockito.verify(mapper).proyecto(proyectoDtoArgumentCaptor.capture());
         final ProyectoDto proyectoDtoCapturedArgumentValue = proyectoDtoArgumentCaptor.getValue();
         Assertions.assertThat(proyectoDtoCapturedArgumentValue).isEqualTo(proyectoDto);
 
@@ -1432,7 +1524,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, Mockito.never()).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -1468,26 +1560,17 @@ class PersonaServiceTest {
                 descripcionProyectoUpdate
         );
 
-        final var proyectoConDatosNuevos = Proyecto.builder()
-                .persona(null)
-                .id(idProyecto)
-                .nombre(nombreProyectoUpdate)
-                .descripcion(descripcionProyectoUpdate)
-                .build();
-
         BDDMockito.given(personaRepo.findById(id))
                 .willReturn(Optional.of(personaJere));
-        BDDMockito.given(mapper.map(nuevosDatosProyectoDto, Proyecto.class))
-                .willReturn(proyectoConDatosNuevos);
         doAnswer((invocation) -> {
-                    var proyectoDatosNuevos = (Proyecto) invocation.getArgument(0);
+                    var proyectoDatosNuevos = (ProyectoDto) invocation.getArgument(0);
                     var proyectoDatosViejos = (Proyecto) invocation.getArgument(1);
                     proyectoDatosViejos.setNombre(proyectoDatosNuevos.getNombre());
                     proyectoDatosViejos.setDescripcion(proyectoDatosNuevos.getDescripcion());
 
                     return null;
                 }
-        ).when(mapper).map(proyectoConDatosNuevos, proyectoParaActualizar);
+        ).when(mapper).actualizar(nuevosDatosProyectoDto, proyectoParaActualizar);
         BDDMockito.given(personaRepo.save(Mockito.any(Persona.class)))
                 .willReturn(personaJere);
 
@@ -1500,13 +1583,11 @@ class PersonaServiceTest {
         final Long idCapturedArgumentValue = idPersonaArgumentCaptor.getValue();
         Assertions.assertThat(idCapturedArgumentValue).isEqualTo(id);
 
-        Mockito.verify(mapper).map(nuevosDatosProyectoDto, Proyecto.class);
         ArgumentCaptor<ProyectoDto> proyectoDtoArgumentCaptor = ArgumentCaptor.forClass(ProyectoDto.class);
-        Mockito.verify(mapper).map(proyectoDtoArgumentCaptor.capture(), Mockito.eq(Proyecto.class));
+        Mockito.verify(mapper).actualizar(proyectoDtoArgumentCaptor.capture(), Mockito.eq(proyectoParaActualizar));
         final ProyectoDto proyectoDtoCapturedArgumentValue = proyectoDtoArgumentCaptor.getValue();
         Assertions.assertThat(proyectoDtoCapturedArgumentValue).isEqualTo(nuevosDatosProyectoDto);
 
-        Mockito.verify(mapper).map(proyectoConDatosNuevos, proyectoParaActualizar);
         Assertions.assertThat(proyectoParaActualizar.getId()).isEqualTo(idProyecto);
         Assertions.assertThat(proyectoParaActualizar.getPersona()).isEqualTo(personaJere);
         Assertions.assertThat(proyectoParaActualizar.getNombre()).isEqualTo(nombreProyectoUpdate);
@@ -1551,7 +1632,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, times(1)).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -1577,7 +1658,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, Mockito.never()).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -1755,7 +1836,7 @@ class PersonaServiceTest {
 
         BDDMockito.given(personaRepo.findById(id))
                 .willReturn(Optional.of(personaJere));
-        BDDMockito.given(mapper.map(habilidadDto, Habilidad.class))
+        BDDMockito.given(mapper.habilidad(habilidadDto))
                 .willReturn(habilidadParaAgregar);
         BDDMockito.given(personaRepo.save(Mockito.any(Persona.class)))
                 .willReturn(personaJere);
@@ -1770,7 +1851,7 @@ class PersonaServiceTest {
         Assertions.assertThat(idCapturedArgumentValue).isEqualTo(id);
 
         ArgumentCaptor<HabilidadDto> habilidadDtoArgumentCaptor = ArgumentCaptor.forClass(HabilidadDto.class);
-        Mockito.verify(mapper).map(habilidadDtoArgumentCaptor.capture(), Mockito.eq(Habilidad.class));
+        Mockito.verify(mapper).habilidad(habilidadDtoArgumentCaptor.capture());
         final HabilidadDto habilidadDtoCapturedArgumentValue = habilidadDtoArgumentCaptor.getValue();
         Assertions.assertThat(habilidadDtoCapturedArgumentValue).isEqualTo(habilidadDto);
 
@@ -1818,7 +1899,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(1L);
-        Mockito.verify(mapper, Mockito.never()).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -1857,20 +1938,10 @@ class PersonaServiceTest {
                 nivelUpdate,
                 descripcionUpdate
         );
-        final var habilidadConDatosNuevos = Habilidad.builder()
-                .id(idHabilidad)
-                .nombre(nombreUpdate)
-                .descripcion(descripcionUpdate)
-                .nivel(nivelUpdate)
-                .persona(null)
-                .build();
-
         BDDMockito.given(personaRepo.findById(id))
                 .willReturn(Optional.of(personaJere));
-        BDDMockito.given(mapper.map(nuevosDatosHabilidadDto, Habilidad.class))
-                .willReturn(habilidadConDatosNuevos);
         doAnswer((invocation) -> {
-                    var habilidadDatosNuevos = (Habilidad) invocation.getArgument(0);
+                    var habilidadDatosNuevos = (HabilidadDto) invocation.getArgument(0);
                     var habilidadDatosViejos = (Habilidad) invocation.getArgument(1);
                     habilidadDatosViejos.setNombre(habilidadDatosNuevos.getNombre());
                     habilidadDatosViejos.setDescripcion(habilidadDatosNuevos.getDescripcion());
@@ -1878,7 +1949,7 @@ class PersonaServiceTest {
 
                     return null;
                 }
-        ).when(mapper).map(habilidadConDatosNuevos, habilidadParaActualizar);
+        ).when(mapper).actualizar(nuevosDatosHabilidadDto, habilidadParaActualizar);
         BDDMockito.given(personaRepo.save(Mockito.any(Persona.class)))
                 .willReturn(personaJere);
         //when
@@ -1890,13 +1961,11 @@ class PersonaServiceTest {
         final Long idCapturedArgumentValue = idPersonaArgumentCaptor.getValue();
         Assertions.assertThat(idCapturedArgumentValue).isEqualTo(id);
 
-        Mockito.verify(mapper).map(nuevosDatosHabilidadDto, Habilidad.class);
         ArgumentCaptor<HabilidadDto> habilidadDtoArgumentCaptor = ArgumentCaptor.forClass(HabilidadDto.class);
-        Mockito.verify(mapper).map(habilidadDtoArgumentCaptor.capture(), Mockito.eq(Habilidad.class));
+        Mockito.verify(mapper).actualizar(habilidadDtoArgumentCaptor.capture(), Mockito.eq(habilidadParaActualizar));
         final HabilidadDto habilidadDtoCapturedArgumentValue = habilidadDtoArgumentCaptor.getValue();
         Assertions.assertThat(habilidadDtoCapturedArgumentValue).isEqualTo(nuevosDatosHabilidadDto);
 
-        Mockito.verify(mapper).map(habilidadConDatosNuevos, habilidadParaActualizar);
         Assertions.assertThat(habilidadParaActualizar.getId()).isEqualTo(idHabilidad);
         Assertions.assertThat(habilidadParaActualizar.getPersona()).isEqualTo(personaJere);
         Assertions.assertThat(habilidadParaActualizar.getNombre()).isEqualTo(nombreUpdate);
@@ -1945,7 +2014,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, times(1)).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -1971,7 +2040,7 @@ class PersonaServiceTest {
                 .hasMessageContaining(errorMsg);
 
         Mockito.verify(personaRepo, times(1)).findById(id);
-        Mockito.verify(mapper, Mockito.never()).map(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
         Mockito.verify(personaRepo, Mockito.never()).save(Mockito.any());
     }
 
@@ -2,6 +2,7 @@ package com.argentinaprog.yoprogramo.proyectocv.spa.jere.services;
 
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.EmailAlreadyTakenException;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.exceptions.UsuarioNotFoundException;
+import com.argentinaprog.yoprogramo.proyectocv.spa.jere.mappers.UsuarioMapper;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.Usuario;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.model.dto.LoginRequestDto;
 import com.argentinaprog.yoprogramo.proyectocv.spa.jere.repositories.UsuarioRepository;
@@ -14,7 +15,6 @@ import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -32,7 +32,7 @@ class UsuarioServiceTest {
     private UsuarioRepository usuarioRepo;
 
     @Mock
-    private ModelMapper mapper;
+    private UsuarioMapper mapper;
 
     @Mock
     private PasswordEncoder bcryptEncoder;
@@ -98,7 +98,7 @@ class UsuarioServiceTest {
                 .password(password)
                 .build();
 
-        BDDMockito.given(mapper.map(Mockito.any(), Mockito.any())).willReturn(usuarioJere);
+        BDDMockito.given(mapper.usuario(Mockito.any())).willReturn(usuarioJere);
         BDDMockito.given(bcryptEncoder.encode(Mockito.anyString())).willReturn(encrypedPassword);
         BDDMockito.given(usuarioRepo.findByUsername(Mockito.anyString())).willReturn(Optional.empty());
 